@@ -8,7 +8,8 @@ set "JAVAFX_LIB=lib\javafx-sdk-17.0.14\lib"
 set "IMGUI_LIB=lib\dear_imgui\java-libraries"
 set "MAIN_CLASS=Main"
 set "APP_JAR=app.jar"
-set "SRC_DIR=src"
+set "CORE_SRC=renderer-core\src\main\java"
+set "APP_SRC=renderer-app\src\main\java"
 set "BIN_DIR=bin"
 set "DOCS_DIR=docs"
 set "BUILD_TIMESTAMP=build.timestamp"
@@ -64,9 +65,9 @@ set /p choice="Please choose an option (:build, :jar, :clean, :run, :javadoc, :h
 
 if "%choice%"==":build" (
     call :timestamp "Starting Build"
-    :: Check if source directory exists
-    if not exist "%SRC_DIR%" (
-        echo Source directory "%SRC_DIR%" not found!
+    :: Check if source directories exist
+    if not exist "%CORE_SRC%" (
+        echo Source directory "%CORE_SRC%" not found!
         echo [%time%] Error: Source directory not found >> %ERROR_LOG%
         pause
         goto menu
@@ -77,7 +78,13 @@ if "%choice%"==":build" (
     if exist "%BUILD_TIMESTAMP%" (
         for %%T in ("%BUILD_TIMESTAMP%") do set "BT=%%~tT"
         set "NEED_BUILD=0"
-        for /r "%SRC_DIR%" %%F in (*.java) do (
+        for /r "%CORE_SRC%" %%F in (*.java) do (
+            if "%%~tF" GTR "%BT%" (
+                set "NEED_BUILD=1"
+                goto :found_newer
+            )
+        )
+        for /r "%APP_SRC%" %%F in (*.java) do (
             if "%%~tF" GTR "%BT%" (
                 set "NEED_BUILD=1"
                 goto :found_newer
@@ -92,8 +99,8 @@ if "%choice%"==":build" (
         )
     )
     echo Building Project...
-    dir /b /s "%SRC_DIR%\*.java" > sources.txt
-    javac %JAVAC_OPTIONS% --module-path "%JAVAFX_LIB%" --add-modules javafx.controls,javafx.fxml -d "%BIN_DIR%" @sources.txt 2>> %ERROR_LOG%
+    dir /b /s "%CORE_SRC%\*.java" "%APP_SRC%\*.java" > sources.txt
+    javac %JAVAC_OPTIONS% -encoding UTF-8 --module-path "%JAVAFX_LIB%" --add-modules javafx.controls,javafx.fxml,jdk.incubator.vector -d "%BIN_DIR%" @sources.txt 2>> %ERROR_LOG%
     if errorlevel 1 (
         echo Build failed. Check %ERROR_LOG% for details.
         call :timestamp "Build Failed"
@@ -141,8 +148,8 @@ if "%choice%"==":build" (
     call :timestamp "Run Started"
     echo Building Project...
     if not exist "%BIN_DIR%" mkdir "%BIN_DIR%"
-    dir /b /s "%SRC_DIR%\*.java" > sources.txt
-    javac %JAVAC_OPTIONS% --module-path "%JAVAFX_LIB%" --add-modules javafx.controls,javafx.fxml -d "%BIN_DIR%" @sources.txt 2>> %ERROR_LOG%
+    dir /b /s "%CORE_SRC%\*.java" "%APP_SRC%\*.java" > sources.txt
+    javac %JAVAC_OPTIONS% -encoding UTF-8 --module-path "%JAVAFX_LIB%" --add-modules javafx.controls,javafx.fxml,jdk.incubator.vector -d "%BIN_DIR%" @sources.txt 2>> %ERROR_LOG%
     if errorlevel 1 (
         echo Build failed. Check %ERROR_LOG% for details.
         call :timestamp "Build Failed"
@@ -152,7 +159,7 @@ if "%choice%"==":build" (
         call :timestamp "Build Succeeded"
         echo Running Project...
         :: The classpath includes both the bin folder and all jars in the ImGui library folder
-        java --module-path "%JAVAFX_LIB%" --add-modules javafx.controls,javafx.fxml -cp "%BIN_DIR%;%IMGUI_LIB%\*" %MAIN_CLASS%
+        java --module-path "%JAVAFX_LIB%" --add-modules javafx.controls,javafx.fxml,jdk.incubator.vector -cp "%BIN_DIR%;%IMGUI_LIB%\*" %MAIN_CLASS%
         call :timestamp "Run Completed"
         pause
     )
@@ -166,7 +173,7 @@ if "%choice%"==":build" (
     if not exist "%DOCS_DIR%" mkdir "%DOCS_DIR%"
     :: Generate Javadoc from the source files, including all subpackages
     :: Ensure to include the JavaFX and ImGui libraries in the classpath for Javadoc generation
-    javadoc -d docs -sourcepath src src\Main.java --module-path lib\javafx-sdk-17.0.14\lib --add-modules javafx.controls,javafx.fxml @sources.txt 2>> %ERROR_LOG%
+    javadoc -encoding UTF-8 -d docs -sourcepath "%CORE_SRC%;%APP_SRC%" --module-path "%JAVAFX_LIB%" --add-modules javafx.controls,javafx.fxml,jdk.incubator.vector @sources.txt 2>> %ERROR_LOG%
     if errorlevel 1 (
         echo Javadoc generation failed. Check %ERROR_LOG% for details.
         call :timestamp "Javadoc Generation Failed"
@@ -225,6 +232,11 @@ echo :javadoc - Generates Javadoc documentation from the source files and
 echo            outputs it to the "docs" directory.
 echo :openjavadoc - Opens the Javadoc documentation in a web browser.
 echo :help    - Displays this help message.
+echo.
+echo The cross-platform build (Windows, Linux, macOS) uses Maven, see README.md:
+echo   mvn package                                  - build all modules
+echo   mvn -pl renderer-app javafx:run              - run the UI
+echo   java -jar renderer-bench\target\benchmarks.jar - run the JMH benchmarks
 echo :exit    - Exits the script.
 echo.
 pause
@@ -0,0 +1,685 @@
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.Orientation;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+
+import renderer.batch.BatchCli;
+import renderer.fx.RenderScheduler;
+import renderer.fx.StatsOverlay;
+import renderer.mesh.FloatMesh;
+import renderer.mesh.MeshCache;
+import renderer.mesh.Shape;
+import renderer.mesh.MeshFactory;
+import renderer.mesh.io.MeshLoader;
+import renderer.mesh.lod.ModelLod;
+import renderer.texture.Texture;
+import renderer.texture.TextureLayout;
+import renderer.pipeline.AdaptiveResolution;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.profiling.FrameProfiler;
+import renderer.raster.FrameBuffer;
+import renderer.raster.ScreenRect;
+import renderer.raster.TiledRasterizer;
+import renderer.scene.Scene;
+import renderer.simd.Simd;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static renderer.profiling.Stage.BLIT;
+
+/** 
+ * @file Main.java
+ * @brief Main class for 3D rendering application
+ * @details Renders either a sphere or cube with interactive controls.
+ * @author Fynn
+ * @date 23-02-2025
+ * @version 1.0
+ */
+
+/**
+ * @defgroup rendering_group 3D Rendering
+ * @brief Contains all classes related to 3D rendering
+ */
+
+/**
+ * Hauptklasse der JavaFX-Anwendung, die entweder eine 3D-Sphäre oder einen 3D-Würfel rendert.
+ * <p>
+ * Der Benutzer kann über verschiedene Steuerelemente (Slider und CheckBox) die Drehung (Heading und Pitch),
+ * die Farbe (RGB) sowie die zu rendernde Form (Sphäre vs. Würfel) auswählen.
+ * <p>
+ * Das Rendering erfolgt über einen selbst implementierten Software-Renderer,
+ * der die 3D-Objekte als Dreiecksnetz (Mesh) mithilfe eines Z-Buffers und baryzentrischer
+ * Koordinaten zeichnet.
+ */
+ /**
+ * @ingroup rendering_group
+ * @brief Main application class for 3D rendering
+ * @details Handles UI setup and rendering pipeline. Provides:
+ * - Rotation controls
+ * - Color adjustments
+ * - Shape switching between sphere and cube
+ * 
+ * @par Example:
+ * @code
+ * public static void main(String[] args) {
+ *     launch(args);
+ * }
+ * @endcode
+ */
+@SuppressWarnings("unused")
+public class Main extends Application {
+
+    // Rotationswinkel in Radiant:
+    // rotationX steuert die Drehung um die Y-Achse (Heading, horizontal)
+    // rotationY steuert die Drehung um die X-Achse (Pitch, vertikal)
+    public double rotationX = 0;
+    public double rotationY = 0;
+
+    // Farbe des zu rendernden Objekts, standardmäßig Weiß.
+    public Color sphereColor = Color.WHITE;
+
+    // Letzte bekannte Mausposition; wird genutzt, um die Änderung der Rotationswinkel per Drag & Drop zu berechnen.
+    public double lastX = 0, lastY = 0;
+    
+    // Flag, das bestimmt, welches Objekt gerendert wird:
+    // true: Sphäre; false: Würfel.
+    public boolean renderSphere = true;
+
+    // Importiertes Modell (OBJ/STL), das statt Sphäre oder Würfel gerendert wird; null = Grundform.
+    public FloatMesh model;
+    // Vereinfachte Stufen des Modells für die automatische Detailstufe; null, solange sie noch berechnet werden.
+    public ModelLod modelLod;
+    
+    // Die Zeichenfläche (Canvas), auf der das 3D-Objekt gerendert wird.
+    public Canvas canvas;
+
+    // Bild, in das der fertige Render-Puffer pro Frame übertragen wird; wird nur bei Größenänderung neu angelegt.
+    public WritableImage image;
+    // Auflösung und Bereich des angezeigten Frames außerhalb des Hintergrunds sowie zuletzt
+    // übertragener Bereich. Frames mit verringerter Auflösung liegen links oben im Bild.
+    private int shownWidth, shownHeight;
+    private final ScreenRect shownBounds = new ScreenRect();
+    private final ScreenRect uploaded = new ScreenRect();
+
+    // Unterteilungsstufe der Sphäre (Anzahl der Dreiecke: 4 * 4^INFLATION_LEVEL), wenn die
+    // automatische Detailstufe (LOD) abgeschaltet ist.
+    public static final int INFLATION_LEVEL = 4;
+
+    // Anzahl der Kugeln in der Testszene (CheckBox "Scene") und der Instanzen (CheckBox "Instances").
+    public static final int SCENE_SPHERES = 400;
+    public static final int SCENE_INSTANCES = 5000;
+
+    // Vergrößerung per Mausrad und automatische Wahl der Detailstufe aus der projizierten Größe.
+    public double zoom = 1;
+    public boolean levelOfDetail = true;
+
+    // Cache der Dreiecksnetze; Meshes werden nur beim Wechsel von Form oder Stufe neu erzeugt.
+    public final MeshCache meshCache = new MeshCache();
+
+    // Flags für die Render-Optionen: paralleles Rastern in Kacheln und Back-Face-Culling.
+    public boolean parallelRendering = true;
+    public boolean backFaceCulling = true;
+    // Nur die Kanten als Drahtgitter zeichnen (gemeinsamer Linienrasterisierer mit SimpleSquareRendering).
+    public boolean wireframe = false;
+    // SIMD-Pfad (Vector API); nur wählbar, wenn die JVM mit --add-modules jdk.incubator.vector läuft.
+    public boolean simdRendering = Simd.isAvailable();
+    // Testszene mit vielen Objekten hinter einer Wand bzw. mit vielen Instanzen; Verdeckungstest
+    // über den hierarchischen Z-Buffer.
+    public Scene demoScene;
+    public boolean occlusionCulling = true;
+    // Verzögerte Schattierung nach dem Rastern (liefert dasselbe Bild).
+    public boolean deferredShading = false;
+    // Multisample-Kantenglättung mit 4 Abtastpunkten pro Pixel.
+    public boolean multisampling = false;
+    // Textur auf allen Flächen statt der Farbe (null = einfarbig); das Schachbrett dafür wird
+    // erst beim ersten Einschalten erzeugt.
+    public Texture texture;
+    private Texture checkerboard;
+
+    // Headless Render-Pipeline; Thread-Anzahl und Kachelgröße des parallelen Rasterisierers sind
+    // über System-Properties einstellbar (-Drenderer.threads=N, -Drenderer.tileSize=N).
+    public final Renderer renderer = new Renderer(meshCache, new TiledRasterizer(
+            Integer.getInteger("renderer.threads", Runtime.getRuntime().availableProcessors()),
+            Integer.getInteger("renderer.tileSize", TiledRasterizer.DEFAULT_TILE_SIZE)));
+
+    // Fasst Render-Anforderungen zusammen und rendert höchstens einmal pro Pulse; standardmäßig
+    // auf einem eigenen Thread (abschaltbar mit -Drenderer.background=false).
+    public RenderScheduler<ViewState> scheduler;
+
+    // Während Ziehen und Slider-Bewegungen mit verringerter Auflösung rendern und danach
+    // verfeinern; Ziel-Renderzeit, kleinster Faktor und Ruhezeit sind über System-Properties
+    // einstellbar (-Drenderer.targetFrameMillis, -Drenderer.minScale, -Drenderer.idleMillis).
+    public final AdaptiveResolution adaptive = new AdaptiveResolution(
+            doubleProperty("renderer.targetFrameMillis", AdaptiveResolution.DEFAULT_TARGET_MILLIS),
+            doubleProperty("renderer.minScale", AdaptiveResolution.DEFAULT_MIN_SCALE),
+            doubleProperty("renderer.idleMillis", AdaptiveResolution.DEFAULT_IDLE_MILLIS));
+    public boolean adaptiveResolution = true;
+
+    // Overlay mit den Messwerten der Pipeline; ein- und ausblendbar über die CheckBox "Stats".
+    // Die Messung selbst läuft standardmäßig immer mit (abschaltbar mit -Drenderer.profile=false).
+    public StatsOverlay statsOverlay;
+    public boolean showStats = false;
+
+    /**
+     * Entry Point der JavaFX-Anwendung.
+     * <p>
+     * Mit {@code --batch} als erstem Argument wird statt des Fensters der headless
+     * {@link BatchCli Batch-Renderer} mit den übrigen Argumenten gestartet.
+     *
+     * @param args Kommandozeilenargumente
+     * @throws Exception wenn der Batch-Lauf fehlschlägt.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchCli.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        launch(args);
+    }
+
+    /**
+     * Startet die Anwendung und initialisiert das Hauptfenster (Stage), die Benutzeroberfläche
+     * sowie alle Steuerungselemente und Event-Handler.
+     * <p>
+     * Die Methode legt fest:
+     * <ul>
+     *   <li>die Zeichenfläche (Canvas) für das Rendering,</li>
+     *   <li>die Slider zur Steuerung von Heading, Pitch und Farbe,</li>
+     *   <li>eine CheckBox, um zwischen Sphäre und Würfel umzuschalten,</li>
+     *   <li>und Maus-Event-Handler zur Interaktion per Drag und Drop.</li>
+     * </ul>
+     *
+     * @param primaryStage Das Hauptfenster der Anwendung.
+     */
+    @Override
+    public void start(Stage primaryStage) {
+        primaryStage.setTitle("3D Renderer");
+        primaryStage.setHeight(800);
+        primaryStage.setWidth(1200);
+
+        // Erstelle die Zeichenfläche (Canvas) zum Rendern
+        canvas = new Canvas(800, 600);
+        // Füge Maus-Event-Handler hinzu, um Interaktionen (Drag & Drop) zu ermöglichen.
+        addMouseHandlers();
+
+        // Erstelle das Hauptlayout mit einem BorderPane.
+        BorderPane root = new BorderPane();
+        // Platziere die Canvas in der Mitte des Layouts.
+        root.setCenter(canvas);
+
+        // Erstelle einen Slider für die Heading-Drehung (0 bis 360°).
+        Slider headingSlider = new Slider(0, 360, 180);
+        headingSlider.setMaxWidth(400);
+        headingSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            // Aktualisiere den Rotationswinkel (in Radiant) und rendere neu.
+            rotationX = Math.toRadians(newVal.doubleValue());
+            interact();
+        });
+
+        // Erstelle Slider zur Farbauswahl für Rot, Grün und Blau.
+        Slider redSlider = createColorSlider(255);
+        Slider greenSlider = createColorSlider(255);
+        Slider blueSlider = createColorSlider(255);
+
+        // Gemeinsamer Listener, der bei Änderungen der Farbwerte die Objektfarbe aktualisiert.
+        ChangeListener<Number> colorListener = (obs, oldVal, newVal) -> {
+            sphereColor = Color.rgb(
+                    (int) redSlider.getValue(),
+                    (int) greenSlider.getValue(),
+                    (int) blueSlider.getValue()
+            );
+            interact();
+        };
+        redSlider.valueProperty().addListener(colorListener);
+        greenSlider.valueProperty().addListener(colorListener);
+        blueSlider.valueProperty().addListener(colorListener);
+
+        // Ordne die Farbslider in einer horizontalen Box (HBox) an.
+        HBox colorBox = new HBox(10, new Label("Red"), redSlider,
+                                        new Label("Green"), greenSlider,
+                                        new Label("Blue"), blueSlider);
+        
+        // CheckBox zum Umschalten zwischen Sphäre und Würfel.
+        CheckBox shapeToggle = new CheckBox("Cube");
+        shapeToggle.setOnAction(e -> {
+            // Setzt renderSphere auf false, wenn die CheckBox ausgewählt ist (Würfel rendern)
+            renderSphere = !shapeToggle.isSelected();
+            // Die Auswahl einer Grundform ersetzt ein geladenes Modell.
+            model = null;
+            modelLod = null;
+            draw();
+        });
+        // CheckBox zum Umschalten zwischen parallelem (Kacheln) und seriellem Rastern.
+        CheckBox parallelToggle = new CheckBox("Parallel");
+        parallelToggle.setSelected(parallelRendering);
+        parallelToggle.setOnAction(e -> {
+            parallelRendering = parallelToggle.isSelected();
+            draw();
+        });
+        // CheckBox zum Ein- und Ausschalten des Back-Face-Cullings.
+        CheckBox cullingToggle = new CheckBox("Backface Culling");
+        cullingToggle.setSelected(backFaceCulling);
+        cullingToggle.setOnAction(e -> {
+            backFaceCulling = cullingToggle.isSelected();
+            draw();
+        });
+        // CheckBox zum Umschalten zwischen gefüllten Dreiecken und Drahtgitter.
+        CheckBox wireframeToggle = new CheckBox("Wireframe");
+        wireframeToggle.setSelected(wireframe);
+        wireframeToggle.setOnAction(e -> {
+            wireframe = wireframeToggle.isSelected();
+            draw();
+        });
+        // CheckBox zum Ein- und Ausblenden der Messwerte über der Zeichenfläche.
+        CheckBox statsToggle = new CheckBox("Stats");
+        statsToggle.setSelected(showStats);
+        statsToggle.setOnAction(e -> {
+            showStats = statsToggle.isSelected();
+            // Der Frame selbst ändert sich nicht; nur neu zeichnen.
+            paint();
+        });
+        // Button zum Laden eines OBJ- oder STL-Modells.
+        Button loadButton = new Button("Load Model...");
+        loadButton.setOnAction(e -> loadModel(primaryStage));
+        // CheckBox zum Ein- und Ausschalten der automatischen Detailstufe.
+        CheckBox lodToggle = new CheckBox("LOD");
+        lodToggle.setSelected(levelOfDetail);
+        lodToggle.setOnAction(e -> {
+            levelOfDetail = lodToggle.isSelected();
+            draw();
+        });
+        // CheckBox zum Umschalten zwischen SIMD- und skalarem Pfad (beide liefern dasselbe Bild).
+        CheckBox simdToggle = new CheckBox("SIMD");
+        simdToggle.setSelected(simdRendering);
+        simdToggle.setDisable(!Simd.isAvailable());
+        simdToggle.setOnAction(e -> {
+            simdRendering = simdToggle.isSelected();
+            draw();
+        });
+        // CheckBox zum Umschalten auf die Testszene mit vielen verdeckten Kugeln.
+        CheckBox sceneToggle = new CheckBox("Scene");
+        // CheckBox zum Umschalten auf die Szene aus vielen gedrehten Kugeln und Würfeln.
+        CheckBox instancesToggle = new CheckBox("Instances");
+        sceneToggle.setOnAction(e -> {
+            instancesToggle.setSelected(false);
+            demoScene = sceneToggle.isSelected() ? Scene.occluderDemo(meshCache, SCENE_SPHERES, 1) : null;
+            draw();
+        });
+        instancesToggle.setOnAction(e -> {
+            sceneToggle.setSelected(false);
+            demoScene = instancesToggle.isSelected() ? Scene.instancedDemo(meshCache, SCENE_INSTANCES, 1) : null;
+            draw();
+        });
+        // CheckBox zum Ein- und Ausschalten des Verdeckungstests (beide liefern dasselbe Bild).
+        CheckBox occlusionToggle = new CheckBox("Occlusion");
+        occlusionToggle.setSelected(occlusionCulling);
+        occlusionToggle.setOnAction(e -> {
+            occlusionCulling = occlusionToggle.isSelected();
+            draw();
+        });
+        // CheckBox zum Umschalten auf verzögerte Schattierung (beide liefern dasselbe Bild).
+        CheckBox deferredToggle = new CheckBox("Deferred");
+        deferredToggle.setSelected(deferredShading);
+        deferredToggle.setOnAction(e -> {
+            deferredShading = deferredToggle.isSelected();
+            draw();
+        });
+        // CheckBox zum Ein- und Ausschalten der Kantenglättung (4x MSAA).
+        CheckBox msaaToggle = new CheckBox("MSAA");
+        msaaToggle.setSelected(multisampling);
+        msaaToggle.setOnAction(e -> {
+            multisampling = msaaToggle.isSelected();
+            draw();
+        });
+        // CheckBox zum Ein- und Ausschalten der Schachbrett-Textur (trilinear gefiltert).
+        CheckBox textureToggle = new CheckBox("Texture");
+        textureToggle.setSelected(texture != null);
+        textureToggle.setOnAction(e -> {
+            if (textureToggle.isSelected() && checkerboard == null) {
+                checkerboard = Texture.checkerboard(1024, 8, 0xFFE0C080, 0xFF4060A0, TextureLayout.MORTON);
+            }
+            texture = textureToggle.isSelected() ? checkerboard : null;
+            draw();
+        });
+        // CheckBox zum Ein- und Ausschalten der verringerten Auflösung während Eingaben.
+        CheckBox adaptiveToggle = new CheckBox("Adaptive");
+        adaptiveToggle.setSelected(adaptiveResolution);
+        adaptiveToggle.setOnAction(e -> {
+            adaptiveResolution = adaptiveToggle.isSelected();
+            draw();
+        });
+        HBox shapeBox = new HBox(10, new Label("Shape:"), shapeToggle, parallelToggle, cullingToggle, wireframeToggle,
+                lodToggle, simdToggle, sceneToggle, instancesToggle, occlusionToggle, deferredToggle, msaaToggle,
+                textureToggle, adaptiveToggle, statsToggle, loadButton);
+
+        // VBox zur Anordnung des Heading-Sliders, der Farbslider und der Shape-Auswahl.
+        VBox bottomBox = new VBox(10, headingSlider, colorBox, shapeBox);
+        root.setBottom(bottomBox);
+
+        // Erstelle einen vertikalen Slider für die Pitch-Drehung (-90° bis 90°).
+        Slider pitchSlider = new Slider(-90, 90, 0);
+        pitchSlider.setOrientation(Orientation.VERTICAL);
+        pitchSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            // Aktualisiere den Pitch-Winkel (in Radiant) und rendere neu.
+            rotationY = Math.toRadians(newVal.doubleValue());
+            interact();
+        });
+        VBox leftBox = new VBox(new Label("Pitch"), pitchSlider);
+        root.setLeft(leftBox);
+
+        // Erstelle die Szene und setze sie auf das Hauptfenster.
+        // Voll qualifiziert, da Scene hier die Szene des Renderers bezeichnet.
+        javafx.scene.Scene scene = new javafx.scene.Scene(root, 800, 600);
+        primaryStage.setScene(scene);
+        primaryStage.show();
+
+        renderer.getProfiler().setEnabled(!"false".equals(System.getProperty("renderer.profile")));
+        statsOverlay = new StatsOverlay(renderer.getProfiler());
+
+        // Erzeuge die Stufen der Sphäre vorab im Hintergrund, damit ein Stufenwechsel beim Zoomen nicht stockt.
+        Thread prewarm = new Thread(() -> {
+            for (int level = 0; level <= MeshFactory.MAX_LOD_LEVEL; level++) {
+                meshCache.get(Shape.SPHERE, level);
+            }
+        }, "lod-prewarm");
+        prewarm.setDaemon(true);
+        prewarm.start();
+
+        // Starte den Render-Scheduler und fordere ein initiales Rendering des aktuellen 3D-Objekts an.
+        scheduler = new RenderScheduler<>(new RenderScheduler.FrameRenderer<>() {
+            @Override
+            public ViewState snapshot() {
+                return createViewState();
+            }
+
+            @Override
+            public FrameBuffer render(ViewState state, FrameBuffer reuse) {
+                long start = System.nanoTime();
+                FrameBuffer frame = renderer.render(state, reuse);
+                adaptive.rendered(state, System.nanoTime() - start);
+                return frame;
+            }
+
+            @Override
+            public boolean wantsFrame() {
+                return adaptiveResolution && adaptive.needsRefinement(System.nanoTime());
+            }
+        }, this::present, !"false".equals(System.getProperty("renderer.background")));
+        scheduler.start();
+        draw();
+    }
+
+    /**
+     * Lässt den Benutzer eine OBJ- oder STL-Datei auswählen und lädt sie im Hintergrund.
+     * <p>
+     * Das Laden läuft über den {@link MeshLoader} mit Binär-Cache; ab dem zweiten Laden wird die
+     * Datei nur noch abgebildet. Dauer und Durchsatz erscheinen im Fenstertitel. Das Modell wird
+     * sofort angezeigt; die Detailstufen ({@link ModelLod}) werden danach auf demselben Thread
+     * berechnet und nachgereicht.
+     *
+     * @param owner Das Hauptfenster (für den Dateidialog und den Titel).
+     */
+    public void loadModel(Stage owner) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Load Model");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Meshes (*.obj, *.stl)", "*.obj", "*.stl"));
+        File file = chooser.showOpenDialog(owner);
+        if (file == null) {
+            return;
+        }
+        owner.setTitle("3D Renderer - loading " + file.getName() + "...");
+        Thread loader = new Thread(() -> {
+            try {
+                MeshLoader.Result result = MeshLoader.load(file.toPath());
+                FloatMesh loaded = result.getMesh();
+                Platform.runLater(() -> {
+                    model = loaded;
+                    modelLod = null;
+                    owner.setTitle("3D Renderer - " + file.getName() + ": " + result);
+                    draw();
+                });
+                ModelLod lod = ModelLod.build(loaded);
+                Platform.runLater(() -> {
+                    // Nur übernehmen, wenn inzwischen kein anderes Modell geladen wurde.
+                    if (model == loaded) {
+                        modelLod = lod;
+                        owner.setTitle("3D Renderer - " + file.getName() + ": " + result + ", " + lod);
+                        draw();
+                    }
+                });
+            } catch (IOException | RuntimeException ex) {
+                Platform.runLater(() -> owner.setTitle("3D Renderer - " + file.getName() + ": " + ex.getMessage()));
+            }
+        }, "model-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Wird beim Beenden der Anwendung aufgerufen und gibt die Worker-Threads des Rasterisierers frei.
+     */
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.stop();
+        }
+        renderer.close();
+    }
+
+    /**
+     * Erstellt einen Slider zur Einstellung eines Farbwertes.
+     * <p>
+     * Der Slider zeigt Tick-Marks und -Labels an, wobei der Wertebereich von 0 bis 255 geht.
+     *
+     * @param initial Der Startwert des Sliders.
+     * @return Den konfigurierten Slider.
+     */
+    public Slider createColorSlider(int initial) {
+        Slider slider = new Slider(0, 255, initial);
+        slider.setShowTickLabels(true);
+        slider.setShowTickMarks(true);
+        slider.setMajorTickUnit(85);
+        slider.setMinorTickCount(4);
+        return slider;
+    }
+
+    /**
+     * Fügt der Canvas Maus-Event-Handler hinzu, um die Interaktion per Drag & Drop zu ermöglichen.
+     * <p>
+     * Beim Drücken der Maus wird die Startposition gespeichert. Beim Ziehen wird anhand der
+     * Änderung der Mausposition die Drehung (Heading und Pitch) des 3D-Objekts angepasst.
+     * Das Mausrad ändert die Vergrößerung.
+     */
+    public void addMouseHandlers() {
+        canvas.setOnMousePressed((MouseEvent e) -> {
+            lastX = e.getX();
+            lastY = e.getY();
+        });
+        canvas.setOnMouseDragged((MouseEvent e) -> {
+            // Berechne die Differenz zur letzten bekannten Mausposition
+            double deltaX = -(e.getX() - lastX);
+            double deltaY = -(e.getY() - lastY);
+            // Aktualisiere die Rotationswinkel, skaliert durch einen Faktor zur Empfindlichkeitsanpassung
+            rotationX -= Math.toRadians(deltaX * 0.5);
+            rotationY -= Math.toRadians(deltaY * 0.5);
+            // Begrenze den Pitch-Winkel auf [-90°, 90°]
+            rotationY = Math.max(-Math.PI / 2, Math.min(Math.PI / 2, rotationY));
+            lastX = e.getX();
+            lastY = e.getY();
+            interact();
+        });
+        // Mausrad: Vergrößerung in Schritten von etwa 10 %, begrenzt auf [0.05, 20].
+        canvas.setOnScroll((ScrollEvent e) -> {
+            zoom *= Math.pow(1.1, e.getDeltaY() / 40);
+            zoom = Math.max(0.05, Math.min(20, zoom));
+            interact();
+        });
+    }
+
+    /**
+     * Fordert ein neues Rendering des aktuell ausgewählten 3D-Objekts (Sphäre oder Würfel) an.
+     * <p>
+     * Die Methode rendert nicht selbst, sondern markiert die Szene beim {@link RenderScheduler}
+     * als veraltet. Mehrere Aufrufe innerhalb eines Pulses (z.B. beim schnellen Ziehen mit der Maus)
+     * ergeben genau einen Frame. Gerendert wird von der headless {@link Renderer}-Pipeline,
+     * angezeigt über {@link #present(FrameBuffer)}.
+     */
+    public void draw() {
+        scheduler.requestRender();
+    }
+
+    /**
+     * Fordert wie {@link #draw()} einen Frame an und meldet dabei eine fortlaufende Eingabe
+     * (Ziehen, Mausrad, Slider), während der mit verringerter Auflösung gerendert werden darf.
+     */
+    public void interact() {
+        adaptive.input(System.nanoTime());
+        draw();
+    }
+
+    /**
+     * Erfasst den aktuellen Zustand der Steuerelemente als {@link ViewState} für einen Frame.
+     *
+     * @return Eine unabhängige Kopie aller Parameter des nächsten Frames.
+     */
+    public ViewState createViewState() {
+        ViewState view = new ViewState();
+        view.shape = renderSphere ? Shape.SPHERE : Shape.CUBE;
+        view.level = INFLATION_LEVEL;
+        view.model = model;
+        view.modelLod = modelLod;
+        view.zoom = zoom;
+        view.lod = levelOfDetail;
+        view.rotationX = rotationX;
+        view.rotationY = rotationY;
+        // Die Farbe wird pro Frame angewendet und erfordert keinen Neuaufbau des Meshes.
+        view.color = toArgb(sphereColor);
+        view.width = (int) canvas.getWidth();
+        view.height = (int) canvas.getHeight();
+        view.backFaceCulling = backFaceCulling;
+        view.parallel = parallelRendering;
+        view.wireframe = wireframe;
+        view.simd = simdRendering;
+        view.scene = demoScene;
+        view.occlusionCulling = occlusionCulling;
+        view.deferred = deferredShading;
+        view.msaa = multisampling ? 4 : 0;
+        view.texture = texture;
+        if (adaptiveResolution) {
+            adaptive.apply(view, System.nanoTime());
+        }
+        return view;
+    }
+
+    /**
+     * Überträgt einen fertigen Render-Puffer auf die Canvas.
+     * <p>
+     * Nur der Bereich, der sich gegenüber dem angezeigten Frame geändert haben kann, wird per
+     * {@code PixelWriter.setPixels} in das wiederverwendete Bild geschrieben: die Vereinigung der
+     * {@link FrameBuffer#getContentBounds() gezeichneten Bereiche} des alten und des neuen Frames.
+     * Außerhalb davon sind beide Frames Hintergrund. Ein Frame mit anderer Auflösung (siehe
+     * {@link AdaptiveResolution}) wird vollständig übertragen und beim Zeichnen geglättet auf
+     * die Größe der Canvas skaliert. Die Dauer zählt im Profiler als {@code BLIT}, die
+     * übertragenen Bytes als Upload; danach wird bei Bedarf das Overlay gezeichnet.
+     *
+     * @param frameBuffer Der fertige Frame.
+     */
+    public void present(FrameBuffer frameBuffer) {
+        long start = System.nanoTime();
+        int width = frameBuffer.getWidth();
+        int height = frameBuffer.getHeight();
+        ScreenRect content = frameBuffer.getContentBounds();
+        if (image == null || (int) image.getWidth() < width || (int) image.getHeight() < height) {
+            image = new WritableImage(Math.max(width, (int) canvas.getWidth()), Math.max(height, (int) canvas.getHeight()));
+            uploaded.set(0, 0, width, height);
+        } else if (width != shownWidth || height != shownHeight) {
+            uploaded.set(0, 0, width, height);
+        } else {
+            uploaded.set(shownBounds).union(content);
+        }
+        if (!uploaded.isEmpty()) {
+            image.getPixelWriter().setPixels(uploaded.getMinX(), uploaded.getMinY(),
+                    uploaded.getWidth(), uploaded.getHeight(), PixelFormat.getIntArgbInstance(),
+                    frameBuffer.getPixels(), uploaded.getMinY() * width + uploaded.getMinX(), width);
+        }
+        shownWidth = width;
+        shownHeight = height;
+        shownBounds.set(content);
+        FrameProfiler profiler = renderer.getProfiler();
+        profiler.recordUpload(uploaded.getArea() * Integer.BYTES);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        drawFrame(gc);
+        profiler.record(BLIT, System.nanoTime() - start);
+        if (showStats) {
+            statsOverlay.draw(gc);
+        }
+    }
+
+    /**
+     * Zeichnet den zuletzt übertragenen Frame und bei Bedarf das Overlay erneut, ohne zu rendern.
+     */
+    public void paint() {
+        if (image == null) {
+            return;
+        }
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        drawFrame(gc);
+        if (showStats) {
+            statsOverlay.draw(gc);
+        }
+    }
+
+    /**
+     * Zeichnet den angezeigten Frame aus dem Bild auf die ganze Canvas.
+     */
+    private void drawFrame(GraphicsContext gc) {
+        gc.setImageSmoothing(true);
+        gc.drawImage(image, 0, 0, shownWidth, shownHeight, 0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    /**
+     * Liest eine Kommazahl aus einer System-Property.
+     *
+     * @param name     Der Name der Property.
+     * @param fallback Der Wert, wenn die Property fehlt.
+     * @return Der Wert.
+     * @throws NumberFormatException wenn die Property keine Zahl ist.
+     */
+    public static double doubleProperty(String name, double fallback) {
+        String value = System.getProperty(name);
+        return value == null ? fallback : Double.parseDouble(value);
+    }
+
+    /**
+     * Wandelt eine JavaFX-Farbe in einen gepackten ARGB-Wert um.
+     *
+     * @param color Die umzuwandelnde Farbe.
+     * @return Die Farbe als ARGB-Integer (8 Bit pro Kanal).
+     */
+    public static int toArgb(Color color) {
+        int a = (int) Math.round(color.getOpacity() * 255);
+        int r = (int) Math.round(color.getRed() * 255);
+        int g = (int) Math.round(color.getGreen() * 255);
+        int b = (int) Math.round(color.getBlue() * 255);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+}
@@ -0,0 +1,144 @@
+import renderer.mesh.MeshCache;
+import renderer.mesh.Shape;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+import renderer.raster.ScreenRect;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * Einfache Swing-Oberfläche: ein Würfel als Drahtgitter, der mit den Pfeiltasten sowie A und D
+ * um die drei Achsen gedreht wird.
+ * <p>
+ * Gerendert wird mit derselben headless {@link Renderer}-Pipeline wie in {@link Main}; die
+ * Kanten zeichnet der Bresenham-Linienrasterisierer in den gemeinsamen {@link FrameBuffer}. In
+ * das wiederverwendete Bild wird pro Frame nur der Bereich kopiert, in dem der alte oder der neue
+ * Würfel liegt; der Rest ist in beiden Frames Hintergrund. Es gibt keinen Timer: Ein
+ * Frame entsteht nur, wenn eine Taste den Zustand ändert oder sich die Fenstergröße ändert. Im
+ * eingeschwungenen Zustand werden weder Matrizen noch Puffer noch Bilder neu angelegt.
+ */
+public class SimpleSquareRendering extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    // Drehschritt pro Tastendruck in Grad.
+    private static final int STEP = 5;
+
+    /**
+     * @param angleX Winkel der X-Achse
+     * @param angleY Winkel der Y-Achse
+     * @param angleZ Winkel der Z-Achse
+     */
+    private int angleX = 0;
+    private int angleY = 0;
+    private int angleZ = 0;
+
+    // Render-Pipeline (seriell, ohne Kachel-Threads) und Zustand des nächsten Frames.
+    private final Renderer pipeline = new Renderer(new MeshCache(), null);
+    private final ViewState view = new ViewState();
+    private FrameBuffer frameBuffer;
+
+    // Bild, in das der Render-Puffer kopiert wird; wird nur bei Größenänderung neu angelegt.
+    private BufferedImage image;
+    private int[] imagePixels;
+    // Bereich des Würfels im Bild und zuletzt kopierter Bereich.
+    private final ScreenRect shownBounds = new ScreenRect();
+    private final ScreenRect copied = new ScreenRect();
+    // true, wenn sich der Zustand seit dem letzten Frame geändert hat.
+    private boolean dirty = true;
+
+    public SimpleSquareRendering() {
+        view.shape = Shape.CUBE;
+        view.wireframe = true;
+        view.parallel = false;
+        // Die Würfelhalbkante des Meshes ist 100, wie die bisherige Darstellung mit Faktor 100.
+        view.zoom = 1;
+        setOpaque(true);
+        addKeyListener(new TAdapter());
+        setFocusable(true);
+    }
+
+    @Override
+    public void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            imagePixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            // Das neue Bild muss vollständig beschrieben werden.
+            shownBounds.set(0, 0, width, height);
+            dirty = true;
+        }
+        if (dirty) {
+            render(width, height);
+            dirty = false;
+        }
+        g.drawImage(image, 0, 0, null);
+    }
+
+    /**
+     * Rendert den Würfel mit den aktuellen Winkeln und kopiert den geänderten Bereich in das Bild.
+     */
+    private void render(int width, int height) {
+        view.width = width;
+        view.height = height;
+        // Dieselbe Drehreihenfolge wie bisher: zuerst um X, dann um Y, zuletzt um Z.
+        view.rotationY = Math.toRadians(-angleX);
+        view.rotationX = Math.toRadians(angleY);
+        view.rotationZ = Math.toRadians(angleZ);
+        frameBuffer = pipeline.render(view, frameBuffer);
+        ScreenRect content = frameBuffer.getContentBounds();
+        copied.set(shownBounds).union(content);
+        int[] pixels = frameBuffer.getPixels();
+        for (int y = copied.getMinY(); y < copied.getMaxY(); y++) {
+            int row = y * width + copied.getMinX();
+            System.arraycopy(pixels, row, imagePixels, row, copied.getWidth());
+        }
+        shownBounds.set(content);
+    }
+
+    private class TAdapter extends KeyAdapter {
+        @Override
+        public void keyPressed(KeyEvent e) {
+            int key = e.getKeyCode();
+
+            if (key == KeyEvent.VK_LEFT) {
+                angleY -= STEP;
+            } else if (key == KeyEvent.VK_RIGHT) {
+                angleY += STEP;
+            } else if (key == KeyEvent.VK_UP) {
+                angleX -= STEP;
+            } else if (key == KeyEvent.VK_DOWN) {
+                angleX += STEP;
+            } else if (key == KeyEvent.VK_A) {
+                angleZ -= STEP;
+            } else if (key == KeyEvent.VK_D) {
+                angleZ += STEP;
+            } else {
+                return;
+            }
+            // Nur bei einer Änderung neu zeichnen; mehrere Anforderungen fasst Swing zusammen.
+            dirty = true;
+            repaint();
+        }
+    }
+
+    public static void main(String[] args) {
+        JFrame frame = new JFrame("Simple 3D Renderer");
+        SimpleSquareRendering panel = new SimpleSquareRendering();
+        frame.add(panel);
+        frame.setSize(800, 600);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+    }
+}
@@ -0,0 +1,227 @@
+package renderer.fx;
+
+import javafx.animation.AnimationTimer;
+import renderer.raster.FrameBuffer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Fasst Render-Anforderungen zusammen und rendert höchstens einmal pro JavaFX-Pulse.
+ * <p>
+ * Eingaben (Slider, Maus, Farbwahl) rufen nur {@link #requestRender()} auf und markieren die
+ * Szene damit als veraltet. Ein {@link AnimationTimer} prüft bei jedem Pulse, ob ein neuer Frame
+ * nötig ist. Mehrere Anforderungen zwischen zwei Pulses ergeben genau einen Frame.
+ * <p>
+ * Im Hintergrund-Modus wird auf einem eigenen Thread in einen zweiten FrameBuffer gerendert
+ * (Double Buffering). Der JavaFX-Thread tauscht nur die Puffer und überträgt den fertigen Frame.
+ * Es ist immer höchstens ein Frame in Arbeit; Anforderungen während des Renderns werden
+ * zusammengefasst, sodass veraltete Zwischenstände nie in eine Warteschlange geraten.
+ * <p>
+ * Gleicht ein Snapshot ({@link Object#equals}) dem zuletzt gerenderten, entsteht kein Frame:
+ * Der angezeigte Frame ist dann bereits aktuell.
+ * <p>
+ * Alle Methoden außer dem Rendern selbst laufen auf dem JavaFX-Application-Thread.
+ *
+ * @param <S> Typ des Zustands-Snapshots, der einem Frame zugrunde liegt.
+ */
+public class RenderScheduler<S> {
+
+    /**
+     * Erzeugt Snapshots des aktuellen Zustands und rendert sie.
+     *
+     * @param <S> Typ des Zustands-Snapshots.
+     */
+    public interface FrameRenderer<S> {
+        /**
+         * Erfasst den aktuellen Zustand. Wird auf dem JavaFX-Thread aufgerufen.
+         *
+         * @return Ein unveränderlicher Snapshot für genau einen Frame.
+         */
+        S snapshot();
+
+        /**
+         * Rendert einen Snapshot. Wird im Hintergrund-Modus auf dem Render-Thread aufgerufen.
+         *
+         * @param state Der Snapshot.
+         * @param reuse Ein wiederzuverwendender Puffer oder {@code null}.
+         * @return Der Puffer mit dem fertigen Frame.
+         */
+        FrameBuffer render(S state, FrameBuffer reuse);
+
+        /**
+         * Fragt bei jedem Pulse ohne offene Anforderung, ob trotzdem ein Frame entstehen soll,
+         * z.B. um ein während der Eingabe gröber gerendertes Bild zu verfeinern. Wird auf dem
+         * JavaFX-Thread aufgerufen.
+         *
+         * @return {@code true} für einen weiteren Frame.
+         */
+        default boolean wantsFrame() {
+            return false;
+        }
+    }
+
+    private final FrameRenderer<S> renderer;
+    private final Consumer<FrameBuffer> presenter;
+    private final ExecutorService worker;
+    private final AnimationTimer timer;
+
+    // Zustand des JavaFX-Threads.
+    private boolean dirty;
+    private boolean inFlight;
+    private FrameBuffer front, back;
+    private long framesRendered, framesCoalesced, framesSkipped;
+    // Snapshot des zuletzt gerenderten bzw. in Arbeit befindlichen Frames.
+    private S lastState;
+
+    // Übergabe vom Render-Thread an den JavaFX-Thread.
+    private final AtomicReference<FrameBuffer> completed = new AtomicReference<>();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    /**
+     * Erzeugt einen Scheduler.
+     *
+     * @param renderer   Erzeugt Snapshots und rendert sie.
+     * @param presenter  Überträgt einen fertigen Frame auf den Bildschirm (JavaFX-Thread).
+     * @param background true, um auf einem eigenen Thread zu rendern.
+     */
+    public RenderScheduler(FrameRenderer<S> renderer, Consumer<FrameBuffer> presenter, boolean background) {
+        this.renderer = renderer;
+        this.presenter = presenter;
+        this.worker = background ? Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "render-thread");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulse();
+            }
+        };
+    }
+
+    /**
+     * Startet die Verarbeitung bei jedem Pulse.
+     */
+    public void start() {
+        timer.start();
+    }
+
+    /**
+     * Beendet die Verarbeitung und den Render-Thread.
+     */
+    public void stop() {
+        timer.stop();
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+
+    /**
+     * Markiert die Szene als veraltet. Der neue Frame entsteht beim nächsten Pulse.
+     */
+    public void requestRender() {
+        if (dirty) {
+            framesCoalesced++;
+        }
+        dirty = true;
+    }
+
+    /**
+     * Verarbeitet einen Pulse: fertige Frames anzeigen und bei Bedarf einen neuen Frame starten.
+     */
+    private void pulse() {
+        RuntimeException error = failure.getAndSet(null);
+        if (error != null) {
+            // Der fehlgeschlagene Frame wird verworfen; die nächste Anforderung startet neu.
+            inFlight = false;
+            lastState = null;
+            throw error;
+        }
+        if (worker == null) {
+            if (!dirty && renderer.wantsFrame()) {
+                dirty = true;
+            }
+            if (dirty) {
+                dirty = false;
+                S state = renderer.snapshot();
+                if (unchanged(state)) {
+                    return;
+                }
+                lastState = null;
+                front = renderer.render(state, front);
+                lastState = state;
+                framesRendered++;
+                presenter.accept(front);
+            }
+            return;
+        }
+
+        FrameBuffer done = completed.getAndSet(null);
+        if (done != null) {
+            // Puffer tauschen: der fertige Frame wird angezeigt, der alte dient als nächstes Render-Ziel.
+            back = front;
+            front = done;
+            inFlight = false;
+            framesRendered++;
+            presenter.accept(front);
+        }
+        if (!dirty && !inFlight && renderer.wantsFrame()) {
+            dirty = true;
+        }
+        if (dirty && !inFlight) {
+            dirty = false;
+            S state = renderer.snapshot();
+            if (unchanged(state)) {
+                return;
+            }
+            inFlight = true;
+            lastState = state;
+            FrameBuffer target = back;
+            back = null;
+            worker.execute(() -> {
+                try {
+                    completed.set(renderer.render(state, target));
+                } catch (RuntimeException e) {
+                    failure.set(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Prüft, ob ein Snapshot dem zuletzt gerenderten gleicht, und zählt ihn dann als übersprungen.
+     */
+    private boolean unchanged(S state) {
+        if (lastState != null && lastState.equals(state)) {
+            framesSkipped++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Die Anzahl der gerenderten und angezeigten Frames.
+     */
+    public long getFramesRendered() {
+        return framesRendered;
+    }
+
+    /**
+     * @return Die Anzahl der Anforderungen, die mit einer bereits offenen Anforderung zusammengefasst wurden.
+     */
+    public long getFramesCoalesced() {
+        return framesCoalesced;
+    }
+
+    /**
+     * @return Die Anzahl der Anforderungen, deren Zustand dem zuletzt gerenderten glich und die
+     *         daher ohne Frame blieben.
+     */
+    public long getFramesSkipped() {
+        return framesSkipped;
+    }
+}
@@ -0,0 +1,84 @@
+package renderer.fx;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import renderer.profiling.FrameProfiler;
+import renderer.profiling.ProfileSummary;
+import renderer.profiling.Stage;
+
+import java.util.Locale;
+
+/**
+ * Zeichnet die Messwerte eines {@link FrameProfiler} als Tabelle über die Canvas.
+ * <p>
+ * Die Werte werden in einem gleitenden Fenster von {@link #WINDOW_NANOS} zusammengefasst:
+ * Nach Ablauf eines Fensters wird die Zusammenfassung übernommen und der Profiler
+ * zurückgesetzt. Angezeigt werden pro Abschnitt p50, p99 und Maximum in Millisekunden
+ * sowie Bildrate, Dreiecke, Fragmente, Allokation und übertragene Bytes pro Frame.
+ */
+public class StatsOverlay {
+
+    /** Länge des Fensters, über das die angezeigten Werte gemittelt werden. */
+    public static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private static final Font FONT = Font.font("Monospaced", 12);
+    private static final double LINE_HEIGHT = 14;
+
+    private final FrameProfiler profiler;
+    private ProfileSummary summary;
+    private long windowStart = System.nanoTime();
+
+    /**
+     * Erzeugt ein Overlay für einen Profiler.
+     *
+     * @param profiler Der Profiler, dessen Werte angezeigt werden.
+     */
+    public StatsOverlay(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Zeichnet das Overlay in die linke obere Ecke.
+     *
+     * @param gc Der Grafikkontext der Canvas.
+     */
+    public void draw(GraphicsContext gc) {
+        long now = System.nanoTime();
+        if (summary == null || now - windowStart >= WINDOW_NANOS) {
+            summary = profiler.summary(true);
+            windowStart = now;
+        }
+        ProfileSummary s = summary;
+
+        String[] lines = new String[Stage.values().length + 6];
+        int n = 0;
+        lines[n++] = String.format(Locale.ROOT, "%-9s %7s %7s %7s", "ms", "p50", "p99", "max");
+        for (Stage stage : Stage.values()) {
+            lines[n++] = String.format(Locale.ROOT, "%-9s %7.2f %7.2f %7.2f", stage.getLabel(),
+                    s.getP50(stage) / 1e6, s.getP99(stage) / 1e6, s.getMax(stage) / 1e6);
+        }
+        lines[n++] = String.format(Locale.ROOT, "%-9s %7.2f %7.2f %7.2f", "Frame",
+                s.getFrameP50() / 1e6, s.getFrameP99() / 1e6, s.getFrameMax() / 1e6);
+        lines[n++] = String.format(Locale.ROOT, "%.1f fps (%d frames)", s.getFramesPerSecond(), s.getFrames());
+        lines[n++] = String.format(Locale.ROOT, "tris %.0f / %.0f, frags %.0f",
+                s.getTrianglesEmitted(), s.getTrianglesSubmitted(), s.getFragments());
+        lines[n++] = s.getAllocatedBytes() < 0 ? "alloc n/a"
+                : String.format(Locale.ROOT, "alloc %.1f KB/frame", s.getAllocatedBytes() / 1024);
+        lines[n++] = String.format(Locale.ROOT, "upload %.1f KB/frame", s.getUploadedBytes() / 1024);
+
+        gc.save();
+        gc.setFill(Color.rgb(0, 0, 0, 0.6));
+        gc.fillRect(4, 4, 270, n * LINE_HEIGHT + 8);
+        gc.setFont(FONT);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.TOP);
+        gc.setFill(Color.LIME);
+        for (int i = 0; i < n; i++) {
+            gc.fillText(lines[i], 10, 8 + i * LINE_HEIGHT);
+        }
+        gc.restore();
+    }
+}
@@ -0,0 +1,180 @@
+package renderer.bench;
+
+import renderer.mesh.FloatMesh;
+import renderer.mesh.Mesh;
+import renderer.mesh.MeshCache;
+import renderer.mesh.Shape;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+import renderer.scene.Scene;
+import renderer.simd.Simd;
+import renderer.texture.Texture;
+import renderer.texture.TextureLayout;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Prüft, dass eingeschwungene Frames keinen Speicher allokieren.
+ * <p>
+ * Für jede Konfiguration werden zunächst Frames zum Aufwärmen gerendert (bis der JIT die Pipeline
+ * kompiliert hat und alle Puffer ihre endgültige Größe haben), danach eine Reihe weiterer Frames,
+ * deren Allokationen über die Zähler des {@link com.sun.management.ThreadMXBean} gemessen werden,
+ * für den rendernden Thread und für alle übrigen, also auch die Threads des
+ * {@link renderer.raster.TiledRasterizer}. Jeder Frame dreht das Objekt weiter, damit kein Frame
+ * übersprungen oder aus einem Cache bedient wird. Jede Konfiguration läuft seriell und in Kacheln
+ * parallel; ohne Profiler, denn der aktive Profiler erzeugt pro Frame Ereignisse für JFR und die
+ * Listener.
+ * <p>
+ * Aufruf: {@code java -XX:-BackgroundCompilation --add-modules jdk.incubator.vector
+ * -cp renderer-bench/target/benchmarks.jar renderer.bench.AllocationCheck [--warmup=N]
+ * [--frames=N]}. Das Programm endet mit Status 1,
+ * sobald eine Konfiguration in einer Messung auch nur ein Byte allokiert. Jede Konfiguration wird
+ * zweimal über dieselben Drehungen gemessen, und beide Messungen müssen 0 ergeben. Maven startet
+ * es in der Phase {@code verify} des Moduls {@code renderer-bench}, sodass der Build dann
+ * fehlschlägt, ebenfalls mit {@code -XX:-BackgroundCompilation}: Der JIT übersetzt dann, während
+ * der anfordernde Thread wartet, sodass alle Übersetzungen in das Aufwärmen fallen und keine
+ * Messung mehr Objekte sieht, die nur der noch nicht übersetzte Code anlegt. Ohne diese Option
+ * kann eine Messung kurz nach dem Aufwärmen sporadisch allokieren.
+ */
+public final class AllocationCheck {
+
+    // Messungen pro Konfiguration über dieselben Drehungen; jede muss ohne Allokation bleiben.
+    private static final int ROUNDS = 2;
+
+    private AllocationCheck() {
+    }
+
+    public static void main(String[] args) {
+        int warmup = 3000;
+        int frames = 200;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(value);
+            } else if (arg.startsWith("--frames=")) {
+                frames = Integer.parseInt(value);
+            } else {
+                throw new IllegalArgumentException("Unbekannte Option: " + arg);
+            }
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("Allokationszähler werden von dieser JVM nicht unterstützt");
+            System.exit(1);
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        MeshCache meshCache = new MeshCache();
+        Scene instances = Scene.instancedDemo(meshCache, 2000, 1);
+        Scene occluders = Scene.occluderDemo(meshCache, 200, 1);
+        FloatMesh model = toModel(meshCache.get(Shape.SPHERE, 5));
+        Texture texture = Texture.checkerboard(256, 8, 0xFFE0C080, 0xFF4060A0, TextureLayout.MORTON);
+        List<String> names = new ArrayList<>();
+        List<Consumer<ViewState>> configs = new ArrayList<>();
+        names.add("sphere");
+        configs.add(v -> { });
+        names.add("cube");
+        configs.add(v -> v.shape = Shape.CUBE);
+        names.add("wireframe");
+        configs.add(v -> v.wireframe = true);
+        names.add("lod");
+        configs.add(v -> v.lod = true);
+        names.add("no-culling");
+        configs.add(v -> v.backFaceCulling = false);
+        names.add("reduced-scale");
+        configs.add(v -> v.scale = 0.5);
+        names.add("supersampling");
+        configs.add(v -> v.supersampling = 2);
+        names.add("msaa");
+        configs.add(v -> v.msaa = 4);
+        names.add("texture");
+        configs.add(v -> v.texture = texture);
+        names.add("model");
+        configs.add(v -> v.model = model);
+        names.add("instances");
+        configs.add(v -> v.scene = instances);
+        names.add("occluders");
+        configs.add(v -> v.scene = occluders);
+
+        boolean failed = false;
+        try (Renderer renderer = new Renderer(meshCache)) {
+            for (int run = 0; run < (Simd.isAvailable() ? 4 : 2); run++) {
+                for (int c = 0; c < configs.size(); c++) {
+                    ViewState view = new ViewState();
+                    view.parallel = (run & 1) == 1;
+                    view.simd = (run & 2) != 0;
+                    configs.get(c).accept(view);
+                    FrameBuffer frameBuffer = null;
+                    for (int i = 0; i < warmup; i++) {
+                        view.rotationX = i * 0.01;
+                        frameBuffer = renderer.render(view, frameBuffer);
+                    }
+                    long[] others = otherThreads(threads);
+                    long bytes = 0;
+                    for (int round = 0; round < ROUNDS; round++) {
+                        long before = allocatedBytes(threads, others, 0);
+                        before += threads.getCurrentThreadAllocatedBytes();
+                        for (int i = 0; i < frames; i++) {
+                            view.rotationX = (warmup + i) * 0.01;
+                            frameBuffer = renderer.render(view, frameBuffer);
+                        }
+                        long after = threads.getCurrentThreadAllocatedBytes();
+                        bytes = Math.max(bytes, allocatedBytes(threads, others, after) - before);
+                    }
+                    boolean ok = bytes == 0;
+                    failed |= !ok;
+                    System.out.printf(Locale.ROOT, "%-4s %-8s %-14s %10.1f Bytes/Frame%s%n",
+                            view.simd ? "simd" : "", view.parallel ? "parallel" : "seriell", names.get(c),
+                            (double) bytes / frames, ok ? "" : "  FEHLER");
+                }
+            }
+        }
+        if (failed) {
+            System.out.println("Eingeschwungene Frames allokieren Speicher");
+            System.exit(1);
+        }
+        System.out.println("Keine Allokationen in eingeschwungenen Frames");
+    }
+
+    /**
+     * Liefert die Kennungen aller laufenden Threads außer dem aktuellen. Nach dem Aufwärmen gehören
+     * dazu die Threads des Rasterizers.
+     */
+    private static long[] otherThreads(com.sun.management.ThreadMXBean threads) {
+        long current = Thread.currentThread().getId();
+        return Arrays.stream(threads.getAllThreadIds()).filter(id -> id != current).toArray();
+    }
+
+    /**
+     * Summiert die Allokationen der übrigen Threads zu {@code bytes}. Die Abfrage allokiert selbst
+     * auf dem aktuellen Thread; dessen Zähler wird deshalb vor der ersten bzw. nach der letzten
+     * Abfrage gelesen. Beendete Threads zählen mit -1 und werden übergangen.
+     */
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threads, long[] others, long bytes) {
+        for (long allocated : threads.getThreadAllocatedBytes(others)) {
+            if (allocated > 0) {
+                bytes += allocated;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Macht aus einem Mesh ein Modell, wie es der Import liefert.
+     */
+    private static FloatMesh toModel(Mesh mesh) {
+        double[] positions = mesh.getPositions();
+        float[] floats = new float[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            floats[i] = (float) positions[i];
+        }
+        return FloatMesh.of(floats, mesh.getIndices());
+    }
+}
@@ -0,0 +1,46 @@
+package renderer.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Startet die Benchmarks mit Allokationsprofil und JSON-Export.
+ * <p>
+ * Alle üblichen JMH-Optionen werden durchgereicht (z.B. ein Filter wie {@code Raster}).
+ * Ohne eigene Angaben gilt:
+ * <ul>
+ *   <li>der GC-Profiler ist aktiv ({@code gc.alloc.rate.norm} = Bytes pro Aufruf),</li>
+ *   <li>die Ergebnisse landen als JSON in {@code jmh-result.json}
+ *       (änderbar mit {@code -rff DATEI}).</li>
+ * </ul>
+ * Aufruf: {@code java -jar renderer-bench/target/benchmarks.jar [JMH-Optionen]}
+ */
+public final class BenchmarkMain {
+
+    /** Standard-Datei für die JSON-Ergebnisse. */
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (cmd.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import renderer.mesh.MeshCache;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+import renderer.scene.Scene;
+
+/**
+ * Vergleicht einen Frame mit und ohne verzögerte Schattierung ({@link ViewState#deferred}).
+ * <p>
+ * {@code sphere} ist die Standard-Sphäre ohne Overdraw. {@code overdraw} ist die
+ * Verdeckungs-Testszene ohne Sortierung und ohne Verdeckungstest, sodass die meisten
+ * Dreiecke hinter der Wand zwar schattiert, aber später überzeichnet werden. Gerastert wird
+ * seriell.
+ */
+@State(Scope.Thread)
+public class DeferredBenchmark extends BenchmarkDefaults {
+
+    @Param({"false", "true"})
+    public boolean deferred;
+
+    @Param({"sphere", "overdraw"})
+    public String scene;
+
+    private Renderer renderer;
+    private ViewState view;
+    private FrameBuffer frameBuffer;
+    private int frame;
+
+    @Setup
+    public void setup() {
+        MeshCache meshCache = new MeshCache();
+        renderer = new Renderer(meshCache, null);
+        view = new ViewState();
+        view.parallel = false;
+        view.deferred = deferred;
+        if (scene.equals("overdraw")) {
+            view.scene = Scene.occluderDemo(meshCache, 400, 1);
+            view.hierarchicalZ = false;
+            view.occlusionCulling = false;
+            view.frontToBack = false;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderer.close();
+    }
+
+    @Benchmark
+    public FrameBuffer renderFrame() {
+        view.rotationX = Math.toRadians(frame++ % 40 - 20);
+        frameBuffer = renderer.render(view, frameBuffer);
+        return frameBuffer;
+    }
+}
@@ -0,0 +1,52 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import renderer.mesh.MeshCache;
+import renderer.mesh.Shape;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+
+/**
+ * Misst einen kompletten Frame der {@link Renderer}-Pipeline, wie ihn die Oberfläche erzeugt.
+ */
+@State(Scope.Thread)
+public class FrameBenchmark extends BenchmarkDefaults {
+
+    @Param({"SPHERE", "CUBE"})
+    public Shape shape;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private Renderer renderer;
+    private ViewState view;
+    private FrameBuffer frameBuffer;
+
+    @Setup
+    public void setup() {
+        renderer = new Renderer(new MeshCache());
+        view = new ViewState();
+        view.shape = shape;
+        view.parallel = parallel;
+        view.rotationY = 20;
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderer.close();
+    }
+
+    @Benchmark
+    public FrameBuffer renderFrame() {
+        // Drehe pro Frame weiter, wie beim Ziehen mit der Maus.
+        view.rotationX = (view.rotationX + 1) % 360;
+        frameBuffer = renderer.render(view, frameBuffer);
+        return frameBuffer;
+    }
+}
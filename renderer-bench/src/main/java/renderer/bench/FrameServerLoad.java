@@ -0,0 +1,209 @@
+package renderer.bench;
+
+import renderer.mesh.MeshCache;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+import renderer.server.FrameClient;
+import renderer.server.FrameEncoding;
+import renderer.server.FrameRequest;
+import renderer.server.FrameServer;
+import renderer.server.ServerOptions;
+import renderer.server.SessionMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lastprobe für den {@link FrameServer} mit schnellen und langsamen Clients.
+ * <p>
+ * Startet einen Server im selben Prozess und verbindet mehrere Clients. Schnelle Clients fordern
+ * den nächsten Frame an, sobald der vorherige da ist, und halten dabei eine Anforderung im
+ * Voraus. Langsame Clients fordern alle 2 ms einen Frame an, holen aber nur alle 100 ms einen ab;
+ * bei ihnen muss der Server Frames verwerfen, statt sie zu puffern. Am Ende wird der zuletzt
+ * empfangene Frame jedes Clients mit einem lokal gerenderten verglichen und die Kennzahlen aller
+ * Sitzungen ausgegeben.
+ * <p>
+ * Aufruf: {@code java --add-modules jdk.incubator.vector -cp renderer-bench/target/benchmarks.jar
+ * renderer.bench.FrameServerLoad [--clients=N] [--slow=N] [--seconds=N] [--encoding=RAW|DELTA|PNG]
+ * [--size=BREITExHÖHE] [--threads=N] [--socket=PFAD]}. Das Programm endet mit Status 1, wenn ein Frame nicht
+ * stimmt.
+ */
+public final class FrameServerLoad {
+
+    private FrameServerLoad() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int clients = 8;
+        int slow = 2;
+        int seconds = 5;
+        FrameEncoding encoding = FrameEncoding.DELTA;
+        int width = 400, height = 300;
+        ServerOptions options = new ServerOptions();
+        options.port = 0;
+        options.statsSeconds = 0;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--clients=")) {
+                clients = Integer.parseInt(value);
+            } else if (arg.startsWith("--slow=")) {
+                slow = Integer.parseInt(value);
+            } else if (arg.startsWith("--seconds=")) {
+                seconds = Integer.parseInt(value);
+            } else if (arg.startsWith("--encoding=")) {
+                encoding = FrameEncoding.valueOf(value.toUpperCase(Locale.ROOT));
+            } else if (arg.startsWith("--size=")) {
+                width = Integer.parseInt(value.substring(0, value.indexOf('x')));
+                height = Integer.parseInt(value.substring(value.indexOf('x') + 1));
+            } else if (arg.startsWith("--threads=")) {
+                options.threads = Integer.parseInt(value);
+            } else if (arg.startsWith("--socket=")) {
+                options.socket = Paths.get(value);
+            } else {
+                throw new IllegalArgumentException("Unbekannte Option: " + arg);
+            }
+        }
+
+        List<Load> loads = new ArrayList<>();
+        try (FrameServer server = new FrameServer(options)) {
+            SocketAddress address = server.start();
+            System.out.printf("Server auf %s, %d Render-Threads, %s%n", address, options.threads,
+                    server.usesVirtualThreads() ? "virtuelle Threads" : "Plattform-Threads");
+            AtomicBoolean running = new AtomicBoolean(true);
+            for (int i = 0; i < clients + slow; i++) {
+                Load load = new Load(new FrameClient(address), i, i >= clients, encoding, width, height, running);
+                loads.add(load);
+                load.thread.start();
+            }
+            Thread.sleep(seconds * 1000L);
+            List<SessionMetrics> metrics = server.getSessions();
+            running.set(false);
+            for (Load load : loads) {
+                load.thread.join();
+            }
+            for (SessionMetrics m : metrics) {
+                System.out.println(m);
+            }
+        }
+
+        boolean failed = false;
+        try (Renderer renderer = new Renderer(new MeshCache(), null)) {
+            ViewState view = new ViewState();
+            view.parallel = false;
+            FrameBuffer expected = null;
+            for (Load load : loads) {
+                if (load.error != null) {
+                    System.out.println("Client " + load.index + ": " + load.error);
+                    failed = true;
+                    continue;
+                }
+                load.request.sequence = load.client.getSequence();
+                fill(load.request, load.request.sequence);
+                load.request.applyTo(view);
+                expected = renderer.render(view, expected);
+                int count = expected.getWidth() * expected.getHeight();
+                boolean ok = load.client.getWidth() == expected.getWidth()
+                        && Arrays.equals(load.client.getPixels(), 0, count, expected.getPixels(), 0, count);
+                failed |= !ok;
+                System.out.printf(Locale.ROOT, "Client %d%s: %d Frames empfangen, letzter Frame %s%n",
+                        load.index, load.slow ? " (langsam)" : "", load.received, ok ? "stimmt" : "FEHLER");
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Legt die Parameter der Anforderung mit einer bestimmten Nummer fest.
+     */
+    private static void fill(FrameRequest request, int sequence) {
+        request.sequence = sequence;
+        request.rotationX = sequence * 0.02;
+        request.rotationY = Math.sin(sequence * 0.01);
+        request.color = (sequence & 64) == 0 ? 0x40C0FF : 0xFFC040;
+    }
+
+    /**
+     * Ein Client mit eigenem Thread.
+     */
+    private static final class Load implements Runnable {
+        final FrameClient client;
+        final int index;
+        final boolean slow;
+        final FrameRequest request = new FrameRequest();
+        final AtomicBoolean running;
+        final Thread thread;
+        volatile int sent;
+        int received;
+        Exception error;
+
+        Load(FrameClient client, int index, boolean slow, FrameEncoding encoding, int width, int height,
+             AtomicBoolean running) {
+            this.client = client;
+            this.index = index;
+            this.slow = slow;
+            this.running = running;
+            request.encoding = encoding;
+            request.width = width;
+            request.height = height;
+            thread = new Thread(this, "load-" + index);
+        }
+
+        @Override
+        public void run() {
+            try (client) {
+                int last = 0;
+                if (slow) {
+                    Thread sender = new Thread(() -> {
+                        FrameRequest own = new FrameRequest().set(request);
+                        try {
+                            while (running.get()) {
+                                fill(own, sent + 1);
+                                client.request(own);
+                                sent++;
+                                Thread.sleep(2);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                    sender.start();
+                    while (running.get()) {
+                        last = client.receive();
+                        received++;
+                        Thread.sleep(100);
+                    }
+                    sender.join();
+                } else {
+                    fill(request, ++sent);
+                    client.request(request);
+                    while (running.get()) {
+                        fill(request, ++sent);
+                        client.request(request);
+                        last = client.receive();
+                        received++;
+                    }
+                }
+                // Die letzte Anforderung wird immer gerendert; alle älteren können verworfen sein.
+                while (last != sent) {
+                    last = client.receive();
+                    received++;
+                }
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+    }
+}
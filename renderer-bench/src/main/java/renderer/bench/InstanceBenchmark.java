@@ -0,0 +1,96 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import renderer.geometry.Matrix3;
+import renderer.mesh.MeshCache;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+import renderer.scene.Scene;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst Frames der Instanz-Testszene ({@link Scene#instancedDemo}) und das Verwerfen über die
+ * Hüllkörper-Hierarchie allein.
+ * <p>
+ * Frames werden als Durchsatz gemessen: Neben den Frames pro Sekunde gibt JMH die gezeichneten
+ * Instanzen und deren Dreiecke pro Sekunde aus ({@code instances}, {@code triangles}).
+ */
+@State(Scope.Thread)
+public class InstanceBenchmark extends BenchmarkDefaults {
+
+    /** Die Anzahl der Instanzen in der Szene. */
+    @Param({"1000", "10000", "100000"})
+    public int instances;
+
+    @Param({"1", "4"})
+    public double zoom;
+
+    private Renderer renderer;
+    private ViewState view;
+    private FrameBuffer frameBuffer;
+    private int[] visible;
+    private double[] centers;
+
+    /**
+     * Die Zähler pro Iteration; werden von JMH als Rate ausgegeben.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public long instances;
+        public long triangles;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            instances = 0;
+            triangles = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        MeshCache meshCache = new MeshCache();
+        renderer = new Renderer(meshCache, null);
+        view = new ViewState();
+        view.scene = Scene.instancedDemo(meshCache, instances, 1);
+        view.zoom = zoom;
+        view.parallel = false;
+        visible = new int[instances];
+        centers = new double[instances * 3];
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderer.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public FrameBuffer renderFrame(Throughput throughput) {
+        view.rotationX = (view.rotationX + 0.01) % (2 * Math.PI);
+        frameBuffer = renderer.render(view, frameBuffer);
+        throughput.instances += renderer.getDrawnObjects();
+        throughput.triangles += renderer.getDrawnTriangles();
+        return frameBuffer;
+    }
+
+    @Benchmark
+    public int cull() {
+        view.rotationX = (view.rotationX + 0.01) % (2 * Math.PI);
+        Matrix3 rotation = Matrix3.headingPitch(view.rotationX, view.rotationY);
+        return view.scene.getHierarchy().cull(rotation, view.zoom, view.width, view.height, visible, centers);
+    }
+}
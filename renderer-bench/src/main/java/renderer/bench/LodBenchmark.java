@@ -0,0 +1,57 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import renderer.mesh.MeshCache;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+
+/**
+ * Misst einen Frame der Sphäre über mehrere Zoomstufen, mit fester Unterteilungsstufe und mit
+ * automatischer Detailstufe. Mit LOD sollte die Zeit pro Frame über die Zoomstufen hinweg
+ * deutlich weniger schwanken.
+ */
+@State(Scope.Thread)
+public class LodBenchmark extends BenchmarkDefaults {
+
+    @Param({"0.1", "0.5", "1", "4"})
+    public double zoom;
+
+    @Param({"true", "false"})
+    public boolean lod;
+
+    // Feste Stufe ohne LOD: fein genug für den größten Zoom.
+    @Param({"6"})
+    public int level;
+
+    private Renderer renderer;
+    private ViewState view;
+    private FrameBuffer frameBuffer;
+
+    @Setup
+    public void setup() {
+        renderer = new Renderer(new MeshCache(), null);
+        view = new ViewState();
+        view.level = level;
+        view.lod = lod;
+        view.zoom = zoom;
+        view.rotationY = 20;
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderer.close();
+    }
+
+    @Benchmark
+    public FrameBuffer renderFrame() {
+        view.rotationX = (view.rotationX + 1) % 360;
+        frameBuffer = renderer.render(view, frameBuffer);
+        return frameBuffer;
+    }
+}
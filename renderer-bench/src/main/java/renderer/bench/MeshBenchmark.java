@@ -0,0 +1,26 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import renderer.mesh.Mesh;
+import renderer.mesh.MeshFactory;
+
+/**
+ * Misst die Erzeugung der Sphäre pro Unterteilungsstufe (ohne Cache).
+ * <p>
+ * Entspricht den Kosten eines Cache-Fehlschlags in {@link renderer.mesh.MeshCache}.
+ */
+@State(Scope.Thread)
+public class MeshBenchmark extends BenchmarkDefaults {
+
+    /** Die Unterteilungsstufe (4 * 4^level Dreiecke). */
+    @Param({"0", "2", "4", "6"})
+    public int level;
+
+    @Benchmark
+    public Mesh sphere() {
+        return MeshFactory.sphere(level);
+    }
+}
@@ -0,0 +1,68 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import renderer.mesh.MeshCache;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+
+/**
+ * Vergleicht Kantenglättung durch Multisampling ({@link ViewState#msaa}) mit Supersampling
+ * ({@link ViewState#supersampling}) und einem Frame ohne Glättung.
+ * <p>
+ * {@code ssaa2} rendert mit 2x2 und damit ebenso vielen Abtastpunkten wie {@code msaa4}.
+ * Die Sphäre wird in drei Feinheiten gerendert: Je kleiner die Dreiecke, desto mehr Pixel
+ * liegen an Kanten und werden beim Multisampling aufgeteilt. Gerastert wird seriell.
+ */
+@State(Scope.Thread)
+public class MsaaBenchmark extends BenchmarkDefaults {
+
+    @Param({"none", "msaa4", "msaa8", "ssaa2"})
+    public String mode;
+
+    @Param({"2", "4", "6"})
+    public int level;
+
+    private Renderer renderer;
+    private ViewState view;
+    private FrameBuffer frameBuffer;
+    private int frame;
+
+    @Setup
+    public void setup() {
+        renderer = new Renderer(new MeshCache(), null);
+        view = new ViewState();
+        view.parallel = false;
+        view.level = level;
+        switch (mode) {
+            case "msaa4":
+                view.msaa = 4;
+                break;
+            case "msaa8":
+                view.msaa = 8;
+                break;
+            case "ssaa2":
+                view.supersampling = 2;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderer.close();
+    }
+
+    @Benchmark
+    public FrameBuffer renderFrame() {
+        view.rotationX = Math.toRadians(frame++ % 40 - 20);
+        frameBuffer = renderer.render(view, frameBuffer);
+        return frameBuffer;
+    }
+}
@@ -0,0 +1,119 @@
+package renderer.bench;
+
+import renderer.mesh.MeshCache;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.MultisampleBuffer;
+import renderer.scene.Scene;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Prüft, dass MSAA auch dann exakt und deterministisch ist, wenn der Vorrat des
+ * {@link renderer.raster.MultisampleBuffer} während eines Frames wachsen muss.
+ * <p>
+ * Die Verdecker-Szene teilt bei 640x480 in den geprüften Drehungen bis zu 136000 Pixel auf,
+ * mehr als der anfängliche Vorrat für ein Viertel fasst. Für 4 und 8 Abtastpunkte wird jeder
+ * Frame verglichen:
+ * <ul>
+ *   <li>Erwartet wird das Bild eines Renderers, der denselben Frame schon einmal gerastert hat:
+ *       Sein Vorrat ist groß genug und wächst im zweiten Frame nicht mehr (das wird geprüft), er
+ *       verhält sich also wie ein Puffer, der alle Abtastpunkte einzeln führt.</li>
+ *   <li>Ein frischer Renderer, seriell und parallel in Kacheln, muss dasselbe Bild liefern,
+ *       ebenso eine Wiederholung parallel. Dass sein Vorrat dabei gewachsen ist, wird für
+ *       mindestens eine Drehung pro Anzahl an Abtastpunkten geprüft; sonst prüfte der Lauf das
+ *       Wachsen gar nicht.</li>
+ * </ul>
+ * Aufruf: {@code java --add-modules jdk.incubator.vector -cp renderer-bench/target/benchmarks.jar
+ * renderer.bench.MsaaCheck}. Das Programm endet mit Status 1, sobald ein Bild abweicht oder der
+ * Vorrat sich nicht wie beschrieben verhält. Maven startet es in der Phase {@code verify} des
+ * Moduls {@code renderer-bench}.
+ */
+public final class MsaaCheck {
+
+    // Drehungen (Heading und Pitch in Grad), in denen besonders viele Pixel aufgeteilt werden.
+    private static final double[] HEADINGS = {150, 180, 210, 180};
+    private static final double[] PITCHES = {0, 0, 0, 30};
+    private static final int WIDTH = 640, HEIGHT = 480;
+
+    private MsaaCheck() {
+    }
+
+    public static void main(String[] args) {
+        MeshCache meshCache = new MeshCache();
+        Scene occluders = Scene.occluderDemo(meshCache, 200, 1);
+        boolean failed = false;
+        for (int samples : new int[]{4, 8}) {
+            int initial = new MultisampleBuffer(WIDTH, HEIGHT, samples).getCapacity();
+            boolean grown = false;
+            for (int f = 0; f < HEADINGS.length; f++) {
+                ViewState view = new ViewState();
+                view.width = WIDTH;
+                view.height = HEIGHT;
+                view.scene = occluders;
+                view.msaa = samples;
+                view.rotationX = Math.toRadians(HEADINGS[f]);
+                view.rotationY = Math.toRadians(PITCHES[f]);
+
+                view.parallel = false;
+                int[] expected;
+                boolean stable;
+                try (Renderer renderer = new Renderer(meshCache)) {
+                    renderer.render(view, null);
+                    int capacity = renderer.getMultisampleBuffer().getCapacity();
+                    expected = renderer.render(view, null).getPixels().clone();
+                    stable = renderer.getMultisampleBuffer().getCapacity() == capacity;
+                }
+                int[] serial;
+                int capacity;
+                try (Renderer renderer = new Renderer(meshCache)) {
+                    serial = renderer.render(view, null).getPixels().clone();
+                    capacity = renderer.getMultisampleBuffer().getCapacity();
+                }
+                grown |= capacity > initial;
+                view.parallel = true;
+                int[] parallel = renderFresh(meshCache, view);
+                int[] repeated = renderFresh(meshCache, view);
+
+                int mismatch = Math.max(mismatches(expected, serial),
+                        Math.max(mismatches(expected, parallel), mismatches(expected, repeated)));
+                failed |= mismatch != 0 || !stable;
+                System.out.printf(Locale.ROOT, "msaa %d  Drehung %d  Vorrat %6d -> %6d  %8d Pixel abweichend%s%n",
+                        samples, f, initial, capacity, mismatch,
+                        mismatch == 0 && stable ? "" : "  FEHLER");
+            }
+            if (!grown) {
+                System.out.println("msaa " + samples + ": Vorrat ist in keinem Frame gewachsen  FEHLER");
+                failed = true;
+            }
+        }
+        if (failed) {
+            System.out.println("MSAA weicht vom exakten Puffer ab");
+            System.exit(1);
+        }
+        System.out.println("MSAA exakt und deterministisch");
+    }
+
+    /**
+     * Rendert einen Frame mit einem neuen Renderer, dessen Abtastpuffer neu angelegt wird.
+     */
+    private static int[] renderFresh(MeshCache meshCache, ViewState view) {
+        try (Renderer renderer = new Renderer(meshCache)) {
+            return renderer.render(view, null).getPixels().clone();
+        }
+    }
+
+    private static int mismatches(int[] expected, int[] actual) {
+        if (Arrays.equals(expected, actual)) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] != actual[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
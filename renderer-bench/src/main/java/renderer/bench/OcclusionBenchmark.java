@@ -0,0 +1,68 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import renderer.mesh.MeshCache;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.DepthFormat;
+import renderer.raster.FrameBuffer;
+import renderer.scene.Scene;
+
+/**
+ * Misst einen Frame der Verdeckungs-Testszene ({@link Scene#occluderDemo}) mit und ohne
+ * hierarchischen Z-Buffer, mit und ohne Sortierung von vorne nach hinten und für beide
+ * Formate des Z-Buffers. Gerastert wird seriell.
+ */
+@State(Scope.Thread)
+public class OcclusionBenchmark extends BenchmarkDefaults {
+
+    /** Hierarchischer Z-Buffer samt Verdeckungstest der Objekte. */
+    @Param({"false", "true"})
+    public boolean hierarchicalZ;
+
+    @Param({"true", "false"})
+    public boolean frontToBack;
+
+    @Param({"DOUBLE", "FLOAT"})
+    public DepthFormat depthFormat;
+
+    /** Die Anzahl der Kugeln hinter der Wand. */
+    @Param({"400"})
+    public int spheres;
+
+    private Renderer renderer;
+    private ViewState view;
+    private FrameBuffer frameBuffer;
+    private int frame;
+
+    @Setup
+    public void setup() {
+        MeshCache meshCache = new MeshCache();
+        renderer = new Renderer(meshCache, null);
+        view = new ViewState();
+        view.scene = Scene.occluderDemo(meshCache, spheres, 1);
+        view.hierarchicalZ = hierarchicalZ;
+        view.occlusionCulling = hierarchicalZ;
+        view.frontToBack = frontToBack;
+        view.depthFormat = depthFormat;
+        view.parallel = false;
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderer.close();
+    }
+
+    @Benchmark
+    public FrameBuffer renderScene() {
+        // Pendle um die Frontansicht, in der die Wand die meisten Kugeln verdeckt.
+        view.rotationX = Math.toRadians(frame++ % 40 - 20);
+        frameBuffer = renderer.render(view, frameBuffer);
+        return frameBuffer;
+    }
+}
@@ -0,0 +1,86 @@
+package renderer.bench;
+
+import renderer.mesh.MeshCache;
+import renderer.mesh.Shape;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.profiling.FrameCsvWriter;
+import renderer.profiling.FrameProfiler;
+import renderer.profiling.ProfileSummary;
+import renderer.raster.FrameBuffer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Rendert headless eine Drehung um die Y-Achse mit aktivem {@link FrameProfiler} und
+ * exportiert die Messwerte als CSV.
+ * <p>
+ * Aufruf: {@code java -cp renderer-bench/target/benchmarks.jar renderer.bench.ProfileRun [Optionen]}
+ * <ul>
+ *   <li>{@code --frames=N} Anzahl der Frames (Standard 360, ein Grad pro Frame)</li>
+ *   <li>{@code --size=BREITExHÖHE} Auflösung (Standard 800x600)</li>
+ *   <li>{@code --shape=SPHERE|CUBE} und {@code --level=N} (Standard SPHERE, 4)</li>
+ *   <li>{@code --serial} seriell statt in Kacheln rastern</li>
+ *   <li>{@code --out=PRÄFIX} Präfix der Ausgabedateien (Standard {@code profile}):
+ *       {@code PRÄFIX-frames.csv} mit einer Zeile pro Frame und {@code PRÄFIX-summary.csv}
+ *       mit p50/p99/max pro Abschnitt</li>
+ * </ul>
+ */
+public final class ProfileRun {
+
+    private ProfileRun() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int frames = 360;
+        ViewState view = new ViewState();
+        String out = "profile";
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--frames=")) {
+                frames = Integer.parseInt(value);
+            } else if (arg.startsWith("--size=")) {
+                int separator = value.indexOf('x');
+                view.width = Integer.parseInt(value.substring(0, separator));
+                view.height = Integer.parseInt(value.substring(separator + 1));
+            } else if (arg.startsWith("--shape=")) {
+                view.shape = Shape.valueOf(value.toUpperCase(Locale.ROOT));
+            } else if (arg.startsWith("--level=")) {
+                view.level = Integer.parseInt(value);
+            } else if (arg.equals("--serial")) {
+                view.parallel = false;
+            } else if (arg.startsWith("--out=")) {
+                out = value;
+            } else {
+                throw new IllegalArgumentException("Unbekannte Option: " + arg);
+            }
+        }
+
+        Path framesFile = Paths.get(out + "-frames.csv");
+        Path summaryFile = Paths.get(out + "-summary.csv");
+        try (Renderer renderer = new Renderer(new MeshCache());
+             FrameCsvWriter csv = new FrameCsvWriter(Files.newBufferedWriter(framesFile, StandardCharsets.UTF_8))) {
+            FrameProfiler profiler = renderer.getProfiler();
+            profiler.setEnabled(true);
+            profiler.addListener(csv);
+            FrameBuffer frameBuffer = null;
+            for (int i = 0; i < frames; i++) {
+                view.rotationX = Math.toRadians(i * 360.0 / frames);
+                frameBuffer = renderer.render(view, frameBuffer);
+            }
+            ProfileSummary summary = profiler.summary(false);
+            try (Writer writer = Files.newBufferedWriter(summaryFile, StandardCharsets.UTF_8)) {
+                summary.writeCsv(writer);
+            }
+            System.out.printf(Locale.ROOT, "%d Frames, p50 %.2f ms, p99 %.2f ms, %.1f fps -> %s, %s%n",
+                    summary.getFrames(), summary.getFrameP50() / 1e6, summary.getFrameP99() / 1e6,
+                    summary.getFramesPerSecond(), framesFile, summaryFile);
+        }
+    }
+}
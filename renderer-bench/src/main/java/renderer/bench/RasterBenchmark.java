@@ -0,0 +1,107 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import renderer.geometry.GeometryStage;
+import renderer.geometry.Matrix3;
+import renderer.mesh.Mesh;
+import renderer.mesh.MeshFactory;
+import renderer.raster.FrameBuffer;
+import renderer.raster.Rasterizer;
+import renderer.raster.ReferenceRasterizer;
+import renderer.raster.TiledRasterizer;
+import renderer.raster.TriangleBatch;
+
+/**
+ * Misst die Rasterisierung einer fertig vorbereiteten Sphäre bei verschiedenen Auflösungen
+ * und Dreiecksanzahlen.
+ * <p>
+ * Die Dreiecke werden einmalig transformiert, gecullt und geclippt; gemessen werden nur das
+ * Löschen des Puffers und das Rastern. Die Sphäre wird auf die Bildhöhe skaliert, damit die
+ * überdeckte Fläche mit der Auflösung wächst.
+ */
+@State(Scope.Thread)
+public class RasterBenchmark extends BenchmarkDefaults {
+
+    /** Die Auflösung als {@code BREITExHÖHE}. */
+    @Param({"800x600", "1920x1080"})
+    public String resolution;
+
+    /** Die Unterteilungsstufe der Sphäre. */
+    @Param({"2", "4", "6"})
+    public int level;
+
+    private FrameBuffer frameBuffer;
+    private TriangleBatch batch;
+    private TiledRasterizer tiledRasterizer;
+
+    @Setup
+    public void setup() {
+        int separator = resolution.indexOf('x');
+        int width = Integer.parseInt(resolution.substring(0, separator));
+        int height = Integer.parseInt(resolution.substring(separator + 1));
+        frameBuffer = new FrameBuffer(width, height);
+        batch = prepare(MeshFactory.sphere(level), width, height);
+        tiledRasterizer = new TiledRasterizer();
+    }
+
+    @TearDown
+    public void tearDown() {
+        tiledRasterizer.close();
+    }
+
+    @Benchmark
+    public FrameBuffer edgeSerial() {
+        frameBuffer.clear(0xFF000000);
+        Rasterizer.drawBatch(frameBuffer, batch);
+        return frameBuffer;
+    }
+
+    @Benchmark
+    public FrameBuffer edgeTiled() {
+        frameBuffer.clear(0xFF000000);
+        tiledRasterizer.drawBatch(frameBuffer, batch);
+        return frameBuffer;
+    }
+
+    @Benchmark
+    public FrameBuffer reference() {
+        frameBuffer.clear(0xFF000000);
+        ReferenceRasterizer.drawBatch(frameBuffer, batch);
+        return frameBuffer;
+    }
+
+    /**
+     * Transformiert, skaliert und cullt ein Mesh und sammelt die sichtbaren Dreiecke.
+     */
+    static TriangleBatch prepare(Mesh mesh, int width, int height) {
+        double[] positions = mesh.getPositions();
+        double[] transformed = new double[positions.length];
+        Matrix3.headingPitch(30, 20).transform(positions, transformed, mesh.getVertexCount());
+        // Skaliere den Radius auf 45 % der Bildhöhe.
+        double scale = 0.45 * height / Math.sqrt(30000);
+        for (int i = 0; i < transformed.length; i += 3) {
+            transformed[i] = transformed[i] * scale + width / 2.0;
+            transformed[i + 1] = transformed[i + 1] * scale + height / 2.0;
+            transformed[i + 2] *= scale;
+        }
+        GeometryStage stage = new GeometryStage();
+        stage.setViewport(width, height);
+        TriangleBatch batch = new TriangleBatch();
+        int[] indices = mesh.getIndices();
+        // Jedes Dreieck erhält eine eigene (pseudozufällige) Farbe, damit Überdeckungsfehler sichtbar bleiben.
+        double[] p = transformed;
+        for (int t = 0; t < indices.length; t += 3) {
+            int a = indices[t] * 3, b = indices[t + 1] * 3, c = indices[t + 2] * 3;
+            if (stage.isVisible(p[a], p[a + 1], p[a + 2], p[b], p[b + 1], p[b + 2], p[c], p[c + 1], p[c + 2])) {
+                stage.clipAndEmit(batch, p[a], p[a + 1], p[a + 2], p[b], p[b + 1], p[b + 2],
+                        p[c], p[c + 1], p[c + 2], (int) (0xFF000000L | (t * 2654435761L & 0xFFFFFF)));
+            }
+        }
+        return batch;
+    }
+}
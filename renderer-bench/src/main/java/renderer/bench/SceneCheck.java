@@ -0,0 +1,520 @@
+package renderer.bench;
+
+import renderer.mesh.MeshCache;
+import renderer.mesh.MeshFactory;
+import renderer.mesh.Shape;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+import renderer.scene.Scene;
+import renderer.simd.Simd;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Regressionsprüfung der Render-Pfade gegen gespeicherte Referenzbilder und Leistungsbudgets.
+ * <p>
+ * Feste Szenarien (die Sphäre in jeder Unterteilungsstufe, der Würfel, die Szenen mit vielen
+ * Objekten und die Sphäre in mehreren Auflösungen) werden jeweils über einen festen Satz von
+ * Drehungen gerendert, und zwar einmal über den Referenzpfad ({@link ViewState#reference},
+ * baryzentrisch und seriell) und über jeden optimierten Pfad: Kantenfunktionen seriell, SIMD,
+ * parallel in Kacheln und parallel mit SIMD (SIMD nur, wenn die Vector API verfügbar ist).
+ * <p>
+ * Geprüft wird pro Szenario und Pfad:
+ * <ul>
+ *   <li>Jeder Frame gegen das Referenzbild im Verzeichnis {@code --golden}: Ein Pixel weicht ab,
+ *       wenn ein Kanal um mehr als {@code --tolerance} Stufen abweicht; der Frame ist falsch,
+ *       wenn mehr als {@code --max-mismatch} Prozent der Pixel abweichen. Die Schwelle lässt
+ *       Platz für Kantenpixel, in denen Kantenfunktionen mit Füllregel und die baryzentrische
+ *       Referenz verschieden entscheiden.</li>
+ *   <li>Die optimierten Pfade untereinander: Sie müssen bitgleich zum seriellen Pfad mit
+ *       Kantenfunktionen sein.</li>
+ *   <li>Die Bildrate jedes optimierten Pfads relativ zum Referenzpfad desselben Laufs gegen das
+ *       gespeicherte Budget dieses Faktors: Er darf um höchstens {@code --fps-tolerance} (Anteil)
+ *       darunter liegen. So hängt das Budget nicht von der Geschwindigkeit des Rechners ab. Die
+ *       Budgets paralleler Pfade werden auf Rechnern mit weniger Kernen als bei der Aufnahme
+ *       (Eintrag {@code cores}) im Verhältnis der Kerne gesenkt; mit mehr Kernen bleiben sie
+ *       gleich. Sie liegen nie unter dem Budget des seriellen Pfads mit Kantenfunktionen: Die
+ *       Aufnahme hebt sie darauf an, eine Budgetdatei mit niedrigerem Budget gilt als Fehler,
+ *       und auch gesenkt wird höchstens bis dahin. Auf einem einzigen Kern kann ein paralleler
+ *       Pfad nicht schneller sein; dort wird seine Bildrate nicht geprüft. Nach
+ *       {@code --warmup} Millisekunden Aufwärmen wechseln sich die Pfade eines Szenarios in
+ *       {@code --passes} Runden mit je einem Durchlauf über alle Drehungen (mindestens 50 ms) ab.
+ *       Der Faktor ist der Median der Verhältnisse innerhalb jeder Runde, sodass eine Störung
+ *       auf dem Rechner beide Seiten eines Verhältnisses trifft. Ein zu kleiner Faktor wird bis
+ *       zu zweimal in neuen Runden mit dem Referenzpfad gemessen, bevor er als Regression
+ *       gilt.</li>
+ *   <li>Die Allokationen des rendernden Threads pro Frame gegen das Budget, mit einem Spielraum
+ *       von einem Viertel des Budgets, mindestens {@code --alloc-slack} Bytes. Die Threads des
+ *       Rasterisierers prüft {@link AllocationCheck}.</li>
+ * </ul>
+ * Frames, die vom Referenzbild abweichen, werden zum Vergleich in {@code --out} geschrieben.
+ * Mit {@code --update} werden die Referenzbilder aus dem Referenzpfad und die Budgets aus den
+ * Messungen neu geschrieben, mit {@code --update-budgets} nur die Budgets (etwa auf einem
+ * anderen Rechner). Budgets hängen weniger vom Rechner ab als absolute Bildraten, Referenzbilder
+ * gar nicht. Wie schnell der JIT einen Pfad übersetzt, schwankt aber von Prozess zu Prozess, bei
+ * sehr schnellen Szenarien um mehr als die Toleranz. Budgets werden deshalb aus mehreren Läufen
+ * aufgenommen: {@code --merge-budgets} misst wie {@code --update-budgets}, behält pro Eintrag
+ * aber den vorsichtigeren Wert (kleinerer Faktor, mehr Bytes). Aufgenommen werden sie über alle
+ * Szenarien; mit {@code --only} hat der JIT vorher weniger gesehen, sodass sich Faktoren sehr
+ * schneller Szenarien verschieben können.
+ * <p>
+ * Aufruf aus dem Projektverzeichnis: {@code java --add-modules jdk.incubator.vector -cp
+ * renderer-bench/target/benchmarks.jar renderer.bench.SceneCheck [--only=TEXT] [--warmup=MS]
+ * [--passes=N] [--tolerance=N] [--max-mismatch=PROZENT] [--fps-tolerance=F] [--alloc-slack=BYTES]
+ * [--golden=VERZEICHNIS] [--out=VERZEICHNIS] [--update|--update-budgets|--merge-budgets]}. Das
+ * Programm endet mit Status 1, sobald ein Frame, eine Bildrate oder eine Allokation das Budget
+ * verletzt.
+ */
+public final class SceneCheck {
+
+    /** Name der Budgetdatei im Verzeichnis der Referenzbilder. */
+    public static final String BUDGET_FILE = "budgets.properties";
+    // Eintrag der Budgetdatei mit der Anzahl der Kerne bei der Aufnahme.
+    private static final String CORES_KEY = "cores";
+
+    // Drehungen jedes Szenarios (Heading und Pitch in Grad).
+    private static final double[] HEADINGS = {20, 110, 200, 290};
+    private static final double[] PITCHES = {10, 40, 70, 100};
+    // Mindestdauer eines Messdurchlaufs und Wiederholungen einer zu langsamen Messung.
+    private static final long PASS_NANOS = 50_000_000L;
+    private static final int RETRIES = 2;
+
+    private SceneCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        String only = "";
+        int warmupMillis = 500;
+        int passes = 8;
+        int tolerance = 2;
+        double maxMismatch = 0.1;
+        double fpsTolerance = 0.15;
+        long allocSlack = 256;
+        Path golden = Paths.get("renderer-bench", "golden");
+        Path out = Paths.get("target", "scene-check");
+        boolean updateImages = false;
+        boolean updateBudgets = false;
+        boolean mergeBudgets = false;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--only=")) {
+                only = value;
+            } else if (arg.startsWith("--warmup=")) {
+                warmupMillis = Integer.parseInt(value);
+            } else if (arg.startsWith("--passes=")) {
+                passes = Integer.parseInt(value);
+            } else if (arg.startsWith("--tolerance=")) {
+                tolerance = Integer.parseInt(value);
+            } else if (arg.startsWith("--max-mismatch=")) {
+                maxMismatch = Double.parseDouble(value);
+            } else if (arg.startsWith("--fps-tolerance=")) {
+                fpsTolerance = Double.parseDouble(value);
+            } else if (arg.startsWith("--alloc-slack=")) {
+                allocSlack = Long.parseLong(value);
+            } else if (arg.startsWith("--golden=")) {
+                golden = Paths.get(value);
+            } else if (arg.startsWith("--out=")) {
+                out = Paths.get(value);
+            } else if (arg.equals("--update")) {
+                updateImages = true;
+                updateBudgets = true;
+            } else if (arg.equals("--update-budgets")) {
+                updateBudgets = true;
+            } else if (arg.equals("--merge-budgets")) {
+                updateBudgets = true;
+                mergeBudgets = true;
+            } else {
+                throw new IllegalArgumentException("Unbekannte Option: " + arg);
+            }
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        MeshCache meshCache = new MeshCache();
+        List<Scenario> scenarios = scenarios(meshCache);
+        List<RenderPath> paths = paths();
+        Properties budgets = new Properties();
+        Path budgetFile = golden.resolve(BUDGET_FILE);
+        if (Files.exists(budgetFile)) {
+            try (Reader in = Files.newBufferedReader(budgetFile)) {
+                budgets.load(in);
+            }
+        }
+        if (updateImages) {
+            Files.createDirectories(golden);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (updateBudgets) {
+            // Budgets früherer Formate (absolute Bildraten) nicht mitschreiben.
+            budgets.keySet().removeIf(key -> key.toString().endsWith(".fps"));
+            budgets.setProperty(CORES_KEY, String.valueOf(cores));
+        }
+        int recordedCores = Integer.parseInt(budgets.getProperty(CORES_KEY, String.valueOf(cores)));
+        // Parallele Pfade können auf weniger Kernen nur anteilig schneller sein.
+        double coreScale = Math.min(1.0, (double) cores / recordedCores);
+        if (cores != recordedCores) {
+            System.out.printf(Locale.ROOT, "Budgets aufgenommen auf %d Kernen, gemessen auf %d%n",
+                    recordedCores, cores);
+        }
+        if (cores == 1 && !updateBudgets) {
+            System.out.println("Ein Kern: Bildraten der parallelen Pfade werden nicht geprüft");
+        }
+
+        boolean failed = false;
+        System.out.printf(Locale.ROOT, "%-18s %-14s %9s %7s %7s %11s %11s %8s%n",
+                "Szenario", "Pfad", "fps", "Faktor", "Budget", "Bytes/Frame", "Budget", "Pixel");
+        try (Renderer renderer = new Renderer(meshCache)) {
+            for (Scenario scenario : scenarios) {
+                if (!scenario.name.contains(only)) {
+                    continue;
+                }
+                int count = HEADINGS.length;
+                int n = paths.size();
+                int reference = 0;
+                while (!paths.get(reference).reference) {
+                    reference++;
+                }
+                int edge = 0;
+                while (!paths.get(edge).name.equals("edge")) {
+                    edge++;
+                }
+                ViewState[] views = new ViewState[n];
+                List<List<String>> errors = new ArrayList<>();
+                int[] worstMismatch = new int[n];
+                int[][] goldenFrames = new int[count][];
+                int[][] edgeFrames = new int[count][];
+                FrameBuffer frameBuffer = null;
+
+                // Bilder: ein Frame pro Drehung und Pfad gegen Referenzbild und seriellen Pfad.
+                for (int p = 0; p < n; p++) {
+                    RenderPath path = paths.get(p);
+                    ViewState view = new ViewState();
+                    view.width = scenario.width;
+                    view.height = scenario.height;
+                    scenario.setup.accept(view);
+                    path.setup.accept(view);
+                    views[p] = view;
+                    List<String> pathErrors = new ArrayList<>();
+                    errors.add(pathErrors);
+                    for (int f = 0; f < count; f++) {
+                        rotate(view, f);
+                        frameBuffer = renderer.render(view, frameBuffer);
+                        int[] pixels = frameBuffer.getPixels().clone();
+                        Path file = golden.resolve(scenario.name + "-" + f + ".png");
+                        if (path.reference && updateImages) {
+                            writePng(file, pixels, view.width, view.height);
+                        }
+                        if (goldenFrames[f] == null) {
+                            goldenFrames[f] = Files.exists(file) ? readPng(file, view.width, view.height) : null;
+                        }
+                        if (goldenFrames[f] == null) {
+                            pathErrors.add("Referenzbild " + file + " fehlt");
+                        } else {
+                            int mismatch = mismatches(goldenFrames[f], pixels, tolerance);
+                            worstMismatch[p] = Math.max(worstMismatch[p], mismatch);
+                            if (mismatch > maxMismatch / 100 * pixels.length) {
+                                pathErrors.add("Frame " + f + " weicht in " + mismatch + " Pixeln ab");
+                                Files.createDirectories(out);
+                                writePng(out.resolve(scenario.name + "-" + f + "-" + path.name + ".png"),
+                                        pixels, view.width, view.height);
+                            }
+                        }
+                        if (path.name.equals("edge")) {
+                            edgeFrames[f] = pixels;
+                        } else if (!path.reference && edgeFrames[f] != null && !Arrays.equals(edgeFrames[f], pixels)) {
+                            pathErrors.add("Frame " + f + " nicht bitgleich zum seriellen Pfad");
+                        }
+                    }
+                }
+
+                // Leistung: jeden Pfad aufwärmen, dann die Messdurchläufe der Pfade abwechseln,
+                // damit Schwankungen der Rechnerlast alle Pfade gleich treffen. Jeder Durchlauf
+                // wiederholt die Drehungen, bis PASS_NANOS vergangen sind.
+                for (ViewState view : views) {
+                    long end = System.nanoTime() + warmupMillis * 1_000_000L;
+                    for (int i = 0; i == 0 || System.nanoTime() < end; i++) {
+                        rotate(view, i % count);
+                        frameBuffer = renderer.render(view, frameBuffer);
+                    }
+                }
+                double[] fps = new double[n];
+                long[] rendered = new long[n];
+                long[] allocated = new long[n];
+                // Verhältnis jedes Durchlaufs zum Referenzdurchlauf derselben Runde.
+                double[][] ratios = new double[n][passes];
+                double[] passFps = new double[n];
+                for (int pass = 0; pass < passes; pass++) {
+                    for (int p = 0; p < n; p++) {
+                        long before = threads.getCurrentThreadAllocatedBytes();
+                        passFps[p] = measurePass(renderer, views[p], frameBuffer, rendered, p);
+                        allocated[p] += threads.getCurrentThreadAllocatedBytes() - before;
+                        fps[p] = Math.max(fps[p], passFps[p]);
+                    }
+                    for (int p = 0; p < n; p++) {
+                        ratios[p][pass] = passFps[p] / passFps[reference];
+                    }
+                }
+                double[] speedup = new double[n];
+                for (int p = 0; p < n; p++) {
+                    speedup[p] = median(ratios[p]);
+                }
+                // Kleinster zulässiger Faktor gegenüber dem Referenzpfad; 0 ohne Budget. Parallele
+                // Pfade mindestens mit dem Budget des seriellen Pfads, auf einem Kern ohne.
+                String serialKey = scenario.name + "." + paths.get(edge).name + ".speedup";
+                double serialFloor = Double.parseDouble(budgets.getProperty(serialKey, "0"));
+                double[] required = new double[n];
+                for (int p = 0; p < n; p++) {
+                    String budget = budgets.getProperty(scenario.name + "." + paths.get(p).name + ".speedup");
+                    if (budget != null && !updateBudgets) {
+                        double factor = Double.parseDouble(budget);
+                        if (views[p].parallel) {
+                            factor = cores == 1 ? 0 : Math.max(factor * coreScale, serialFloor);
+                        }
+                        required[p] = factor * (1 - fpsTolerance);
+                    }
+                }
+                // Eine zu langsame Messung erst nach Wiederholung als Regression werten: Auf einem
+                // geteilten Rechner bricht die Bildrate zeitweise um die Hälfte ein. Wiederholt
+                // werden die Runden aus Referenzpfad und Pfad; ihre Frames zählen nicht zu den
+                // Allokationen.
+                long[] retried = new long[n];
+                for (int p = 0; p < n; p++) {
+                    for (int retry = 0; retry < RETRIES && speedup[p] < required[p]; retry++) {
+                        for (int pass = 0; pass < passes; pass++) {
+                            double referenceFps = measurePass(renderer, views[reference], frameBuffer, retried, reference);
+                            double pathFps = measurePass(renderer, views[p], frameBuffer, retried, p);
+                            fps[p] = Math.max(fps[p], pathFps);
+                            ratios[p][pass] = pathFps / referenceFps;
+                        }
+                        speedup[p] = Math.max(speedup[p], median(ratios[p]));
+                    }
+                }
+
+                for (int p = 0; p < n; p++) {
+                    RenderPath path = paths.get(p);
+                    String key = scenario.name + "." + path.name;
+                    double bytes = (double) allocated[p] / rendered[p];
+                    if (updateBudgets) {
+                        double recorded = speedup[p];
+                        double recordedBytes = Math.ceil(bytes);
+                        if (mergeBudgets && budgets.getProperty(key + ".bytes") != null) {
+                            recorded = Math.min(recorded, Double.parseDouble(budgets.getProperty(key + ".speedup", "Infinity")));
+                            recordedBytes = Math.max(recordedBytes, Double.parseDouble(budgets.getProperty(key + ".bytes")));
+                        }
+                        if (views[p].parallel) {
+                            // Ein paralleler Pfad darf nie langsamer sein müssen als der serielle;
+                            // dessen Budget ist in diesem Lauf schon geschrieben.
+                            recorded = Math.max(recorded, Double.parseDouble(budgets.getProperty(serialKey)));
+                        }
+                        if (!path.reference) {
+                            budgets.setProperty(key + ".speedup", String.format(Locale.ROOT, "%.2f", recorded));
+                        }
+                        budgets.setProperty(key + ".bytes", String.format(Locale.ROOT, "%.0f", recordedBytes));
+                    }
+                    // Der Referenzpfad ist der Maßstab der Faktoren und hat daher kein eigenes Budget.
+                    String speedupBudget = path.reference ? "-" : budgets.getProperty(key + ".speedup");
+                    String bytesBudget = budgets.getProperty(key + ".bytes");
+                    List<String> pathErrors = errors.get(p);
+                    if (speedupBudget == null || bytesBudget == null) {
+                        pathErrors.add("kein Budget");
+                    } else {
+                        if (speedup[p] < required[p]) {
+                            pathErrors.add("zu langsam");
+                        }
+                        if (views[p].parallel && Double.parseDouble(speedupBudget)
+                                < Double.parseDouble(budgets.getProperty(serialKey, "0"))) {
+                            pathErrors.add("Budget unter dem seriellen Pfad");
+                        }
+                        double allowed = Double.parseDouble(bytesBudget);
+                        if (bytes > allowed + Math.max(allocSlack, allowed / 4)) {
+                            pathErrors.add("allokiert zu viel");
+                        }
+                    }
+                    failed |= !pathErrors.isEmpty();
+                    System.out.printf(Locale.ROOT, "%-18s %-14s %9.1f %7.2f %7s %11.1f %11s %8d  %s%n",
+                            scenario.name, path.name, fps[p], speedup[p], speedupBudget == null ? "-" : speedupBudget, bytes,
+                            bytesBudget == null ? "-" : bytesBudget, worstMismatch[p],
+                            pathErrors.isEmpty() ? "OK" : "FEHLER: " + String.join(", ", pathErrors));
+                }
+            }
+        }
+        if (updateBudgets) {
+            Files.createDirectories(golden);
+            try (Writer w = Files.newBufferedWriter(budgetFile)) {
+                // Sortiert schreiben, damit Änderungen im Diff lesbar bleiben.
+                for (var e : new TreeMap<>(budgets).entrySet()) {
+                    w.write(e.getKey() + "=" + e.getValue() + "\n");
+                }
+            }
+        }
+        if (failed) {
+            System.out.println("Regression gegenüber Referenzbildern oder Budgets");
+            System.exit(1);
+        }
+        System.out.println("Alle Szenarien innerhalb der Referenzbilder und Budgets");
+    }
+
+    /**
+     * Ein festes Szenario: Name (zugleich Präfix der Referenzbilder), Auflösung und Inhalt.
+     */
+    private static final class Scenario {
+        final String name;
+        final int width, height;
+        final Consumer<ViewState> setup;
+
+        Scenario(String name, int width, int height, Consumer<ViewState> setup) {
+            this.name = name;
+            this.width = width;
+            this.height = height;
+            this.setup = setup;
+        }
+    }
+
+    /**
+     * Ein Render-Pfad, der auf einen Zustand angewendet wird.
+     */
+    private static final class RenderPath {
+        final String name;
+        final boolean reference;
+        final Consumer<ViewState> setup;
+
+        RenderPath(String name, boolean reference, Consumer<ViewState> setup) {
+            this.name = name;
+            this.reference = reference;
+            this.setup = setup;
+        }
+    }
+
+    private static List<Scenario> scenarios(MeshCache meshCache) {
+        List<Scenario> list = new ArrayList<>();
+        for (int level = 0; level <= MeshFactory.MAX_LOD_LEVEL; level++) {
+            int l = level;
+            list.add(new Scenario("sphere-" + level, 640, 480, v -> v.level = l));
+        }
+        list.add(new Scenario("sphere-4-320x240", 320, 240, v -> v.level = 4));
+        list.add(new Scenario("sphere-4-1280x720", 1280, 720, v -> v.level = 4));
+        list.add(new Scenario("cube", 640, 480, v -> v.shape = Shape.CUBE));
+        Scene instances = Scene.instancedDemo(meshCache, 2000, 1);
+        list.add(new Scenario("instances", 640, 480, v -> v.scene = instances));
+        Scene occluders = Scene.occluderDemo(meshCache, 200, 1);
+        list.add(new Scenario("occluders", 640, 480, v -> v.scene = occluders));
+        return list;
+    }
+
+    private static List<RenderPath> paths() {
+        List<RenderPath> list = new ArrayList<>();
+        list.add(new RenderPath("reference", true, v -> {
+            v.reference = true;
+            v.parallel = false;
+            v.simd = false;
+        }));
+        list.add(new RenderPath("edge", false, v -> {
+            v.parallel = false;
+            v.simd = false;
+        }));
+        list.add(new RenderPath("parallel", false, v -> {
+            v.parallel = true;
+            v.simd = false;
+        }));
+        if (Simd.isAvailable()) {
+            list.add(new RenderPath("simd", false, v -> {
+                v.parallel = false;
+                v.simd = true;
+            }));
+            list.add(new RenderPath("parallel-simd", false, v -> {
+                v.parallel = true;
+                v.simd = true;
+            }));
+        }
+        return list;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    /**
+     * Rendert die Drehungen wiederholt, bis {@link #PASS_NANOS} vergangen sind, und zählt die
+     * Frames in {@code rendered[path]}.
+     *
+     * @return Die Bildrate des Durchlaufs.
+     */
+    private static double measurePass(Renderer renderer, ViewState view, FrameBuffer frameBuffer,
+                                      long[] rendered, int path) {
+        int count = HEADINGS.length;
+        long start = System.nanoTime(), elapsed;
+        int frames = 0;
+        do {
+            for (int f = 0; f < count; f++, frames++) {
+                rotate(view, f);
+                renderer.render(view, frameBuffer);
+            }
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < PASS_NANOS);
+        rendered[path] += frames;
+        return frames * 1e9 / elapsed;
+    }
+
+    private static void rotate(ViewState view, int frame) {
+        view.rotationX = Math.toRadians(HEADINGS[frame]);
+        view.rotationY = Math.toRadians(PITCHES[frame]);
+    }
+
+    /**
+     * Zählt die Pixel, in denen ein Farbkanal um mehr als {@code tolerance} abweicht.
+     */
+    private static int mismatches(int[] expected, int[] actual, int tolerance) {
+        int count = 0;
+        for (int i = 0; i < expected.length; i++) {
+            int a = expected[i], b = actual[i];
+            if (a == b) {
+                continue;
+            }
+            for (int shift = 0; shift < 24; shift += 8) {
+                if (Math.abs((a >> shift & 0xFF) - (b >> shift & 0xFF)) > tolerance) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void writePng(Path file, int[] pixels, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, width, height, pixels, 0, width);
+        ImageIO.write(image, "png", file.toFile());
+    }
+
+    /**
+     * Liest ein Referenzbild; ein Bild anderer Größe zählt als fehlend.
+     */
+    private static int[] readPng(Path file, int width, int height) throws IOException {
+        BufferedImage image = ImageIO.read(file.toFile());
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            return null;
+        }
+        return image.getRGB(0, 0, width, height, null, 0, width);
+    }
+}
@@ -0,0 +1,47 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import renderer.shading.Shading;
+
+/**
+ * Vergleicht die Schattierung über Lookup-Tabellen mit der Referenz über {@code Math.pow}.
+ */
+@State(Scope.Thread)
+public class ShadingBenchmark extends BenchmarkDefaults {
+
+    private static final int COUNT = 1024;
+
+    private final double[] shades = new double[COUNT];
+    private final int color = 0xFF3080C0;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < COUNT; i++) {
+            shades[i] = i / (double) (COUNT - 1);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int shadeLookup() {
+        int sum = 0;
+        for (double shade : shades) {
+            sum += Shading.shade(color, shade);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int shadeReference() {
+        int sum = 0;
+        for (double shade : shades) {
+            sum += Shading.shadeReference(color, shade);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,75 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import renderer.geometry.Matrix3;
+import renderer.geometry.VertexArrays;
+import renderer.mesh.Mesh;
+import renderer.mesh.MeshFactory;
+import renderer.raster.FrameBuffer;
+import renderer.raster.Rasterizer;
+import renderer.raster.TriangleBatch;
+import renderer.simd.Simd;
+
+/**
+ * Vergleicht den skalaren Pfad mit den SIMD-Kerneln der Vector API für Transformation und
+ * serielles Rastern der Sphäre. Beide Pfade transformieren die Eckpunkte aus getrennten
+ * Koordinaten-Arrays ({@link Mesh#getVertexArrays()}), wie es die Pipeline mit SIMD tut.
+ * <p>
+ * Der Fork startet mit {@code --add-modules jdk.incubator.vector}; fehlt das Modul trotzdem,
+ * bricht das Setup ab, statt zweimal den skalaren Pfad zu messen.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SimdBenchmark extends BenchmarkDefaults {
+
+    @Param({"false", "true"})
+    public boolean simd;
+
+    /** Die Unterteilungsstufe der Sphäre. */
+    @Param({"4", "6"})
+    public int level;
+
+    @Param({"800x600", "1920x1080"})
+    public String resolution;
+
+    private VertexArrays vertices;
+    private VertexArrays transformed;
+    private final Matrix3 rotation = new Matrix3();
+    private double heading;
+    private FrameBuffer frameBuffer;
+    private TriangleBatch batch;
+
+    @Setup
+    public void setup() {
+        if (simd && !Simd.isAvailable()) {
+            throw new IllegalStateException("Vector API nicht verfügbar");
+        }
+        int separator = resolution.indexOf('x');
+        int width = Integer.parseInt(resolution.substring(0, separator));
+        int height = Integer.parseInt(resolution.substring(separator + 1));
+        Mesh mesh = MeshFactory.sphere(level);
+        vertices = mesh.getVertexArrays();
+        transformed = new VertexArrays().resize(mesh.getVertexCount());
+        frameBuffer = new FrameBuffer(width, height);
+        batch = RasterBenchmark.prepare(mesh, width, height);
+    }
+
+    @Benchmark
+    public VertexArrays transform() {
+        heading += 1;
+        rotation.setHeadingPitchRoll(heading, 30, 0).transform(vertices, transformed, simd);
+        return transformed;
+    }
+
+    @Benchmark
+    public FrameBuffer raster() {
+        frameBuffer.clear(0xFF000000);
+        Rasterizer.drawBatch(frameBuffer, batch, simd);
+        return frameBuffer;
+    }
+}
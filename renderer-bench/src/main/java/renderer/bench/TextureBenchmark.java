@@ -0,0 +1,66 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import renderer.mesh.MeshCache;
+import renderer.mesh.Shape;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+import renderer.texture.Texture;
+import renderer.texture.TextureFilter;
+import renderer.texture.TextureLayout;
+
+/**
+ * Misst das Abtasten einer großen Textur in beiden Speicheranordnungen bei verschiedenen
+ * Drehungen in der Bildebene.
+ * <p>
+ * Eine Seite des Würfels füllt das ganze Bild und zeigt die 2048x2048 große Textur (16 MB in
+ * der größten Stufe) etwa 1:1, sodass fast nur Stufe 0 gelesen wird. Bei 0 Grad liest eine
+ * Bildschirmzeile eine Texturzeile, bei 90 Grad eine Texturspalte: Zeilenweise abgelegt trifft
+ * dann jeder Zugriff eine neue Cache-Zeile, in Morton-Reihenfolge bleibt der Aufwand bei allen
+ * Winkeln ähnlich. Gerastert wird seriell.
+ */
+@State(Scope.Thread)
+public class TextureBenchmark extends BenchmarkDefaults {
+
+    @Param({"ROW_MAJOR", "MORTON"})
+    public TextureLayout layout;
+
+    @Param({"NEAREST", "TRILINEAR"})
+    public TextureFilter filter;
+
+    @Param({"0", "45", "90"})
+    public int angle;
+
+    private Renderer renderer;
+    private ViewState view;
+    private FrameBuffer frameBuffer;
+
+    @Setup
+    public void setup() {
+        renderer = new Renderer(new MeshCache(), null);
+        view = new ViewState();
+        view.parallel = false;
+        view.shape = Shape.CUBE;
+        view.zoom = 10;
+        view.rotationZ = Math.toRadians(angle);
+        view.texture = Texture.checkerboard(2048, 16, 0xFFE0C080, 0xFF4060A0, layout);
+        view.textureFilter = filter;
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderer.close();
+    }
+
+    @Benchmark
+    public FrameBuffer renderFrame() {
+        frameBuffer = renderer.render(view, frameBuffer);
+        return frameBuffer;
+    }
+}
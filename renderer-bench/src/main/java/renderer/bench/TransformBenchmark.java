@@ -0,0 +1,57 @@
+package renderer.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import renderer.geometry.Matrix3;
+import renderer.mesh.Mesh;
+import renderer.mesh.MeshFactory;
+
+/**
+ * Misst den Durchsatz der Eckpunkt-Transformation mit {@link Matrix3}.
+ * <p>
+ * Pro Aufruf werden alle Eckpunkte einer Sphäre in einen wiederverwendeten Puffer transformiert.
+ */
+@State(Scope.Thread)
+public class TransformBenchmark extends BenchmarkDefaults {
+
+    /** Die Unterteilungsstufe der transformierten Sphäre. */
+    @Param({"4", "6"})
+    public int level;
+
+    private Mesh mesh;
+    private double[] transformed;
+    private double heading;
+
+    @Setup
+    public void setup() {
+        mesh = MeshFactory.sphere(level);
+        transformed = new double[mesh.getPositions().length];
+    }
+
+    /**
+     * Baut die Rotationsmatrix auf und transformiert alle Eckpunkte (wie einmal pro Frame).
+     *
+     * @return Der Ausgabepuffer, damit JMH das Ergebnis nicht wegoptimiert.
+     */
+    @Benchmark
+    public double[] transformVertices() {
+        heading += 1;
+        Matrix3 transform = Matrix3.headingPitch(heading, 30);
+        transform.transform(mesh.getPositions(), transformed, mesh.getVertexCount());
+        return transformed;
+    }
+
+    /**
+     * Misst nur die Matrix-Multiplikation aus Heading und Pitch.
+     *
+     * @return Die kombinierte Rotation.
+     */
+    @Benchmark
+    public Matrix3 headingPitch() {
+        heading += 1;
+        return Matrix3.headingPitch(heading, 30);
+    }
+}
@@ -0,0 +1,48 @@
+package renderer.batch;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Kommandozeilen-Einstieg für headless Batch-Läufe; benötigt weder Bildschirm noch JavaFX.
+ * <p>
+ * Beispiel: 360 Heading-Schritte einer roten Sphäre bei 20° Pitch als PNG-Folge:
+ * <pre>
+ * java -jar renderer-core.jar --shape=sphere --level=5 --size=1280x720 --color=#FF4020 \
+ *      --heading=0:360:360 --pitch=20 --out=turntable
+ * </pre>
+ */
+public final class BatchCli {
+
+    private BatchCli() {
+    }
+
+    /**
+     * Startet einen Batch-Lauf und gibt am Ende die Bildrate aus, bei Szenen auch Instanzen und
+     * Dreiecke pro Sekunde.
+     *
+     * @param args Die Optionen, siehe {@link BatchOptions#usage()}.
+     * @throws IOException          wenn ein Frame nicht geschrieben werden konnte.
+     * @throws InterruptedException wenn der Lauf unterbrochen wurde.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        BatchOptions options;
+        try {
+            options = BatchOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(BatchOptions.usage());
+            System.exit(2);
+            return;
+        }
+        BatchRenderer.Result result = new BatchRenderer(options).run();
+        System.out.printf(Locale.ROOT, "%d Frames in %.2f s (%.1f fps), %.1f MB -> %s%n",
+                result.getFrames(), result.getElapsedNanos() / 1e9, result.getFramesPerSecond(),
+                result.getBytesWritten() / (1024.0 * 1024.0), options.output.toAbsolutePath());
+        if (options.sceneSpheres > 0 || options.instances > 0) {
+            System.out.printf(Locale.ROOT, "%.0f Instanzen/s, %.0f Dreiecke/s%n",
+                    result.getObjectsPerSecond(), result.getTrianglesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package renderer.batch;
+
+import renderer.mesh.Shape;
+import renderer.raster.DepthFormat;
+import renderer.texture.TextureFilter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Die Parameter eines Batch-Laufs, wie sie auf der Kommandozeile angegeben werden.
+ * <p>
+ * Winkelbereiche werden als {@code VON:BIS:SCHRITTE} in Grad angegeben. Das Ende ist exklusiv,
+ * damit sich eine volle Drehung (z.B. {@code 0:360:360}) nahtlos wiederholen lässt. Ein
+ * einzelner Wert steht für genau einen Schritt. Es wird jede Kombination aus Heading und
+ * Pitch gerendert, Heading läuft dabei innen.
+ */
+public class BatchOptions {
+
+    /** Ausgabeformat der Frames. */
+    public enum Format {
+        /** Eine PNG-Datei pro Frame ({@code frame_00000.png}, ...). */
+        PNG,
+        /** Alle Frames hintereinander als ARGB-Bytes in einer Datei {@code frames.argb}. */
+        RAW
+    }
+
+    public Shape shape = Shape.SPHERE;
+    // OBJ- oder STL-Datei, die statt der Grundform gerendert wird (null = Grundform).
+    public Path model;
+    // Modell blockweise von der Platte rendern, statt es vollständig abzubilden.
+    public boolean chunked;
+    // Speicherbudget aller Threads für das blockweise Rendern in Bytes.
+    public long memoryBudget = 64L * 1024 * 1024;
+    public int level = 4;
+    // Detailstufe pro Frame aus der projizierten Größe wählen (ersetzt level) und Vergrößerung.
+    public boolean lod;
+    public double zoom = 1;
+    public int width = 800;
+    public int height = 600;
+    public int color = 0xFFFFFFFF;
+    public boolean backFaceCulling = true;
+    // Anzahl der Kugeln der Verdeckungs-Testszene (0 = keine Szene), Verdeckungstest und Z-Buffer-Format.
+    public int sceneSpheres;
+    // Anzahl der Instanzen (Kugeln und Würfel) der Instanz-Testszene (0 = keine Szene).
+    public int instances;
+    public boolean occlusionCulling = true;
+    // Verzögerte Schattierung nach dem Rastern (nicht mit --chunked).
+    public boolean deferred;
+    // Abtastpunkte pro Pixel für Multisample-Kantenglättung (0 = aus, sonst 4 oder 8; nicht mit --chunked).
+    public int msaa;
+    // Bilddatei der Textur, "checker" für ein Schachbrett oder null für einfarbige Flächen
+    // (nicht mit --chunked), und ihr Filter.
+    public String texture;
+    public TextureFilter textureFilter = TextureFilter.TRILINEAR;
+    public DepthFormat depthFormat = DepthFormat.DOUBLE;
+
+    // Heading (rotationX) und Pitch (rotationY) in Grad.
+    public double headingFrom = 0, headingTo = 360;
+    public int headingSteps = 360;
+    public double pitchFrom = 0, pitchTo = 0;
+    public int pitchSteps = 1;
+
+    public Format format = Format.PNG;
+    public Path output = Paths.get("frames");
+    public int threads = Runtime.getRuntime().availableProcessors();
+    // Höchstzahl der Frames, die gleichzeitig gerendert werden oder auf das Schreiben warten.
+    public int maxInFlight = 2 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @return Die Gesamtzahl der Frames.
+     */
+    public int getFrameCount() {
+        return headingSteps * pitchSteps;
+    }
+
+    /**
+     * Liefert den Heading-Winkel eines Frames.
+     *
+     * @param frame Die Nummer des Frames.
+     * @return Der Winkel in Grad.
+     */
+    public double headingAt(int frame) {
+        return headingFrom + (headingTo - headingFrom) * (frame % headingSteps) / headingSteps;
+    }
+
+    /**
+     * Liefert den Pitch-Winkel eines Frames.
+     *
+     * @param frame Die Nummer des Frames.
+     * @return Der Winkel in Grad.
+     */
+    public double pitchAt(int frame) {
+        return pitchFrom + (pitchTo - pitchFrom) * (frame / headingSteps) / pitchSteps;
+    }
+
+    /**
+     * Liest die Optionen aus den Kommandozeilenargumenten.
+     *
+     * @param args Argumente der Form {@code --name=wert}.
+     * @return Die Optionen.
+     * @throws IllegalArgumentException bei unbekannten oder ungültigen Argumenten.
+     */
+    public static BatchOptions parse(String[] args) {
+        BatchOptions o = new BatchOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator < 0 ? arg : arg.substring(0, separator);
+            String value = separator < 0 ? "" : arg.substring(separator + 1);
+            try {
+                switch (name) {
+                    case "--shape":
+                        o.shape = Shape.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--model":
+                        o.model = Paths.get(value);
+                        break;
+                    case "--chunked":
+                        o.chunked = true;
+                        break;
+                    case "--memory-budget":
+                        o.memoryBudget = Long.parseLong(value) * 1024 * 1024;
+                        break;
+                    case "--level":
+                        o.level = Integer.parseInt(value);
+                        break;
+                    case "--lod":
+                        o.lod = true;
+                        break;
+                    case "--zoom":
+                        o.zoom = Double.parseDouble(value);
+                        break;
+                    case "--size": {
+                        int x = value.indexOf('x');
+                        o.width = Integer.parseInt(value.substring(0, x));
+                        o.height = Integer.parseInt(value.substring(x + 1));
+                        break;
+                    }
+                    case "--color":
+                        o.color = 0xFF000000 | Integer.parseInt(value.startsWith("#") ? value.substring(1) : value, 16);
+                        break;
+                    case "--no-culling":
+                        o.backFaceCulling = false;
+                        break;
+                    case "--scene":
+                        o.sceneSpheres = Integer.parseInt(value);
+                        break;
+                    case "--instances":
+                        o.instances = Integer.parseInt(value);
+                        break;
+                    case "--no-occlusion":
+                        o.occlusionCulling = false;
+                        break;
+                    case "--deferred":
+                        o.deferred = true;
+                        break;
+                    case "--msaa":
+                        o.msaa = Integer.parseInt(value);
+                        break;
+                    case "--texture":
+                        o.texture = value;
+                        break;
+                    case "--filter":
+                        o.textureFilter = TextureFilter.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--depth":
+                        o.depthFormat = DepthFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--heading": {
+                        double[] range = parseRange(value);
+                        o.headingFrom = range[0];
+                        o.headingTo = range[1];
+                        o.headingSteps = (int) range[2];
+                        break;
+                    }
+                    case "--pitch": {
+                        double[] range = parseRange(value);
+                        o.pitchFrom = range[0];
+                        o.pitchTo = range[1];
+                        o.pitchSteps = (int) range[2];
+                        break;
+                    }
+                    case "--format":
+                        o.format = Format.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--out":
+                        o.output = Paths.get(value);
+                        break;
+                    case "--threads":
+                        o.threads = Integer.parseInt(value);
+                        break;
+                    case "--in-flight":
+                        o.maxInFlight = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unbekannte Option: " + arg);
+                }
+            } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Ungültiger Wert: " + arg, e);
+            }
+        }
+        if (o.width <= 0 || o.height <= 0 || o.threads <= 0 || o.maxInFlight <= 0
+                || o.headingSteps <= 0 || o.pitchSteps <= 0 || o.level < 0 || o.sceneSpheres < 0 || o.instances < 0
+                || !(o.zoom > 0)) {
+            throw new IllegalArgumentException("Größe, Zoom, Schritte, Threads und In-Flight müssen positiv sein");
+        }
+        if (o.chunked && o.model == null) {
+            throw new IllegalArgumentException("--chunked erfordert --model");
+        }
+        if (o.texture != null && o.texture.isEmpty()) {
+            throw new IllegalArgumentException("--texture erfordert eine Bilddatei oder checker");
+        }
+        if (o.msaa != 0 && o.msaa != 4 && o.msaa != 8) {
+            throw new IllegalArgumentException("--msaa muss 4 oder 8 sein");
+        }
+        if ((o.sceneSpheres > 0 ? 1 : 0) + (o.instances > 0 ? 1 : 0) + (o.model != null ? 1 : 0) > 1) {
+            throw new IllegalArgumentException("--scene, --instances und --model schließen sich aus");
+        }
+        return o;
+    }
+
+    /**
+     * Liest einen Winkelbereich {@code VON:BIS:SCHRITTE} oder einen einzelnen Winkel.
+     *
+     * @return {@code {von, bis, schritte}}.
+     */
+    private static double[] parseRange(String value) {
+        String[] parts = value.split(":");
+        if (parts.length == 1) {
+            double angle = Double.parseDouble(parts[0]);
+            return new double[]{angle, angle, 1};
+        }
+        if (parts.length != 3) {
+            throw new NumberFormatException("Erwartet VON:BIS:SCHRITTE");
+        }
+        return new double[]{Double.parseDouble(parts[0]), Double.parseDouble(parts[1]), Integer.parseInt(parts[2])};
+    }
+
+    /**
+     * @return Die Beschreibung aller Optionen für die Kommandozeile.
+     */
+    public static String usage() {
+        return String.join("\n",
+                "Optionen:",
+                "  --shape=SPHERE|CUBE        Grundform (Standard SPHERE)",
+                "  --model=DATEI              OBJ- oder STL-Modell statt der Grundform",
+                "  --chunked                  Modell blockweise von der Platte rendern (Out-of-Core)",
+                "  --memory-budget=MB         Speicherbudget aller Threads für --chunked (Standard 64)",
+                "  --level=N                  Unterteilungsstufe der Sphäre (Standard 4)",
+                "  --lod                      Detailstufe automatisch aus der Bildgröße wählen",
+                "  --zoom=F                   Vergrößerung (Standard 1)",
+                "  --size=BREITExHÖHE         Auflösung (Standard 800x600)",
+                "  --color=#RRGGBB            Farbe (Standard #FFFFFF)",
+                "  --heading=VON:BIS:SCHRITTE Heading in Grad, Ende exklusiv (Standard 0:360:360)",
+                "  --pitch=VON:BIS:SCHRITTE   Pitch in Grad (Standard 0)",
+                "  --no-culling               Back-Face-Culling abschalten",
+                "  --scene=N                  Testszene aus N Kugeln hinter einer Wand statt der Grundform",
+                "  --instances=N              Testszene aus N gedrehten Kugeln und Würfeln statt der Grundform",
+                "  --no-occlusion             Verdeckungstest (hierarchischer Z-Buffer) abschalten",
+                "  --deferred                 Erst nach dem Rastern schattieren (Deferred Shading)",
+                "  --msaa=4|8                 Multisample-Kantenglättung mit 4 oder 8 Abtastpunkten pro Pixel",
+                "  --texture=DATEI|checker    Textur aus einer Bilddatei oder Schachbrett (ersetzt die Farbe)",
+                "  --filter=FILTER            Texturfilter NEAREST, BILINEAR oder TRILINEAR (Standard)",
+                "  --depth=DOUBLE|FLOAT       Genauigkeit des Z-Buffers (Standard DOUBLE)",
+                "  --format=PNG|RAW           PNG pro Frame oder alle Frames als ARGB in frames.argb",
+                "  --out=VERZEICHNIS          Ausgabeverzeichnis (Standard frames)",
+                "  --threads=N                Render-Threads (Standard: Anzahl der Kerne)",
+                "  --in-flight=N              Höchstzahl gleichzeitig gehaltener Frames (Standard 2 x Kerne)");
+    }
+}
@@ -0,0 +1,358 @@
+package renderer.batch;
+
+import renderer.mesh.FloatMesh;
+import renderer.mesh.MeshCache;
+import renderer.mesh.io.ChunkedMeshFile;
+import renderer.mesh.io.MeshLoader;
+import renderer.mesh.lod.ModelLod;
+import renderer.pipeline.ChunkedRenderer;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+import renderer.scene.Scene;
+import renderer.texture.Texture;
+import renderer.texture.TextureLayout;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rendert eine Bildfolge (z.B. eine Drehung) headless und parallel auf alle Kerne.
+ * <p>
+ * Jeder Worker-Thread rendert ganze Frames mit einem eigenen {@link Renderer} und eigenen,
+ * wiederverwendeten Puffern; nur der unveränderliche {@link MeshCache} wird geteilt. Innerhalb
+ * eines Frames wird seriell gerastert, da die Parallelität bereits über die Frames entsteht.
+ * <p>
+ * Die Anzahl der Frames, die gleichzeitig gerendert werden oder auf das Schreiben warten,
+ * ist durch {@link BatchOptions#maxInFlight} begrenzt. Damit bleibt der Speicherbedarf
+ * unabhängig von der Länge der Folge. PNG-Dateien schreibt jeder Worker direkt; beim
+ * RAW-Format werden die Frames in ihrer Reihenfolge an eine gemeinsame Datei angehängt.
+ * <p>
+ * Mit {@link BatchOptions#chunked} rendert jeder Worker das Modell mit einem
+ * {@link ChunkedRenderer} blockweise von der Platte; das Speicherbudget wird dabei
+ * gleichmäßig auf die Threads verteilt.
+ */
+public class BatchRenderer {
+
+    /** Dateiname der RAW-Ausgabe im Ausgabeverzeichnis. */
+    public static final String RAW_FILE = "frames.argb";
+
+    private final BatchOptions options;
+    private final MeshCache meshCache = new MeshCache();
+    private FloatMesh model;
+    private ModelLod modelLod;
+    private Path chunkedModel;
+    private Scene scene;
+    // Unveränderlich und daher von allen Workern geteilt.
+    private Texture texture;
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+    private final List<Worker> allWorkers = new ArrayList<>();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicInteger framesWritten = new AtomicInteger();
+    private final AtomicLong objectsDrawn = new AtomicLong();
+    private final AtomicLong trianglesDrawn = new AtomicLong();
+
+    // Nur für das RAW-Format: gemeinsame Datei und die noch nicht geschriebenen Frames.
+    private FileChannel rawChannel;
+    private final Map<Integer, byte[]> pendingRaw = new HashMap<>();
+    private int nextRawFrame;
+
+    /**
+     * Erzeugt einen Batch-Renderer.
+     *
+     * @param options Die Parameter des Laufs.
+     */
+    public BatchRenderer(BatchOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Rendert alle Frames und schreibt sie in das Ausgabeverzeichnis.
+     *
+     * @return Die Kennzahlen des Laufs.
+     * @throws IOException          wenn ein Frame nicht geschrieben werden konnte.
+     * @throws InterruptedException wenn der aufrufende Thread unterbrochen wurde.
+     */
+    public Result run() throws IOException, InterruptedException {
+        Files.createDirectories(options.output);
+        ImageIO.setUseCache(false);
+        // Lade bzw. erzeuge das Mesh vorab, damit nicht alle Worker beim ersten Frame darauf warten.
+        if (options.chunked) {
+            long start = System.nanoTime();
+            chunkedModel = MeshLoader.loadChunked(options.model, ChunkedMeshFile.DEFAULT_TRIANGLES_PER_CHUNK);
+            ChunkedMeshFile.Header header = ChunkedMeshFile.readHeader(chunkedModel);
+            System.out.printf("%s: %d Dreiecke in %d Blöcken, bereit nach %.1f ms%n", chunkedModel,
+                    header.getTriangleCount(), header.getChunkCount(), (System.nanoTime() - start) / 1e6);
+        } else if (options.model != null) {
+            MeshLoader.Result loaded = MeshLoader.load(options.model);
+            model = loaded.getMesh();
+            System.out.println(options.model + ": " + loaded);
+            if (options.lod) {
+                modelLod = ModelLod.build(model);
+                System.out.println(options.model + ": " + modelLod);
+            }
+        } else if (options.sceneSpheres > 0) {
+            scene = Scene.occluderDemo(meshCache, options.sceneSpheres, 1);
+            System.out.printf("Szene: %d Objekte, %d Dreiecke%n", scene.size(), scene.getTriangleCount());
+        } else if (options.instances > 0) {
+            scene = Scene.instancedDemo(meshCache, options.instances, 1);
+            System.out.printf("Szene: %d Instanzen, %d Dreiecke, %d BVH-Knoten%n", scene.size(),
+                    scene.getTriangleCount(), scene.getHierarchy().getNodeCount());
+        } else {
+            meshCache.get(options.shape, options.level);
+        }
+        if (options.texture != null) {
+            texture = "checker".equals(options.texture)
+                    ? Texture.checkerboard(1024, 8, 0xFFE0C080, 0xFF4060A0, TextureLayout.MORTON)
+                    : Texture.read(Paths.get(options.texture), TextureLayout.MORTON);
+            System.out.printf("Textur: %dx%d, %d Stufen, %.1f MB%n", texture.getWidth(), texture.getHeight(),
+                    texture.getLevelCount(), texture.getBytes() / (1024.0 * 1024.0));
+        }
+        if (options.format == BatchOptions.Format.RAW) {
+            rawChannel = FileChannel.open(options.output.resolve(RAW_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(options.threads, r -> {
+            Thread thread = new Thread(r, "batch-render-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(options.maxInFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        long start = System.nanoTime();
+        try {
+            int frames = options.getFrameCount();
+            for (int i = 0; i < frames && failure.get() == null; i++) {
+                // Frames werden in Reihenfolge zugelassen; so ist der älteste offene Frame immer in Arbeit.
+                inFlight.acquire();
+                int frame = i;
+                pool.execute(() -> {
+                    try {
+                        renderFrame(frame);
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            pool.shutdownNow();
+            if (rawChannel != null) {
+                rawChannel.close();
+            }
+            synchronized (allWorkers) {
+                for (Worker worker : allWorkers) {
+                    if (worker.chunkedRenderer != null) {
+                        worker.chunkedRenderer.close();
+                    }
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Throwable error = failure.get();
+        if (error instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) error).getCause();
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return new Result(framesWritten.get(), elapsed, bytesWritten.get(), objectsDrawn.get(), trianglesDrawn.get());
+    }
+
+    /**
+     * Rendert einen Frame auf dem aktuellen Worker-Thread und schreibt ihn.
+     */
+    private void renderFrame(int frame) {
+        Worker worker = workers.get();
+        ViewState view = worker.view;
+        view.rotationX = Math.toRadians(options.headingAt(frame));
+        view.rotationY = Math.toRadians(options.pitchAt(frame));
+        try {
+            if (worker.chunkedRenderer != null) {
+                worker.frameBuffer = worker.chunkedRenderer.render(view, worker.frameBuffer);
+            } else {
+                worker.frameBuffer = worker.renderer.render(view, worker.frameBuffer);
+                objectsDrawn.addAndGet(worker.renderer.getDrawnObjects());
+                trianglesDrawn.addAndGet(worker.renderer.getDrawnTriangles());
+            }
+            int[] pixels = worker.frameBuffer.getPixels();
+            if (options.format == BatchOptions.Format.PNG) {
+                System.arraycopy(pixels, 0, worker.imagePixels, 0, pixels.length);
+                Path file = options.output.resolve(String.format("frame_%05d.png", frame));
+                if (!ImageIO.write(worker.image, "png", file.toFile())) {
+                    throw new IOException("Kein PNG-Encoder verfügbar");
+                }
+                bytesWritten.addAndGet(Files.size(file));
+            } else {
+                byte[] data = new byte[pixels.length * 4];
+                ByteBuffer.wrap(data).asIntBuffer().put(pixels);
+                writeRaw(frame, data);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        framesWritten.incrementAndGet();
+    }
+
+    /**
+     * Hängt einen Frame an die RAW-Datei an, sobald alle vorherigen Frames geschrieben sind.
+     */
+    private synchronized void writeRaw(int frame, byte[] data) throws IOException {
+        pendingRaw.put(frame, data);
+        byte[] next;
+        while ((next = pendingRaw.remove(nextRawFrame)) != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(next);
+            while (buffer.hasRemaining()) {
+                rawChannel.write(buffer);
+            }
+            bytesWritten.addAndGet(next.length);
+            nextRawFrame++;
+        }
+    }
+
+    /**
+     * Die Puffer eines Worker-Threads; werden für alle Frames des Threads wiederverwendet.
+     */
+    private class Worker {
+        final Renderer renderer = new Renderer(meshCache, null);
+        final ChunkedRenderer chunkedRenderer;
+        final ViewState view = new ViewState();
+        final BufferedImage image = new BufferedImage(options.width, options.height, BufferedImage.TYPE_INT_RGB);
+        final int[] imagePixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        FrameBuffer frameBuffer;
+
+        Worker() {
+            view.shape = options.shape;
+            view.level = options.level;
+            view.model = model;
+            view.modelLod = modelLod;
+            view.lod = options.lod;
+            view.zoom = options.zoom;
+            view.color = options.color;
+            view.width = options.width;
+            view.height = options.height;
+            view.backFaceCulling = options.backFaceCulling;
+            view.scene = scene;
+            view.occlusionCulling = options.occlusionCulling;
+            view.deferred = options.deferred;
+            view.msaa = options.msaa;
+            view.texture = texture;
+            view.textureFilter = options.textureFilter;
+            view.depthFormat = options.depthFormat;
+            view.parallel = false;
+            try {
+                chunkedRenderer = chunkedModel == null ? null
+                        : new ChunkedRenderer(chunkedModel, options.memoryBudget / options.threads, null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            synchronized (allWorkers) {
+                allWorkers.add(this);
+            }
+        }
+    }
+
+    /**
+     * Die Kennzahlen eines Batch-Laufs.
+     */
+    public static final class Result {
+        private final int frames;
+        private final long elapsedNanos;
+        private final long bytesWritten;
+        private final long objectsDrawn;
+        private final long trianglesDrawn;
+
+        Result(int frames, long elapsedNanos, long bytesWritten, long objectsDrawn, long trianglesDrawn) {
+            this.frames = frames;
+            this.elapsedNanos = elapsedNanos;
+            this.bytesWritten = bytesWritten;
+            this.objectsDrawn = objectsDrawn;
+            this.trianglesDrawn = trianglesDrawn;
+        }
+
+        /**
+         * @return Die Anzahl der geschriebenen Frames.
+         */
+        public int getFrames() {
+            return frames;
+        }
+
+        /**
+         * @return Die Laufzeit in Nanosekunden.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return Die Anzahl der geschriebenen Bytes.
+         */
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        /**
+         * @return Die Bildrate über den gesamten Lauf inklusive Kodieren und Schreiben.
+         */
+        public double getFramesPerSecond() {
+            return elapsedNanos <= 0 ? 0 : frames * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return Die Anzahl der über alle Frames gezeichneten Objekte bzw. Instanzen (ohne die
+         *         außerhalb des Bildes oder verdeckt verworfenen; 0 bei {@code --chunked}).
+         */
+        public long getObjectsDrawn() {
+            return objectsDrawn;
+        }
+
+        /**
+         * @return Die Anzahl der Dreiecke aller gezeichneten Objekte über alle Frames.
+         */
+        public long getTrianglesDrawn() {
+            return trianglesDrawn;
+        }
+
+        /**
+         * @return Die gezeichneten Instanzen pro Sekunde über den gesamten Lauf.
+         */
+        public double getObjectsPerSecond() {
+            return elapsedNanos <= 0 ? 0 : objectsDrawn * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return Die Dreiecke der gezeichneten Instanzen pro Sekunde über den gesamten Lauf.
+         */
+        public double getTrianglesPerSecond() {
+            return elapsedNanos <= 0 ? 0 : trianglesDrawn * 1e9 / elapsedNanos;
+        }
+    }
+}
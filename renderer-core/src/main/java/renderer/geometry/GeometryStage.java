@@ -0,0 +1,282 @@
+package renderer.geometry;
+
+import renderer.raster.TriangleBatch;
+
+/**
+ * Geometrie-Stufe zwischen Transformation und Rasterisierung.
+ * <p>
+ * Die Stufe arbeitet auf Dreiecken in Bildschirmkoordinaten (x nach rechts, y nach unten,
+ * größere z-Werte liegen näher an der Kamera) und erledigt:
+ * <ul>
+ *   <li>Back-Face-Culling anhand der Orientierung (abschaltbar),</li>
+ *   <li>triviales Verwerfen von Dreiecken, die vollständig außerhalb des Sichtvolumens liegen,</li>
+ *   <li>Clipping an der Near- und Far-Ebene sowie an einem Schutzbereich (Guard Band) um den
+ *       Bildschirm. Dreiecke, die nur geringfügig über den Rand ragen, werden nicht zerteilt;
+ *       diesen Teil übernimmt die Begrenzungsbox des Rasterisierers.</li>
+ * </ul>
+ * Near- und Far-Ebene sind standardmäßig deaktiviert, da die Projektion orthografisch ist
+ * und es noch keine Kamera gibt. Die Zähler geben Auskunft über verworfene und
+ * zerteilte Dreiecke und werden mit {@link #resetCounters()} zurückgesetzt.
+ * Eine Instanz ist nicht threadsicher; sie hält wiederverwendete Puffer für das Clipping.
+ */
+public class GeometryStage {
+
+    /** Breite des Schutzbereichs um den Bildschirm in Pixeln. */
+    public static final double GUARD_BAND = 2048;
+
+    // Bits der Outcodes für die einzelnen Ebenen des Sichtvolumens.
+    private static final int LEFT = 1, RIGHT = 2, TOP = 4, BOTTOM = 8, NEAR = 16, FAR = 32;
+
+    private int width = 1, height = 1;
+    private boolean backFaceCulling = true;
+    private double near = Double.POSITIVE_INFINITY;
+    private double far = Double.NEGATIVE_INFINITY;
+
+    private long submitted, culledBackFace, culledOutside, clipped, emitted;
+
+    // Wiederverwendete Polygon-Puffer für das Sutherland-Hodgman-Clipping (x, y, z pro Eckpunkt).
+    // Jede der sechs Ebenen fügt höchstens einen Eckpunkt hinzu, daher genügen 3 + 6 Eckpunkte.
+    private double[] polygon = new double[3 * 9];
+    private double[] scratch = new double[3 * 9];
+
+    /**
+     * Setzt die Größe des Bildschirms, gegen die verworfen und geclippt wird.
+     *
+     * @param width  Die Breite in Pixeln.
+     * @param height Die Höhe in Pixeln.
+     */
+    public void setViewport(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Aktiviert oder deaktiviert das Back-Face-Culling.
+     *
+     * @param backFaceCulling true, um abgewandte Dreiecke zu verwerfen.
+     */
+    public void setBackFaceCulling(boolean backFaceCulling) {
+        this.backFaceCulling = backFaceCulling;
+    }
+
+    /**
+     * @return true, wenn abgewandte Dreiecke verworfen werden.
+     */
+    public boolean isBackFaceCulling() {
+        return backFaceCulling;
+    }
+
+    /**
+     * Setzt die Near-Ebene. Punkte mit größerem z liegen vor der Kamera und werden abgeschnitten.
+     *
+     * @param near Der z-Wert der Near-Ebene ({@link Double#POSITIVE_INFINITY} deaktiviert sie).
+     */
+    public void setNearPlane(double near) {
+        this.near = near;
+    }
+
+    /**
+     * Setzt die Far-Ebene. Punkte mit kleinerem z liegen zu weit entfernt und werden abgeschnitten.
+     *
+     * @param far Der z-Wert der Far-Ebene ({@link Double#NEGATIVE_INFINITY} deaktiviert sie).
+     */
+    public void setFarPlane(double far) {
+        this.far = far;
+    }
+
+    /**
+     * Prüft, ob ein Dreieck sichtbar sein kann.
+     * <p>
+     * Verworfen werden abgewandte oder entartete Dreiecke (sofern das Culling aktiv ist)
+     * sowie Dreiecke, deren Eckpunkte alle auf der äußeren Seite derselben Ebene liegen.
+     * Dreiecke im Uhrzeigersinn auf dem Bildschirm (positive Fläche bei y nach unten)
+     * gelten als zugewandt.
+     *
+     * @param x1 x-Koordinate des ersten Eckpunkts.
+     * @param y1 y-Koordinate des ersten Eckpunkts.
+     * @param z1 Tiefe des ersten Eckpunkts.
+     * @param x2 x-Koordinate des zweiten Eckpunkts.
+     * @param y2 y-Koordinate des zweiten Eckpunkts.
+     * @param z2 Tiefe des zweiten Eckpunkts.
+     * @param x3 x-Koordinate des dritten Eckpunkts.
+     * @param y3 y-Koordinate des dritten Eckpunkts.
+     * @param z3 Tiefe des dritten Eckpunkts.
+     * @return false, wenn das Dreieck verworfen wurde.
+     */
+    public boolean isVisible(double x1, double y1, double z1,
+                             double x2, double y2, double z2,
+                             double x3, double y3, double z3) {
+        submitted++;
+        if (backFaceCulling) {
+            // z-Komponente der Normalen (b - a) x (c - a); zeigt sie von der Kamera weg, ist das Dreieck abgewandt.
+            double area = (x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1);
+            if (!(area > 0)) {
+                culledBackFace++;
+                return false;
+            }
+        }
+        int maxX = width - 1, maxY = height - 1;
+        if ((outcode(x1, y1, z1, 0, 0, maxX, maxY)
+                & outcode(x2, y2, z2, 0, 0, maxX, maxY)
+                & outcode(x3, y3, z3, 0, 0, maxX, maxY)) != 0) {
+            culledOutside++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Clippt ein Dreieck am Sichtvolumen und fügt das Ergebnis der Ausgabe hinzu.
+     * <p>
+     * Liegt das Dreieck vollständig innerhalb von Near-/Far-Ebene und Schutzbereich,
+     * wird es unverändert übernommen. Andernfalls wird es mit dem Sutherland-Hodgman-Verfahren
+     * zerteilt und das entstehende Polygon als Fächer aus Dreiecken gleicher Orientierung ausgegeben.
+     *
+     * @param out  Die Ausgabe für den Rasterisierer.
+     * @param x1   x-Koordinate des ersten Eckpunkts.
+     * @param y1   y-Koordinate des ersten Eckpunkts.
+     * @param z1   Tiefe des ersten Eckpunkts.
+     * @param x2   x-Koordinate des zweiten Eckpunkts.
+     * @param y2   y-Koordinate des zweiten Eckpunkts.
+     * @param z2   Tiefe des zweiten Eckpunkts.
+     * @param x3   x-Koordinate des dritten Eckpunkts.
+     * @param y3   y-Koordinate des dritten Eckpunkts.
+     * @param z3   Tiefe des dritten Eckpunkts.
+     * @param argb Die Farbe des Dreiecks als gepackter ARGB-Wert.
+     */
+    public void clipAndEmit(TriangleBatch out,
+                            double x1, double y1, double z1,
+                            double x2, double y2, double z2,
+                            double x3, double y3, double z3,
+                            int argb) {
+        double minX = -GUARD_BAND, minY = -GUARD_BAND;
+        double maxX = width - 1 + GUARD_BAND, maxY = height - 1 + GUARD_BAND;
+        int codes = outcode(x1, y1, z1, minX, minY, maxX, maxY)
+                | outcode(x2, y2, z2, minX, minY, maxX, maxY)
+                | outcode(x3, y3, z3, minX, minY, maxX, maxY);
+        if (codes == 0) {
+            out.add(x1, y1, z1, x2, y2, z2, x3, y3, z3, argb);
+            emitted++;
+            return;
+        }
+
+        clipped++;
+        double[] p = polygon;
+        p[0] = x1; p[1] = y1; p[2] = z1;
+        p[3] = x2; p[4] = y2; p[5] = z2;
+        p[6] = x3; p[7] = y3; p[8] = z3;
+        int n = 3;
+        if ((codes & NEAR) != 0) n = clip(n, 2, near, false);
+        if ((codes & FAR) != 0) n = clip(n, 2, far, true);
+        if ((codes & LEFT) != 0) n = clip(n, 0, minX, true);
+        if ((codes & RIGHT) != 0) n = clip(n, 0, maxX, false);
+        if ((codes & TOP) != 0) n = clip(n, 1, minY, true);
+        if ((codes & BOTTOM) != 0) n = clip(n, 1, maxY, false);
+
+        // Gib das Polygon als Dreiecksfächer um den ersten Eckpunkt aus.
+        p = polygon;
+        for (int i = 2; i < n; i++) {
+            int b = (i - 1) * 3, c = i * 3;
+            out.add(p[0], p[1], p[2], p[b], p[b + 1], p[b + 2], p[c], p[c + 1], p[c + 2], argb);
+            emitted++;
+        }
+    }
+
+    /**
+     * Clippt das Polygon in {@link #polygon} an einer achsenparallelen Ebene.
+     *
+     * @param n       Die Anzahl der Eckpunkte.
+     * @param axis    Die Achse (0 = x, 1 = y, 2 = z).
+     * @param limit   Die Lage der Ebene auf der Achse.
+     * @param keepMin true, wenn Punkte mit Wert {@code >= limit} erhalten bleiben, sonst {@code <= limit}.
+     * @return Die Anzahl der Eckpunkte nach dem Clipping (0, wenn nichts übrig bleibt).
+     */
+    private int clip(int n, int axis, double limit, boolean keepMin) {
+        double[] in = polygon;
+        double[] result = scratch;
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int a = i * 3;
+            int b = ((i + 1) % n) * 3;
+            double va = in[a + axis] - limit;
+            double vb = in[b + axis] - limit;
+            boolean insideA = keepMin ? va >= 0 : va <= 0;
+            boolean insideB = keepMin ? vb >= 0 : vb <= 0;
+            if (insideA) {
+                result[count * 3] = in[a];
+                result[count * 3 + 1] = in[a + 1];
+                result[count * 3 + 2] = in[a + 2];
+                count++;
+            }
+            if (insideA != insideB) {
+                // Schnittpunkt der Kante mit der Ebene (lineare Interpolation aller Koordinaten).
+                double t = va / (va - vb);
+                result[count * 3] = in[a] + t * (in[b] - in[a]);
+                result[count * 3 + 1] = in[a + 1] + t * (in[b + 1] - in[a + 1]);
+                result[count * 3 + 2] = in[a + 2] + t * (in[b + 2] - in[a + 2]);
+                result[count * 3 + axis] = limit;
+                count++;
+            }
+        }
+        // Tausche die Puffer, damit das Ergebnis wieder in polygon liegt.
+        scratch = in;
+        polygon = result;
+        return count;
+    }
+
+    /**
+     * Berechnet den Outcode eines Punkts bezüglich eines Rechtecks und der Near-/Far-Ebene.
+     */
+    private int outcode(double x, double y, double z, double minX, double minY, double maxX, double maxY) {
+        int code = 0;
+        if (x < minX) code |= LEFT;
+        else if (x > maxX) code |= RIGHT;
+        if (y < minY) code |= TOP;
+        else if (y > maxY) code |= BOTTOM;
+        if (z > near) code |= NEAR;
+        else if (z < far) code |= FAR;
+        return code;
+    }
+
+    /**
+     * Setzt alle Zähler auf 0 zurück.
+     */
+    public void resetCounters() {
+        submitted = culledBackFace = culledOutside = clipped = emitted = 0;
+    }
+
+    /**
+     * @return Die Anzahl der an {@link #isVisible} übergebenen Dreiecke.
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * @return Die Anzahl der als abgewandt verworfenen Dreiecke.
+     */
+    public long getCulledBackFace() {
+        return culledBackFace;
+    }
+
+    /**
+     * @return Die Anzahl der vollständig außerhalb des Sichtvolumens verworfenen Dreiecke.
+     */
+    public long getCulledOutside() {
+        return culledOutside;
+    }
+
+    /**
+     * @return Die Anzahl der Dreiecke, die am Sichtvolumen zerteilt wurden.
+     */
+    public long getClipped() {
+        return clipped;
+    }
+
+    /**
+     * @return Die Anzahl der an den Rasterisierer ausgegebenen Dreiecke.
+     */
+    public long getEmitted() {
+        return emitted;
+    }
+}
@@ -0,0 +1,235 @@
+package renderer.geometry;
+
+import renderer.simd.Simd;
+import renderer.simd.VectorKernels;
+
+/**
+ * Stellt eine 3x3-Matrix für 3D-Transformationen dar.
+ * <p>
+ * Diese Matrix wird im row-major order gespeichert und ermöglicht Operationen wie
+ * Matrix-Multiplikation und die Transformation von 3D-Punkten (Vertices). Mit
+ * {@link #setHeadingPitchRoll} lässt sich eine vorhandene Matrix pro Frame ohne Allokation neu
+ * belegen; eine solche Matrix darf nicht mit anderen Threads geteilt werden.
+ */
+public class Matrix3 {
+    final double[] m; // Array mit 9 Elementen, das die Matrix darstellt.
+
+    /**
+     * Konstruktor für die 3x3-Matrix.
+     *
+     * @param m Ein Array mit exakt 9 Elementen, das die Matrix definiert.
+     * @throws IllegalArgumentException wenn das Array nicht genau 9 Elemente enthält.
+     */
+    public Matrix3(double[] m) {
+        if (m.length != 9)
+            throw new IllegalArgumentException("Matrix muss 9 Elemente haben");
+        this.m = m;
+    }
+
+    /**
+     * Erzeugt eine Einheitsmatrix.
+     */
+    public Matrix3() {
+        this(new double[]{1, 0, 0, 0, 1, 0, 0, 0, 1});
+    }
+
+    /**
+     * Erzeugt die kombinierte Rotation aus Heading (um die Y-Achse) und Pitch (um die X-Achse).
+     *
+     * @param heading Der Heading-Winkel in Radiant.
+     * @param pitch   Der Pitch-Winkel in Radiant.
+     * @return Die Matrix {@code Heading * Pitch}.
+     */
+    public static Matrix3 headingPitch(double heading, double pitch) {
+        // Heading-Transformation (Rotation um die Y-Achse)
+        Matrix3 headingTransform = new Matrix3(new double[]{
+                Math.cos(heading), 0, Math.sin(heading),
+                0, 1, 0,
+                -Math.sin(heading), 0, Math.cos(heading)
+        });
+        // Pitch-Transformation (Rotation um die X-Achse)
+        Matrix3 pitchTransform = new Matrix3(new double[]{
+                1, 0, 0,
+                0, Math.cos(pitch), Math.sin(pitch),
+                0, -Math.sin(pitch), Math.cos(pitch)
+        });
+        return headingTransform.multiply(pitchTransform);
+    }
+
+    /**
+     * Belegt diese Matrix mit der Rotation {@code Roll * Heading * Pitch}, ohne neue Objekte zu
+     * erzeugen.
+     * <p>
+     * Ein Punkt wird zuerst um die X-Achse (Pitch), dann um die Y-Achse (Heading) und zuletzt in
+     * der Bildebene um die Z-Achse (Roll) gedreht. Ohne Roll sind die Werte gleich denen von
+     * {@link #headingPitch}.
+     *
+     * @param heading Der Heading-Winkel in Radiant.
+     * @param pitch   Der Pitch-Winkel in Radiant.
+     * @param roll    Der Roll-Winkel in Radiant.
+     * @return Diese Matrix.
+     */
+    public Matrix3 setHeadingPitchRoll(double heading, double pitch, double roll) {
+        double ch = Math.cos(heading), sh = Math.sin(heading);
+        double cp = Math.cos(pitch), sp = Math.sin(pitch);
+        // Ausmultipliziertes Produkt aus headingPitch (Nullterme entfallen).
+        double m0 = ch, m1 = -(sh * sp), m2 = sh * cp;
+        double m3 = 0, m4 = cp, m5 = sp;
+        double m6 = -sh, m7 = -(ch * sp), m8 = ch * cp;
+        if (roll == 0) {
+            m[0] = m0; m[1] = m1; m[2] = m2;
+            m[3] = m3; m[4] = m4; m[5] = m5;
+            m[6] = m6; m[7] = m7; m[8] = m8;
+            return this;
+        }
+        double cr = Math.cos(roll), sr = Math.sin(roll);
+        m[0] = cr * m0 - sr * m3; m[1] = cr * m1 - sr * m4; m[2] = cr * m2 - sr * m5;
+        m[3] = sr * m0 + cr * m3; m[4] = sr * m1 + cr * m4; m[5] = sr * m2 + cr * m5;
+        m[6] = m6; m[7] = m7; m[8] = m8;
+        return this;
+    }
+
+    /**
+     * Liefert ein Element der Matrix.
+     *
+     * @param row    Die Zeile (0 bis 2).
+     * @param column Die Spalte (0 bis 2).
+     * @return Das Element.
+     */
+    public double get(int row, int column) {
+        return m[row * 3 + column];
+    }
+
+    /**
+     * Multipliziert diese Matrix mit einer anderen 3x3-Matrix.
+     * <p>
+     * Das Ergebnis ist eine neue Matrix, die der Matrix-Multiplikation entspricht.
+     *
+     * @param other Die Matrix, mit der multipliziert werden soll.
+     * @return Eine neue Matrix als Ergebnis der Multiplikation.
+     */
+    public Matrix3 multiply(Matrix3 other) {
+        return multiply(other, new Matrix3(new double[9]));
+    }
+
+    /**
+     * Multipliziert diese Matrix mit einer anderen und schreibt das Ergebnis in eine vorhandene
+     * Matrix, ohne neue Objekte zu erzeugen.
+     * <p>
+     * {@code result} darf eine der beiden Eingangsmatrizen sein.
+     *
+     * @param other  Die Matrix, mit der multipliziert werden soll.
+     * @param result Die Matrix, die das Ergebnis aufnimmt.
+     * @return {@code result}.
+     */
+    public Matrix3 multiply(Matrix3 other, Matrix3 result) {
+        double[] a = this.m, b = other.m;
+        double r0 = 0, r1 = 0, r2 = 0, r3 = 0, r4 = 0, r5 = 0, r6 = 0, r7 = 0, r8 = 0;
+        for (int k = 0; k < 3; k++) {
+            r0 += a[k] * b[k * 3];
+            r1 += a[k] * b[k * 3 + 1];
+            r2 += a[k] * b[k * 3 + 2];
+            r3 += a[3 + k] * b[k * 3];
+            r4 += a[3 + k] * b[k * 3 + 1];
+            r5 += a[3 + k] * b[k * 3 + 2];
+            r6 += a[6 + k] * b[k * 3];
+            r7 += a[6 + k] * b[k * 3 + 1];
+            r8 += a[6 + k] * b[k * 3 + 2];
+        }
+        double[] r = result.m;
+        r[0] = r0; r[1] = r1; r[2] = r2;
+        r[3] = r3; r[4] = r4; r[5] = r5;
+        r[6] = r6; r[7] = r7; r[8] = r8;
+        return result;
+    }
+
+    /**
+     * Transformiert einen 3D-Punkt (Vertex) mit dieser Matrix.
+     * <p>
+     * Die Transformation erfolgt gemäß der Matrixgleichung:
+     * <code>v' = M * v</code>.
+     *
+     * @param v Der zu transformierende Punkt.
+     * @return Ein neuer Vertex, der das Ergebnis der Transformation darstellt.
+     */
+    public Vertex transform(Vertex v) {
+        double x = m[0] * v.x + m[1] * v.y + m[2] * v.z;
+        double y = m[3] * v.x + m[4] * v.y + m[5] * v.z;
+        double z = m[6] * v.x + m[7] * v.y + m[8] * v.z;
+        return new Vertex(x, y, z);
+    }
+
+    /**
+     * Transformiert mehrere 3D-Punkte aus einem flachen {@code x, y, z}-Array.
+     * <p>
+     * Das Ergebnis wird in das Ziel-Array geschrieben, sodass keine neuen Objekte entstehen.
+     *
+     * @param src   Die Eingangspunkte als {@code x, y, z}-Tripel.
+     * @param dst   Das Ziel-Array (mindestens {@code 3 * count} Elemente).
+     * @param count Die Anzahl der zu transformierenden Punkte.
+     */
+    public void transform(double[] src, double[] dst, int count) {
+        for (int i = 0; i < count * 3; i += 3) {
+            double vx = src[i], vy = src[i + 1], vz = src[i + 2];
+            dst[i] = m[0] * vx + m[1] * vy + m[2] * vz;
+            dst[i + 1] = m[3] * vx + m[4] * vy + m[5] * vz;
+            dst[i + 2] = m[6] * vx + m[7] * vy + m[8] * vz;
+        }
+    }
+
+    /**
+     * Transformiert mehrere 3D-Punkte aus einem flachen {@code x, y, z}-Array in getrennte
+     * Koordinaten-Arrays.
+     *
+     * @param src   Die Eingangspunkte als {@code x, y, z}-Tripel.
+     * @param dst   Das Ziel; wird auf {@code count} Einträge gebracht.
+     * @param count Die Anzahl der zu transformierenden Punkte.
+     */
+    public void transform(double[] src, VertexArrays dst, int count) {
+        dst.resize(count);
+        double[] x = dst.getX(), y = dst.getY(), z = dst.getZ();
+        for (int i = 0, j = 0; i < count; i++, j += 3) {
+            double vx = src[j], vy = src[j + 1], vz = src[j + 2];
+            x[i] = m[0] * vx + m[1] * vy + m[2] * vz;
+            y[i] = m[3] * vx + m[4] * vy + m[5] * vz;
+            z[i] = m[6] * vx + m[7] * vy + m[8] * vz;
+        }
+    }
+
+    /**
+     * Transformiert alle Punkte getrennter Koordinaten-Arrays an Ort und Stelle.
+     *
+     * @param points Die Punkte; werden überschrieben.
+     */
+    public void transform(VertexArrays points) {
+        transform(points, points, false);
+    }
+
+    /**
+     * Transformiert alle Punkte getrennter Koordinaten-Arrays, wahlweise mit dem SIMD-Kernel aus
+     * {@link VectorKernels}.
+     * <p>
+     * Beide Pfade liefern bitgleiche Ergebnisse. Ist {@link Simd#isAvailable()} {@code false},
+     * wird immer skalar gerechnet.
+     *
+     * @param src  Die Eingangspunkte.
+     * @param dst  Das Ziel; wird auf die Größe von {@code src} gebracht und darf {@code src} sein.
+     * @param simd {@code true}, um den SIMD-Kernel zu benutzen, sofern verfügbar.
+     */
+    public void transform(VertexArrays src, VertexArrays dst, boolean simd) {
+        int count = src.size();
+        dst.resize(count);
+        double[] sx = src.getX(), sy = src.getY(), sz = src.getZ();
+        double[] x = dst.getX(), y = dst.getY(), z = dst.getZ();
+        if (simd && Simd.isAvailable()) {
+            VectorKernels.transform(m, sx, sy, sz, x, y, z, count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            double vx = sx[i], vy = sy[i], vz = sz[i];
+            x[i] = m[0] * vx + m[1] * vy + m[2] * vz;
+            y[i] = m[3] * vx + m[4] * vy + m[5] * vz;
+            z[i] = m[6] * vx + m[7] * vy + m[8] * vz;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package renderer.geometry;
+
+/**
+ * Repräsentiert einen Punkt (Vertex) im 3D-Raum.
+ * <p>
+ * Diese Klasse speichert die x-, y- und z-Koordinaten eines Punkts und dient als
+ * Basiseinheit für die Darstellung von 3D-Objekten.
+ */
+public class Vertex {
+    public double x, y, z;
+
+    /**
+     * Konstruktor für einen 3D-Punkt.
+     *
+     * @param x Die x-Koordinate.
+     * @param y Die y-Koordinate.
+     * @param z Die z-Koordinate.
+     */
+    public Vertex(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+}
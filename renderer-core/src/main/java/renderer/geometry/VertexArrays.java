@@ -0,0 +1,74 @@
+package renderer.geometry;
+
+/**
+ * Wiederverwendbare Koordinaten vieler Punkte oder Vektoren als getrennte Arrays
+ * (Structure of Arrays): ein Array für alle x-, eines für alle y- und eines für alle z-Werte.
+ * <p>
+ * Die Pipeline hält pro Renderer eine Instanz für die transformierten Eckpunkte (erst
+ * Kamera-, danach Bildschirmkoordinaten) und eine für die Normalen der sichtbaren Dreiecke.
+ * Die Arrays wachsen mit {@link #resize(int)} auf die Größe des Meshes und werden danach über
+ * alle Frames weiterverwendet, sodass pro Frame nichts allokiert wird. Getrennte Arrays lassen
+ * sich Element für Element in fortlaufenden Durchläufen bearbeiten, ohne zwischen den
+ * Komponenten eines Punkts zu springen.
+ * <p>
+ * Die Arrays können größer als {@link #size()} sein; gültig sind nur die ersten
+ * {@code size()} Einträge. Eine Instanz ist nicht threadsicher.
+ */
+public final class VertexArrays {
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] z = new double[0];
+    private int size;
+
+    /**
+     * Setzt die Anzahl der Einträge und vergrößert die Arrays bei Bedarf. Vorhandene Werte
+     * bleiben nur erhalten, wenn nicht vergrößert werden musste.
+     *
+     * @param size Die Anzahl der Einträge.
+     * @return Diese Instanz.
+     */
+    public VertexArrays resize(int size) {
+        if (x.length < size) {
+            x = new double[size];
+            y = new double[size];
+            z = new double[size];
+        }
+        this.size = size;
+        return this;
+    }
+
+    /**
+     * @return Die Anzahl der gültigen Einträge.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Die x-Koordinaten (keine Kopie).
+     */
+    public double[] getX() {
+        return x;
+    }
+
+    /**
+     * @return Die y-Koordinaten (keine Kopie).
+     */
+    public double[] getY() {
+        return y;
+    }
+
+    /**
+     * @return Die z-Koordinaten (keine Kopie).
+     */
+    public double[] getZ() {
+        return z;
+    }
+
+    /**
+     * @return Der reservierte Speicher in Bytes.
+     */
+    public long getBytes() {
+        return (long) x.length * 3 * Double.BYTES;
+    }
+}
@@ -0,0 +1,130 @@
+package renderer.mesh;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Kompaktes indiziertes Dreiecksnetz für importierte Modelle.
+ * <p>
+ * Im Gegensatz zu {@link Mesh} liegen die Daten in {@code float}- und {@code int}-Puffern
+ * (12 Byte pro Eckpunkt und 12 Byte pro Dreieck). Die Puffer können auf dem Heap liegen oder
+ * direkt auf eine speicherabgebildete Datei zeigen; in diesem Fall werden die Daten erst beim
+ * Zugriff vom Betriebssystem geladen und belegen keinen Java-Heap.
+ * <p>
+ * Die Koordinaten werden unverändert aus der Datei übernommen. Für die Darstellung werden
+ * Mittelpunkt und Radius der Begrenzungsbox mitgeführt. Instanzen werden nach dem Aufbau
+ * nicht mehr verändert; alle Zugriffe erfolgen absolut, daher kann ein Mesh von mehreren
+ * Threads gleichzeitig gelesen werden.
+ */
+public final class FloatMesh {
+    private final FloatBuffer positions;
+    private final IntBuffer indices;
+    private final float[] min;
+    private final float[] max;
+
+    /**
+     * Erzeugt ein Mesh aus vorhandenen Puffern.
+     *
+     * @param positions Eckpunkte als {@code x, y, z}-Tripel (Position 0 bis Limit).
+     * @param indices   Drei Eckpunkt-Indizes pro Dreieck (Position 0 bis Limit).
+     * @param min       Minimum der Begrenzungsbox ({@code x, y, z}).
+     * @param max       Maximum der Begrenzungsbox ({@code x, y, z}).
+     * @throws IllegalArgumentException wenn die Puffergrößen nicht durch 3 teilbar sind.
+     */
+    public FloatMesh(FloatBuffer positions, IntBuffer indices, float[] min, float[] max) {
+        if (positions.limit() % 3 != 0 || indices.limit() % 3 != 0)
+            throw new IllegalArgumentException("Positionen und Indizes müssen aus Tripeln bestehen");
+        this.positions = positions;
+        this.indices = indices;
+        this.min = min.clone();
+        this.max = max.clone();
+    }
+
+    /**
+     * Erzeugt ein Mesh aus Arrays und berechnet die Begrenzungsbox.
+     *
+     * @param positions Eckpunkte als {@code x, y, z}-Tripel.
+     * @param indices   Drei Eckpunkt-Indizes pro Dreieck.
+     * @return Das Mesh.
+     */
+    public static FloatMesh of(float[] positions, int[] indices) {
+        float[] min = {Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY};
+        float[] max = {Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY};
+        for (int i = 0; i < positions.length; i++) {
+            int axis = i % 3;
+            min[axis] = Math.min(min[axis], positions[i]);
+            max[axis] = Math.max(max[axis], positions[i]);
+        }
+        if (positions.length == 0) {
+            min = new float[3];
+            max = new float[3];
+        }
+        return new FloatMesh(FloatBuffer.wrap(positions), IntBuffer.wrap(indices), min, max);
+    }
+
+    /**
+     * @return Die Anzahl der Eckpunkte.
+     */
+    public int getVertexCount() {
+        return positions.limit() / 3;
+    }
+
+    /**
+     * @return Die Anzahl der Dreiecke.
+     */
+    public int getTriangleCount() {
+        return indices.limit() / 3;
+    }
+
+    /**
+     * Liefert die Eckpunkte. Der Puffer darf nur absolut gelesen werden.
+     *
+     * @return Die Eckpunkte als {@code x, y, z}-Tripel.
+     */
+    public FloatBuffer getPositions() {
+        return positions;
+    }
+
+    /**
+     * Liefert die Indizes. Der Puffer darf nur absolut gelesen werden.
+     *
+     * @return Drei Eckpunkt-Indizes pro Dreieck.
+     */
+    public IntBuffer getIndices() {
+        return indices;
+    }
+
+    /**
+     * @param axis Die Achse (0 = x, 1 = y, 2 = z).
+     * @return Das Minimum der Begrenzungsbox auf der Achse.
+     */
+    public float getMin(int axis) {
+        return min[axis];
+    }
+
+    /**
+     * @param axis Die Achse (0 = x, 1 = y, 2 = z).
+     * @return Das Maximum der Begrenzungsbox auf der Achse.
+     */
+    public float getMax(int axis) {
+        return max[axis];
+    }
+
+    /**
+     * @param axis Die Achse (0 = x, 1 = y, 2 = z).
+     * @return Der Mittelpunkt der Begrenzungsbox auf der Achse.
+     */
+    public double getCenter(int axis) {
+        return (min[axis] + (double) max[axis]) / 2;
+    }
+
+    /**
+     * @return Der Radius der Begrenzungskugel um den Mittelpunkt der Box (halbe Diagonale).
+     */
+    public double getRadius() {
+        double dx = max[0] - (double) min[0];
+        double dy = max[1] - (double) min[1];
+        double dz = max[2] - (double) min[2];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz) / 2;
+    }
+}
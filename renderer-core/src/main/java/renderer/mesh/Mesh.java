@@ -0,0 +1,212 @@
+package renderer.mesh;
+
+import renderer.geometry.VertexArrays;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Indiziertes Dreiecksnetz (Mesh) mit gemeinsam genutzten Eckpunkten.
+ * <p>
+ * Die Eckpunkte liegen in einem flachen Array ({@code x, y, z} hintereinander),
+ * die Dreiecke als Index-Puffer mit drei Indizes pro Dreieck. Ein Eckpunkt, der
+ * von mehreren Dreiecken verwendet wird, ist nur einmal gespeichert und muss
+ * daher pro Frame auch nur einmal transformiert werden.
+ * <p>
+ * Ein Mesh enthält keine Farbe; die Farbe wird erst beim Rendern angewendet,
+ * damit Farbänderungen keinen Neuaufbau des Netzes erfordern.
+ * Instanzen werden nach dem Aufbau nicht mehr verändert.
+ */
+public final class Mesh {
+    private final double[] positions;
+    private final int[] indices;
+    // Nur lesbare Puffer-Hülle um die Indizes, damit die Pipeline pro Frame keine anlegt.
+    private final IntBuffer indexBuffer;
+
+    // Radius der Begrenzungskugel um den Ursprung; -1 bis zum ersten Zugriff. Mehrere Threads
+    // berechnen höchstens denselben Wert mehrfach.
+    private double radius = -1;
+    // Kanten für die Drahtgitter-Darstellung; null bis zum ersten Zugriff.
+    private volatile int[] edges;
+    // Eckpunkte als getrennte Koordinaten-Arrays für den SIMD-Pfad; null bis zum ersten Zugriff.
+    private volatile VertexArrays vertexArrays;
+
+    /**
+     * Konstruktor für ein indiziertes Mesh.
+     *
+     * @param positions Eckpunkte als {@code x, y, z}-Tripel.
+     * @param indices   Drei Eckpunkt-Indizes pro Dreieck.
+     * @throws IllegalArgumentException wenn die Array-Längen nicht durch 3 teilbar sind.
+     */
+    public Mesh(double[] positions, int[] indices) {
+        if (positions.length % 3 != 0 || indices.length % 3 != 0)
+            throw new IllegalArgumentException("Positionen und Indizes müssen aus Tripeln bestehen");
+        this.positions = positions;
+        this.indices = indices;
+        this.indexBuffer = IntBuffer.wrap(indices).asReadOnlyBuffer();
+    }
+
+    /**
+     * @return Die Anzahl der Eckpunkte.
+     */
+    public int getVertexCount() {
+        return positions.length / 3;
+    }
+
+    /**
+     * @return Die Anzahl der Dreiecke.
+     */
+    public int getTriangleCount() {
+        return indices.length / 3;
+    }
+
+    /**
+     * Liefert das interne Positions-Array (keine Kopie, darf nicht verändert werden).
+     *
+     * @return Die Eckpunkte als {@code x, y, z}-Tripel.
+     */
+    public double[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * Liefert die Eckpunkte als getrennte Koordinaten-Arrays, wie sie die SIMD-Transformation
+     * fortlaufend liest. Die Kopie wird beim ersten Aufruf angelegt.
+     *
+     * @return Die Eckpunkte (keine Kopie, darf nicht verändert werden).
+     */
+    public VertexArrays getVertexArrays() {
+        VertexArrays v = vertexArrays;
+        if (v == null) {
+            int count = getVertexCount();
+            v = new VertexArrays().resize(count);
+            double[] x = v.getX(), y = v.getY(), z = v.getZ();
+            for (int i = 0, j = 0; i < count; i++, j += 3) {
+                x[i] = positions[j];
+                y[i] = positions[j + 1];
+                z[i] = positions[j + 2];
+            }
+            vertexArrays = v;
+        }
+        return v;
+    }
+
+    /**
+     * Liefert den internen Index-Puffer (keine Kopie, darf nicht verändert werden).
+     *
+     * @return Drei Eckpunkt-Indizes pro Dreieck.
+     */
+    public int[] getIndices() {
+        return indices;
+    }
+
+    /**
+     * Liefert die Indizes als nur lesbaren Puffer, wie ihn auch importierte Modelle liefern.
+     * <p>
+     * Der Puffer wird von allen Aufrufern geteilt; er darf daher nur mit absoluten Zugriffen
+     * ({@link IntBuffer#get(int)}) gelesen werden.
+     *
+     * @return Drei Eckpunkt-Indizes pro Dreieck.
+     */
+    public IntBuffer getIndexBuffer() {
+        return indexBuffer;
+    }
+
+    /**
+     * Liefert den Radius der kleinsten Kugel um den Ursprung, die alle Eckpunkte enthält.
+     * Er wird beim ersten Aufruf berechnet.
+     *
+     * @return Der größte Abstand eines Eckpunkts vom Ursprung.
+     */
+    public double getRadius() {
+        double r = radius;
+        if (r < 0) {
+            double max = 0;
+            for (int i = 0; i < positions.length; i += 3) {
+                double x = positions[i], y = positions[i + 1], z = positions[i + 2];
+                max = Math.max(max, x * x + y * y + z * z);
+            }
+            r = Math.sqrt(max);
+            radius = r;
+        }
+        return r;
+    }
+
+    /**
+     * Liefert die Kanten für eine Drahtgitter-Darstellung als Paare von Eckpunkt-Indizes.
+     * <p>
+     * Jede Kante zwischen zwei Dreiecken erscheint einmal. Kanten zwischen zwei Dreiecken in
+     * derselben Ebene (z.B. die Diagonalen der Würfelseiten) werden weggelassen, Randkanten
+     * bleiben erhalten. Die Liste wird beim ersten Aufruf berechnet.
+     *
+     * @return Zwei Indizes pro Kante (keine Kopie, darf nicht verändert werden).
+     */
+    public int[] getEdges() {
+        int[] e = edges;
+        if (e == null) {
+            e = computeEdges();
+            edges = e;
+        }
+        return e;
+    }
+
+    /**
+     * Sammelt die Kanten aller Dreiecke, sortiert sie und behält die nicht koplanaren.
+     */
+    private int[] computeEdges() {
+        int triangles = getTriangleCount();
+        // Schlüssel: kleinerer Index, größerer Index und Dreieck (je 21 Bit). Bei größeren Netzen
+        // nur die beiden Indizes (je 32 Bit); dann bleiben auch koplanare Kanten erhalten.
+        int triangleBits = triangles < 1 << 21 && getVertexCount() < 1 << 21 ? 21 : 0;
+        int indexBits = triangleBits == 0 ? 32 : 21;
+        long triangleMask = (1L << triangleBits) - 1, indexMask = (1L << indexBits) - 1;
+        long[] keys = new long[triangles * 3];
+        for (int t = 0; t < triangles; t++) {
+            for (int k = 0; k < 3; k++) {
+                int a = indices[t * 3 + k], b = indices[t * 3 + (k + 1) % 3];
+                keys[t * 3 + k] = (long) Math.min(a, b) << (indexBits + triangleBits)
+                        | (long) Math.max(a, b) << triangleBits | (t & triangleMask);
+            }
+        }
+        Arrays.sort(keys);
+        int[] result = new int[keys.length * 2];
+        int n = 0;
+        for (int i = 0; i < keys.length; ) {
+            long edge = keys[i] >>> triangleBits;
+            int j = i + 1;
+            while (j < keys.length && keys[j] >>> triangleBits == edge) {
+                j++;
+            }
+            // Genau zwei angrenzende Dreiecke in einer Ebene: innere Kante einer Fläche.
+            boolean flat = triangleBits != 0 && j - i == 2
+                    && coplanar((int) (keys[i] & triangleMask), (int) (keys[i + 1] & triangleMask));
+            if (!flat) {
+                result[n++] = (int) (edge >>> indexBits);
+                result[n++] = (int) (edge & indexMask);
+            }
+            i = j;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Prüft, ob zwei Dreiecke (nahezu) dieselbe Flächennormale haben.
+     */
+    private boolean coplanar(int t0, int t1) {
+        double[] n0 = normal(t0), n1 = normal(t1);
+        double dot = n0[0] * n1[0] + n0[1] * n1[1] + n0[2] * n1[2];
+        return dot > 1 - 1e-9;
+    }
+
+    /**
+     * Berechnet die normierte Flächennormale eines Dreiecks.
+     */
+    private double[] normal(int t) {
+        int a = indices[t * 3] * 3, b = indices[t * 3 + 1] * 3, c = indices[t * 3 + 2] * 3;
+        double ux = positions[b] - positions[a], uy = positions[b + 1] - positions[a + 1], uz = positions[b + 2] - positions[a + 2];
+        double vx = positions[c] - positions[a], vy = positions[c + 1] - positions[a + 1], vz = positions[c + 2] - positions[a + 2];
+        double nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+        double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        return length == 0 ? new double[3] : new double[]{nx / length, ny / length, nz / length};
+    }
+}
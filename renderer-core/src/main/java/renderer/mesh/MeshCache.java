@@ -0,0 +1,34 @@
+package renderer.mesh;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zwischenspeicher für die Meshes der Grundformen.
+ * <p>
+ * Jede Kombination aus Form und Unterteilungsstufe wird genau einmal erzeugt und danach
+ * wiederverwendet. Da Meshes unveränderlich sind, kann ein Cache gefahrlos von mehreren
+ * Threads gemeinsam genutzt werden.
+ */
+public class MeshCache {
+    private final ConcurrentHashMap<Long, Mesh> meshes = new ConcurrentHashMap<>();
+
+    /**
+     * Liefert das Mesh einer Grundform und erzeugt es beim ersten Zugriff.
+     *
+     * @param shape Die Grundform.
+     * @param level Die Unterteilungsstufe (wird für den Würfel ignoriert).
+     * @return Das zwischengespeicherte Mesh.
+     */
+    public Mesh get(Shape shape, int level) {
+        int effectiveLevel = shape == Shape.SPHERE ? level : 0;
+        long key = ((long) shape.ordinal() << 32) | effectiveLevel;
+        return meshes.computeIfAbsent(key, k -> MeshFactory.create(shape, effectiveLevel));
+    }
+
+    /**
+     * Entfernt alle zwischengespeicherten Meshes.
+     */
+    public void clear() {
+        meshes.clear();
+    }
+}
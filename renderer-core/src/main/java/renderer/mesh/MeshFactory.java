@@ -0,0 +1,170 @@
+package renderer.mesh;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Erzeugt die indizierten Meshes der eingebauten Grundformen.
+ * <p>
+ * Die Kugel entsteht wie bisher aus einem Tetraeder, dessen Dreiecke wiederholt in
+ * vier kleinere unterteilt werden. Die Mittelpunkte gemeinsamer Kanten werden dabei
+ * über eine nach Kanten indizierte Map nur einmal angelegt, sodass benachbarte
+ * Dreiecke dieselben Eckpunkte verwenden.
+ * <p>
+ * Alle erzeugten Meshes sind geschlossen und einheitlich orientiert: Die Normale
+ * {@code (v2 - v1) x (v3 - v1)} jedes Dreiecks zeigt nach außen. Darauf baut das
+ * Back-Face-Culling auf.
+ */
+public final class MeshFactory {
+
+    /**
+     * Radius der Kugel; entspricht der Länge der Tetraeder-Eckpunkte (100, 100, 100).
+     * Importierte Modelle werden auf dieselbe Größe skaliert.
+     */
+    public static final double SPHERE_RADIUS = Math.sqrt(30000);
+
+    /**
+     * Feinste Unterteilungsstufe der Sphäre, die die automatische Wahl der Detailstufe
+     * verwendet (262.144 Dreiecke).
+     */
+    public static final int MAX_LOD_LEVEL = 8;
+
+    private MeshFactory() {
+    }
+
+    /**
+     * Erzeugt das Mesh einer Grundform.
+     *
+     * @param shape Die Grundform.
+     * @param level Die Unterteilungsstufe (wird nur für die Kugel verwendet).
+     * @return Das neu erzeugte Mesh.
+     */
+    public static Mesh create(Shape shape, int level) {
+        switch (shape) {
+            case SPHERE:
+                return sphere(level);
+            case CUBE:
+                return cube();
+            default:
+                throw new IllegalArgumentException("Unbekannte Form: " + shape);
+        }
+    }
+
+    /**
+     * Erzeugt eine Kugel durch wiederholtes Unterteilen eines Tetraeders.
+     * <p>
+     * Jede Stufe teilt jedes Dreieck in vier kleinere; neue Eckpunkte werden auf
+     * die Kugeloberfläche projiziert. Stufe {@code n} ergibt {@code 4 * 4^n} Dreiecke.
+     *
+     * @param level Die Anzahl der Unterteilungsschritte (mindestens 0).
+     * @return Das Kugel-Mesh.
+     * @throws IllegalArgumentException wenn die Stufe negativ ist.
+     */
+    public static Mesh sphere(int level) {
+        if (level < 0)
+            throw new IllegalArgumentException("Unterteilungsstufe darf nicht negativ sein");
+
+        int triangles = 4 << (2 * level);
+        // Geschlossenes Dreiecksnetz: V = T / 2 + 2.
+        double[] positions = new double[(triangles / 2 + 2) * 3];
+        double[] tetra = {
+                100, 100, 100,
+                -100, -100, 100,
+                -100, 100, -100,
+                100, -100, -100
+        };
+        System.arraycopy(tetra, 0, positions, 0, tetra.length);
+        int vertexCount = 4;
+
+        // Alle Dreiecke sind so orientiert, dass ihre Normalen (b - a) x (c - a) nach außen zeigen.
+        int[] indices = {
+                0, 2, 1,
+                0, 1, 3,
+                2, 0, 3,
+                2, 3, 1
+        };
+
+        for (int i = 0; i < level; i++) {
+            int[] result = new int[indices.length * 4];
+            // Kante (kleinerer Index, größerer Index) -> Index des Mittelpunkts.
+            HashMap<Long, Integer> midpoints = new HashMap<>(indices.length * 2);
+            int r = 0;
+            for (int t = 0; t < indices.length; t += 3) {
+                int a = indices[t];
+                int b = indices[t + 1];
+                int c = indices[t + 2];
+
+                int m1 = midpoint(midpoints, positions, vertexCount, a, b);
+                if (m1 == vertexCount) vertexCount++;
+                int m2 = midpoint(midpoints, positions, vertexCount, b, c);
+                if (m2 == vertexCount) vertexCount++;
+                int m3 = midpoint(midpoints, positions, vertexCount, a, c);
+                if (m3 == vertexCount) vertexCount++;
+
+                // Die vier Teildreiecke behalten die Orientierung des ursprünglichen Dreiecks.
+                result[r++] = a;  result[r++] = m1; result[r++] = m3;
+                result[r++] = b;  result[r++] = m2; result[r++] = m1;
+                result[r++] = c;  result[r++] = m3; result[r++] = m2;
+                result[r++] = m1; result[r++] = m2; result[r++] = m3;
+            }
+            indices = result;
+        }
+        return new Mesh(Arrays.copyOf(positions, vertexCount * 3), indices);
+    }
+
+    /**
+     * Liefert den Index des Mittelpunkts einer Kante und legt ihn bei Bedarf neu an.
+     *
+     * @return Der vorhandene Index oder {@code next}, falls der Mittelpunkt neu angelegt wurde.
+     */
+    private static int midpoint(HashMap<Long, Integer> midpoints, double[] positions, int next, int a, int b) {
+        long key = a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+        Integer existing = midpoints.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        double x = (positions[a * 3] + positions[b * 3]) / 2;
+        double y = (positions[a * 3 + 1] + positions[b * 3 + 1]) / 2;
+        double z = (positions[a * 3 + 2] + positions[b * 3 + 2]) / 2;
+        // Projiziere den Mittelpunkt auf die Kugeloberfläche.
+        double l = Math.sqrt(x * x + y * y + z * z) / SPHERE_RADIUS;
+        positions[next * 3] = x / l;
+        positions[next * 3 + 1] = y / l;
+        positions[next * 3 + 2] = z / l;
+        midpoints.put(key, next);
+        return next;
+    }
+
+    /**
+     * Erzeugt einen Würfel mit Mittelpunkt im Ursprung und halber Kantenlänge 100.
+     *
+     * @return Das Würfel-Mesh aus 8 Eckpunkten und 12 Dreiecken.
+     */
+    public static Mesh cube() {
+        double[] positions = {
+                -100, -100, -100,
+                100, -100, -100,
+                100, 100, -100,
+                -100, 100, -100,
+                -100, -100, 100,
+                100, -100, 100,
+                100, 100, 100,
+                -100, 100, 100
+        };
+        int[] indices = {
+                // Front face (z positiv)
+                4, 5, 6,  4, 6, 7,
+                // Back face (z negativ)
+                0, 3, 2,  0, 2, 1,
+                // Left face (x negativ)
+                0, 4, 7,  0, 7, 3,
+                // Right face (x positiv)
+                1, 2, 6,  1, 6, 5,
+                // Top face (y positiv)
+                3, 7, 6,  3, 6, 2,
+                // Bottom face (y negativ)
+                0, 5, 4,  0, 1, 5
+        };
+        return new Mesh(positions, indices);
+    }
+}
@@ -0,0 +1,11 @@
+package renderer.mesh;
+
+/**
+ * Die eingebauten Grundformen, die der Renderer erzeugen kann.
+ */
+public enum Shape {
+    /** Aus einem Tetraeder durch Unterteilung erzeugte Kugel. */
+    SPHERE,
+    /** Würfel aus 12 Dreiecken. */
+    CUBE
+}
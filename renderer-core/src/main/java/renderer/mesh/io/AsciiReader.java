@@ -0,0 +1,227 @@
+package renderer.mesh.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Liest eine ASCII-Datei zeilenweise aus einem Stream und zerlegt die Zeilen in Tokens.
+ * <p>
+ * Die Datei wird in Blöcken von 64 KB gelesen; jede Zeile liegt in einem wiederverwendeten
+ * Byte-Puffer. Zahlen werden direkt aus den Bytes gelesen, ohne Strings zu erzeugen.
+ */
+final class AsciiReader {
+    private final InputStream in;
+    private final byte[] block = new byte[64 * 1024];
+    private int blockPos, blockEnd;
+
+    private byte[] line = new byte[256];
+    private int length;
+    private int pos;
+    private long lineNumber;
+
+    AsciiReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Liest die nächste Zeile.
+     *
+     * @return false am Dateiende.
+     */
+    boolean nextLine() throws IOException {
+        length = 0;
+        pos = 0;
+        boolean any = false;
+        while (true) {
+            if (blockPos == blockEnd) {
+                blockEnd = in.read(block);
+                blockPos = 0;
+                if (blockEnd <= 0) {
+                    blockEnd = 0;
+                    if (any) {
+                        lineNumber++;
+                    }
+                    return any;
+                }
+            }
+            byte b = block[blockPos++];
+            any = true;
+            if (b == '\n') {
+                lineNumber++;
+                return true;
+            }
+            if (b == '\r') {
+                continue;
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = b;
+        }
+    }
+
+    /**
+     * @return Die Nummer der aktuellen Zeile (ab 1).
+     */
+    long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Überspringt Leerraum.
+     *
+     * @return true, wenn danach noch ein Token folgt.
+     */
+    boolean hasToken() {
+        while (pos < length && (line[pos] == ' ' || line[pos] == '\t')) {
+            pos++;
+        }
+        return pos < length;
+    }
+
+    /**
+     * Prüft, ob das nächste Token (ohne Groß-/Kleinschreibung) dem Schlüsselwort entspricht, und überspringt es.
+     */
+    boolean keyword(String word) {
+        if (!hasToken()) {
+            return false;
+        }
+        int n = word.length();
+        if (pos + n > length || (pos + n < length && line[pos + n] != ' ' && line[pos + n] != '\t')) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (Character.toLowerCase(line[pos + i]) != word.charAt(i)) {
+                return false;
+            }
+        }
+        pos += n;
+        return true;
+    }
+
+    /**
+     * @return Das aktuelle Zeichen des Tokens oder -1 am Zeilenende.
+     */
+    int peek() {
+        return pos < length ? line[pos] : -1;
+    }
+
+    /**
+     * Überspringt ein Zeichen.
+     */
+    void skip() {
+        pos++;
+    }
+
+    /**
+     * Überspringt den Rest des aktuellen Tokens.
+     */
+    void skipToken() {
+        while (pos < length && line[pos] != ' ' && line[pos] != '\t') {
+            pos++;
+        }
+    }
+
+    /**
+     * Liest eine ganze Zahl (mit optionalem Vorzeichen).
+     */
+    int parseInt() throws IOException {
+        hasToken();
+        boolean negative = false;
+        if (pos < length && (line[pos] == '-' || line[pos] == '+')) {
+            negative = line[pos] == '-';
+            pos++;
+        }
+        int start = pos;
+        long value = 0;
+        while (pos < length && line[pos] >= '0' && line[pos] <= '9') {
+            value = value * 10 + (line[pos++] - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw error("Zahl zu groß");
+            }
+        }
+        if (pos == start) {
+            throw error("Ganze Zahl erwartet");
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Liest eine Gleitkommazahl im Format {@code [-]123.456[e[-]7]}.
+     * Ungewöhnliche Schreibweisen (z.B. {@code nan}, {@code inf}) werden an {@link Float#parseFloat} übergeben.
+     */
+    float parseFloat() throws IOException {
+        hasToken();
+        int start = pos;
+        boolean negative = false;
+        if (pos < length && (line[pos] == '-' || line[pos] == '+')) {
+            negative = line[pos] == '-';
+            pos++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        int digits = 0;
+        while (pos < length && line[pos] >= '0' && line[pos] <= '9') {
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (line[pos] - '0');
+                if (mantissa != 0) digits++;
+            } else {
+                exponent++;
+            }
+            pos++;
+        }
+        if (pos < length && line[pos] == '.') {
+            pos++;
+            while (pos < length && line[pos] >= '0' && line[pos] <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (line[pos] - '0');
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                }
+                pos++;
+            }
+        }
+        if (pos < length && (line[pos] == 'e' || line[pos] == 'E')) {
+            pos++;
+            exponent += parseInt();
+        }
+        if (pos < length && line[pos] != ' ' && line[pos] != '\t' && line[pos] != '/') {
+            // Unbekannte Schreibweise: Token komplett an den JDK-Parser übergeben.
+            pos = start;
+            skipToken();
+            try {
+                return Float.parseFloat(new String(line, start, pos - start, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw error("Zahl erwartet");
+            }
+        }
+        if (pos == start) {
+            throw error("Zahl erwartet");
+        }
+        double value = mantissa;
+        if (exponent < 0) {
+            value /= exponent >= -22 ? POWERS[-exponent] : Math.pow(10, -exponent);
+        } else if (exponent > 0) {
+            value *= exponent <= 22 ? POWERS[exponent] : Math.pow(10, exponent);
+        }
+        return (float) (negative ? -value : value);
+    }
+
+    private static final double[] POWERS = new double[23];
+
+    static {
+        POWERS[0] = 1;
+        for (int i = 1; i < POWERS.length; i++) {
+            POWERS[i] = POWERS[i - 1] * 10;
+        }
+    }
+
+    /**
+     * Erzeugt einen Fehler mit der aktuellen Zeilennummer.
+     */
+    IOException error(String message) {
+        return new IOException(message + " in Zeile " + lineNumber);
+    }
+}
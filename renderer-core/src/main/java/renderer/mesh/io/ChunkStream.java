@@ -0,0 +1,285 @@
+package renderer.mesh.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Liest die Blöcke einer {@link ChunkedMeshFile} nacheinander auf einem eigenen Thread vor.
+ * <p>
+ * Es gibt eine feste Anzahl von Blockpuffern (direkte {@link ByteBuffer} in der Größe des
+ * größten Blocks). Der Lese-Thread füllt freie Puffer der Reihe nach, der Verbraucher holt sie
+ * mit {@link #next()} ab und gibt sie mit {@link #release(Chunk)} zurück. Solange ein Block
+ * verarbeitet wird, liest der Thread also bereits die folgenden; mehr als die festgelegten
+ * Puffer werden nie belegt, unabhängig von der Größe der Datei.
+ * <p>
+ * Jeder Durchlauf über die Datei wird mit {@link #start()} begonnen. Ein Verbraucher-Thread
+ * zur Zeit.
+ */
+public final class ChunkStream implements AutoCloseable {
+
+    // Markiert das Ende eines Durchlaufs in der Warteschlange der gefüllten Blöcke.
+    private static final Chunk END = new Chunk(null);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ChunkedMeshFile.Header header;
+    private final int bufferCount;
+    private final BlockingQueue<Chunk> free;
+    private final BlockingQueue<Chunk> filled;
+    private final BlockingQueue<Boolean> passes = new ArrayBlockingQueue<>(1);
+    private final Thread reader;
+
+    // Zustand des Verbrauchers: ob der aktuelle Durchlauf noch Blöcke liefert.
+    private boolean running;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * Öffnet eine Datei und startet den Lese-Thread.
+     *
+     * @param file        Die Datei im Format {@link ChunkedMeshFile}.
+     * @param bufferCount Die Anzahl der Blockpuffer (mindestens 1; ab 2 überlappen Lesen und Verarbeiten).
+     * @throws IOException wenn die Datei nicht geöffnet werden kann oder kein gültiges Format hat.
+     */
+    public ChunkStream(Path file, int bufferCount) throws IOException {
+        if (bufferCount < 1) {
+            throw new IllegalArgumentException("Mindestens ein Blockpuffer erforderlich");
+        }
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.header = ChunkedMeshFile.readHeader(channel, file);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.bufferCount = bufferCount;
+        this.free = new ArrayBlockingQueue<>(bufferCount);
+        this.filled = new ArrayBlockingQueue<>(bufferCount + 1);
+        for (int i = 0; i < bufferCount; i++) {
+            free.add(new Chunk(ByteBuffer.allocateDirect(header.getMaxChunkBytes()).order(ByteOrder.LITTLE_ENDIAN)));
+        }
+        reader = new Thread(this::readLoop, "chunk-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * @return Der Kopf der Datei.
+     */
+    public ChunkedMeshFile.Header getHeader() {
+        return header;
+    }
+
+    /**
+     * @return Die Anzahl der Blockpuffer.
+     */
+    public int getBufferCount() {
+        return bufferCount;
+    }
+
+    /**
+     * @return Der von den Blockpuffern belegte Speicher in Bytes.
+     */
+    public long getBufferBytes() {
+        return (long) bufferCount * header.getMaxChunkBytes();
+    }
+
+    /**
+     * Beginnt einen neuen Durchlauf über alle Blöcke. Ein noch nicht vollständig gelesener
+     * vorheriger Durchlauf wird zuvor zu Ende gelesen und verworfen.
+     *
+     * @throws InterruptedException wenn der Thread beim Warten unterbrochen wurde.
+     */
+    public void start() throws InterruptedException {
+        while (running) {
+            Chunk chunk = filled.take();
+            if (chunk == END) {
+                running = false;
+            } else {
+                free.put(chunk);
+            }
+        }
+        failure = null;
+        passes.put(Boolean.TRUE);
+        running = true;
+    }
+
+    /**
+     * Liefert den nächsten Block des aktuellen Durchlaufs und wartet, bis er gelesen ist.
+     *
+     * @return Der Block oder {@code null} am Ende des Durchlaufs.
+     * @throws IOException          wenn ein Block nicht gelesen werden konnte.
+     * @throws InterruptedException wenn der Thread beim Warten unterbrochen wurde.
+     */
+    public Chunk next() throws IOException, InterruptedException {
+        if (!running) {
+            return null;
+        }
+        Chunk chunk = filled.take();
+        if (chunk == END) {
+            running = false;
+            IOException e = failure;
+            if (e != null) {
+                throw e;
+            }
+            return null;
+        }
+        return chunk;
+    }
+
+    /**
+     * Gibt einen Block zurück, damit sein Puffer wieder gefüllt werden kann.
+     *
+     * @param chunk Ein Block aus {@link #next()}; darf danach nicht mehr benutzt werden.
+     */
+    public void release(Chunk chunk) {
+        free.add(chunk);
+    }
+
+    /**
+     * Der Lese-Thread: wartet auf einen Durchlauf und liest dann alle Blöcke in freie Puffer.
+     */
+    private void readLoop() {
+        try {
+            while (!closed) {
+                passes.take();
+                long position = ChunkedMeshFile.HEADER_SIZE;
+                try {
+                    for (int i = 0; i < header.getChunkCount(); i++) {
+                        Chunk chunk = free.take();
+                        position += chunk.read(channel, position);
+                        filled.put(chunk);
+                    }
+                } catch (IOException e) {
+                    failure = new IOException("Block konnte nicht gelesen werden: " + file, e);
+                }
+                filled.put(END);
+            }
+        } catch (InterruptedException e) {
+            // close()
+        }
+    }
+
+    /**
+     * Beendet den Lese-Thread und schließt die Datei.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        reader.interrupt();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    /**
+     * Ein gelesener Block: Eckpunkte und lokale Indizes eines Teils des Meshes.
+     * <p>
+     * Die Puffer zeigen in den wiederverwendeten Blockpuffer und sind nur bis zum
+     * {@link ChunkStream#release(Chunk)} gültig.
+     */
+    public static final class Chunk {
+        private final ByteBuffer buffer;
+        private int vertexCount;
+        private int triangleCount;
+        private float centerX, centerY, centerZ, radius;
+        private FloatBuffer positions;
+        private IntBuffer indices;
+
+        Chunk(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Liest einen Block ab der angegebenen Dateiposition.
+         *
+         * @return Die Größe des Blocks in Bytes.
+         */
+        long read(FileChannel channel, long position) throws IOException {
+            buffer.clear().limit(ChunkedMeshFile.CHUNK_HEADER_SIZE);
+            fill(channel, position);
+            vertexCount = buffer.getInt(0);
+            triangleCount = buffer.getInt(4);
+            int size = ChunkedMeshFile.CHUNK_HEADER_SIZE + vertexCount * 12 + triangleCount * 12;
+            if (vertexCount < 0 || triangleCount < 0 || size > buffer.capacity()) {
+                throw new IOException("Ungültiger Blockkopf an Position " + position);
+            }
+            centerX = buffer.getFloat(8);
+            centerY = buffer.getFloat(12);
+            centerZ = buffer.getFloat(16);
+            radius = buffer.getFloat(20);
+            buffer.limit(size);
+            fill(channel, position);
+
+            buffer.position(ChunkedMeshFile.CHUNK_HEADER_SIZE);
+            positions = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            positions.limit(vertexCount * 3);
+            buffer.position(ChunkedMeshFile.CHUNK_HEADER_SIZE + vertexCount * 12);
+            indices = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            return size;
+        }
+
+        private void fill(FileChannel channel, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unerwartetes Dateiende an Position " + (position + buffer.position()));
+                }
+            }
+        }
+
+        /**
+         * @return Die Anzahl der Eckpunkte des Blocks.
+         */
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        /**
+         * @return Die Anzahl der Dreiecke des Blocks.
+         */
+        public int getTriangleCount() {
+            return triangleCount;
+        }
+
+        /**
+         * @return Die Eckpunkte des Blocks, drei Werte pro Eckpunkt.
+         */
+        public FloatBuffer getPositions() {
+            return positions;
+        }
+
+        /**
+         * @return Die lokalen Indizes des Blocks, drei pro Dreieck.
+         */
+        public IntBuffer getIndices() {
+            return indices;
+        }
+
+        /**
+         * @param axis Die Achse (0 = x, 1 = y, 2 = z).
+         * @return Der Mittelpunkt der Begrenzungskugel des Blocks auf der Achse.
+         */
+        public float getCenter(int axis) {
+            return axis == 0 ? centerX : axis == 1 ? centerY : centerZ;
+        }
+
+        /**
+         * @return Der Radius der Begrenzungskugel des Blocks.
+         */
+        public float getRadius() {
+            return radius;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package renderer.mesh.io;
+
+import renderer.mesh.FloatMesh;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Binärformat für Meshes, die blockweise gelesen und gerendert werden, ohne jemals vollständig
+ * im Speicher zu liegen.
+ * <p>
+ * Die Dreiecke werden in ihrer ursprünglichen Reihenfolge in Blöcke (Chunks) mit höchstens
+ * {@code trianglesPerChunk} Dreiecken aufgeteilt. Jeder Block enthält nur die Eckpunkte, die
+ * seine Dreiecke verwenden, und lokale Indizes darauf; er lässt sich also ohne den Rest der
+ * Datei transformieren und rastern. Eckpunkte an Blockgrenzen werden dabei dupliziert.
+ * <p>
+ * Aufbau (Little Endian):
+ * <pre>
+ * int    Magic "T3DC"
+ * int    Version
+ * long   Größe der Quelldatei in Bytes
+ * long   Änderungszeit der Quelldatei (ms)
+ * int    Anzahl Blöcke
+ * int    Höchstzahl Dreiecke pro Block
+ * long   Anzahl Dreiecke
+ * int    Höchstzahl Eckpunkte eines Blocks
+ * int    Größe des größten Blocks in Bytes
+ * float  min x, y, z
+ * float  max x, y, z
+ * Blöcke, jeweils:
+ *   int    Anzahl Eckpunkte
+ *   int    Anzahl Dreiecke
+ *   float  Mittelpunkt x, y, z und Radius der Begrenzungskugel
+ *   float  Eckpunkte (3 pro Eckpunkt)
+ *   int    lokale Indizes (3 pro Dreieck)
+ * </pre>
+ */
+public final class ChunkedMeshFile {
+
+    /** Dateiendung der blockweise lesbaren Meshes. */
+    public static final String EXTENSION = ".t3dc";
+
+    /** Standardgröße eines Blocks in Dreiecken. */
+    public static final int DEFAULT_TRIANGLES_PER_CHUNK = 16 * 1024;
+
+    /** Größe des Blockkopfs in Bytes. */
+    public static final int CHUNK_HEADER_SIZE = 4 + 4 + 4 * 4;
+
+    private static final int MAGIC = 0x43443354; // "T3DC" in Little Endian
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4 + 8 + 4 + 4 + 6 * 4;
+
+    private ChunkedMeshFile() {
+    }
+
+    /**
+     * Liefert die größtmögliche Größe eines Blocks in Bytes.
+     *
+     * @param trianglesPerChunk Die Höchstzahl der Dreiecke pro Block.
+     * @return Die Größe, wenn jedes Dreieck drei eigene Eckpunkte hat.
+     */
+    public static long maxChunkBytes(int trianglesPerChunk) {
+        return CHUNK_HEADER_SIZE + (long) trianglesPerChunk * (9 * 4 + 3 * 4);
+    }
+
+    /**
+     * Zerlegt ein Mesh in Blöcke und schreibt es. Der Speicherbedarf hängt nur von der
+     * Blockgröße ab, nicht von der Größe des Meshes; ein per {@link MeshFile#map(Path)}
+     * abgebildetes Mesh wird also nie vollständig auf den Heap geladen.
+     * <p>
+     * Die Datei wird zunächst unter einem temporären Namen geschrieben und dann umbenannt.
+     *
+     * @param mesh              Das Mesh.
+     * @param file              Die Zieldatei.
+     * @param trianglesPerChunk Die Höchstzahl der Dreiecke pro Block.
+     * @param sourceSize        Die Größe der Quelldatei.
+     * @param sourceModified    Die Änderungszeit der Quelldatei in Millisekunden.
+     * @throws IOException bei Schreibfehlern.
+     */
+    public static void write(FloatMesh mesh, Path file, int trianglesPerChunk,
+                             long sourceSize, long sourceModified) throws IOException {
+        if (trianglesPerChunk <= 0 || maxChunkBytes(trianglesPerChunk) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ungültige Blockgröße: " + trianglesPerChunk);
+        }
+        FloatBuffer positions = mesh.getPositions();
+        IntBuffer indices = mesh.getIndices();
+        int triangleCount = mesh.getTriangleCount();
+
+        // Lokale Eckpunkte eines Blocks; die Zuordnung globaler zu lokalen Indizes läuft über
+        // eine offene Hash-Tabelle, deren Größe nur von der Blockgröße abhängt.
+        int maxVertices = trianglesPerChunk * 3;
+        int tableSize = Integer.highestOneBit(maxVertices * 2 - 1) << 1;
+        int[] keys = new int[tableSize];
+        int[] values = new int[tableSize];
+        int[] localToGlobal = new int[maxVertices];
+        int[] localIndices = new int[maxVertices];
+        ByteBuffer chunk = ByteBuffer.allocateDirect((int) maxChunkBytes(trianglesPerChunk))
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        int chunkCount = 0;
+        int largestVertices = 0;
+        int largestBytes = 0;
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            for (int first = 0; first < triangleCount; first += trianglesPerChunk) {
+                int triangles = Math.min(trianglesPerChunk, triangleCount - first);
+                Arrays.fill(keys, -1);
+                int vertices = 0;
+                for (int i = 0; i < triangles * 3; i++) {
+                    int global = indices.get(first * 3 + i);
+                    int slot = (global * 0x9E3779B9) & (tableSize - 1);
+                    while (keys[slot] != -1 && keys[slot] != global) {
+                        slot = (slot + 1) & (tableSize - 1);
+                    }
+                    if (keys[slot] == -1) {
+                        keys[slot] = global;
+                        values[slot] = vertices;
+                        localToGlobal[vertices++] = global;
+                    }
+                    localIndices[i] = values[slot];
+                }
+
+                // Begrenzungskugel des Blocks (Mittelpunkt der Box und halbe Diagonale).
+                float[] min = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+                float[] max = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+                for (int v = 0; v < vertices; v++) {
+                    for (int axis = 0; axis < 3; axis++) {
+                        float value = positions.get(localToGlobal[v] * 3 + axis);
+                        min[axis] = Math.min(min[axis], value);
+                        max[axis] = Math.max(max[axis], value);
+                    }
+                }
+                double dx = max[0] - (double) min[0];
+                double dy = max[1] - (double) min[1];
+                double dz = max[2] - (double) min[2];
+
+                chunk.clear();
+                chunk.putInt(vertices).putInt(triangles);
+                for (int axis = 0; axis < 3; axis++) {
+                    chunk.putFloat((float) ((min[axis] + (double) max[axis]) / 2));
+                }
+                // Aufrunden, damit die Kugel trotz float-Rundung alle Eckpunkte enthält.
+                chunk.putFloat(Math.nextUp((float) (Math.sqrt(dx * dx + dy * dy + dz * dz) / 2)));
+                for (int v = 0; v < vertices; v++) {
+                    int base = localToGlobal[v] * 3;
+                    chunk.putFloat(positions.get(base)).putFloat(positions.get(base + 1)).putFloat(positions.get(base + 2));
+                }
+                for (int i = 0; i < triangles * 3; i++) {
+                    chunk.putInt(localIndices[i]);
+                }
+                chunk.flip();
+                largestBytes = Math.max(largestBytes, chunk.limit());
+                largestVertices = Math.max(largestVertices, vertices);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+                chunkCount++;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(sourceSize).putLong(sourceModified)
+                    .putInt(chunkCount).putInt(trianglesPerChunk).putLong(triangleCount)
+                    .putInt(largestVertices).putInt(largestBytes);
+            for (int axis = 0; axis < 3; axis++) {
+                header.putFloat(mesh.getMin(axis));
+            }
+            for (int axis = 0; axis < 3; axis++) {
+                header.putFloat(mesh.getMax(axis));
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Liest den Kopf einer Datei.
+     *
+     * @param file Die Datei.
+     * @return Der Kopf.
+     * @throws IOException wenn die Datei nicht gelesen werden kann oder kein gültiges Format hat.
+     */
+    public static Header readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readHeader(channel, file);
+        }
+    }
+
+    static Header readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // weiterlesen, bis der Kopf vollständig ist
+        }
+        buffer.flip();
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Keine blockweise lesbare Mesh-Datei: " + file);
+        }
+        Header header = new Header(buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getInt(),
+                buffer.getLong(), buffer.getInt(), buffer.getInt(),
+                new float[]{buffer.getFloat(), buffer.getFloat(), buffer.getFloat()},
+                new float[]{buffer.getFloat(), buffer.getFloat(), buffer.getFloat()});
+        if (header.chunkCount < 0 || header.maxChunkBytes < CHUNK_HEADER_SIZE && header.chunkCount > 0) {
+            throw new IOException("Mesh-Datei beschädigt: " + file);
+        }
+        return header;
+    }
+
+    /**
+     * Prüft, ob eine Datei existiert und zu der angegebenen Quelle passt.
+     *
+     * @param file           Die Datei.
+     * @param sourceSize     Die Größe der Quelldatei.
+     * @param sourceModified Die Änderungszeit der Quelldatei in Millisekunden.
+     * @return true, wenn die Datei verwendet werden kann.
+     */
+    public static boolean isValid(Path file, long sourceSize, long sourceModified) {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try {
+            Header header = readHeader(file);
+            return header.sourceSize == sourceSize && header.sourceModified == sourceModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Der Kopf einer Datei: Anzahl und Größe der Blöcke sowie die Begrenzung des ganzen Meshes.
+     */
+    public static final class Header {
+        private final long sourceSize;
+        private final long sourceModified;
+        private final int chunkCount;
+        private final int trianglesPerChunk;
+        private final long triangleCount;
+        private final int maxChunkVertices;
+        private final int maxChunkBytes;
+        private final float[] min;
+        private final float[] max;
+
+        Header(long sourceSize, long sourceModified, int chunkCount, int trianglesPerChunk, long triangleCount,
+               int maxChunkVertices, int maxChunkBytes, float[] min, float[] max) {
+            this.sourceSize = sourceSize;
+            this.sourceModified = sourceModified;
+            this.chunkCount = chunkCount;
+            this.trianglesPerChunk = trianglesPerChunk;
+            this.triangleCount = triangleCount;
+            this.maxChunkVertices = maxChunkVertices;
+            this.maxChunkBytes = maxChunkBytes;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * @return Die Anzahl der Blöcke.
+         */
+        public int getChunkCount() {
+            return chunkCount;
+        }
+
+        /**
+         * @return Die Höchstzahl der Dreiecke pro Block.
+         */
+        public int getTrianglesPerChunk() {
+            return trianglesPerChunk;
+        }
+
+        /**
+         * @return Die Anzahl aller Dreiecke.
+         */
+        public long getTriangleCount() {
+            return triangleCount;
+        }
+
+        /**
+         * @return Die Höchstzahl der Eckpunkte eines Blocks.
+         */
+        public int getMaxChunkVertices() {
+            return maxChunkVertices;
+        }
+
+        /**
+         * @return Die Größe des größten Blocks in Bytes (inkl. Blockkopf).
+         */
+        public int getMaxChunkBytes() {
+            return maxChunkBytes;
+        }
+
+        /**
+         * @param axis Die Achse (0 = x, 1 = y, 2 = z).
+         * @return Der Mittelpunkt der Begrenzungsbox des ganzen Meshes auf der Achse.
+         */
+        public double getCenter(int axis) {
+            return (min[axis] + (double) max[axis]) / 2;
+        }
+
+        /**
+         * @return Der Radius der Begrenzungskugel um den Mittelpunkt der Box (halbe Diagonale).
+         */
+        public double getRadius() {
+            double dx = max[0] - (double) min[0];
+            double dy = max[1] - (double) min[1];
+            double dz = max[2] - (double) min[2];
+            return Math.sqrt(dx * dx + dy * dy + dz * dz) / 2;
+        }
+    }
+}
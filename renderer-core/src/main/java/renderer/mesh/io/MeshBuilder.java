@@ -0,0 +1,119 @@
+package renderer.mesh.io;
+
+import renderer.mesh.FloatMesh;
+
+import java.util.Arrays;
+
+/**
+ * Sammelt Eckpunkte und Dreiecke beim Import in wachsenden primitiven Arrays.
+ * <p>
+ * Für Formate ohne gemeinsame Eckpunkte (STL) fasst {@link #addSharedVertex} gleiche
+ * Positionen über eine Hash-Tabelle mit offener Adressierung zusammen, ohne pro Eckpunkt
+ * ein Objekt anzulegen.
+ */
+final class MeshBuilder {
+    private float[] positions = new float[3 * 1024];
+    private int[] indices = new int[3 * 1024];
+    private int vertexCount;
+    private int indexCount;
+
+    // Hash-Tabelle für addSharedVertex: Eckpunkt-Index + 1, 0 = frei.
+    private int[] table;
+
+    /**
+     * Fügt einen Eckpunkt hinzu.
+     *
+     * @return Der Index des Eckpunkts.
+     */
+    int addVertex(float x, float y, float z) {
+        if (vertexCount * 3 == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        int i = vertexCount * 3;
+        positions[i] = x;
+        positions[i + 1] = y;
+        positions[i + 2] = z;
+        return vertexCount++;
+    }
+
+    /**
+     * Fügt einen Eckpunkt hinzu, sofern nicht bereits einer mit derselben Position existiert.
+     *
+     * @return Der Index des (ggf. vorhandenen) Eckpunkts.
+     */
+    int addSharedVertex(float x, float y, float z) {
+        // -0.0 und 0.0 sollen derselbe Eckpunkt sein.
+        x += 0.0f;
+        y += 0.0f;
+        z += 0.0f;
+        if (table == null || vertexCount * 2 >= table.length) {
+            rehash();
+        }
+        int mask = table.length - 1;
+        int slot = hash(x, y, z) & mask;
+        while (true) {
+            int entry = table[slot];
+            if (entry == 0) {
+                int index = addVertex(x, y, z);
+                table[slot] = index + 1;
+                return index;
+            }
+            int p = (entry - 1) * 3;
+            if (positions[p] == x && positions[p + 1] == y && positions[p + 2] == z) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash() {
+        int size = Integer.highestOneBit(Math.max(1024, vertexCount * 4));
+        table = new int[size];
+        int mask = size - 1;
+        for (int v = 0; v < vertexCount; v++) {
+            int p = v * 3;
+            int slot = hash(positions[p], positions[p + 1], positions[p + 2]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = v + 1;
+        }
+    }
+
+    private static int hash(float x, float y, float z) {
+        int h = Float.floatToIntBits(x);
+        h = h * 31 + Float.floatToIntBits(y);
+        h = h * 31 + Float.floatToIntBits(z);
+        // Durchmischen, da benachbarte Koordinaten sich nur in den unteren Bits unterscheiden.
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Fügt ein Dreieck hinzu.
+     */
+    void addTriangle(int a, int b, int c) {
+        if (indexCount == indices.length) {
+            indices = Arrays.copyOf(indices, indices.length * 2);
+        }
+        indices[indexCount] = a;
+        indices[indexCount + 1] = b;
+        indices[indexCount + 2] = c;
+        indexCount += 3;
+    }
+
+    /**
+     * @return Die Anzahl der bisherigen Eckpunkte.
+     */
+    int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Erzeugt das Mesh mit passend gekürzten Arrays.
+     */
+    FloatMesh build() {
+        table = null;
+        return FloatMesh.of(Arrays.copyOf(positions, vertexCount * 3), Arrays.copyOf(indices, indexCount));
+    }
+}
@@ -0,0 +1,170 @@
+package renderer.mesh.io;
+
+import renderer.mesh.FloatMesh;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Kompaktes Binärformat für {@link FloatMesh}, das ohne Parsen per Memory-Mapping geöffnet wird.
+ * <p>
+ * Aufbau (Little Endian):
+ * <pre>
+ * int    Magic "T3DM"
+ * int    Version
+ * long   Größe der Quelldatei in Bytes
+ * long   Änderungszeit der Quelldatei (ms)
+ * int    Anzahl Eckpunkte
+ * int    Anzahl Dreiecke
+ * float  min x, y, z
+ * float  max x, y, z
+ * float  Eckpunkte (3 pro Eckpunkt)
+ * int    Indizes (3 pro Dreieck)
+ * </pre>
+ * Beim Öffnen zeigen die Puffer des Meshes direkt auf die abgebildete Datei; es wird nichts
+ * kopiert. Größe und Änderungszeit der Quelle dienen dazu, einen veralteten Cache zu erkennen.
+ */
+public final class MeshFile {
+
+    /** Dateiendung der Cache-Dateien. */
+    public static final String EXTENSION = ".t3dm";
+
+    private static final int MAGIC = 0x4D443354; // "T3DM" in Little Endian
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4 + 6 * 4;
+
+    private MeshFile() {
+    }
+
+    /**
+     * Schreibt ein Mesh. Die Datei wird zunächst unter einem temporären Namen geschrieben und
+     * dann umbenannt, sodass ein abgebrochener Lauf keinen halben Cache hinterlässt.
+     *
+     * @param mesh           Das Mesh.
+     * @param file           Die Zieldatei.
+     * @param sourceSize     Die Größe der Quelldatei.
+     * @param sourceModified Die Änderungszeit der Quelldatei in Millisekunden.
+     * @throws IOException bei Schreibfehlern.
+     */
+    public static void write(FloatMesh mesh, Path file, long sourceSize, long sourceModified) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceSize).putLong(sourceModified)
+                    .putInt(mesh.getVertexCount()).putInt(mesh.getTriangleCount());
+            for (int axis = 0; axis < 3; axis++) {
+                buffer.putFloat(mesh.getMin(axis));
+            }
+            for (int axis = 0; axis < 3; axis++) {
+                buffer.putFloat(mesh.getMax(axis));
+            }
+            FloatBuffer positions = mesh.getPositions();
+            for (int i = 0; i < positions.limit(); i++) {
+                if (buffer.remaining() < 4) {
+                    drain(channel, buffer);
+                }
+                buffer.putFloat(positions.get(i));
+            }
+            IntBuffer indices = mesh.getIndices();
+            for (int i = 0; i < indices.limit(); i++) {
+                if (buffer.remaining() < 4) {
+                    drain(channel, buffer);
+                }
+                buffer.putInt(indices.get(i));
+            }
+            drain(channel, buffer);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Prüft, ob eine Cache-Datei existiert und zu der angegebenen Quelle passt.
+     *
+     * @param file           Die Cache-Datei.
+     * @param sourceSize     Die Größe der Quelldatei.
+     * @param sourceModified Die Änderungszeit der Quelldatei in Millisekunden.
+     * @return true, wenn der Cache verwendet werden kann.
+     */
+    public static boolean isValid(Path file, long sourceSize, long sourceModified) {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // weiterlesen, bis der Kopf vollständig ist
+            }
+            if (header.hasRemaining()) {
+                return false;
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getLong() != sourceSize || header.getLong() != sourceModified) {
+                return false;
+            }
+            long vertices = header.getInt() & 0xFFFFFFFFL;
+            long triangles = header.getInt() & 0xFFFFFFFFL;
+            return channel.size() == HEADER_SIZE + vertices * 12 + triangles * 12;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Öffnet eine Cache-Datei per Memory-Mapping.
+     * <p>
+     * Die Abbildung bleibt gültig, solange das Mesh erreichbar ist; der Dateikanal wird
+     * sofort wieder geschlossen.
+     *
+     * @param file Die Cache-Datei.
+     * @return Das Mesh, dessen Puffer direkt auf die Datei zeigen.
+     * @throws IOException wenn die Datei nicht gelesen werden kann oder kein gültiger Cache ist.
+     */
+    public static FloatMesh map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Keine Mesh-Cache-Datei: " + file);
+            }
+            header.getLong();
+            header.getLong();
+            long vertices = header.getInt() & 0xFFFFFFFFL;
+            long triangles = header.getInt() & 0xFFFFFFFFL;
+            float[] min = {header.getFloat(), header.getFloat(), header.getFloat()};
+            float[] max = {header.getFloat(), header.getFloat(), header.getFloat()};
+
+            long positionBytes = vertices * 12;
+            long indexBytes = triangles * 12;
+            if (positionBytes > Integer.MAX_VALUE || indexBytes > Integer.MAX_VALUE) {
+                throw new IOException("Mesh zu groß für eine einzelne Abbildung: " + file);
+            }
+            if (channel.size() != HEADER_SIZE + positionBytes + indexBytes) {
+                throw new IOException("Mesh-Cache-Datei unvollständig: " + file);
+            }
+            FloatBuffer positions = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, positionBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            IntBuffer indices = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + positionBytes, indexBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            return new FloatMesh(positions, indices, min, max);
+        }
+    }
+}
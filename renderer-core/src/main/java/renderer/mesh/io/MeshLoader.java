@@ -0,0 +1,185 @@
+package renderer.mesh.io;
+
+import renderer.mesh.FloatMesh;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Lädt OBJ- und STL-Dateien über einen Binär-Cache.
+ * <p>
+ * Beim ersten Laden wird die Quelldatei als Stream geparst und das Ergebnis als
+ * {@link MeshFile} neben die Quelle geschrieben ({@code modell.obj.t3dm}). Spätere Läufe
+ * bilden diese Datei nur noch per Memory-Mapping ab, solange sich Größe und Änderungszeit
+ * der Quelle nicht geändert haben. Kann der Cache nicht geschrieben werden (z.B. in einem
+ * schreibgeschützten Verzeichnis), wird das geparste Mesh vom Heap verwendet.
+ */
+public final class MeshLoader {
+
+    private MeshLoader() {
+    }
+
+    /**
+     * Lädt ein Modell mit einer Cache-Datei neben der Quelle.
+     *
+     * @param source Die OBJ- oder STL-Datei.
+     * @return Das Mesh und die Kennzahlen des Ladens.
+     * @throws IOException bei Lese- oder Formatfehlern der Quelle.
+     */
+    public static Result load(Path source) throws IOException {
+        return load(source, cacheFileFor(source));
+    }
+
+    /**
+     * Lädt ein Modell mit einer eigenen Cache-Datei.
+     *
+     * @param source    Die OBJ- oder STL-Datei.
+     * @param cacheFile Die Cache-Datei oder {@code null}, um immer zu parsen.
+     * @return Das Mesh und die Kennzahlen des Ladens.
+     * @throws IOException bei Lese- oder Formatfehlern der Quelle.
+     */
+    public static Result load(Path source, Path cacheFile) throws IOException {
+        long size = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        long start = System.nanoTime();
+        if (cacheFile != null && MeshFile.isValid(cacheFile, size, modified)) {
+            FloatMesh mesh = MeshFile.map(cacheFile);
+            return new Result(mesh, true, Files.size(cacheFile), System.nanoTime() - start);
+        }
+
+        FloatMesh mesh = parse(source);
+        long parseNanos = System.nanoTime() - start;
+        if (cacheFile != null) {
+            try {
+                MeshFile.write(mesh, cacheFile, size, modified);
+                mesh = MeshFile.map(cacheFile);
+            } catch (IOException e) {
+                // Ohne Cache weiterarbeiten; der nächste Lauf parst erneut.
+                System.err.println("Mesh-Cache konnte nicht geschrieben werden: " + e.getMessage());
+            }
+        }
+        return new Result(mesh, false, size, parseNanos);
+    }
+
+    /**
+     * Liefert eine blockweise lesbare Fassung eines Modells für das Rendern ohne vollständiges
+     * Laden. Sie wird neben der Quelle abgelegt ({@code modell.obj.t3dc}) und nur neu erzeugt,
+     * wenn sich die Quelle geändert hat. Dazu wird das Modell über {@link #load(Path)} geladen
+     * (bzw. aus dem Binär-Cache abgebildet) und blockweise umkopiert.
+     *
+     * @param source            Die OBJ- oder STL-Datei oder bereits eine {@link ChunkedMeshFile}.
+     * @param trianglesPerChunk Die Höchstzahl der Dreiecke pro Block beim Erzeugen.
+     * @return Die Datei im Format {@link ChunkedMeshFile}.
+     * @throws IOException bei Lese- oder Formatfehlern der Quelle oder wenn die Datei nicht
+     *                     geschrieben werden kann.
+     */
+    public static Path loadChunked(Path source, int trianglesPerChunk) throws IOException {
+        if (source.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(ChunkedMeshFile.EXTENSION)) {
+            return source;
+        }
+        Path chunked = source.resolveSibling(source.getFileName() + ChunkedMeshFile.EXTENSION);
+        long size = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        if (!ChunkedMeshFile.isValid(chunked, size, modified)) {
+            ChunkedMeshFile.write(load(source).getMesh(), chunked, trianglesPerChunk, size, modified);
+        }
+        return chunked;
+    }
+
+    /**
+     * Parst eine OBJ- oder STL-Datei ohne Cache. Das Format wird an der Dateiendung erkannt.
+     *
+     * @param source Die Quelldatei.
+     * @return Das Mesh auf dem Heap.
+     * @throws IOException              bei Lese- oder Formatfehlern.
+     * @throws IllegalArgumentException bei einer unbekannten Dateiendung.
+     */
+    public static FloatMesh parse(Path source) throws IOException {
+        String name = source.getFileName().toString().toLowerCase(Locale.ROOT);
+        try (InputStream in = Files.newInputStream(source)) {
+            if (name.endsWith(".obj")) {
+                return ObjReader.read(in);
+            } else if (name.endsWith(".stl")) {
+                return StlReader.read(in, Files.size(source));
+            }
+        }
+        throw new IllegalArgumentException("Unbekanntes Mesh-Format (erwartet .obj oder .stl): " + source);
+    }
+
+    /**
+     * @param source Die Quelldatei.
+     * @return Die Standard-Cache-Datei neben der Quelle.
+     */
+    public static Path cacheFileFor(Path source) {
+        return source.resolveSibling(source.getFileName() + MeshFile.EXTENSION);
+    }
+
+    /**
+     * Das geladene Mesh und die Kennzahlen des Ladevorgangs.
+     */
+    public static final class Result {
+        private final FloatMesh mesh;
+        private final boolean fromCache;
+        private final long bytes;
+        private final long nanos;
+
+        Result(FloatMesh mesh, boolean fromCache, long bytes, long nanos) {
+            this.mesh = mesh;
+            this.fromCache = fromCache;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return Das geladene Mesh.
+         */
+        public FloatMesh getMesh() {
+            return mesh;
+        }
+
+        /**
+         * @return true, wenn das Mesh aus dem Cache abgebildet und nicht geparst wurde.
+         */
+        public boolean isFromCache() {
+            return fromCache;
+        }
+
+        /**
+         * @return Die gelesenen Bytes (Quelle beim Parsen, sonst Cache-Datei).
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return Die Dauer des Parsens bzw. Abbildens in Nanosekunden (ohne Schreiben des Caches).
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return Der Durchsatz in MB/s.
+         */
+        public double getMegabytesPerSecond() {
+            return nanos <= 0 ? 0 : bytes / (1024.0 * 1024.0) / (nanos / 1e9);
+        }
+
+        /**
+         * @return Der Durchsatz in Dreiecken pro Sekunde.
+         */
+        public double getTrianglesPerSecond() {
+            return nanos <= 0 ? 0 : mesh.getTriangleCount() / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d Dreiecke, %d Eckpunkte %s in %.1f ms (%.1f MB/s, %.2f Mio. Dreiecke/s)",
+                    mesh.getTriangleCount(), mesh.getVertexCount(), fromCache ? "aus Cache" : "geparst",
+                    nanos / 1e6, getMegabytesPerSecond(), getTrianglesPerSecond() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package renderer.mesh.io;
+
+import renderer.mesh.FloatMesh;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Liest die Geometrie einer Wavefront-OBJ-Datei.
+ * <p>
+ * Ausgewertet werden nur Eckpunkte ({@code v}) und Flächen ({@code f}); Texturkoordinaten,
+ * Normalen, Gruppen und Materialien werden übersprungen. Flächenindizes dürfen in allen
+ * Schreibweisen ({@code i}, {@code i/t}, {@code i//n}, {@code i/t/n}) und relativ (negativ)
+ * angegeben sein. Polygone mit mehr als drei Ecken werden als Fächer zerlegt.
+ */
+public final class ObjReader {
+
+    private ObjReader() {
+    }
+
+    /**
+     * Liest eine OBJ-Datei aus einem Stream.
+     *
+     * @param in Der Stream; wird nicht geschlossen.
+     * @return Das Mesh auf dem Heap.
+     * @throws IOException bei Lese- oder Formatfehlern.
+     */
+    public static FloatMesh read(InputStream in) throws IOException {
+        AsciiReader reader = new AsciiReader(in);
+        MeshBuilder builder = new MeshBuilder();
+        while (reader.nextLine()) {
+            if (reader.keyword("v")) {
+                float x = reader.parseFloat();
+                float y = reader.parseFloat();
+                float z = reader.parseFloat();
+                builder.addVertex(x, y, z);
+            } else if (reader.keyword("f")) {
+                int first = index(reader, builder);
+                int previous = index(reader, builder);
+                while (reader.hasToken()) {
+                    int current = index(reader, builder);
+                    builder.addTriangle(first, previous, current);
+                    previous = current;
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Liest den Eckpunkt-Index einer Flächenangabe und überspringt Textur- und Normalenindex.
+     */
+    private static int index(AsciiReader reader, MeshBuilder builder) throws IOException {
+        if (!reader.hasToken()) {
+            throw reader.error("Fläche mit weniger als drei Eckpunkten");
+        }
+        int index = reader.parseInt();
+        reader.skipToken();
+        int vertexCount = builder.getVertexCount();
+        int resolved = index < 0 ? vertexCount + index : index - 1;
+        if (index == 0 || resolved < 0 || resolved >= vertexCount) {
+            throw reader.error("Ungültiger Eckpunkt-Index " + index);
+        }
+        return resolved;
+    }
+}
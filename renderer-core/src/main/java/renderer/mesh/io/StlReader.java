@@ -0,0 +1,105 @@
+package renderer.mesh.io;
+
+import renderer.mesh.FloatMesh;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Liest binäre und ASCII-STL-Dateien.
+ * <p>
+ * STL speichert jedes Dreieck mit eigenen Eckpunkten. Gleiche Positionen werden beim Lesen
+ * zusammengefasst, sodass ein indiziertes Mesh entsteht, in dem jeder Eckpunkt nur einmal
+ * transformiert wird. Die in der Datei angegebenen Normalen werden ignoriert.
+ * <p>
+ * Binäre Dateien werden an der Dateigröße erkannt ({@code 84 + 50 * Dreiecke} Byte), da auch
+ * manche binäre Dateien mit {@code solid} beginnen.
+ */
+public final class StlReader {
+
+    private static final int HEADER = 80;
+    private static final int RECORD = 50;
+
+    private StlReader() {
+    }
+
+    /**
+     * Liest eine STL-Datei aus einem Stream.
+     *
+     * @param in   Der Stream; wird nicht geschlossen.
+     * @param size Die Größe der Datei in Bytes (zur Erkennung des Binärformats) oder -1.
+     * @return Das Mesh auf dem Heap.
+     * @throws IOException bei Lese- oder Formatfehlern.
+     */
+    public static FloatMesh read(InputStream in, long size) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        buffered.mark(HEADER + 4);
+        byte[] header = buffered.readNBytes(HEADER + 4);
+        buffered.reset();
+        if (header.length == HEADER + 4) {
+            long count = ByteBuffer.wrap(header, HEADER, 4).order(ByteOrder.LITTLE_ENDIAN).getInt() & 0xFFFFFFFFL;
+            boolean ascii = new String(header, 0, 5, StandardCharsets.US_ASCII).equalsIgnoreCase("solid");
+            if (size == HEADER + 4 + count * RECORD || (!ascii && size < 0)) {
+                return readBinary(buffered, count);
+            }
+        }
+        return readAscii(buffered);
+    }
+
+    private static FloatMesh readBinary(InputStream in, long count) throws IOException {
+        if (in.readNBytes(HEADER + 4).length != HEADER + 4) {
+            throw new IOException("STL-Kopf unvollständig");
+        }
+        MeshBuilder builder = new MeshBuilder();
+        // Lies mehrere Datensätze auf einmal; 50 Byte pro Dreieck passen nicht auf eine Blockgrenze.
+        byte[] chunk = new byte[RECORD * 1024];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk).order(ByteOrder.LITTLE_ENDIAN);
+        long remaining = count;
+        while (remaining > 0) {
+            int records = (int) Math.min(remaining, 1024);
+            int bytes = records * RECORD;
+            if (in.readNBytes(chunk, 0, bytes) != bytes) {
+                throw new IOException("STL-Datei endet nach " + (count - remaining) + " von " + count + " Dreiecken");
+            }
+            for (int r = 0; r < records; r++) {
+                // Normale (12 Byte) überspringen, danach drei Eckpunkte und 2 Byte Attribute.
+                int p = r * RECORD + 12;
+                int a = builder.addSharedVertex(buffer.getFloat(p), buffer.getFloat(p + 4), buffer.getFloat(p + 8));
+                int b = builder.addSharedVertex(buffer.getFloat(p + 12), buffer.getFloat(p + 16), buffer.getFloat(p + 20));
+                int c = builder.addSharedVertex(buffer.getFloat(p + 24), buffer.getFloat(p + 28), buffer.getFloat(p + 32));
+                builder.addTriangle(a, b, c);
+            }
+            remaining -= records;
+        }
+        return builder.build();
+    }
+
+    private static FloatMesh readAscii(InputStream in) throws IOException {
+        AsciiReader reader = new AsciiReader(in);
+        MeshBuilder builder = new MeshBuilder();
+        int[] corner = new int[3];
+        int corners = 0;
+        while (reader.nextLine()) {
+            if (reader.keyword("vertex")) {
+                if (corners == 3) {
+                    throw reader.error("Mehr als drei Eckpunkte in einer Facette");
+                }
+                float x = reader.parseFloat();
+                float y = reader.parseFloat();
+                float z = reader.parseFloat();
+                corner[corners++] = builder.addSharedVertex(x, y, z);
+            } else if (reader.keyword("endloop")) {
+                if (corners != 3) {
+                    throw reader.error("Facette ohne drei Eckpunkte");
+                }
+                builder.addTriangle(corner[0], corner[1], corner[2]);
+                corners = 0;
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,108 @@
+package renderer.mesh.lod;
+
+/**
+ * Wählt pro Frame eine Detailstufe anhand der projizierten Größe eines Objekts.
+ * <p>
+ * Aus der Fläche der projizierten Begrenzungskugel in Pixeln und einer Zieldichte (Dreiecke pro
+ * überdecktem Pixel) ergibt sich die gewünschte Anzahl an Dreiecken. Ideal ist die gröbste
+ * Stufe, die mindestens so viele Dreiecke hat; so bleibt die Anzahl der Dreiecke pro Pixel und
+ * damit die Zeit pro Frame über Zoomstufen und Auflösungen hinweg etwa konstant.
+ * <p>
+ * Damit die Stufe an einer Grenze nicht bei jedem Frame wechselt (Flackern), gilt eine
+ * Hysterese: Die aktuelle Stufe {@code i} wird beibehalten, solange der Bedarf höchstens um den
+ * Faktor {@code 1 + hysteresis} über ihrer Dreieckszahl und um den Faktor {@code 1 - hysteresis}
+ * unter der Dreieckszahl der nächstgröberen Stufe liegt. Erst außerhalb dieses Bandes wird
+ * direkt auf die ideale Stufe gewechselt.
+ * <p>
+ * Eine Instanz merkt sich die zuletzt gewählte Stufe pro Detailkette und ist nicht threadsicher.
+ */
+public class LodSelector {
+
+    /** Standard-Zieldichte: ein Dreieck pro 128 überdeckten Pixeln. */
+    public static final double DEFAULT_DENSITY = 1.0 / 128;
+
+    /** Standardbreite des Hysterese-Bandes (25 %). */
+    public static final double DEFAULT_HYSTERESIS = 0.25;
+
+    private final double hysteresis;
+
+    // Zuletzt benutzte Detailkette und die darin gewählte Stufe.
+    private Object lastChain;
+    private int current = -1;
+
+    /**
+     * Erzeugt eine Auswahl mit der Standard-Hysterese.
+     */
+    public LodSelector() {
+        this(DEFAULT_HYSTERESIS);
+    }
+
+    /**
+     * Erzeugt eine Auswahl.
+     *
+     * @param hysteresis Die relative Breite des Hysterese-Bandes (0 = keine Hysterese).
+     */
+    public LodSelector(double hysteresis) {
+        if (hysteresis < 0 || hysteresis >= 1) {
+            throw new IllegalArgumentException("Hysterese muss in [0, 1) liegen: " + hysteresis);
+        }
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * Liefert die Fläche der projizierten Begrenzungskugel.
+     *
+     * @param radius Der Radius der Kugel in Pixeln.
+     * @return Die Fläche in Pixeln.
+     */
+    public static double projectedArea(double radius) {
+        return Math.PI * radius * radius;
+    }
+
+    /**
+     * Wählt eine Stufe aus einer Detailkette.
+     *
+     * @param chain          Kennung der Kette (z.B. die Grundform oder das Modell); bei einem
+     *                       Wechsel der Kette wird ohne Hysterese gewählt.
+     * @param triangleCounts Die Dreieckszahlen der Stufen, aufsteigend vom gröbsten zum feinsten.
+     * @param projectedArea  Die projizierte Fläche des Objekts in Pixeln.
+     * @param density        Die Zieldichte in Dreiecken pro Pixel.
+     * @return Der Index der gewählten Stufe in {@code triangleCounts}.
+     */
+    public int select(Object chain, long[] triangleCounts, double projectedArea, double density) {
+        double wanted = projectedArea * density;
+        int ideal = ideal(triangleCounts, wanted);
+        if (chain != lastChain || current < 0 || current >= triangleCounts.length) {
+            lastChain = chain;
+            current = ideal;
+            return current;
+        }
+        double upper = current == triangleCounts.length - 1 ? Double.POSITIVE_INFINITY
+                : triangleCounts[current] * (1 + hysteresis);
+        double lower = current == 0 ? Double.NEGATIVE_INFINITY
+                : triangleCounts[current - 1] * (1 - hysteresis);
+        if (wanted > upper || wanted < lower) {
+            current = ideal;
+        }
+        return current;
+    }
+
+    /**
+     * @return Die zuletzt gewählte Stufe oder -1, wenn noch keine gewählt wurde.
+     */
+    public int getCurrent() {
+        return current;
+    }
+
+    /**
+     * Liefert die gröbste Stufe mit mindestens {@code wanted} Dreiecken bzw. die feinste Stufe.
+     */
+    private static int ideal(long[] triangleCounts, double wanted) {
+        for (int i = 0; i < triangleCounts.length; i++) {
+            if (triangleCounts[i] >= wanted) {
+                return i;
+            }
+        }
+        return triangleCounts.length - 1;
+    }
+}
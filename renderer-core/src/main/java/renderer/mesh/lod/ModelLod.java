@@ -0,0 +1,122 @@
+package renderer.mesh.lod;
+
+import renderer.mesh.FloatMesh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Die Detailstufen eines importierten Modells, erzeugt mit dem {@link QuadricSimplifier}.
+ * <p>
+ * Jede Stufe hat etwa ein Viertel der Dreiecke der nächstfeineren, wie bei den Stufen der
+ * Sphäre. Jede Stufe wird aus der vorherigen vereinfacht, sodass die gesamte Kette nur wenig
+ * länger dauert als die erste Stufe. Die feinste Stufe ist das Modell selbst.
+ * <p>
+ * Instanzen sind unveränderlich und können von mehreren Threads geteilt werden.
+ */
+public final class ModelLod {
+
+    /** Standard-Untergrenze: Stufen mit weniger Dreiecken werden nicht mehr erzeugt. */
+    public static final int DEFAULT_MIN_TRIANGLES = 256;
+
+    // Stufen vom gröbsten zum feinsten Mesh und deren Dreieckszahlen.
+    private final List<FloatMesh> levels;
+    private final long[] triangleCounts;
+    private final long buildNanos;
+
+    private ModelLod(List<FloatMesh> levels, long buildNanos) {
+        this.levels = levels;
+        this.triangleCounts = new long[levels.size()];
+        for (int i = 0; i < triangleCounts.length; i++) {
+            triangleCounts[i] = levels.get(i).getTriangleCount();
+        }
+        this.buildNanos = buildNanos;
+    }
+
+    /**
+     * Erzeugt die Detailstufen eines Modells mit der Standard-Untergrenze.
+     *
+     * @param model Das Modell (feinste Stufe).
+     * @return Die Detailstufen.
+     */
+    public static ModelLod build(FloatMesh model) {
+        return build(model, DEFAULT_MIN_TRIANGLES);
+    }
+
+    /**
+     * Erzeugt die Detailstufen eines Modells.
+     * <p>
+     * Die Kette endet, sobald eine Stufe die Untergrenze erreicht oder die Vereinfachung kaum
+     * noch Dreiecke entfernt (z.B. bei vielen Randkanten).
+     *
+     * @param model        Das Modell (feinste Stufe).
+     * @param minTriangles Die Untergrenze für die Anzahl der Dreiecke der gröbsten Stufe.
+     * @return Die Detailstufen.
+     */
+    public static ModelLod build(FloatMesh model, int minTriangles) {
+        long start = System.nanoTime();
+        List<FloatMesh> levels = new ArrayList<>();
+        levels.add(model);
+        FloatMesh current = model;
+        while (current.getTriangleCount() / 4 >= minTriangles) {
+            FloatMesh next = QuadricSimplifier.simplify(current, current.getTriangleCount() / 4);
+            if (next.getTriangleCount() > current.getTriangleCount() * 3L / 4) {
+                break;
+            }
+            levels.add(next);
+            current = next;
+        }
+        Collections.reverse(levels);
+        return new ModelLod(Collections.unmodifiableList(levels), System.nanoTime() - start);
+    }
+
+    /**
+     * @return Die Anzahl der Stufen.
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * @param level Die Stufe (0 = gröbste).
+     * @return Das Mesh der Stufe.
+     */
+    public FloatMesh getLevel(int level) {
+        return levels.get(level);
+    }
+
+    /**
+     * @return Das Originalmodell (feinste Stufe).
+     */
+    public FloatMesh getModel() {
+        return levels.get(levels.size() - 1);
+    }
+
+    /**
+     * Liefert die Dreieckszahlen aller Stufen für den {@link LodSelector} (keine Kopie).
+     *
+     * @return Die Dreieckszahlen vom gröbsten zum feinsten Mesh.
+     */
+    public long[] getTriangleCounts() {
+        return triangleCounts;
+    }
+
+    /**
+     * @return Die Dauer der Vereinfachung in Nanosekunden.
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder counts = new StringBuilder();
+        for (int i = triangleCounts.length - 1; i >= 0; i--) {
+            counts.append(triangleCounts[i]).append(i > 0 ? "/" : "");
+        }
+        return String.format(Locale.ROOT, "%d LOD-Stufen (%s Dreiecke) in %.1f ms",
+                triangleCounts.length, counts, buildNanos / 1e6);
+    }
+}
@@ -0,0 +1,501 @@
+package renderer.mesh.lod;
+
+import renderer.mesh.FloatMesh;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Vereinfacht ein Dreiecksnetz durch Kantenkollaps mit Quadrik-Fehlermetrik (Garland/Heckbert).
+ * <p>
+ * Jeder Eckpunkt trägt die Summe der Ebenen-Quadriken seiner Dreiecke; der Fehler eines
+ * Kollapses ist der quadratische Abstand der neuen Position zu all diesen Ebenen. Statt einer
+ * Prioritätswarteschlange arbeitet das Verfahren in Durchgängen mit steigender Fehlerschwelle
+ * und kollabiert in jedem Durchgang alle Kanten unterhalb der Schwelle (wie in Sven Forstmanns
+ * "Fast Quadric Mesh Simplification"). Das ist deutlich schneller und liefert praktisch
+ * dieselbe Qualität.
+ * <p>
+ * Kollapse, die ein benachbartes Dreieck umklappen würden, werden ausgelassen; Randkanten
+ * offener Netze bleiben erhalten. Die Orientierung der Dreiecke bleibt unverändert, sodass das
+ * Back-Face-Culling auch auf den vereinfachten Stufen funktioniert. Die Koordinaten werden
+ * intern auf eine Einheitskugel normiert, damit die Schwellen unabhängig von der Modellgröße sind.
+ */
+public final class QuadricSimplifier {
+
+    private static final int MAX_ITERATIONS = 100;
+    private static final double AGGRESSIVENESS = 7;
+
+    // Eckpunkte: Position, Quadrik (10 Koeffizienten der symmetrischen 4x4-Matrix),
+    // Randmarkierung und der Bereich der Referenzen auf anliegende Dreiecke.
+    private double[] position;
+    private double[] quadric;
+    private boolean[] border;
+    private int[] refStart;
+    private int[] refCount;
+    private int vertexCount;
+
+    // Dreiecke: Eckpunkte, Fehler der drei Kanten und deren Minimum, Normale, Zustand.
+    private int[] corner;
+    private double[] error;
+    private double[] normal;
+    private boolean[] deleted;
+    private boolean[] dirty;
+    private int triangleCount;
+
+    // Referenzen Eckpunkt -> (Dreieck, Ecke im Dreieck).
+    private int[] refTriangle = new int[0];
+    private int[] refCorner = new int[0];
+    private int refSize;
+
+    // Zwischenspeicher für flipped(), die Position eines Kollapses und die summierte Quadrik.
+    private boolean[] deleted0 = new boolean[16];
+    private boolean[] deleted1 = new boolean[16];
+    private final double[] target = new double[3];
+    private final double[] scratch = new double[3];
+    private final double[] sum = new double[10];
+
+    private QuadricSimplifier() {
+    }
+
+    /**
+     * Vereinfacht ein Mesh auf ungefähr die angegebene Anzahl an Dreiecken.
+     * <p>
+     * Das Ziel wird nicht unterschritten, aber unter Umständen nicht erreicht, wenn keine
+     * weiteren Kollapse ohne umgeklappte Dreiecke möglich sind.
+     *
+     * @param mesh            Das Ausgangs-Mesh.
+     * @param targetTriangles Die gewünschte Anzahl an Dreiecken.
+     * @return Das vereinfachte Mesh auf dem Heap (das Ausgangs-Mesh bleibt unverändert).
+     */
+    public static FloatMesh simplify(FloatMesh mesh, int targetTriangles) {
+        QuadricSimplifier s = new QuadricSimplifier();
+        s.load(mesh);
+        s.run(Math.max(1, targetTriangles));
+        return s.toMesh(mesh);
+    }
+
+    /**
+     * Übernimmt das Mesh und normiert die Koordinaten auf eine Kugel mit Radius 1 um den Ursprung.
+     */
+    private void load(FloatMesh mesh) {
+        vertexCount = mesh.getVertexCount();
+        triangleCount = mesh.getTriangleCount();
+        double radius = mesh.getRadius();
+        double scale = radius > 0 ? 1 / radius : 1;
+        FloatBuffer positions = mesh.getPositions();
+        position = new double[vertexCount * 3];
+        for (int i = 0; i < vertexCount * 3; i += 3) {
+            position[i] = (positions.get(i) - mesh.getCenter(0)) * scale;
+            position[i + 1] = (positions.get(i + 1) - mesh.getCenter(1)) * scale;
+            position[i + 2] = (positions.get(i + 2) - mesh.getCenter(2)) * scale;
+        }
+        quadric = new double[vertexCount * 10];
+        border = new boolean[vertexCount];
+        refStart = new int[vertexCount];
+        refCount = new int[vertexCount];
+
+        IntBuffer indices = mesh.getIndices();
+        corner = new int[triangleCount * 3];
+        indices.get(0, corner);
+        error = new double[triangleCount * 4];
+        normal = new double[triangleCount * 3];
+        deleted = new boolean[triangleCount];
+        dirty = new boolean[triangleCount];
+    }
+
+    /**
+     * Kollabiert Kanten in Durchgängen mit steigender Schwelle, bis das Ziel erreicht ist.
+     */
+    private void run(int targetTriangles) {
+        int deletedTriangles = 0;
+        int startCount = triangleCount;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            if (startCount - deletedTriangles <= targetTriangles) {
+                break;
+            }
+            // Regelmäßig entfernte Dreiecke verwerfen und die Referenzen neu aufbauen.
+            if (iteration % 5 == 0) {
+                updateMesh(iteration);
+                startCount = triangleCount;
+                deletedTriangles = 0;
+            }
+            Arrays.fill(dirty, 0, triangleCount, false);
+
+            // Schwelle, unterhalb derer in diesem Durchgang kollabiert wird.
+            double threshold = 1e-9 * Math.pow(iteration + 3, AGGRESSIVENESS);
+
+            for (int t = 0; t < triangleCount; t++) {
+                if (error[t * 4 + 3] > threshold || deleted[t] || dirty[t]) {
+                    continue;
+                }
+                for (int j = 0; j < 3; j++) {
+                    if (error[t * 4 + j] >= threshold) {
+                        continue;
+                    }
+                    int i0 = corner[t * 3 + j];
+                    int i1 = corner[t * 3 + (j + 1) % 3];
+                    if (border[i0] != border[i1]) {
+                        continue;
+                    }
+                    edgeError(i0, i1, target);
+
+                    if (deleted0.length < refCount[i0]) {
+                        deleted0 = new boolean[refCount[i0] * 2];
+                    }
+                    if (deleted1.length < refCount[i1]) {
+                        deleted1 = new boolean[refCount[i1] * 2];
+                    }
+                    // Kollapse, die ein Dreieck umklappen oder entarten lassen, auslassen.
+                    if (flipped(target, i0, i1, deleted0) || flipped(target, i1, i0, deleted1)) {
+                        continue;
+                    }
+
+                    // Kollabiere i1 auf i0.
+                    System.arraycopy(target, 0, position, i0 * 3, 3);
+                    for (int k = 0; k < 10; k++) {
+                        quadric[i0 * 10 + k] += quadric[i1 * 10 + k];
+                    }
+                    int start = refSize;
+                    deletedTriangles += updateTriangles(i0, i0, deleted0);
+                    deletedTriangles += updateTriangles(i0, i1, deleted1);
+                    int count = refSize - start;
+                    if (count <= refCount[i0]) {
+                        // Die neuen Referenzen passen in den bisherigen Bereich von i0.
+                        if (count > 0) {
+                            System.arraycopy(refTriangle, start, refTriangle, refStart[i0], count);
+                            System.arraycopy(refCorner, start, refCorner, refStart[i0], count);
+                        }
+                        refSize = start;
+                    } else {
+                        refStart[i0] = start;
+                    }
+                    refCount[i0] = count;
+                    break;
+                }
+                if (startCount - deletedTriangles <= targetTriangles) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob das Verschieben von {@code i0} nach {@code p} ein anliegendes Dreieck umklappt.
+     * Dreiecke, die auch {@code i1} enthalten, entfallen beim Kollaps und werden markiert.
+     */
+    private boolean flipped(double[] p, int i0, int i1, boolean[] removed) {
+        for (int k = 0; k < refCount[i0]; k++) {
+            int r = refStart[i0] + k;
+            int t = refTriangle[r];
+            if (deleted[t]) {
+                continue;
+            }
+            int s = refCorner[r];
+            int id1 = corner[t * 3 + (s + 1) % 3];
+            int id2 = corner[t * 3 + (s + 2) % 3];
+            if (id1 == i1 || id2 == i1) {
+                removed[k] = true;
+                continue;
+            }
+            double d1x = position[id1 * 3] - p[0], d1y = position[id1 * 3 + 1] - p[1], d1z = position[id1 * 3 + 2] - p[2];
+            double d2x = position[id2 * 3] - p[0], d2y = position[id2 * 3 + 1] - p[1], d2z = position[id2 * 3 + 2] - p[2];
+            double l1 = Math.sqrt(d1x * d1x + d1y * d1y + d1z * d1z);
+            double l2 = Math.sqrt(d2x * d2x + d2y * d2y + d2z * d2z);
+            if (l1 == 0 || l2 == 0) {
+                return true;
+            }
+            d1x /= l1; d1y /= l1; d1z /= l1;
+            d2x /= l2; d2y /= l2; d2z /= l2;
+            if (Math.abs(d1x * d2x + d1y * d2y + d1z * d2z) > 0.999) {
+                return true;
+            }
+            double nx = d1y * d2z - d1z * d2y;
+            double ny = d1z * d2x - d1x * d2z;
+            double nz = d1x * d2y - d1y * d2x;
+            double nl = Math.sqrt(nx * nx + ny * ny + nz * nz);
+            removed[k] = false;
+            if (nl == 0 || (nx * normal[t * 3] + ny * normal[t * 3 + 1] + nz * normal[t * 3 + 2]) / nl < 0.2) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ersetzt in den Dreiecken von {@code v} den Eckpunkt durch {@code i0}, entfernt die beim
+     * Kollaps entarteten Dreiecke und hängt die Referenzen der übrigen neu an.
+     *
+     * @return Die Anzahl der entfernten Dreiecke.
+     */
+    private int updateTriangles(int i0, int v, boolean[] removed) {
+        int removedCount = 0;
+        int start = refStart[v];
+        int count = refCount[v];
+        for (int k = 0; k < count; k++) {
+            int t = refTriangle[start + k];
+            int c = refCorner[start + k];
+            if (deleted[t]) {
+                continue;
+            }
+            if (removed[k]) {
+                deleted[t] = true;
+                removedCount++;
+                continue;
+            }
+            corner[t * 3 + c] = i0;
+            dirty[t] = true;
+            updateErrors(t);
+            addRef(t, c);
+        }
+        return removedCount;
+    }
+
+    private void updateErrors(int t) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < 3; j++) {
+            double e = edgeError(corner[t * 3 + j], corner[t * 3 + (j + 1) % 3], scratch);
+            error[t * 4 + j] = e;
+            min = Math.min(min, e);
+        }
+        error[t * 4 + 3] = min;
+    }
+
+    private void addRef(int t, int c) {
+        if (refSize == refTriangle.length) {
+            int capacity = Math.max(16, refSize * 2);
+            refTriangle = Arrays.copyOf(refTriangle, capacity);
+            refCorner = Arrays.copyOf(refCorner, capacity);
+        }
+        refTriangle[refSize] = t;
+        refCorner[refSize] = c;
+        refSize++;
+    }
+
+    /**
+     * Entfernt gelöschte Dreiecke und baut die Referenzen auf; im ersten Durchgang zusätzlich
+     * Randmarkierungen, Quadriken und Kantenfehler.
+     */
+    private void updateMesh(int iteration) {
+        if (iteration > 0) {
+            int dst = 0;
+            for (int t = 0; t < triangleCount; t++) {
+                if (!deleted[t]) {
+                    System.arraycopy(corner, t * 3, corner, dst * 3, 3);
+                    System.arraycopy(error, t * 4, error, dst * 4, 4);
+                    System.arraycopy(normal, t * 3, normal, dst * 3, 3);
+                    deleted[dst] = false;
+                    dst++;
+                }
+            }
+            triangleCount = dst;
+        }
+        buildRefs();
+
+        if (iteration == 0) {
+            identifyBorder();
+            Arrays.fill(quadric, 0);
+            for (int t = 0; t < triangleCount; t++) {
+                int a = corner[t * 3] * 3, b = corner[t * 3 + 1] * 3, c = corner[t * 3 + 2] * 3;
+                double ux = position[b] - position[a], uy = position[b + 1] - position[a + 1], uz = position[b + 2] - position[a + 2];
+                double vx = position[c] - position[a], vy = position[c + 1] - position[a + 1], vz = position[c + 2] - position[a + 2];
+                double nx = uy * vz - uz * vy;
+                double ny = uz * vx - ux * vz;
+                double nz = ux * vy - uy * vx;
+                double l = Math.sqrt(nx * nx + ny * ny + nz * nz);
+                if (l > 0) {
+                    nx /= l;
+                    ny /= l;
+                    nz /= l;
+                }
+                normal[t * 3] = nx;
+                normal[t * 3 + 1] = ny;
+                normal[t * 3 + 2] = nz;
+                double d = -(nx * position[a] + ny * position[a + 1] + nz * position[a + 2]);
+                for (int j = 0; j < 3; j++) {
+                    addPlane(corner[t * 3 + j], nx, ny, nz, d);
+                }
+            }
+            for (int t = 0; t < triangleCount; t++) {
+                updateErrors(t);
+            }
+        }
+    }
+
+    /**
+     * Baut die Referenzen Eckpunkt -> Dreieck als zusammenhängende Bereiche pro Eckpunkt auf.
+     */
+    private void buildRefs() {
+        Arrays.fill(refCount, 0);
+        for (int i = 0; i < triangleCount * 3; i++) {
+            refCount[corner[i]]++;
+        }
+        int start = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            refStart[v] = start;
+            start += refCount[v];
+            refCount[v] = 0;
+        }
+        if (refTriangle.length < triangleCount * 3) {
+            refTriangle = new int[triangleCount * 3];
+            refCorner = new int[triangleCount * 3];
+        }
+        for (int t = 0; t < triangleCount; t++) {
+            for (int j = 0; j < 3; j++) {
+                int v = corner[t * 3 + j];
+                int r = refStart[v] + refCount[v]++;
+                refTriangle[r] = t;
+                refCorner[r] = j;
+            }
+        }
+        refSize = triangleCount * 3;
+    }
+
+    /**
+     * Markiert Eckpunkte an Kanten, die nur zu einem Dreieck gehören.
+     */
+    private void identifyBorder() {
+        Arrays.fill(border, false);
+        int[] neighbors = new int[16];
+        int[] counts = new int[16];
+        for (int v = 0; v < vertexCount; v++) {
+            int size = 0;
+            for (int k = 0; k < refCount[v]; k++) {
+                int t = refTriangle[refStart[v] + k];
+                for (int j = 0; j < 3; j++) {
+                    int id = corner[t * 3 + j];
+                    int ofs = 0;
+                    while (ofs < size && neighbors[ofs] != id) {
+                        ofs++;
+                    }
+                    if (ofs == size) {
+                        if (size == neighbors.length) {
+                            neighbors = Arrays.copyOf(neighbors, size * 2);
+                            counts = Arrays.copyOf(counts, size * 2);
+                        }
+                        neighbors[size] = id;
+                        counts[size] = 1;
+                        size++;
+                    } else {
+                        counts[ofs]++;
+                    }
+                }
+            }
+            for (int j = 0; j < size; j++) {
+                if (counts[j] == 1) {
+                    border[neighbors[j]] = true;
+                }
+            }
+        }
+    }
+
+    private void addPlane(int v, double a, double b, double c, double d) {
+        int q = v * 10;
+        quadric[q] += a * a;
+        quadric[q + 1] += a * b;
+        quadric[q + 2] += a * c;
+        quadric[q + 3] += a * d;
+        quadric[q + 4] += b * b;
+        quadric[q + 5] += b * c;
+        quadric[q + 6] += b * d;
+        quadric[q + 7] += c * c;
+        quadric[q + 8] += c * d;
+        quadric[q + 9] += d * d;
+    }
+
+    /**
+     * Berechnet den Fehler eines Kollapses der Kante {@code v1-v2} und die optimale Position.
+     * <p>
+     * Ist die Quadrik invertierbar und die Kante kein Rand, liegt die Position im Minimum der
+     * Quadrik; sonst wird die beste der beiden Endpunkte und des Mittelpunkts genommen.
+     *
+     * @param result Ziel für die Position ({@code x, y, z}).
+     * @return Der Fehler.
+     */
+    private double edgeError(int v1, int v2, double[] result) {
+        double[] q = sum;
+        for (int k = 0; k < 10; k++) {
+            q[k] = quadric[v1 * 10 + k] + quadric[v2 * 10 + k];
+        }
+        double det = det(q, 0, 1, 2, 1, 4, 5, 2, 5, 7);
+        if (det != 0 && !(border[v1] && border[v2])) {
+            result[0] = -1 / det * det(q, 1, 2, 3, 4, 5, 6, 5, 7, 8);
+            result[1] = 1 / det * det(q, 0, 2, 3, 1, 5, 6, 2, 7, 8);
+            result[2] = -1 / det * det(q, 0, 1, 3, 1, 4, 6, 2, 5, 8);
+            return vertexError(q, result[0], result[1], result[2]);
+        }
+        int a = v1 * 3, b = v2 * 3;
+        double mx = (position[a] + position[b]) / 2;
+        double my = (position[a + 1] + position[b + 1]) / 2;
+        double mz = (position[a + 2] + position[b + 2]) / 2;
+        double e1 = vertexError(q, position[a], position[a + 1], position[a + 2]);
+        double e2 = vertexError(q, position[b], position[b + 1], position[b + 2]);
+        double e3 = vertexError(q, mx, my, mz);
+        double min = Math.min(e1, Math.min(e2, e3));
+        if (min == e1) {
+            System.arraycopy(position, a, result, 0, 3);
+        } else if (min == e2) {
+            System.arraycopy(position, b, result, 0, 3);
+        } else {
+            result[0] = mx;
+            result[1] = my;
+            result[2] = mz;
+        }
+        return min;
+    }
+
+    private static double det(double[] m, int a11, int a12, int a13, int a21, int a22, int a23,
+                              int a31, int a32, int a33) {
+        return m[a11] * m[a22] * m[a33] + m[a13] * m[a21] * m[a32] + m[a12] * m[a23] * m[a31]
+                - m[a13] * m[a22] * m[a31] - m[a11] * m[a23] * m[a32] - m[a12] * m[a21] * m[a33];
+    }
+
+    private static double vertexError(double[] q, double x, double y, double z) {
+        return q[0] * x * x + 2 * q[1] * x * y + 2 * q[2] * x * z + 2 * q[3] * x + q[4] * y * y
+                + 2 * q[5] * y * z + 2 * q[6] * y + q[7] * z * z + 2 * q[8] * z + q[9];
+    }
+
+    /**
+     * Erzeugt das Ergebnis ohne gelöschte Dreiecke und unbenutzte Eckpunkte in den
+     * ursprünglichen Koordinaten.
+     */
+    private FloatMesh toMesh(FloatMesh source) {
+        int[] remap = new int[vertexCount];
+        Arrays.fill(remap, -1);
+        int triangles = 0;
+        int vertices = 0;
+        for (int t = 0; t < triangleCount; t++) {
+            if (deleted[t]) {
+                continue;
+            }
+            for (int j = 0; j < 3; j++) {
+                int v = corner[t * 3 + j];
+                if (remap[v] < 0) {
+                    remap[v] = vertices++;
+                }
+            }
+            triangles++;
+        }
+        double radius = source.getRadius();
+        double scale = radius > 0 ? radius : 1;
+        float[] positions = new float[vertices * 3];
+        for (int v = 0; v < vertexCount; v++) {
+            int r = remap[v];
+            if (r >= 0) {
+                for (int axis = 0; axis < 3; axis++) {
+                    positions[r * 3 + axis] = (float) (position[v * 3 + axis] * scale + source.getCenter(axis));
+                }
+            }
+        }
+        int[] indices = new int[triangles * 3];
+        int i = 0;
+        for (int t = 0; t < triangleCount; t++) {
+            if (!deleted[t]) {
+                for (int j = 0; j < 3; j++) {
+                    indices[i++] = remap[corner[t * 3 + j]];
+                }
+            }
+        }
+        return FloatMesh.of(positions, indices);
+    }
+}
@@ -0,0 +1,157 @@
+package renderer.pipeline;
+
+/**
+ * Wählt die Auflösung interaktiver Frames so, dass eine Ziel-Renderzeit eingehalten wird, und
+ * verfeinert das Bild schrittweise, sobald keine Eingaben mehr kommen.
+ * <p>
+ * Solange Eingaben (Ziehen, Slider) weniger als die Ruhezeit zurückliegen, wird mit dem Faktor
+ * {@link #getScale()} gerendert ({@link Quality#REDUCED}). Nach jedem Frame wird der Faktor aus der
+ * gemessenen Renderzeit nachgeführt: Die Kosten wachsen etwa mit der Pixelzahl, also mit dem
+ * Quadrat des Faktors. Der Faktor wird auf Vielfache von {@link #SCALE_STEP} abgerundet und
+ * steigt erst, wenn die Messung eine ganze Stufe Luft zeigt; so entsteht nicht bei jedem Frame
+ * ein Puffer neuer Größe. Nach der Ruhezeit folgen ein Frame in voller Auflösung
+ * ({@link Quality#FULL}) und einer mit Kantenglättung ({@link Quality#ANTI_ALIASED}); danach
+ * bleibt die Qualität bis zur nächsten Eingabe bei der höchsten Stufe.
+ * <p>
+ * Die Methoden sind synchronisiert: Eingaben und Snapshots kommen vom Oberflächen-Thread, die
+ * Messungen vom Render-Thread.
+ */
+public class AdaptiveResolution {
+
+    /** Standard-Ziel für die Renderzeit eines interaktiven Frames in Millisekunden. */
+    public static final double DEFAULT_TARGET_MILLIS = 16;
+
+    /** Standard-Untergrenze des Auflösungsfaktors. */
+    public static final double DEFAULT_MIN_SCALE = 0.25;
+
+    /** Standard-Ruhezeit nach der letzten Eingabe bis zur Verfeinerung in Millisekunden. */
+    public static final double DEFAULT_IDLE_MILLIS = 150;
+
+    /** Kantenlänge der Abtastpunkte pro Pixel in der höchsten Stufe. */
+    public static final int SUPERSAMPLING = 2;
+
+    /** Schrittweite, auf die der Auflösungsfaktor gerundet wird. */
+    public static final double SCALE_STEP = 0.125;
+
+    /**
+     * Die Qualitätsstufen eines Frames.
+     */
+    public enum Quality {
+        /** Verringerte Auflösung während einer Eingabe. */
+        REDUCED,
+        /** Volle Auflösung. */
+        FULL,
+        /** Volle Auflösung mit {@link #SUPERSAMPLING}-fachem Supersampling. */
+        ANTI_ALIASED
+    }
+
+    private final long targetNanos;
+    private final double minScale;
+    private final long idleNanos;
+
+    private long lastInput;
+    private boolean inputSeen;
+    private double scale = 1;
+    private Quality rendered;
+
+    /**
+     * Erzeugt eine Steuerung mit den Standardwerten.
+     */
+    public AdaptiveResolution() {
+        this(DEFAULT_TARGET_MILLIS, DEFAULT_MIN_SCALE, DEFAULT_IDLE_MILLIS);
+    }
+
+    /**
+     * Erzeugt eine Steuerung.
+     *
+     * @param targetMillis Die angestrebte Renderzeit interaktiver Frames in Millisekunden.
+     * @param minScale     Der kleinste Auflösungsfaktor (0 bis 1).
+     * @param idleMillis   Die Zeit ohne Eingabe, nach der verfeinert wird, in Millisekunden.
+     * @throws IllegalArgumentException bei nicht positivem Ziel oder Faktor außerhalb von (0, 1].
+     */
+    public AdaptiveResolution(double targetMillis, double minScale, double idleMillis) {
+        if (!(targetMillis > 0) || !(minScale > 0 && minScale <= 1) || !(idleMillis >= 0))
+            throw new IllegalArgumentException("Ungültige Parameter: Ziel " + targetMillis
+                    + " ms, Faktor " + minScale + ", Ruhezeit " + idleMillis + " ms");
+        this.targetNanos = (long) (targetMillis * 1e6);
+        this.minScale = minScale;
+        this.idleNanos = (long) (idleMillis * 1e6);
+    }
+
+    /**
+     * Meldet eine Eingabe, während der mit verringerter Auflösung gerendert werden darf.
+     *
+     * @param now Der Zeitpunkt ({@link System#nanoTime()}).
+     */
+    public synchronized void input(long now) {
+        lastInput = now;
+        inputSeen = true;
+    }
+
+    /**
+     * Trägt Auflösungsfaktor und Supersampling für den nächsten Frame in einen Zustand ein.
+     *
+     * @param view Der Zustand des nächsten Frames.
+     * @param now  Der Zeitpunkt ({@link System#nanoTime()}).
+     * @return Die gewählte Qualitätsstufe.
+     */
+    public synchronized Quality apply(ViewState view, long now) {
+        Quality quality;
+        if (!isIdle(now)) {
+            quality = scale < 1 ? Quality.REDUCED : Quality.FULL;
+        } else {
+            // Eine Stufe über dem zuletzt gerenderten Frame.
+            quality = rendered == null || rendered == Quality.REDUCED ? Quality.FULL : Quality.ANTI_ALIASED;
+        }
+        view.scale = quality == Quality.REDUCED ? scale : 1;
+        view.supersampling = quality == Quality.ANTI_ALIASED ? SUPERSAMPLING : 1;
+        return quality;
+    }
+
+    /**
+     * Meldet einen fertigen Frame und führt den Auflösungsfaktor nach.
+     *
+     * @param view  Der gerenderte Zustand (mit den Werten aus {@link #apply}).
+     * @param nanos Die Renderzeit in Nanosekunden.
+     */
+    public synchronized void rendered(ViewState view, long nanos) {
+        rendered = view.supersampling > 1 ? Quality.ANTI_ALIASED : view.scale < 1 ? Quality.REDUCED : Quality.FULL;
+        if (rendered == Quality.ANTI_ALIASED || nanos <= 0) {
+            return;
+        }
+        // Renderzeit ~ Pixelzahl ~ Faktor^2.
+        double ideal = Math.min(1, Math.max(minScale, view.scale * Math.sqrt((double) targetNanos / nanos)));
+        double stepped = Math.max(minScale, Math.floor(ideal / SCALE_STEP) * SCALE_STEP);
+        if (stepped < scale || ideal >= scale + SCALE_STEP || ideal == 1) {
+            scale = ideal == 1 ? 1 : stepped;
+        }
+    }
+
+    /**
+     * Prüft, ob ohne neue Eingabe ein besserer Frame gerendert werden soll.
+     *
+     * @param now Der Zeitpunkt ({@link System#nanoTime()}).
+     * @return {@code true}, wenn die Ruhezeit abgelaufen ist und die höchste Stufe noch fehlt.
+     */
+    public synchronized boolean needsRefinement(long now) {
+        return rendered != null && rendered != Quality.ANTI_ALIASED && isIdle(now);
+    }
+
+    private boolean isIdle(long now) {
+        return !inputSeen || now - lastInput >= idleNanos;
+    }
+
+    /**
+     * @return Der aktuelle Auflösungsfaktor für Frames während einer Eingabe.
+     */
+    public synchronized double getScale() {
+        return scale;
+    }
+
+    /**
+     * @return Die Qualitätsstufe des zuletzt gerenderten Frames oder {@code null}.
+     */
+    public synchronized Quality getRendered() {
+        return rendered;
+    }
+}
@@ -0,0 +1,334 @@
+package renderer.pipeline;
+
+import renderer.geometry.GeometryStage;
+import renderer.geometry.Matrix3;
+import renderer.geometry.VertexArrays;
+import renderer.mesh.io.ChunkStream;
+import renderer.mesh.io.ChunkedMeshFile;
+import renderer.profiling.FrameProfiler;
+import renderer.profiling.Stage;
+import renderer.raster.FrameBuffer;
+import renderer.raster.Rasterizer;
+import renderer.raster.TiledRasterizer;
+import renderer.raster.TriangleBatch;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Rendert ein Modell aus einer {@link ChunkedMeshFile} blockweise, ohne es vollständig zu laden.
+ * <p>
+ * Pro Frame werden alle Blöcke der Datei in ihrer Reihenfolge gelesen, transformiert, verworfen,
+ * schattiert, geclippt und in den gemeinsamen Farb- und Z-Buffer gerastert; danach wird der
+ * Blockpuffer wiederverwendet. Ein {@link ChunkStream} liest die folgenden Blöcke auf einem
+ * eigenen Thread vor, während der aktuelle Block verarbeitet wird. Da die Dreiecke in derselben
+ * Reihenfolge gerastert werden, entspricht das Bild exakt dem des {@link Renderer} für dasselbe
+ * Modell.
+ * <p>
+ * Der Speicherbedarf ist durch ein Budget begrenzt: Die Arbeitspuffer werden für die Größe
+ * des größten Blocks angelegt, der Rest des Budgets bestimmt die Anzahl der vorgelesenen
+ * Blöcke. Der Batch wächst nicht; zerfallen beim Clipping so viele Dreiecke, dass er voll
+ * ist, wird er gerastert und weiter gefüllt. Nicht enthalten sind der Render-Puffer und die
+ * Puffer des Kachel-Rasterisierers, die nur von der Auflösung abhängen. Blöcke, deren
+ * Begrenzungskugel vollständig außerhalb des Bildes oder laut
+ * {@link renderer.raster.HierarchicalZ hierarchischem Z-Buffer} hinter bereits gezeichneten
+ * Blöcken liegt, werden ohne Transformation übersprungen.
+ * <p>
+ * Die Blöcke eines Frames werden immer auf dem aufrufenden Thread verarbeitet; eine Instanz
+ * darf nur von einem Thread gleichzeitig benutzt werden.
+ */
+public class ChunkedRenderer implements AutoCloseable {
+
+    // Größe eines Dreiecks im Batch (neun Koordinaten und eine Farbe).
+    private static final int BATCH_BYTES_PER_TRIANGLE = 9 * 8 + 4;
+    // Reserve für Dreiecke, die beim Clipping in mehrere zerfallen; reicht sie nicht, wird
+    // der Batch vorzeitig gerastert.
+    private static final int CLIP_EXPANSION = 2;
+
+    private final ChunkStream stream;
+    private final ChunkedMeshFile.Header header;
+    private final TiledRasterizer tiledRasterizer;
+    private final GeometryStage geometryStage = new GeometryStage();
+    private final TriangleSetup setup = new TriangleSetup(geometryStage);
+    private final TriangleBatch triangles;
+    private final FrameProfiler profiler = new FrameProfiler();
+
+    // Transformierte Eckpunkte des aktuellen Blocks und die transformierte Blockmitte.
+    private final VertexArrays transformed = new VertexArrays();
+    private final double[] center = new double[3];
+    private final Matrix3 rotation = new Matrix3();
+    private double depth;
+
+    private int skippedChunks, occludedChunks;
+
+    // Zustand des laufenden Frames für das Rastern eines vollen Batches.
+    private ViewState frameView;
+    private FrameBuffer frameTarget;
+    private long fragments;
+
+    /**
+     * Öffnet eine Datei und legt die Puffer innerhalb des Speicherbudgets an.
+     *
+     * @param file            Die Datei im Format {@link ChunkedMeshFile}.
+     * @param memoryBudget    Das Speicherbudget in Bytes für Blockpuffer und Arbeitspuffer.
+     * @param tiledRasterizer Der parallele Rasterisierer; wird mit {@link #close()} beendet.
+     *                        Bei {@code null} wird immer seriell gerastert.
+     * @throws IOException              wenn die Datei nicht geöffnet werden kann.
+     * @throws IllegalArgumentException wenn das Budget nicht für zwei Blöcke reicht.
+     */
+    public ChunkedRenderer(Path file, long memoryBudget, TiledRasterizer tiledRasterizer) throws IOException {
+        ChunkedMeshFile.Header h = ChunkedMeshFile.readHeader(file);
+        long workspace = workspaceBytes(h);
+        long chunkBytes = Math.max(1, h.getMaxChunkBytes());
+        // Mindestens zwei Blockpuffer, damit Lesen und Rendern überlappen (bei nur einem Block genügt einer).
+        int minBuffers = Math.min(2, Math.max(1, h.getChunkCount()));
+        long buffers = Math.min(Math.max(1, h.getChunkCount()), (memoryBudget - workspace) / chunkBytes);
+        if (buffers < minBuffers) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT,
+                    "Speicherbudget zu klein: %d Bytes, benötigt mindestens %d Bytes",
+                    memoryBudget, workspace + minBuffers * chunkBytes));
+        }
+        this.stream = new ChunkStream(file, (int) buffers);
+        this.header = stream.getHeader();
+        this.tiledRasterizer = tiledRasterizer;
+        this.transformed.resize(header.getMaxChunkVertices());
+        this.triangles = new TriangleBatch(header.getTrianglesPerChunk() * CLIP_EXPANSION);
+        this.triangles.setOverflow(this::rasterize);
+    }
+
+    /**
+     * Liefert den Speicherbedarf der Arbeitspuffer für die Blöcke einer Datei.
+     *
+     * @param header Der Kopf der Datei.
+     * @return Die Bytes für transformierte Eckpunkte, sichtbare Dreiecke, deren Normalen und den Batch.
+     */
+    static long workspaceBytes(ChunkedMeshFile.Header header) {
+        long triangles = header.getTrianglesPerChunk();
+        return header.getMaxChunkVertices() * 3L * 8
+                + triangles * (8 + 3 * 8)
+                + triangles * CLIP_EXPANSION * BATCH_BYTES_PER_TRIANGLE;
+    }
+
+    /**
+     * Rendert einen Frame und verwendet dabei einen vorhandenen Puffer, sofern die Größe passt.
+     * <p>
+     * Das Modell aus {@link ViewState#model}, die Grundform und die Detailstufen werden ignoriert,
+     * ebenso {@link ViewState#deferred}: Die Materialtabelle wüchse mit den sichtbaren Dreiecken
+     * aller Blöcke und damit über das Speicherbudget hinaus. Aus demselben Grund
+     * wird {@link ViewState#texture} ignoriert, ebenso {@link ViewState#msaa}.
+     *
+     * @param view  Die Parameter des Frames.
+     * @param reuse Ein wiederzuverwendender Puffer oder {@code null}.
+     * @return Der Puffer mit dem fertigen Frame ({@code reuse} oder ein neu angelegter).
+     * @throws IOException wenn ein Block nicht gelesen werden konnte.
+     */
+    public FrameBuffer render(ViewState view, FrameBuffer reuse) throws IOException {
+        FrameBuffer target = reuse;
+        if (target == null || target.getWidth() != view.width || target.getHeight() != view.height
+                || target.getDepthFormat() != view.depthFormat) {
+            target = new FrameBuffer(view.width, view.height, view.depthFormat);
+        }
+        renderInto(view, target);
+        return target;
+    }
+
+    /**
+     * Rendert einen Frame in einen vorhandenen Puffer.
+     *
+     * @param view   Die Parameter des Frames (die Auflösung wird vom Puffer bestimmt).
+     * @param target Das Render-Ziel.
+     * @throws IOException wenn ein Block nicht gelesen werden konnte.
+     */
+    public void renderInto(ViewState view, FrameBuffer target) throws IOException {
+        FrameProfiler p = profiler;
+        p.beginFrame();
+        int width = target.getWidth();
+        int height = target.getHeight();
+        long t0 = p.start();
+        target.getHierarchicalZ().setEnabled(view.hierarchicalZ);
+        target.clear(Renderer.BACKGROUND);
+        p.stop(Stage.CLEAR, t0);
+
+        Matrix3 transform = rotation.setHeadingPitchRoll(view.rotationX, view.rotationY, view.rotationZ);
+        double scale = TriangleSetup.fitScale(header.getRadius());
+        double cx = header.getCenter(0), cy = header.getCenter(1), cz = header.getCenter(2);
+        geometryStage.setViewport(width, height);
+        geometryStage.setBackFaceCulling(view.backFaceCulling);
+        geometryStage.resetCounters();
+        skippedChunks = 0;
+        occludedChunks = 0;
+        boolean occlusion = view.occlusionCulling && target.getHierarchicalZ().isEnabled();
+        frameView = view;
+        frameTarget = target;
+        fragments = 0;
+
+        try {
+            stream.start();
+            while (true) {
+                // Das Warten auf den nächsten Block zählt als Abruf des Meshes.
+                t0 = p.start();
+                ChunkStream.Chunk chunk = stream.next();
+                p.stop(Stage.MESH, t0);
+                if (chunk == null) {
+                    break;
+                }
+                try {
+                    if (!isOnScreen(chunk, transform, cx, cy, cz, scale, view.zoom, width, height)) {
+                        skippedChunks++;
+                        continue;
+                    }
+                    // center enthält jetzt Bildposition und Radius der Begrenzungskugel.
+                    double r = center[2];
+                    if (occlusion && target.getHierarchicalZ().isOccluded(
+                            center[0] - r, center[1] - r, center[0] + r, center[1] + r, depth + r)) {
+                        occludedChunks++;
+                        continue;
+                    }
+
+                    t0 = p.start();
+                    int vertexCount = chunk.getVertexCount();
+                    TriangleSetup.fit(chunk.getPositions(), vertexCount, cx, cy, cz, scale, transformed);
+                    transform.transform(transformed, transformed, view.simd);
+                    TriangleSetup.zoomAndCenter(transformed, view.zoom, width, height);
+                    p.stop(Stage.TRANSFORM, t0);
+
+                    IntBuffer indices = chunk.getIndices();
+                    setup.setup(view.color, transformed, indices, chunk.getTriangleCount(), triangles, p, null, null);
+                } finally {
+                    stream.release(chunk);
+                }
+
+                rasterize(triangles);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Rendern unterbrochen");
+        } finally {
+            frameView = null;
+            frameTarget = null;
+        }
+
+        if (p.isActive()) {
+            p.endFrame(geometryStage.getSubmitted(), geometryStage.getEmitted(), fragments);
+        }
+    }
+
+    /**
+     * Rastert den Batch in den Puffer des laufenden Frames; auch für einen vollen Batch während
+     * des Clippings, dessen Zeit dann zusätzlich im Abschnitt Clip erscheint.
+     */
+    private void rasterize(TriangleBatch batch) {
+        FrameProfiler p = profiler;
+        ViewState view = frameView;
+        FrameBuffer target = frameTarget;
+        long t0 = p.start();
+        if (view.parallel && tiledRasterizer != null) {
+            tiledRasterizer.drawBatch(target, batch, view.simd);
+        } else {
+            Rasterizer.drawBatch(target, batch, view.simd);
+        }
+        p.stop(Stage.RASTER, t0);
+        if (p.isActive()) {
+            fragments += TriangleSetup.fragments(batch, target.getWidth(), target.getHeight());
+        }
+    }
+
+    /**
+     * Prüft, ob die Begrenzungskugel eines Blocks das Bild berühren kann. Danach enthält
+     * {@link #center} Bildposition und Radius der Kugel, {@link #depth} die Tiefe ihrer Mitte.
+     */
+    private boolean isOnScreen(ChunkStream.Chunk chunk, Matrix3 transform, double cx, double cy, double cz,
+                               double scale, double zoom, int width, int height) {
+        center[0] = (chunk.getCenter(0) - cx) * scale;
+        center[1] = -(chunk.getCenter(1) - cy) * scale;
+        center[2] = (chunk.getCenter(2) - cz) * scale;
+        transform.transform(center, center, 1);
+        double x = center[0] * zoom + width / 2.0;
+        double y = center[1] * zoom + height / 2.0;
+        double r = chunk.getRadius() * scale * zoom;
+        depth = center[2] * zoom;
+        center[0] = x;
+        center[1] = y;
+        center[2] = r;
+        return x + r >= 0 && x - r <= width && y + r >= 0 && y - r <= height;
+    }
+
+    /**
+     * @return Der Kopf der gerenderten Datei.
+     */
+    public ChunkedMeshFile.Header getHeader() {
+        return header;
+    }
+
+    /**
+     * @return Die Anzahl der vorgelesenen Blockpuffer.
+     */
+    public int getBufferCount() {
+        return stream.getBufferCount();
+    }
+
+    /**
+     * Liefert den belegten Speicher aus Blockpuffern und Arbeitspuffern. Er bleibt unabhängig von
+     * der Geometrie innerhalb des Budgets, da keiner der Puffer nach dem Öffnen wächst.
+     *
+     * @return Der Speicherbedarf in Bytes.
+     */
+    public long getMemoryBytes() {
+        return stream.getBufferBytes()
+                + transformed.getBytes()
+                + (long) header.getTrianglesPerChunk() * (8 + 3 * 8)
+                + (long) triangles.capacity() * BATCH_BYTES_PER_TRIANGLE;
+    }
+
+    /**
+     * @return Die Anzahl der Blöcke, die im zuletzt gerenderten Frame außerhalb des Bildes lagen.
+     */
+    public int getSkippedChunks() {
+        return skippedChunks;
+    }
+
+    /**
+     * @return Die Anzahl der Blöcke, die im zuletzt gerenderten Frame als verdeckt übersprungen
+     *         wurden.
+     */
+    public int getOccludedChunks() {
+        return occludedChunks;
+    }
+
+    /**
+     * Liefert die Geometrie-Stufe, deren Zähler sich auf den zuletzt gerenderten Frame beziehen.
+     *
+     * @return Die Geometrie-Stufe.
+     */
+    public GeometryStage getGeometryStage() {
+        return geometryStage;
+    }
+
+    /**
+     * Liefert den Profiler. Er ist zunächst deaktiviert.
+     *
+     * @return Der Profiler.
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Beendet den Lese-Thread, schließt die Datei und beendet den Kachel-Rasterisierer.
+     *
+     * @throws IOException wenn die Datei nicht geschlossen werden kann.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            stream.close();
+        } finally {
+            if (tiledRasterizer != null) {
+                tiledRasterizer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,719 @@
+package renderer.pipeline;
+
+import renderer.geometry.GeometryStage;
+import renderer.geometry.Matrix3;
+import renderer.geometry.VertexArrays;
+import renderer.mesh.FloatMesh;
+import renderer.mesh.Mesh;
+import renderer.mesh.MeshCache;
+import renderer.mesh.MeshFactory;
+import renderer.mesh.Shape;
+import renderer.mesh.lod.LodSelector;
+import renderer.profiling.FrameProfiler;
+import renderer.profiling.Stage;
+import renderer.raster.FrameBuffer;
+import renderer.raster.HierarchicalZ;
+import renderer.raster.LineRasterizer;
+import renderer.raster.Rasterizer;
+import renderer.raster.ReferenceRasterizer;
+import renderer.raster.ScreenRect;
+import renderer.raster.MultisampleBuffer;
+import renderer.raster.MultisampleRasterizer;
+import renderer.raster.Supersampling;
+import renderer.raster.TiledRasterizer;
+import renderer.raster.TriangleBatch;
+import renderer.scene.Scene;
+import renderer.scene.SceneObject;
+import renderer.shading.DeferredShading;
+import renderer.shading.TextureShading;
+import renderer.simd.Simd;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Die komplette Render-Pipeline ohne Abhängigkeit zu JavaFX.
+ * <p>
+ * Der Ablauf pro Frame:
+ * <ol>
+ *   <li>Löschen des Render-Puffers (ARGB-Farbwerte und Z-Buffer), beschränkt auf den Bereich,
+ *       in den der vorherige Frame gezeichnet hat ({@link FrameBuffer#getContentBounds()}).</li>
+ *   <li>Abrufen des indizierten Dreiecksnetzes (Mesh) aus dem {@link MeshCache} bzw. des
+ *       importierten Modells ({@link ViewState#model}); mit {@link ViewState#lod} in der
+ *       Detailstufe, die der {@link LodSelector} aus der projizierten Größe wählt.</li>
+ *   <li>Erzeugen der kombinierten Rotation aus Pitch (X-Achse), Heading (Y-Achse) und Roll
+ *       (Z-Achse) in einer wiederverwendeten Matrix.</li>
+ *   <li>Transformation und Zentrierung jedes Eckpunkts des Meshes (einmal pro Eckpunkt) in
+ *       wiederverwendete, getrennte Koordinaten-Arrays ({@link VertexArrays}).</li>
+ *   <li>Verwerfen abgewandter und nicht sichtbarer Dreiecke mit der {@link GeometryStage}.</li>
+ *   <li>Berechnung der Normalen aller sichtbaren Dreiecke, daraus des Beleuchtungsfaktors und
+ *       der Schattierung einmal pro sichtbarem Dreieck über {@link renderer.shading.Shading}.</li>
+ *   <li>Clipping am Sichtvolumen.</li>
+ *   <li>Rastern aller Dreiecke, parallel mit dem {@link TiledRasterizer} oder seriell
+ *       mit dem {@link Rasterizer}; mit {@link ViewState#reference} seriell mit dem
+ *       {@link ReferenceRasterizer}.</li>
+ * </ol>
+ * Die Schritte laufen als getrennte Durchläufe, damit der {@link FrameProfiler} jeden
+ * Abschnitt einzeln messen kann. Nach dem Rastern wird der Bereich des neuen Frames aus den
+ * Bildschirmkoordinaten der Eckpunkte bzw. der Begrenzungskugeln bestimmt und im Puffer
+ * vermerkt; alles außerhalb ist Hintergrund. Mit {@link ViewState#scale} wird mit verringerter
+ * Auflösung gerendert, mit {@link ViewState#supersampling} in einen größeren internen Puffer, der
+ * danach auf die Zielauflösung verkleinert wird ({@link Supersampling}). Mit
+ * {@link ViewState#wireframe} werden statt der Dreiecke nur die {@link Mesh#getEdges() Kanten}
+ * mit dem {@link LineRasterizer} gezeichnet; importierte Modelle werden weiterhin gefüllt
+ * gerendert.
+ * <p>
+ * Mit {@link ViewState#deferred} wird verzögert schattiert: Statt der Farbe rastern die Dreiecke
+ * eine ID aus der {@link DeferredShading Materialtabelle}, und ein abschließender Durchlauf über
+ * den gezeichneten Bereich schattiert jedes sichtbare Pixel genau einmal, beim parallelen
+ * Rastern in Zeilenstreifen auf den Threads des {@link TiledRasterizer}. Dreiecke, die durch
+ * Overdraw vollständig verdeckt werden, kosten so keine Schattierung. Das Bild ist gleich dem
+ * ohne verzögerte Schattierung.
+ * <p>
+ * Mit {@link ViewState#msaa} wird in einen {@link MultisampleBuffer} gleicher Auflösung
+ * gerastert und dieser am Ende des Frames in den Puffer aufgelöst. Die Farbe bleibt wie ohne
+ * Kantenglättung eine Schattierung pro Dreieck, geschrieben einmal pro Pixel; nur Abdeckung und
+ * Tiefe werden pro Abtastpunkt bestimmt. Der hierarchische Z-Buffer des Puffers bleibt dabei
+ * leer, sodass kein Objekt als verdeckt gilt, und verzögerte Schattierung entfällt.
+ * <p>
+ * Mit {@link ViewState#texture} wird wie bei verzögerter Schattierung eine ID pro Dreieck
+ * gerastert, hier aus der {@link TextureShading Dreieckstabelle der Textur}; der Durchlauf danach
+ * tastet die Textur einmal pro sichtbarem Pixel ab. Die Texturkoordinaten stammen aus einer
+ * Projektion des Objektraums (bei Szenen des Raums der Szene). Texturen schließen MSAA und
+ * verzögerte Schattierung aus.
+ * <p>
+ * Eine {@link Scene} ({@link ViewState#scene}) wird Objekt für Objekt gerendert, wahlweise von
+ * vorne nach hinten sortiert. Objekte außerhalb des Bildes verwirft die
+ * {@link renderer.scene.BoundingVolumeHierarchy Hüllkörper-Hierarchie} der Szene, ohne sie
+ * einzeln anzufassen. Vor der Transformation wird die projizierte Begrenzungskugel jedes
+ * Objekts gegen den {@link HierarchicalZ hierarchischen Z-Buffer} der bereits gezeichneten
+ * Objekte getestet; vollständig verdeckte Objekte werden übersprungen.
+ * Eine Instanz hält wiederverwendete Puffer und darf immer nur von einem Thread gleichzeitig
+ * benutzt werden. Sobald die Puffer auf die Größe des Meshes bzw. der Szene gewachsen sind,
+ * allokiert ein Frame mit dem skalaren Rasterisierer keinen Speicher mehr. Der
+ * {@link MeshCache} kann zwischen mehreren Instanzen geteilt werden.
+ */
+public class Renderer implements AutoCloseable {
+
+    /** Hintergrundfarbe eines Frames (Schwarz). */
+    public static final int BACKGROUND = 0xFF000000;
+
+    // Dreieckszahlen der Sphäre für die Stufen 0 bis MeshFactory.MAX_LOD_LEVEL.
+    private static final long[] SPHERE_TRIANGLES = new long[MeshFactory.MAX_LOD_LEVEL + 1];
+
+    static {
+        for (int level = 0; level < SPHERE_TRIANGLES.length; level++) {
+            SPHERE_TRIANGLES[level] = 4L << (2 * level);
+        }
+    }
+
+    private final MeshCache meshCache;
+    private final TiledRasterizer tiledRasterizer;
+    private final GeometryStage geometryStage = new GeometryStage();
+    private final TriangleBatch triangles = new TriangleBatch();
+
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final LodSelector lodSelector = new LodSelector();
+
+    private final TriangleSetup setup = new TriangleSetup(geometryStage);
+    // Rotation des aktuellen Frames; wird pro Frame neu belegt.
+    private final Matrix3 rotation = new Matrix3();
+
+    // Im aktuellen Frame gelöschter und neu gezeichneter Bereich.
+    private final ScreenRect clearedBounds = new ScreenRect();
+    private final ScreenRect drawnBounds = new ScreenRect();
+
+    // Zustand mit angepasster Auflösung und Vergrößerung für skalierte Frames und der interne
+    // Puffer für Supersampling; beide werden über die Frames wiederverwendet.
+    private final ViewState scaled = new ViewState();
+    private FrameBuffer supersampled;
+    private final ScreenRect resolvedBounds = new ScreenRect();
+
+    // Abtastpuffer für MSAA (wird bei gleicher Größe und Abtastzahl wiederverwendet), der des
+    // laufenden Frames oder null, sein gelöschter Bereich und das Ziel des parallelen Auflösens.
+    private MultisampleBuffer multisampled;
+    private MultisampleBuffer multisample;
+    private final ScreenRect multisampleCleared = new ScreenRect();
+    private FrameBuffer resolveTarget;
+    private final TiledRasterizer.RowBand resolveBand =
+            (fromY, toY) -> multisample.resolve(resolveTarget, drawnBounds, fromY, toY);
+
+    // Materialtabelle für verzögerte Schattierung, der Puffer des laufenden Durchlaufs und der
+    // Arbeitsschritt pro Zeilenstreifen (einmal angelegt, damit pro Frame nichts allokiert wird).
+    private final DeferredShading deferredShading = new DeferredShading();
+    private FrameBuffer deferredTarget;
+    private final TiledRasterizer.RowBand deferredBand =
+            (fromY, toY) -> deferredShading.shade(deferredTarget, drawnBounds, fromY, toY);
+
+    // Dasselbe für texturierte Flächen.
+    private final TextureShading textureShading = new TextureShading();
+    private FrameBuffer textureTarget;
+    private final TiledRasterizer.RowBand textureBand =
+            (fromY, toY) -> textureShading.shade(textureTarget, drawnBounds, fromY, toY);
+
+    // Wiederverwendete Koordinaten-Arrays für die transformierten Eckpunkte des aktuellen Meshes;
+    // sie wachsen auf das größte bisher gerenderte Mesh.
+    private final VertexArrays transformed = new VertexArrays();
+
+    // Zuletzt aus dem Cache geholte Grundform.
+    private Shape lastShape;
+    private int lastLevel;
+    private Mesh lastMesh;
+
+    // Sichtbare Szenenobjekte, ihre projizierten Mittelpunkte und ihre Zeichenreihenfolge
+    // (Tiefe bzw. Objektindex in den oberen, Position in visibleObjects in den unteren 32 Bit).
+    private int[] visibleObjects = new int[0];
+    private double[] objectCenters = new double[0];
+    private long[] objectOrder = new long[0];
+    private int drawnObjects, culledObjects, occludedObjects;
+    private long drawnTriangles;
+
+    /**
+     * Erzeugt einen Renderer mit einem Kachel-Rasterisierer in Standardkonfiguration.
+     *
+     * @param meshCache Der (ggf. geteilte) Cache der Dreiecksnetze.
+     */
+    public Renderer(MeshCache meshCache) {
+        this(meshCache, new TiledRasterizer());
+    }
+
+    /**
+     * Erzeugt einen Renderer mit einem eigenen Kachel-Rasterisierer.
+     *
+     * @param meshCache       Der (ggf. geteilte) Cache der Dreiecksnetze.
+     * @param tiledRasterizer Der parallele Rasterisierer; wird mit {@link #close()} beendet.
+     *                        Bei {@code null} wird immer seriell gerastert (z.B. wenn mehrere
+     *                        Renderer auf eigenen Threads laufen).
+     */
+    public Renderer(MeshCache meshCache, TiledRasterizer tiledRasterizer) {
+        this.meshCache = meshCache;
+        this.tiledRasterizer = tiledRasterizer;
+    }
+
+    /**
+     * Rendert einen Frame und verwendet dabei einen vorhandenen Puffer, sofern die Größe passt.
+     * <p>
+     * Der Puffer hat die mit {@link ViewState#scale} verringerte Auflösung
+     * ({@link #scaledSize(int, double)}); die Vergrößerung wird im selben Verhältnis angepasst,
+     * sodass das Bild nur gröber wird. Mit {@link ViewState#supersampling} größer als 1 wird in
+     * einen internen Puffer mit entsprechend vielfacher Auflösung gerendert und das Ergebnis in
+     * den zurückgegebenen Puffer verkleinert.
+     *
+     * @param view  Die Parameter des Frames.
+     * @param reuse Ein wiederzuverwendender Puffer oder {@code null}.
+     * @return Der Puffer mit dem fertigen Frame ({@code reuse} oder ein neu angelegter).
+     */
+    public FrameBuffer render(ViewState view, FrameBuffer reuse) {
+        int width = scaledSize(view.width, view.scale);
+        int height = scaledSize(view.height, view.scale);
+        FrameBuffer target = reuse;
+        if (target == null || target.getWidth() != width || target.getHeight() != height
+                || target.getDepthFormat() != view.depthFormat) {
+            target = new FrameBuffer(width, height, view.depthFormat);
+        }
+        int factor = Math.max(1, view.supersampling);
+        if (width == view.width && height == view.height && factor == 1) {
+            renderInto(view, target);
+            return target;
+        }
+        scaled.set(view);
+        scaled.zoom = view.zoom * width / view.width * factor;
+        scaled.scale = 1;
+        scaled.supersampling = 1;
+        if (factor == 1) {
+            renderInto(scaled, target);
+            return target;
+        }
+        if (supersampled == null || supersampled.getWidth() != width * factor
+                || supersampled.getHeight() != height * factor || supersampled.getDepthFormat() != view.depthFormat) {
+            supersampled = new FrameBuffer(width * factor, height * factor, view.depthFormat);
+        }
+        renderInto(scaled, supersampled);
+        Supersampling.resolve(supersampled, target, factor, BACKGROUND, resolvedBounds);
+        return target;
+    }
+
+    /**
+     * Berechnet eine mit {@link ViewState#scale} verringerte Kantenlänge.
+     *
+     * @param size  Die volle Kantenlänge in Pixeln.
+     * @param scale Der Faktor (höchstens 1).
+     * @return Die gerundete Kantenlänge, mindestens 1.
+     */
+    public static int scaledSize(int size, double scale) {
+        return scale >= 1 ? size : Math.max(1, (int) Math.round(size * scale));
+    }
+
+    /**
+     * Rendert einen Frame in einen vorhandenen Puffer.
+     *
+     * @param view   Die Parameter des Frames (die Auflösung wird vom Puffer bestimmt).
+     * @param target Das Render-Ziel.
+     */
+    public void renderInto(ViewState view, FrameBuffer target) {
+        FrameProfiler p = profiler;
+        p.beginFrame();
+        int width = target.getWidth();
+        int height = target.getHeight();
+        long t0 = p.start();
+        target.getHierarchicalZ().setEnabled(view.hierarchicalZ);
+        target.clear(BACKGROUND, clearedBounds);
+        multisample = multisampleOf(view, width, height);
+        if (multisample != null) {
+            multisample.clear(BACKGROUND, multisampleCleared);
+        }
+        // Bis der Frame fertig ist, gilt der Inhalt als unbekannt (z.B. nach einer Ausnahme).
+        drawnBounds.set(0, 0, width, height);
+        target.setContentBounds(drawnBounds);
+        if (multisample != null) {
+            multisample.setContentBounds(drawnBounds);
+        }
+        drawnBounds.setEmpty();
+        p.stop(Stage.CLEAR, t0);
+
+        deferredShading.clear();
+        textureShading.clear();
+        drawnObjects = 0;
+        culledObjects = 0;
+        occludedObjects = 0;
+        drawnTriangles = 0;
+        if (view.scene != null) {
+            renderScene(view, target);
+            return;
+        }
+
+        // Hole das Dreiecksnetz (Mesh) aus dem Cache; es wird nur beim ersten Zugriff pro Form und Stufe erzeugt.
+        // Ein importiertes Modell ersetzt die Grundform.
+        t0 = p.start();
+        FloatMesh model = view.model;
+        FloatMesh drawn = model;
+        int level = view.level;
+        if (view.lod) {
+            // Beide Formen und importierte Modelle haben den Radius der Sphäre.
+            double area = LodSelector.projectedArea(MeshFactory.SPHERE_RADIUS * view.zoom);
+            if (model == null && view.shape == Shape.SPHERE) {
+                level = lodSelector.select(Shape.SPHERE, SPHERE_TRIANGLES, area, view.lodDensity);
+            } else if (model != null && view.modelLod != null && view.modelLod.getModel() == model) {
+                drawn = view.modelLod.getLevel(lodSelector.select(view.modelLod,
+                        view.modelLod.getTriangleCounts(), area, view.lodDensity));
+            }
+        }
+        Mesh mesh = model == null ? meshOf(view.shape, level) : null;
+        p.stop(Stage.MESH, t0);
+
+        // Transformiere jeden (gemeinsam genutzten) Eckpunkt genau einmal und zentriere ihn im Bild.
+        t0 = p.start();
+        Matrix3 transform = rotation.setHeadingPitchRoll(view.rotationX, view.rotationY, view.rotationZ);
+        int vertexCount = model == null ? mesh.getVertexCount() : drawn.getVertexCount();
+        IntBuffer indices;
+        if (model == null) {
+            if (view.simd && Simd.isAvailable()) {
+                // Der SIMD-Kernel liest die Koordinaten fortlaufend aus getrennten Arrays.
+                transform.transform(mesh.getVertexArrays(), transformed, true);
+            } else {
+                transform.transform(mesh.getPositions(), transformed, vertexCount);
+            }
+            indices = mesh.getIndexBuffer();
+        } else {
+            // Alle Stufen werden mit den Maßen des Originals eingepasst, damit das Modell beim
+            // Wechsel der Stufe nicht springt.
+            TriangleSetup.fit(drawn.getPositions(), vertexCount, model.getCenter(0), model.getCenter(1),
+                    model.getCenter(2), TriangleSetup.fitScale(model.getRadius()), transformed);
+            transform.transform(transformed, transformed, view.simd);
+            indices = drawn.getIndices();
+        }
+        TriangleSetup.zoomAndCenter(transformed, view.zoom, width, height);
+        addBounds(transformed, width, height);
+        p.stop(Stage.TRANSFORM, t0);
+
+        if (view.wireframe && model == null) {
+            t0 = p.start();
+            LineRasterizer.drawEdges(target, transformed.getX(), transformed.getY(), mesh.getEdges(), view.color);
+            p.stop(Stage.RASTER, t0);
+            drawnObjects = 1;
+            drawnTriangles = mesh.getTriangleCount();
+            target.setContentBounds(drawnBounds);
+            if (p.isActive()) {
+                p.endFrame(mesh.getTriangleCount(), 0, 0);
+            }
+            return;
+        }
+
+        // Verwerfe nicht sichtbare Dreiecke, schattiere und clippe die übrigen in den Batch.
+        int triangleCount = indices.limit() / 3;
+        geometryStage.setViewport(width, height);
+        geometryStage.setBackFaceCulling(view.backFaceCulling);
+        geometryStage.resetCounters();
+        setup.setup(view.color, transformed, indices, triangleCount, triangles, p, deferredOf(view),
+                texturedOf(view, transform, width, height));
+
+        // Rastere alle Dreiecke in den Render-Puffer, wahlweise parallel in Kacheln oder seriell.
+        t0 = p.start();
+        rasterize(view, target);
+        p.stop(Stage.RASTER, t0);
+        shadeDeferred(view, target);
+        shadeTextured(view, target);
+        resolveMultisample(view, target);
+        drawnObjects = 1;
+        drawnTriangles = triangleCount;
+        target.setContentBounds(drawnBounds);
+
+        if (p.isActive()) {
+            p.endFrame(geometryStage.getSubmitted(), geometryStage.getEmitted(), TriangleSetup.fragments(triangles, width, height));
+        }
+    }
+
+    /**
+     * Rendert die Objekte einer Szene in den bereits gelöschten Puffer.
+     */
+    private void renderScene(ViewState view, FrameBuffer target) {
+        FrameProfiler p = profiler;
+        int width = target.getWidth();
+        int height = target.getHeight();
+        List<SceneObject> objects = view.scene.getObjects();
+        int n = objects.size();
+        Matrix3 transform = rotation.setHeadingPitchRoll(view.rotationX, view.rotationY, view.rotationZ);
+
+        // Sammle die Objekte im Bild über die Hüllkörper-Hierarchie und lege ihre Reihenfolge fest.
+        long t0 = p.start();
+        if (objectOrder.length < n) {
+            objectCenters = new double[n * 3];
+            objectOrder = new long[n];
+            visibleObjects = new int[n];
+        }
+        double[] centers = objectCenters;
+        int visible = view.scene.getHierarchy().cull(transform, view.zoom, width, height, visibleObjects, centers);
+        culledObjects = n - visible;
+        for (int k = 0; k < visible; k++) {
+            objectOrder[k] = view.frontToBack ? depthKey(centers[k * 3 + 2], k)
+                    : (long) visibleObjects[k] << 32 | k;
+        }
+        Arrays.sort(objectOrder, 0, visible);
+        p.stop(Stage.CULL, t0);
+
+        geometryStage.setViewport(width, height);
+        geometryStage.setBackFaceCulling(view.backFaceCulling);
+        geometryStage.resetCounters();
+        HierarchicalZ hiZ = target.getHierarchicalZ();
+        boolean occlusion = view.occlusionCulling && hiZ.isEnabled();
+        long fragments = 0;
+
+        for (int k = 0; k < visible; k++) {
+            int i = (int) objectOrder[k];
+            SceneObject object = objects.get(visibleObjects[i]);
+            double x = centers[i * 3], y = centers[i * 3 + 1], z = centers[i * 3 + 2];
+            double r = object.getRadius() * view.zoom;
+            // Verdeckungstest der Begrenzungskugel gegen die bisher gezeichneten Objekte.
+            t0 = p.start();
+            boolean occluded = occlusion && hiZ.isOccluded(x - r, y - r, x + r, y + r, z + r);
+            p.stop(Stage.CULL, t0);
+            if (occluded) {
+                occludedObjects++;
+                continue;
+            }
+            // Die Eckpunkte liegen innerhalb der Begrenzungskugel.
+            drawnBounds.add(x - r, y - r, x + r, y + r, width, height);
+
+            t0 = p.start();
+            Mesh mesh = object.getMesh();
+            object.place(transformed);
+            transform.transform(transformed, transformed, view.simd);
+            TriangleSetup.zoomAndCenter(transformed, view.zoom, width, height);
+            p.stop(Stage.TRANSFORM, t0);
+
+            if (view.wireframe) {
+                t0 = p.start();
+                LineRasterizer.drawEdges(target, transformed.getX(), transformed.getY(), mesh.getEdges(), object.getColor());
+                p.stop(Stage.RASTER, t0);
+                drawnObjects++;
+                drawnTriangles += mesh.getTriangleCount();
+                continue;
+            }
+            setup.setup(object.getColor(), transformed, mesh.getIndexBuffer(), mesh.getTriangleCount(),
+                    triangles, p, deferredOf(view), texturedOf(view, transform, width, height));
+
+            t0 = p.start();
+            rasterize(view, target);
+            p.stop(Stage.RASTER, t0);
+            drawnObjects++;
+            drawnTriangles += mesh.getTriangleCount();
+            if (p.isActive()) {
+                fragments += TriangleSetup.fragments(triangles, width, height);
+            }
+        }
+        shadeDeferred(view, target);
+        shadeTextured(view, target);
+        resolveMultisample(view, target);
+        target.setContentBounds(drawnBounds);
+
+        if (p.isActive()) {
+            p.endFrame(geometryStage.getSubmitted(), geometryStage.getEmitted(), fragments);
+        }
+    }
+
+    /**
+     * Erweitert den gezeichneten Bereich um die Eckpunkte eines transformierten Meshes.
+     */
+    private void addBounds(VertexArrays positions, int width, int height) {
+        double[] xs = positions.getX(), ys = positions.getY();
+        int vertexCount = positions.size();
+        double minX = Double.POSITIVE_INFINITY, minY = minX;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = maxX;
+        for (int i = 0; i < vertexCount; i++) {
+            double x = xs[i], y = ys[i];
+            // NaN überträgt sich, damit der ganze Bereich als unbekannt gilt.
+            minX = x < minX || x != x ? x : minX;
+            maxX = x > maxX || x != x ? x : maxX;
+            minY = y < minY || y != y ? y : minY;
+            maxY = y > maxY || y != y ? y : maxY;
+        }
+        if (vertexCount > 0) {
+            drawnBounds.add(minX, minY, maxX, maxY, width, height);
+        }
+    }
+
+    /**
+     * Bildet einen Sortierschlüssel, der nahe Objekte (großes z) zuerst einordnet.
+     */
+    private static long depthKey(double z, int index) {
+        int bits = Float.floatToIntBits((float) -z);
+        // Negative float-Werte in aufsteigende Reihenfolge bringen.
+        bits ^= (bits >> 31) & 0x7FFFFFFF;
+        return ((long) bits << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Liefert die Materialtabelle, wenn verzögert schattiert wird, sonst {@code null}.
+     */
+    private DeferredShading deferredOf(ViewState view) {
+        return view.deferred && multisample == null && view.texture == null ? deferredShading : null;
+    }
+
+    /**
+     * Liefert die Dreieckstabelle der Textur, eingestellt auf den aktuellen Frame, wenn
+     * texturiert wird, sonst {@code null}.
+     */
+    private TextureShading texturedOf(ViewState view, Matrix3 transform, int width, int height) {
+        if (view.texture == null) {
+            return null;
+        }
+        textureShading.setView(view.texture, view.textureFilter, transform, view.zoom, width, height);
+        return textureShading;
+    }
+
+    /**
+     * Liefert den Abtastpuffer für einen Frame mit MSAA und legt ihn bei Bedarf neu an.
+     *
+     * @return Der Puffer oder {@code null}, wenn ohne MSAA gerastert wird.
+     */
+    private MultisampleBuffer multisampleOf(ViewState view, int width, int height) {
+        if (view.msaa <= 1 || view.wireframe || view.texture != null) {
+            return null;
+        }
+        if (multisampled == null || multisampled.getWidth() != width || multisampled.getHeight() != height
+                || multisampled.getSamples() != view.msaa) {
+            // Den alten Puffer zuerst freigeben, damit nicht beide zugleich Speicher belegen.
+            multisampled = null;
+            multisampled = new MultisampleBuffer(width, height, view.msaa);
+        }
+        return multisampled;
+    }
+
+    /**
+     * Löst den Abtastpuffer im gezeichneten Bereich in den Puffer auf, wahlweise parallel in
+     * Zeilenstreifen. Ohne MSAA geschieht nichts.
+     */
+    private void resolveMultisample(ViewState view, FrameBuffer target) {
+        if (multisample == null) {
+            return;
+        }
+        long t0 = profiler.start();
+        multisample.setContentBounds(drawnBounds);
+        if (view.parallel && tiledRasterizer != null) {
+            resolveTarget = target;
+            try {
+                tiledRasterizer.forEachRowBand(drawnBounds.getMinY(), drawnBounds.getMaxY(), resolveBand);
+            } finally {
+                resolveTarget = null;
+            }
+        } else {
+            multisample.resolve(target, drawnBounds);
+        }
+        profiler.stop(Stage.RASTER, t0);
+    }
+
+    /**
+     * Ersetzt die gerasterten IDs im gezeichneten Bereich durch die schattierten Farben,
+     * wahlweise parallel in Zeilenstreifen. Ohne IDs (z.B. im Drahtgitter) geschieht nichts.
+     */
+    private void shadeDeferred(ViewState view, FrameBuffer target) {
+        if (deferredShading.size() == 0) {
+            return;
+        }
+        long t0 = profiler.start();
+        if (view.parallel && tiledRasterizer != null) {
+            deferredTarget = target;
+            try {
+                tiledRasterizer.forEachRowBand(drawnBounds.getMinY(), drawnBounds.getMaxY(), deferredBand);
+            } finally {
+                deferredTarget = null;
+            }
+        } else {
+            deferredShading.shade(target, drawnBounds, drawnBounds.getMinY(), drawnBounds.getMaxY());
+        }
+        profiler.stop(Stage.SHADE, t0);
+    }
+
+    /**
+     * Ersetzt die gerasterten IDs im gezeichneten Bereich durch die Farben der Textur, wahlweise
+     * parallel in Zeilenstreifen. Ohne IDs geschieht nichts.
+     */
+    private void shadeTextured(ViewState view, FrameBuffer target) {
+        if (textureShading.size() == 0) {
+            return;
+        }
+        long t0 = profiler.start();
+        if (view.parallel && tiledRasterizer != null) {
+            textureTarget = target;
+            try {
+                tiledRasterizer.forEachRowBand(drawnBounds.getMinY(), drawnBounds.getMaxY(), textureBand);
+            } finally {
+                textureTarget = null;
+            }
+        } else {
+            textureShading.shade(target, drawnBounds, drawnBounds.getMinY(), drawnBounds.getMaxY());
+        }
+        profiler.stop(Stage.SHADE, t0);
+    }
+
+    /**
+     * Rastert den aktuellen Batch, wahlweise parallel in Kacheln oder seriell.
+     */
+    private void rasterize(ViewState view, FrameBuffer target) {
+        if (multisample != null) {
+            if (view.parallel && tiledRasterizer != null) {
+                tiledRasterizer.drawBatch(multisample, triangles);
+            } else {
+                MultisampleRasterizer.drawBatch(multisample, triangles);
+            }
+        } else if (view.reference) {
+            ReferenceRasterizer.drawBatch(target, triangles);
+        } else if (view.parallel && tiledRasterizer != null) {
+            tiledRasterizer.drawBatch(target, triangles, view.simd);
+        } else {
+            Rasterizer.drawBatch(target, triangles, view.simd);
+        }
+    }
+
+    /**
+     * Liefert ein Mesh aus dem Cache. Das zuletzt benutzte wird direkt zurückgegeben, damit ein
+     * unveränderter Frame keinen Schlüssel für den Cache anlegt.
+     */
+    private Mesh meshOf(Shape shape, int level) {
+        if (shape != lastShape || level != lastLevel) {
+            lastMesh = meshCache.get(shape, level);
+            lastShape = shape;
+            lastLevel = level;
+        }
+        return lastMesh;
+    }
+
+    /**
+     * Liefert die zuletzt automatisch gewählte Detailstufe.
+     *
+     * @return Der Index in der Detailkette der Grundform bzw. des Modells (0 = gröbste) oder -1,
+     *         wenn noch nie automatisch gewählt wurde.
+     */
+    public int getLodLevel() {
+        return lodSelector.getCurrent();
+    }
+
+    /**
+     * @return Die Anzahl der im zuletzt gerenderten Frame gezeichneten Objekte (ohne Szene 1).
+     */
+    public int getDrawnObjects() {
+        return drawnObjects;
+    }
+
+    /**
+     * @return Die Anzahl der Szenenobjekte, die im zuletzt gerenderten Frame außerhalb des Bildes
+     *         lagen.
+     */
+    public int getCulledObjects() {
+        return culledObjects;
+    }
+
+    /**
+     * @return Die Anzahl der Dreiecke der im zuletzt gerenderten Frame gezeichneten Objekte
+     *         (vor Back-Face-Culling und Clipping).
+     */
+    public long getDrawnTriangles() {
+        return drawnTriangles;
+    }
+
+    /**
+     * @return Der im zuletzt gerenderten Frame gelöschte Bereich (keine Kopie).
+     */
+    public ScreenRect getClearedBounds() {
+        return clearedBounds;
+    }
+
+    /**
+     * @return Der Bereich, in den der zuletzt gerenderte Frame gezeichnet hat (keine Kopie).
+     */
+    public ScreenRect getDrawnBounds() {
+        return drawnBounds;
+    }
+
+    /**
+     * @return Die Anzahl der Szenenobjekte, die im zuletzt gerenderten Frame als verdeckt
+     *         übersprungen wurden.
+     */
+    public int getOccludedObjects() {
+        return occludedObjects;
+    }
+
+    /**
+     * @return Der Abtastpuffer des zuletzt gerenderten Frames (keine Kopie) oder {@code null},
+     *         wenn er ohne MSAA gerendert wurde.
+     */
+    public MultisampleBuffer getMultisampleBuffer() {
+        return multisample;
+    }
+
+    /**
+     * Liefert die Geometrie-Stufe, deren Zähler sich auf den zuletzt gerenderten Frame beziehen.
+     *
+     * @return Die Geometrie-Stufe.
+     */
+    public GeometryStage getGeometryStage() {
+        return geometryStage;
+    }
+
+    /**
+     * Liefert den Profiler der Pipeline. Er ist zunächst deaktiviert.
+     *
+     * @return Der Profiler.
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * @return Der Cache der Dreiecksnetze.
+     */
+    public MeshCache getMeshCache() {
+        return meshCache;
+    }
+
+    /**
+     * Beendet die Worker-Threads des Kachel-Rasterisierers.
+     */
+    @Override
+    public void close() {
+        if (tiledRasterizer != null) {
+            tiledRasterizer.close();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package renderer.pipeline;
+
+import renderer.geometry.GeometryStage;
+import renderer.geometry.VertexArrays;
+import renderer.mesh.MeshFactory;
+import renderer.profiling.FrameProfiler;
+import renderer.profiling.Stage;
+import renderer.raster.TriangleBatch;
+import renderer.shading.DeferredShading;
+import renderer.shading.Shading;
+import renderer.shading.TextureShading;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Die Geometrie-Durchläufe zwischen Transformation und Rasterisierung: Culling, Schattierung
+ * und Clipping eines indizierten Dreiecksnetzes mit bereits transformierten Eckpunkten.
+ * <p>
+ * Wird vom {@link Renderer} für ganze Meshes und vom {@link ChunkedRenderer} für einzelne
+ * Blöcke benutzt. Die Zähler der {@link GeometryStage} werden nicht zurückgesetzt, sodass sich
+ * mehrere Aufrufe innerhalb eines Frames addieren.
+ */
+final class TriangleSetup {
+
+    private final GeometryStage geometryStage;
+
+    // Wiederverwendete Puffer für die Indizes der sichtbaren Dreiecke, deren Normalen und Farben.
+    private int[] visible = new int[0];
+    private int[] colors = new int[0];
+    private final VertexArrays normals = new VertexArrays();
+
+    TriangleSetup(GeometryStage geometryStage) {
+        this.geometryStage = geometryStage;
+    }
+
+    /**
+     * Verwirft nicht sichtbare Dreiecke, schattiert die übrigen und clippt sie in einen Batch.
+     * <p>
+     * Viewport und Back-Face-Culling der {@link GeometryStage} müssen bereits gesetzt sein. Es
+     * wird nichts allokiert, sobald die Puffer die Größe des Meshes erreicht haben. Mit
+     * {@code deferred} erhält jedes Dreieck statt der schattierten Farbe eine ID aus der
+     * Materialtabelle; geschattet wird erst nach dem Rastern. Mit {@code textured} ebenso, nur
+     * mit einer ID aus der Dreieckstabelle der Textur, die dann die Grundfarbe ersetzt.
+     *
+     * @param color         Die Grundfarbe der Dreiecke als gepackter ARGB-Wert.
+     * @param transformed   Die transformierten Eckpunkte in Bildschirmkoordinaten.
+     * @param indices       Die Indizes, drei pro Dreieck.
+     * @param triangleCount Die Anzahl der Dreiecke.
+     * @param out           Der Ziel-Batch; wird vorher geleert.
+     * @param p             Der Profiler für die Abschnitte Cull, Shade und Clip.
+     * @param deferred      Die Materialtabelle für verzögerte Schattierung oder {@code null}.
+     * @param textured      Die Dreieckstabelle für texturierte Flächen oder {@code null}; hat
+     *                      Vorrang vor {@code deferred}.
+     */
+    void setup(int color, VertexArrays transformed, IntBuffer indices, int triangleCount,
+               TriangleBatch out, FrameProfiler p, DeferredShading deferred, TextureShading textured) {
+        double[] x = transformed.getX(), y = transformed.getY(), z = transformed.getZ();
+
+        // Verwerfe abgewandte und vollständig außerhalb liegende Dreiecke vor Schattierung und Rasterisierung.
+        long t0 = p.start();
+        if (visible.length < triangleCount) {
+            visible = new int[triangleCount];
+            colors = new int[triangleCount];
+        }
+        int visibleCount = 0;
+        for (int t = 0; t < triangleCount * 3; t += 3) {
+            int a = indices.get(t), b = indices.get(t + 1), c = indices.get(t + 2);
+            if (geometryStage.isVisible(x[a], y[a], z[a], x[b], y[b], z[b], x[c], y[c], z[c])) {
+                visible[visibleCount++] = t;
+            }
+        }
+        p.stop(Stage.CULL, t0);
+
+        // Berechne Normale und Schattierung jedes sichtbaren Dreiecks.
+        t0 = p.start();
+        normals.resize(visibleCount);
+        double[] nx = normals.getX(), ny = normals.getY(), nz = normals.getZ();
+        for (int i = 0; i < visibleCount; i++) {
+            int t = visible[i];
+            int a = indices.get(t), b = indices.get(t + 1), c = indices.get(t + 2);
+
+            // Berechne den Normalenvektor des Dreiecks via Kreuzprodukt der Kantenvektoren.
+            double abX = x[b] - x[a], abY = y[b] - y[a], abZ = z[b] - z[a];
+            double acX = x[c] - x[a], acY = y[c] - y[a], acZ = z[c] - z[a];
+            double normX = abY * acZ - abZ * acY;
+            double normY = abZ * acX - abX * acZ;
+            double normZ = abX * acY - abY * acX;
+            double normLength = Math.sqrt(normX * normX + normY * normY + normZ * normZ);
+            if (normLength != 0) {
+                normX /= normLength;
+                normY /= normLength;
+                normZ /= normLength;
+            }
+            nx[i] = normX;
+            ny[i] = normY;
+            nz[i] = normZ;
+        }
+        for (int i = 0; i < visibleCount; i++) {
+            // Der Beleuchtungsfaktor basiert auf dem Cosinus des Winkels zwischen dem Normalenvektor und der Blickrichtung (hier z-Achse).
+            // Abgewandte Flächen (nur bei deaktiviertem Culling sichtbar) erhalten kein Licht.
+            double angleCos = Math.max(0, nz[i]);
+
+            // Die Schattierung ist pro Dreieck konstant und wird daher nur einmal berechnet.
+            if (textured != null) {
+                int t = visible[i];
+                int a = indices.get(t), b = indices.get(t + 1), c = indices.get(t + 2);
+                colors[i] = textured.add(angleCos, nx[i], ny[i], nz[i],
+                        x[a], y[a], z[a], x[b], y[b], z[b], x[c], y[c], z[c]);
+            } else {
+                colors[i] = deferred == null ? Shading.shade(color, angleCos) : deferred.add(color, angleCos);
+            }
+        }
+        p.stop(Stage.SHADE, t0);
+
+        // Clippe die Dreiecke am Sichtvolumen und sammle das Ergebnis für den Rasterisierer.
+        t0 = p.start();
+        out.clear();
+        for (int i = 0; i < visibleCount; i++) {
+            int t = visible[i];
+            int a = indices.get(t), b = indices.get(t + 1), c = indices.get(t + 2);
+            geometryStage.clipAndEmit(out,
+                    x[a], y[a], z[a],
+                    x[b], y[b], z[b],
+                    x[c], y[c], z[c],
+                    colors[i]);
+        }
+        p.stop(Stage.CLIP, t0);
+    }
+
+    /**
+     * Liefert die Normalen der sichtbaren Dreiecke aus dem letzten Aufruf von {@link #setup}
+     * in der Reihenfolge, in der sie in den Batch geclippt wurden.
+     *
+     * @return Die Normalen (keine Kopie).
+     */
+    VertexArrays getNormals() {
+        return normals;
+    }
+
+    /**
+     * Liefert den Skalierungsfaktor, mit dem ein Modell mit dem angegebenen Radius der
+     * Begrenzungskugel so groß wie die Sphäre dargestellt wird.
+     *
+     * @param radius Der Radius der Begrenzungskugel des Modells.
+     * @return Der Skalierungsfaktor.
+     */
+    static double fitScale(double radius) {
+        return radius > 0 ? MeshFactory.SPHERE_RADIUS / radius : 1;
+    }
+
+    /**
+     * Verschiebt und skaliert die Eckpunkte eines importierten Modells so, dass seine
+     * Begrenzungskugel dieselbe Größe wie die Sphäre hat und im Ursprung liegt.
+     * <p>
+     * Die y-Achse wird dabei gespiegelt: Modelldateien verwenden y nach oben, der Renderer
+     * y nach unten. Dadurch bleiben auch die gegen den Uhrzeigersinn orientierten Vorderseiten
+     * von OBJ und STL für das Back-Face-Culling zugewandt.
+     *
+     * @param positions   Die Eckpunkte ({@code x, y, z} pro Eckpunkt) ab Index 0.
+     * @param vertexCount Die Anzahl der Eckpunkte.
+     * @param cx          x-Koordinate des Modellmittelpunkts.
+     * @param cy          y-Koordinate des Modellmittelpunkts.
+     * @param cz          z-Koordinate des Modellmittelpunkts.
+     * @param scale       Der Skalierungsfaktor aus {@link #fitScale(double)}.
+     * @param dst         Das Ziel; wird auf {@code vertexCount} Einträge gebracht.
+     */
+    static void fit(FloatBuffer positions, int vertexCount, double cx, double cy, double cz,
+                    double scale, VertexArrays dst) {
+        dst.resize(vertexCount);
+        double[] x = dst.getX(), y = dst.getY(), z = dst.getZ();
+        for (int i = 0, j = 0; i < vertexCount; i++, j += 3) {
+            x[i] = (positions.get(j) - cx) * scale;
+            y[i] = -(positions.get(j + 1) - cy) * scale;
+            z[i] = (positions.get(j + 2) - cz) * scale;
+        }
+    }
+
+    /**
+     * Vergrößert transformierte Eckpunkte um den Ursprung und verschiebt sie in die Bildmitte.
+     *
+     * @param transformed Die Eckpunkte; werden überschrieben.
+     * @param zoom        Die Vergrößerung.
+     * @param width       Die Breite des Frames.
+     * @param height      Die Höhe des Frames.
+     */
+    static void zoomAndCenter(VertexArrays transformed, double zoom, int width, int height) {
+        double[] x = transformed.getX(), y = transformed.getY(), z = transformed.getZ();
+        for (int i = 0; i < transformed.size(); i++) {
+            x[i] = x[i] * zoom + width / 2.0;
+            y[i] = y[i] * zoom + height / 2.0;
+            z[i] *= zoom;
+        }
+    }
+
+    /**
+     * Schätzt die Anzahl der abgedeckten Pixel aller Dreiecke (inkl. Overdraw) über ihre Fläche.
+     * <p>
+     * Dreiecke, die in den Schutzbereich ragen, zählen höchstens mit der Bildfläche.
+     *
+     * @param batch  Die gerasterten Dreiecke.
+     * @param width  Die Breite des Frames.
+     * @param height Die Höhe des Frames.
+     * @return Die geschätzte Anzahl der Fragmente.
+     */
+    static long fragments(TriangleBatch batch, int width, int height) {
+        double[] c = batch.getCoords();
+        double screen = (double) width * height;
+        double sum = 0;
+        for (int t = 0; t < batch.size(); t++) {
+            int i = t * 9;
+            double area = Math.abs((c[i + 3] - c[i]) * (c[i + 7] - c[i + 1]) - (c[i + 4] - c[i + 1]) * (c[i + 6] - c[i])) * 0.5;
+            sum += Math.min(area, screen);
+        }
+        return (long) sum;
+    }
+}
@@ -0,0 +1,198 @@
+package renderer.pipeline;
+
+import renderer.mesh.FloatMesh;
+import renderer.mesh.Shape;
+import renderer.mesh.lod.LodSelector;
+import renderer.mesh.lod.ModelLod;
+import renderer.raster.DepthFormat;
+import renderer.scene.Scene;
+import renderer.simd.Simd;
+import renderer.texture.Texture;
+import renderer.texture.TextureFilter;
+
+import java.util.Objects;
+
+/**
+ * Alle Parameter, die ein Frame beschreiben.
+ * <p>
+ * Die Oberfläche hält eine eigene Instanz und übergibt dem {@link Renderer} pro Frame
+ * eine Kopie ({@link #ViewState(ViewState)}). So kann auf einem anderen Thread gerendert
+ * werden, während die Oberfläche die Werte bereits weiter verändert.
+ */
+public class ViewState {
+    // Zu rendernde Grundform und deren Unterteilungsstufe.
+    public Shape shape = Shape.SPHERE;
+    public int level = 4;
+
+    // Importiertes Modell, das statt der Grundform gerendert wird (null = Grundform).
+    public FloatMesh model;
+    // Vereinfachte Stufen des Modells; werden nur benutzt, wenn sie zu model gehören.
+    public ModelLod modelLod;
+
+    // Szene aus mehreren Objekten, die statt Grundform und Modell gerendert wird (null = keine).
+    public Scene scene;
+
+    // Rotationswinkel in Radiant:
+    // rotationX steuert die Drehung um die Y-Achse (Heading, horizontal)
+    // rotationY steuert die Drehung um die X-Achse (Pitch, vertikal)
+    public double rotationX = 0;
+    public double rotationY = 0;
+    // rotationZ dreht das Bild zuletzt in der Bildebene (Roll).
+    public double rotationZ = 0;
+
+    // Vergrößerung; 1 zeigt die Sphäre mit ihrem Radius von etwa 173 Pixeln.
+    public double zoom = 1;
+
+    // Detailstufe pro Frame aus der projizierten Größe wählen (statt level bzw. des vollen Modells)
+    // und die Zieldichte dafür in Dreiecken pro überdecktem Pixel.
+    public boolean lod = false;
+    public double lodDensity = LodSelector.DEFAULT_DENSITY;
+
+    // Farbe des Objekts als gepackter ARGB-Wert, standardmäßig Weiß.
+    public int color = 0xFFFFFFFF;
+
+    // Auflösung des Frames in Pixeln.
+    public int width = 800;
+    public int height = 600;
+
+    // Faktor der tatsächlich gerenderten Auflösung (z.B. 0.5 während einer Interaktion) und
+    // Kantenlänge der Abtastpunkte pro Pixel für Kantenglättung (1 = aus, 2 = 2x2 Abtastpunkte).
+    public double scale = 1;
+    public int supersampling = 1;
+
+    // Render-Optionen: Back-Face-Culling und paralleles Rastern in Kacheln.
+    public boolean backFaceCulling = true;
+    public boolean parallel = true;
+
+    // Nur die Kanten des Meshes als Linien zeichnen (ohne Füllung und Tiefentest).
+    public boolean wireframe = false;
+
+    // Transformation und Rasterisierung mit der Vector API (nur wirksam, wenn das Modul geladen ist).
+    public boolean simd = Simd.isAvailable();
+
+    // Hierarchischer Z-Buffer im Rasterisierer; Verdeckungstest ganzer Objekte bzw. Blöcke
+    // dagegen (nur mit hierarchicalZ) und Zeichnen der Szenenobjekte von vorne nach hinten.
+    public boolean hierarchicalZ = true;
+    public boolean occlusionCulling = true;
+    public boolean frontToBack = true;
+
+    // Genauigkeit des Z-Buffers; FLOAT halbiert Speicher und Bandbreite.
+    public DepthFormat depthFormat = DepthFormat.DOUBLE;
+
+    // Referenzpfad: seriell mit dem baryzentrischen ReferenceRasterizer statt der Kantenfunktionen
+    // rastern (parallel und simd werden ignoriert), z.B. um optimierte Pfade damit zu vergleichen.
+    public boolean reference = false;
+
+    // Verzögerte Schattierung: Gerastert werden Dreiecks-IDs, geschattet wird danach einmal pro
+    // sichtbarem Pixel (siehe renderer.shading.DeferredShading).
+    public boolean deferred = false;
+
+    // Abtastpunkte pro Pixel für Multisample-Kantenglättung (0 = aus, 4 oder 8). Abdeckung und
+    // Tiefe werden pro Abtastpunkt, die Farbe einmal pro Pixel bestimmt (siehe
+    // renderer.raster.MultisampleBuffer). Ohne Wirkung im Drahtgitter; schließt verzögerte
+    // Schattierung und den Verdeckungstest ganzer Objekte aus.
+    public int msaa = 0;
+
+    // Textur, die auf alle Flächen projiziert wird und die Farbe ersetzt (null = einfarbig), und
+    // ihr Filter (siehe renderer.shading.TextureShading). Ohne Wirkung im Drahtgitter; schließt
+    // verzögerte Schattierung und MSAA aus.
+    public Texture texture = null;
+    public TextureFilter textureFilter = TextureFilter.TRILINEAR;
+
+    /**
+     * Erzeugt einen Zustand mit Standardwerten (weiße Sphäre, 800x600).
+     */
+    public ViewState() {
+    }
+
+    /**
+     * Erzeugt eine Kopie eines Zustands.
+     *
+     * @param other Der zu kopierende Zustand.
+     */
+    public ViewState(ViewState other) {
+        set(other);
+    }
+
+    /**
+     * Übernimmt alle Werte eines anderen Zustands.
+     *
+     * @param other Der zu kopierende Zustand.
+     * @return Dieser Zustand.
+     */
+    public ViewState set(ViewState other) {
+        this.shape = other.shape;
+        this.level = other.level;
+        this.model = other.model;
+        this.modelLod = other.modelLod;
+        this.scene = other.scene;
+        this.rotationX = other.rotationX;
+        this.rotationY = other.rotationY;
+        this.rotationZ = other.rotationZ;
+        this.zoom = other.zoom;
+        this.lod = other.lod;
+        this.lodDensity = other.lodDensity;
+        this.color = other.color;
+        this.width = other.width;
+        this.height = other.height;
+        this.scale = other.scale;
+        this.supersampling = other.supersampling;
+        this.backFaceCulling = other.backFaceCulling;
+        this.parallel = other.parallel;
+        this.wireframe = other.wireframe;
+        this.simd = other.simd;
+        this.hierarchicalZ = other.hierarchicalZ;
+        this.occlusionCulling = other.occlusionCulling;
+        this.frontToBack = other.frontToBack;
+        this.depthFormat = other.depthFormat;
+        this.reference = other.reference;
+        this.deferred = other.deferred;
+        this.msaa = other.msaa;
+        this.texture = other.texture;
+        this.textureFilter = other.textureFilter;
+        return this;
+    }
+
+    /**
+     * Vergleicht zwei Zustände. Gleiche Zustände ergeben denselben Frame; Modell, Detailstufen,
+     * Szene und Textur werden dabei nach Identität verglichen.
+     *
+     * @param o Der andere Zustand.
+     * @return {@code true}, wenn alle Werte übereinstimmen.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ViewState)) {
+            return false;
+        }
+        ViewState other = (ViewState) o;
+        return shape == other.shape && level == other.level
+                && model == other.model && modelLod == other.modelLod && scene == other.scene
+                && Double.compare(rotationX, other.rotationX) == 0
+                && Double.compare(rotationY, other.rotationY) == 0
+                && Double.compare(rotationZ, other.rotationZ) == 0
+                && Double.compare(zoom, other.zoom) == 0
+                && lod == other.lod && Double.compare(lodDensity, other.lodDensity) == 0
+                && color == other.color && width == other.width && height == other.height
+                && Double.compare(scale, other.scale) == 0 && supersampling == other.supersampling
+                && backFaceCulling == other.backFaceCulling && parallel == other.parallel
+                && wireframe == other.wireframe && simd == other.simd
+                && hierarchicalZ == other.hierarchicalZ && occlusionCulling == other.occlusionCulling
+                && frontToBack == other.frontToBack && depthFormat == other.depthFormat
+                && reference == other.reference && deferred == other.deferred && msaa == other.msaa
+                && texture == other.texture && textureFilter == other.textureFilter;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Objects.hash(shape, level, model, modelLod, scene, texture, color, width, height, depthFormat);
+        h = 31 * h + Double.hashCode(rotationX);
+        h = 31 * h + Double.hashCode(rotationY);
+        h = 31 * h + Double.hashCode(rotationZ);
+        h = 31 * h + Double.hashCode(scale);
+        return 31 * h + Double.hashCode(zoom);
+    }
+}
@@ -0,0 +1,58 @@
+package renderer.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Schreibt die Messwerte jedes Frames als CSV-Zeile, z.B. für headless Läufe.
+ * <p>
+ * Spalten: Frame-Nummer, Frame-Dauer, die Dauer jedes {@link Stage Abschnitts} (alle in
+ * Nanosekunden), Dreiecke des Meshes, gerasterte Dreiecke, Fragmente und allokierte Bytes.
+ * Die Kopfzeile wird beim Erzeugen geschrieben.
+ */
+public class FrameCsvWriter implements FrameListener, AutoCloseable {
+
+    private final Writer out;
+
+    /**
+     * Erzeugt einen Writer und schreibt die Kopfzeile.
+     *
+     * @param out Das Ziel; wird mit {@link #close()} geschlossen.
+     * @throws IOException bei Schreibfehlern.
+     */
+    public FrameCsvWriter(Writer out) throws IOException {
+        this.out = out;
+        StringBuilder header = new StringBuilder("frame,frame_ns");
+        for (Stage stage : Stage.values()) {
+            header.append(',').append(stage.name().toLowerCase(Locale.ROOT)).append("_ns");
+        }
+        header.append(",triangles_submitted,triangles_emitted,fragments,allocated_bytes\n");
+        out.write(header.toString());
+    }
+
+    @Override
+    public void frameCompleted(FrameRecord record) {
+        StringBuilder line = new StringBuilder(128);
+        line.append(record.getFrame()).append(',').append(record.getFrameNanos());
+        for (Stage stage : Stage.values()) {
+            line.append(',').append(record.getStageNanos(stage));
+        }
+        line.append(',').append(record.getTrianglesSubmitted())
+                .append(',').append(record.getTrianglesEmitted())
+                .append(',').append(record.getFragments())
+                .append(',').append(record.getAllocatedBytes())
+                .append('\n');
+        try {
+            out.write(line.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,67 @@
+package renderer.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK-Flight-Recorder-Event mit den Messwerten eines Frames.
+ * <p>
+ * Die Dauer des Events ist die Dauer des Frames. Aufzeichnen z.B. mit
+ * {@code -XX:StartFlightRecording=filename=render.jfr}.
+ */
+@Name("renderer.Frame")
+@Label("Frame")
+@Category({"Renderer"})
+@Description("Ein gerenderter Frame mit den Zeiten der einzelnen Pipeline-Abschnitte")
+@StackTrace(false)
+class FrameEvent extends Event {
+    @Label("Frame")
+    long frame;
+
+    @Label("Clear")
+    @Timespan
+    long clear;
+
+    @Label("Mesh")
+    @Timespan
+    long mesh;
+
+    @Label("Transform")
+    @Timespan
+    long transform;
+
+    @Label("Cull")
+    @Timespan
+    long cull;
+
+    @Label("Shade")
+    @Timespan
+    long shade;
+
+    @Label("Clip")
+    @Timespan
+    long clip;
+
+    @Label("Raster")
+    @Timespan
+    long raster;
+
+    @Label("Triangles Submitted")
+    long trianglesSubmitted;
+
+    @Label("Triangles Emitted")
+    long trianglesEmitted;
+
+    @Label("Fragments")
+    long fragments;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
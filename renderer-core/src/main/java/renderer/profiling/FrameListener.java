@@ -0,0 +1,15 @@
+package renderer.profiling;
+
+/**
+ * Empfängt die Messwerte jedes fertigen Frames.
+ * <p>
+ * Wird auf dem Render-Thread aufgerufen und sollte daher schnell zurückkehren.
+ */
+public interface FrameListener {
+    /**
+     * Wird nach jedem gemessenen Frame aufgerufen.
+     *
+     * @param record Die Messwerte des Frames.
+     */
+    void frameCompleted(FrameRecord record);
+}
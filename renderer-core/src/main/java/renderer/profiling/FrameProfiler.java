@@ -0,0 +1,272 @@
+package renderer.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Misst die Laufzeit der einzelnen Abschnitte der Render-Pipeline.
+ * <p>
+ * Die Pipeline klammert jeden Abschnitt mit {@link #start()} und {@link #stop(Stage, long)}
+ * und jeden Frame mit {@link #beginFrame()} und {@link #endFrame}. Pro Frame entstehen:
+ * <ul>
+ *   <li>Einträge in Latenz-Histogrammen pro Abschnitt und für den ganzen Frame,
+ *       abrufbar über {@link #summary(boolean)},</li>
+ *   <li>ein {@link FrameEvent} für den JDK Flight Recorder, sofern eine Aufzeichnung läuft,</li>
+ *   <li>ein {@link FrameRecord} für registrierte {@link FrameListener} (z.B. {@link FrameCsvWriter}).</li>
+ * </ul>
+ * Ist der Profiler deaktiviert, kostet jede Messstelle nur eine Abfrage eines Felds; es wird
+ * weder die Uhr gelesen noch allokiert. Der Zustand wird zu Beginn jedes Frames übernommen,
+ * sodass ein Umschalten während eines Frames erst ab dem nächsten Frame wirkt.
+ * <p>
+ * Die Messstellen eines Frames müssen vom selben Thread aufgerufen werden (dem Render-Thread).
+ * {@link #record(Stage, long)} und {@link #summary(boolean)} dürfen von beliebigen Threads kommen.
+ */
+public class FrameProfiler {
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final com.sun.management.ThreadMXBean ALLOCATION = allocationBean();
+
+    private volatile boolean enabled;
+    private final CopyOnWriteArrayList<FrameListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Zustand des Render-Threads für den laufenden Frame.
+    private boolean active;
+    private final long[] current = new long[STAGES.length];
+    private long frameStart;
+    private long allocationStart;
+    private FrameEvent event;
+
+    // Gemeinsamer Zustand, geschützt durch this.
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+    private final LatencyHistogram frameHistogram = new LatencyHistogram();
+    private long frames;
+    private long since = System.nanoTime();
+    private long sumSubmitted, sumEmitted, sumFragments, sumAllocated;
+    private long uploads, sumUploaded;
+
+    /**
+     * Erzeugt einen deaktivierten Profiler.
+     */
+    public FrameProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Aktiviert oder deaktiviert die Messung ab dem nächsten Frame.
+     *
+     * @param enabled true, um zu messen.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return true, wenn ab dem nächsten Frame gemessen wird.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true, wenn der laufende Frame gemessen wird (nur auf dem Render-Thread aussagekräftig).
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Registriert einen Empfänger für die Messwerte jedes Frames.
+     *
+     * @param listener Der Empfänger.
+     */
+    public void addListener(FrameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Entfernt einen Empfänger.
+     *
+     * @param listener Der Empfänger.
+     */
+    public void removeListener(FrameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Beginnt einen Frame.
+     */
+    public void beginFrame() {
+        active = enabled;
+        if (!active) {
+            return;
+        }
+        Arrays.fill(current, 0);
+        allocationStart = allocatedBytes();
+        event = new FrameEvent();
+        event.begin();
+        frameStart = System.nanoTime();
+    }
+
+    /**
+     * Beginnt die Messung eines Abschnitts.
+     *
+     * @return Der Startzeitpunkt für {@link #stop(Stage, long)} (0, wenn nicht gemessen wird).
+     */
+    public long start() {
+        return active ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Beendet die Messung eines Abschnitts. Mehrere Messungen desselben Abschnitts
+     * innerhalb eines Frames werden addiert.
+     *
+     * @param stage Der Abschnitt.
+     * @param start Der Rückgabewert von {@link #start()}.
+     */
+    public void stop(Stage stage, long start) {
+        if (active) {
+            current[stage.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Beendet einen Frame und trägt alle Messwerte ein.
+     *
+     * @param trianglesSubmitted Die Anzahl der Dreiecke des Meshes.
+     * @param trianglesEmitted   Die Anzahl der gerasterten Dreiecke.
+     * @param fragments          Die Anzahl der abgedeckten Pixel (inkl. Overdraw).
+     */
+    public void endFrame(long trianglesSubmitted, long trianglesEmitted, long fragments) {
+        if (!active) {
+            return;
+        }
+        active = false;
+        long frameNanos = System.nanoTime() - frameStart;
+        long allocated = allocationStart < 0 ? -1 : allocatedBytes() - allocationStart;
+
+        long frame;
+        synchronized (this) {
+            frame = frames++;
+            frameHistogram.record(frameNanos);
+            for (int i = 0; i < STAGES.length; i++) {
+                // Die Übertragung auf den Bildschirm wird separat über record() gemeldet.
+                if (STAGES[i] != Stage.BLIT) {
+                    histograms[i].record(current[i]);
+                }
+            }
+            sumSubmitted += trianglesSubmitted;
+            sumEmitted += trianglesEmitted;
+            sumFragments += fragments;
+            sumAllocated += allocated;
+        }
+
+        FrameEvent e = event;
+        event = null;
+        e.end();
+        if (e.shouldCommit()) {
+            e.frame = frame;
+            e.clear = current[Stage.CLEAR.ordinal()];
+            e.mesh = current[Stage.MESH.ordinal()];
+            e.transform = current[Stage.TRANSFORM.ordinal()];
+            e.cull = current[Stage.CULL.ordinal()];
+            e.shade = current[Stage.SHADE.ordinal()];
+            e.clip = current[Stage.CLIP.ordinal()];
+            e.raster = current[Stage.RASTER.ordinal()];
+            e.trianglesSubmitted = trianglesSubmitted;
+            e.trianglesEmitted = trianglesEmitted;
+            e.fragments = fragments;
+            e.allocated = allocated;
+            e.commit();
+        }
+
+        if (!listeners.isEmpty()) {
+            FrameRecord record = new FrameRecord(frame, frameNanos, current.clone(),
+                    trianglesSubmitted, trianglesEmitted, fragments, allocated);
+            for (FrameListener listener : listeners) {
+                listener.frameCompleted(record);
+            }
+        }
+    }
+
+    /**
+     * Trägt eine außerhalb eines Frames gemessene Dauer ein, z.B. die Übertragung auf den
+     * Bildschirm auf dem JavaFX-Thread. Ohne Wirkung, wenn der Profiler deaktiviert ist.
+     *
+     * @param stage Der Abschnitt.
+     * @param nanos Die Dauer in Nanosekunden.
+     */
+    public synchronized void record(Stage stage, long nanos) {
+        if (enabled) {
+            histograms[stage.ordinal()].record(nanos);
+        }
+    }
+
+    /**
+     * Trägt die Größe einer Übertragung auf den Bildschirm ein, z.B. des geänderten Bereichs
+     * eines Frames. Ohne Wirkung, wenn der Profiler deaktiviert ist.
+     *
+     * @param bytes Die übertragenen Bytes.
+     */
+    public synchronized void recordUpload(long bytes) {
+        if (enabled) {
+            uploads++;
+            sumUploaded += bytes;
+        }
+    }
+
+    /**
+     * Fasst alle Messwerte seit dem letzten Zurücksetzen zusammen.
+     *
+     * @param reset true, um danach mit leeren Histogrammen neu zu beginnen (gleitendes Fenster).
+     * @return Die Zusammenfassung.
+     */
+    public synchronized ProfileSummary summary(boolean reset) {
+        long now = System.nanoTime();
+        double n = Math.max(1, frames);
+        ProfileSummary summary = new ProfileSummary(histograms, frameHistogram, now - since,
+                sumSubmitted / n, sumEmitted / n, sumFragments / n,
+                sumAllocated < 0 ? -1 : sumAllocated / n,
+                uploads == 0 ? 0 : (double) sumUploaded / uploads);
+        if (reset) {
+            for (LatencyHistogram histogram : histograms) {
+                histogram.reset();
+            }
+            frameHistogram.reset();
+            frames = sumSubmitted = sumEmitted = sumFragments = sumAllocated = 0;
+            uploads = sumUploaded = 0;
+            since = now;
+        }
+        return summary;
+    }
+
+    /**
+     * Verwirft alle bisherigen Messwerte.
+     */
+    public void reset() {
+        summary(true);
+    }
+
+    /**
+     * Liefert die bisher auf dem aktuellen Thread allokierten Bytes.
+     *
+     * @return Die Bytes oder -1, wenn die JVM die Messung nicht unterstützt.
+     */
+    private static long allocatedBytes() {
+        return ALLOCATION == null ? -1 : ALLOCATION.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+package renderer.profiling;
+
+/**
+ * Die Messwerte eines einzelnen Frames.
+ * <p>
+ * Wird an {@link FrameListener} übergeben und ist danach unveränderlich.
+ */
+public final class FrameRecord {
+    private final long frame;
+    private final long frameNanos;
+    private final long[] stageNanos;
+    private final long trianglesSubmitted;
+    private final long trianglesEmitted;
+    private final long fragments;
+    private final long allocatedBytes;
+
+    FrameRecord(long frame, long frameNanos, long[] stageNanos,
+                long trianglesSubmitted, long trianglesEmitted, long fragments, long allocatedBytes) {
+        this.frame = frame;
+        this.frameNanos = frameNanos;
+        this.stageNanos = stageNanos;
+        this.trianglesSubmitted = trianglesSubmitted;
+        this.trianglesEmitted = trianglesEmitted;
+        this.fragments = fragments;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * @return Die fortlaufende Nummer des Frames (ab 0 seit dem letzten Zurücksetzen).
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * @return Die Dauer des gesamten Frames in Nanosekunden.
+     */
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    /**
+     * @param stage Der Abschnitt.
+     * @return Die Dauer des Abschnitts in Nanosekunden.
+     */
+    public long getStageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    /**
+     * @return Die Anzahl der Dreiecke des Meshes.
+     */
+    public long getTrianglesSubmitted() {
+        return trianglesSubmitted;
+    }
+
+    /**
+     * @return Die Anzahl der an den Rasterisierer übergebenen Dreiecke.
+     */
+    public long getTrianglesEmitted() {
+        return trianglesEmitted;
+    }
+
+    /**
+     * @return Die Anzahl der abgedeckten Pixel aller gerasterten Dreiecke (inkl. Overdraw).
+     */
+    public long getFragments() {
+        return fragments;
+    }
+
+    /**
+     * @return Die auf dem Render-Thread allokierten Bytes oder -1, wenn die JVM das nicht unterstützt.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
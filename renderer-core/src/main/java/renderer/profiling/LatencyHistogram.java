@@ -0,0 +1,136 @@
+package renderer.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Histogramm für Laufzeiten in Nanosekunden mit fester Größe.
+ * <p>
+ * Die Buckets sind logarithmisch in Zweierpotenzen eingeteilt, jede Zweierpotenz nochmals
+ * in {@value #SUB_BUCKETS} lineare Unterteilungen. Damit beträgt der relative Fehler eines
+ * Perzentils höchstens etwa 6 %, unabhängig davon, ob Mikrosekunden oder Sekunden gemessen
+ * werden. Das Eintragen eines Werts ist eine Zählererhöhung ohne Allokation.
+ * Eine Instanz ist nicht threadsicher.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    // Werte bis 2^62 ns; größere Werte landen im letzten Bucket.
+    private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Trägt einen Messwert ein.
+     *
+     * @param nanos Die gemessene Dauer in Nanosekunden (negative Werte zählen als 0).
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[index(value)]++;
+        count++;
+        total += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Übernimmt alle Werte eines anderen Histogramms.
+     *
+     * @param other Das hinzuzufügende Histogramm.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Liefert das Perzentil als obere Grenze des Buckets, in dem es liegt.
+     *
+     * @param percentile Das Perzentil zwischen 0 und 100.
+     * @return Die Dauer in Nanosekunden (0, wenn noch nichts eingetragen wurde).
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBound(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return Die Anzahl der eingetragenen Werte.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Die Summe aller eingetragenen Werte in Nanosekunden.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Der größte eingetragene Wert in Nanosekunden.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return Der Mittelwert in Nanosekunden (0, wenn noch nichts eingetragen wurde).
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Setzt das Histogramm zurück.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = total = max = 0;
+    }
+
+    /**
+     * Berechnet den Bucket eines Werts.
+     */
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (shift + 1) * SUB_BUCKETS + sub);
+    }
+
+    /**
+     * Liefert den größten Wert, der noch in einen Bucket fällt.
+     */
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS;
+        return (((SUB_BUCKETS | sub) + 1) << shift) - 1;
+    }
+}
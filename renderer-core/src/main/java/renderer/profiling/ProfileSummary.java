@@ -0,0 +1,181 @@
+package renderer.profiling;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Unveränderliche Zusammenfassung der Messwerte über mehrere Frames.
+ * <p>
+ * Enthält pro Abschnitt und für den gesamten Frame Anzahl, Mittelwert, p50, p99 und Maximum
+ * sowie die mittleren Zählerstände pro Frame.
+ */
+public final class ProfileSummary {
+
+    /** Spaltenüberschrift von {@link #writeCsv(Appendable)}. */
+    public static final String CSV_HEADER = "stage,count,mean_ns,p50_ns,p99_ns,max_ns";
+
+    private final long frames;
+    private final long[][] stageStats;
+    private final long[] frameStats;
+    private final long durationNanos;
+    private final double trianglesSubmitted, trianglesEmitted, fragments, allocatedBytes, uploadedBytes;
+
+    ProfileSummary(LatencyHistogram[] stages, LatencyHistogram frame, long durationNanos,
+                   double trianglesSubmitted, double trianglesEmitted, double fragments, double allocatedBytes,
+                   double uploadedBytes) {
+        this.frames = frame.getCount();
+        this.stageStats = new long[stages.length][];
+        for (int i = 0; i < stages.length; i++) {
+            stageStats[i] = stats(stages[i]);
+        }
+        this.frameStats = stats(frame);
+        this.durationNanos = durationNanos;
+        this.trianglesSubmitted = trianglesSubmitted;
+        this.trianglesEmitted = trianglesEmitted;
+        this.fragments = fragments;
+        this.allocatedBytes = allocatedBytes;
+        this.uploadedBytes = uploadedBytes;
+    }
+
+    private static long[] stats(LatencyHistogram histogram) {
+        return new long[]{
+                histogram.getCount(),
+                Math.round(histogram.getMean()),
+                histogram.getPercentile(50),
+                histogram.getPercentile(99),
+                histogram.getMax()
+        };
+    }
+
+    /**
+     * @return Die Anzahl der zusammengefassten Frames.
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return Die Bildrate über den zusammengefassten Zeitraum (0, wenn unbekannt).
+     */
+    public double getFramesPerSecond() {
+        return durationNanos <= 0 ? 0 : frames * 1e9 / durationNanos;
+    }
+
+    /**
+     * @param stage Der Abschnitt.
+     * @return Die Anzahl der Messungen des Abschnitts.
+     */
+    public long getCount(Stage stage) {
+        return stageStats[stage.ordinal()][0];
+    }
+
+    /**
+     * @param stage Der Abschnitt.
+     * @return Die mittlere Dauer in Nanosekunden.
+     */
+    public long getMean(Stage stage) {
+        return stageStats[stage.ordinal()][1];
+    }
+
+    /**
+     * @param stage Der Abschnitt.
+     * @return Der Median der Dauer in Nanosekunden.
+     */
+    public long getP50(Stage stage) {
+        return stageStats[stage.ordinal()][2];
+    }
+
+    /**
+     * @param stage Der Abschnitt.
+     * @return Das 99. Perzentil der Dauer in Nanosekunden.
+     */
+    public long getP99(Stage stage) {
+        return stageStats[stage.ordinal()][3];
+    }
+
+    /**
+     * @param stage Der Abschnitt.
+     * @return Die größte Dauer in Nanosekunden.
+     */
+    public long getMax(Stage stage) {
+        return stageStats[stage.ordinal()][4];
+    }
+
+    /**
+     * @return Der Median der gesamten Frame-Dauer in Nanosekunden.
+     */
+    public long getFrameP50() {
+        return frameStats[2];
+    }
+
+    /**
+     * @return Das 99. Perzentil der gesamten Frame-Dauer in Nanosekunden.
+     */
+    public long getFrameP99() {
+        return frameStats[3];
+    }
+
+    /**
+     * @return Die größte Frame-Dauer in Nanosekunden.
+     */
+    public long getFrameMax() {
+        return frameStats[4];
+    }
+
+    /**
+     * @return Die mittlere Anzahl der Dreiecke des Meshes pro Frame.
+     */
+    public double getTrianglesSubmitted() {
+        return trianglesSubmitted;
+    }
+
+    /**
+     * @return Die mittlere Anzahl der gerasterten Dreiecke pro Frame.
+     */
+    public double getTrianglesEmitted() {
+        return trianglesEmitted;
+    }
+
+    /**
+     * @return Die mittlere Anzahl der abgedeckten Pixel (inkl. Overdraw) pro Frame.
+     */
+    public double getFragments() {
+        return fragments;
+    }
+
+    /**
+     * @return Die mittlere Allokation des Render-Threads pro Frame in Bytes (-1, wenn unbekannt).
+     */
+    public double getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return Die mittlere Anzahl der pro angezeigtem Frame auf den Bildschirm übertragenen Bytes.
+     */
+    public double getUploadedBytes() {
+        return uploadedBytes;
+    }
+
+    /**
+     * Schreibt die Zusammenfassung als CSV: eine Zeile pro Abschnitt und eine Zeile {@code frame}.
+     *
+     * @param out Das Ziel.
+     * @throws IOException bei Schreibfehlern.
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append(CSV_HEADER).append('\n');
+        for (Stage stage : Stage.values()) {
+            writeRow(out, stage.name().toLowerCase(Locale.ROOT), stageStats[stage.ordinal()]);
+        }
+        writeRow(out, "frame", frameStats);
+    }
+
+    private static void writeRow(Appendable out, String name, long[] stats) throws IOException {
+        out.append(name);
+        for (long value : stats) {
+            out.append(',').append(Long.toString(value));
+        }
+        out.append('\n');
+    }
+}
@@ -0,0 +1,36 @@
+package renderer.profiling;
+
+/**
+ * Die einzeln gemessenen Abschnitte eines Frames in der Reihenfolge der Pipeline.
+ */
+public enum Stage {
+    /** Löschen von Farb- und Tiefenpuffer. */
+    CLEAR("Clear"),
+    /** Abrufen (und beim ersten Zugriff Erzeugen) des Meshes aus dem Cache. */
+    MESH("Mesh"),
+    /** Rotation und Zentrierung aller Eckpunkte. */
+    TRANSFORM("Transform"),
+    /** Back-Face-Culling und Verwerfen außerhalb des Sichtvolumens. */
+    CULL("Cull"),
+    /** Normalen und Schattierung der sichtbaren Dreiecke. */
+    SHADE("Shade"),
+    /** Clipping am Sichtvolumen und Sammeln der Dreiecke für den Rasterisierer. */
+    CLIP("Clip"),
+    /** Rasterisierung in den Render-Puffer. */
+    RASTER("Raster"),
+    /** Übertragen des fertigen Frames auf den Bildschirm (nur mit Oberfläche). */
+    BLIT("Blit");
+
+    private final String label;
+
+    Stage(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return Der Anzeigename des Abschnitts.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
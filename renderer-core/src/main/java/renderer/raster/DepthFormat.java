@@ -0,0 +1,24 @@
+package renderer.raster;
+
+/**
+ * Genauigkeit des Z-Buffers eines {@link FrameBuffer}.
+ */
+public enum DepthFormat {
+    /** Tiefenwerte als {@code double} (8 Bytes pro Pixel). */
+    DOUBLE(8),
+    /** Tiefenwerte als {@code float} (4 Bytes pro Pixel): halber Speicher und halbe Bandbreite. */
+    FLOAT(4);
+
+    private final int bytesPerPixel;
+
+    DepthFormat(int bytesPerPixel) {
+        this.bytesPerPixel = bytesPerPixel;
+    }
+
+    /**
+     * @return Der Speicherbedarf eines Tiefenwerts in Bytes.
+     */
+    public int getBytesPerPixel() {
+        return bytesPerPixel;
+    }
+}
@@ -0,0 +1,230 @@
+package renderer.raster;
+
+import java.util.Arrays;
+
+/**
+ * Wiederverwendbares Render-Ziel des Software-Renderers.
+ * <p>
+ * Der FrameBuffer hält die Farbwerte aller Pixel als gepackte ARGB-Integer
+ * (ein {@code int} pro Pixel, zeilenweise abgelegt) sowie einen Z-Buffer mit den
+ * Tiefenwerten, wahlweise als {@code double[]} oder {@code float[]} ({@link DepthFormat}), und
+ * dessen {@link HierarchicalZ hierarchische Schranken} pro 8x8-Block. Er ist vollständig unabhängig von JavaFX und kann daher auch
+ * headless (z.B. auf Servern ohne Display) verwendet werden. Die Oberfläche
+ * überträgt den Inhalt einmal pro Frame als Block auf die Canvas.
+ * <p>
+ * Zusätzlich wird ein Rechteck geführt, außerhalb dessen der Puffer sicher gelöscht ist
+ * ({@link #getContentBounds()}). Der {@link renderer.pipeline.Renderer} setzt es nach jedem
+ * Frame auf den Bereich, in den er gezeichnet hat, und löscht im nächsten Frame nur diesen
+ * Bereich ({@link #clear(int, ScreenRect)}); die Oberfläche überträgt nur die Vereinigung aus
+ * altem und neuem Bereich. Wer ohne Renderer in den Puffer zeichnet, muss ihn vorher vollständig
+ * löschen ({@link #clear(int)}), womit das Rechteck wieder das ganze Bild umfasst.
+ */
+public class FrameBuffer {
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+    private final DepthFormat depthFormat;
+    private final double[] depth;
+    private final float[] floatDepth;
+    private final HierarchicalZ hierarchicalZ;
+    // Außerhalb dieses Rechtecks enthält der Puffer nur gelöschte Pixel.
+    private final ScreenRect contentBounds = new ScreenRect();
+
+    /**
+     * Konstruktor für einen FrameBuffer fester Größe mit {@code double}-Tiefen.
+     *
+     * @param width  Die Breite in Pixeln.
+     * @param height Die Höhe in Pixeln.
+     * @throws IllegalArgumentException wenn Breite oder Höhe nicht positiv sind.
+     */
+    public FrameBuffer(int width, int height) {
+        this(width, height, DepthFormat.DOUBLE);
+    }
+
+    /**
+     * Konstruktor für einen FrameBuffer fester Größe.
+     *
+     * @param width       Die Breite in Pixeln.
+     * @param height      Die Höhe in Pixeln.
+     * @param depthFormat Die Genauigkeit des Z-Buffers.
+     * @throws IllegalArgumentException wenn Breite oder Höhe nicht positiv sind.
+     */
+    public FrameBuffer(int width, int height, DepthFormat depthFormat) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("FrameBuffer muss eine positive Größe haben");
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+        this.depthFormat = depthFormat;
+        this.depth = depthFormat == DepthFormat.DOUBLE ? new double[width * height] : null;
+        this.floatDepth = depthFormat == DepthFormat.FLOAT ? new float[width * height] : null;
+        this.hierarchicalZ = new HierarchicalZ(width, height);
+        this.contentBounds.set(0, 0, width, height);
+    }
+
+    /**
+     * Löscht Farb- und Tiefenpuffer mit Block-Operationen.
+     * <p>
+     * Alle Pixel erhalten die angegebene Farbe, alle Tiefenwerte werden auf
+     * {@link Double#NEGATIVE_INFINITY} gesetzt (größere z-Werte liegen näher an der Kamera),
+     * ebenso die Schranken des hierarchischen Z-Buffers.
+     *
+     * @param argb Die Hintergrundfarbe als gepackter ARGB-Wert.
+     */
+    public void clear(int argb) {
+        Arrays.fill(pixels, argb);
+        if (depth != null) {
+            Arrays.fill(depth, Double.NEGATIVE_INFINITY);
+        } else {
+            Arrays.fill(floatDepth, Float.NEGATIVE_INFINITY);
+        }
+        hierarchicalZ.clear();
+        // Was danach ohne Renderer gezeichnet wird, ist unbekannt.
+        contentBounds.set(0, 0, width, height);
+    }
+
+    /**
+     * Löscht nur den Bereich, außerhalb dessen der Puffer bereits gelöscht ist
+     * ({@link #getContentBounds()}); danach ist der ganze Puffer gelöscht.
+     * <p>
+     * Farben und Tiefen werden zeilenweise gelöscht, die Schranken des hierarchischen Z-Buffers
+     * für alle berührten Blöcke. Das Rechteck bleibt unverändert, bis es der Aufrufer mit
+     * {@link #setContentBounds(ScreenRect)} auf den neu gezeichneten Bereich setzt.
+     *
+     * @param argb    Die Hintergrundfarbe als gepackter ARGB-Wert (dieselbe wie beim letzten Löschen).
+     * @param cleared Ziel für den gelöschten Bereich.
+     */
+    public void clear(int argb, ScreenRect cleared) {
+        cleared.set(contentBounds);
+        if (cleared.isEmpty()) {
+            return;
+        }
+        if (cleared.getArea() == (long) width * height) {
+            Arrays.fill(pixels, argb);
+            if (depth != null) {
+                Arrays.fill(depth, Double.NEGATIVE_INFINITY);
+            } else {
+                Arrays.fill(floatDepth, Float.NEGATIVE_INFINITY);
+            }
+            hierarchicalZ.clear();
+            return;
+        }
+        int minX = cleared.getMinX(), maxX = cleared.getMaxX();
+        for (int y = cleared.getMinY(); y < cleared.getMaxY(); y++) {
+            int row = y * width;
+            Arrays.fill(pixels, row + minX, row + maxX, argb);
+            if (depth != null) {
+                Arrays.fill(depth, row + minX, row + maxX, Double.NEGATIVE_INFINITY);
+            } else {
+                Arrays.fill(floatDepth, row + minX, row + maxX, Float.NEGATIVE_INFINITY);
+            }
+        }
+        hierarchicalZ.clear(minX, cleared.getMinY(), maxX, cleared.getMaxY());
+    }
+
+    /**
+     * Liefert das Rechteck, außerhalb dessen der Puffer nur gelöschte Pixel enthält (keine Kopie).
+     *
+     * @return Das Rechteck; umfasst das ganze Bild, solange der Inhalt unbekannt ist.
+     */
+    public ScreenRect getContentBounds() {
+        return contentBounds;
+    }
+
+    /**
+     * Meldet den Bereich, in den seit dem letzten Löschen gezeichnet wurde.
+     *
+     * @param bounds Ein Rechteck, das alle seitdem geschriebenen Pixel enthält.
+     */
+    public void setContentBounds(ScreenRect bounds) {
+        contentBounds.set(bounds);
+    }
+
+    /**
+     * Liefert den Farbwert eines einzelnen Pixels.
+     *
+     * @param x Die x-Koordinate.
+     * @param y Die y-Koordinate.
+     * @return Der Farbwert als gepackter ARGB-Wert.
+     */
+    public int getPixel(int x, int y) {
+        return pixels[y * width + x];
+    }
+
+    /**
+     * @return Die Breite in Pixeln.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return Die Höhe in Pixeln.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Liefert den internen Farbpuffer (keine Kopie).
+     * <p>
+     * Der Index eines Pixels ist {@code y * width + x}. Das Array kann direkt
+     * an {@code PixelWriter.setPixels} übergeben werden.
+     *
+     * @return Das ARGB-Array aller Pixel.
+     */
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    /**
+     * @return Die Genauigkeit des Z-Buffers.
+     */
+    public DepthFormat getDepthFormat() {
+        return depthFormat;
+    }
+
+    /**
+     * Liefert den internen Z-Buffer im Format {@link DepthFormat#DOUBLE} (keine Kopie).
+     *
+     * @return Das Array der Tiefenwerte, gleiche Indizierung wie {@link #getPixels()}.
+     * @throws IllegalStateException wenn der Puffer {@code float}-Tiefen hat.
+     */
+    public double[] getDepth() {
+        if (depth == null)
+            throw new IllegalStateException("FrameBuffer hat float-Tiefen");
+        return depth;
+    }
+
+    /**
+     * Liefert den internen Z-Buffer im Format {@link DepthFormat#FLOAT} (keine Kopie).
+     *
+     * @return Das Array der Tiefenwerte, gleiche Indizierung wie {@link #getPixels()}.
+     * @throws IllegalStateException wenn der Puffer {@code double}-Tiefen hat.
+     */
+    public float[] getFloatDepth() {
+        if (floatDepth == null)
+            throw new IllegalStateException("FrameBuffer hat double-Tiefen");
+        return floatDepth;
+    }
+
+    /**
+     * Liest einen Tiefenwert unabhängig vom Format.
+     *
+     * @param x Die x-Koordinate.
+     * @param y Die y-Koordinate.
+     * @return Der Tiefenwert.
+     */
+    public double getDepth(int x, int y) {
+        return depth != null ? depth[y * width + x] : floatDepth[y * width + x];
+    }
+
+    /**
+     * Liefert die Schranken des hierarchischen Z-Buffers.
+     *
+     * @return Der hierarchische Z-Buffer dieses Puffers.
+     */
+    public HierarchicalZ getHierarchicalZ() {
+        return hierarchicalZ;
+    }
+}
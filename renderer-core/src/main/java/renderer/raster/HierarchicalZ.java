@@ -0,0 +1,257 @@
+package renderer.raster;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchischer Z-Buffer: minimale und maximale Tiefe pro 8x8-Block eines {@link FrameBuffer}.
+ * <p>
+ * Größere z-Werte liegen näher an der Kamera. Pro Block gelten zwei Schranken für alle
+ * gespeicherten Tiefenwerte des Blocks:
+ * <ul>
+ *   <li>{@code min} ist eine untere Schranke (der fernste Wert). Liegt ein Dreieck oder ein
+ *       Objekt im ganzen Block nicht näher als {@code min}, besteht es dort keinen Tiefentest und
+ *       kann ohne Zugriff auf den Z-Buffer verworfen werden.</li>
+ *   <li>{@code max} ist eine obere Schranke (der nächste Wert). Liegt ein Dreieck im ganzen Block
+ *       näher als {@code max}, besteht es überall den Tiefentest und wird ohne Lesen geschrieben.</li>
+ * </ul>
+ * Der {@link Rasterizer} pflegt beide Schranken beim Schreiben: {@code min} steigt, wenn ein
+ * Dreieck einen Block vollständig überdeckt, {@code max} folgt der größten geschriebenen Tiefe.
+ * Die Werte sind konservativ und können hinter dem Z-Buffer zurückliegen; das Bild ist mit und
+ * ohne hierarchischen Z-Buffer identisch.
+ * <p>
+ * Für Tests großer Rechtecke (Objekte) gibt es eine zweite Stufe mit dem Minimum über je 8x8
+ * Blöcke (64x64 Pixel), die bei Bedarf aus den Blöcken neu berechnet wird.
+ * <p>
+ * Während eines parallelen Durchlaufs des {@link TiledRasterizer} ändert jede Kachel nur das
+ * Minimum der Blöcke, die vollständig in ihr liegen; Abfragen mit {@link #isOccluded} sind nur
+ * zwischen den Durchläufen erlaubt.
+ */
+public final class HierarchicalZ {
+
+    /** Kantenlänge eines Blocks in Pixeln (gleich dem Blockraster des {@link Rasterizer}). */
+    public static final int BLOCK_SIZE = 8;
+
+    /** Kantenlänge einer Kachel der zweiten Stufe in Blöcken. */
+    public static final int TILE_BLOCKS = 8;
+
+    private final int width, height;
+    private final int blocksX, blocksY;
+    private final int tilesX, tilesY;
+
+    // Schranken pro Block (zeilenweise) und Minimum pro Kachel der zweiten Stufe.
+    final double[] min;
+    final double[] max;
+    private final double[] tileMin;
+    private final boolean[] tileDirty;
+
+    private boolean enabled = true;
+
+    HierarchicalZ(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.blocksX = (width + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.blocksY = (height + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.tilesX = (blocksX + TILE_BLOCKS - 1) / TILE_BLOCKS;
+        this.tilesY = (blocksY + TILE_BLOCKS - 1) / TILE_BLOCKS;
+        this.min = new double[blocksX * blocksY];
+        this.max = new double[blocksX * blocksY];
+        this.tileMin = new double[tilesX * tilesY];
+        this.tileDirty = new boolean[tilesX * tilesY];
+        clear();
+    }
+
+    /**
+     * Setzt alle Schranken auf den gelöschten Z-Buffer ({@link Double#NEGATIVE_INFINITY}).
+     */
+    void clear() {
+        Arrays.fill(min, Double.NEGATIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        Arrays.fill(tileMin, Double.NEGATIVE_INFINITY);
+        Arrays.fill(tileDirty, false);
+    }
+
+    /**
+     * Setzt die Schranken aller Blöcke, die ein Pixel-Rechteck berühren, auf den gelöschten
+     * Z-Buffer. Gilt nur, wenn die Pixel der Blöcke außerhalb des Rechtecks bereits gelöscht sind.
+     *
+     * @param minX Linke Kante (inklusive).
+     * @param minY Obere Kante (inklusive).
+     * @param maxX Rechte Kante (exklusive).
+     * @param maxY Untere Kante (exklusive).
+     */
+    void clear(int minX, int minY, int maxX, int maxY) {
+        int bx0 = minX / BLOCK_SIZE, bx1 = (maxX - 1) / BLOCK_SIZE;
+        int by0 = minY / BLOCK_SIZE, by1 = (maxY - 1) / BLOCK_SIZE;
+        for (int by = by0; by <= by1; by++) {
+            int row = by * blocksX;
+            Arrays.fill(min, row + bx0, row + bx1 + 1, Double.NEGATIVE_INFINITY);
+            Arrays.fill(max, row + bx0, row + bx1 + 1, Double.NEGATIVE_INFINITY);
+        }
+        for (int ty = by0 / TILE_BLOCKS; ty <= by1 / TILE_BLOCKS; ty++) {
+            for (int tx = bx0 / TILE_BLOCKS; tx <= bx1 / TILE_BLOCKS; tx++) {
+                tileDirty[ty * tilesX + tx] = true;
+            }
+        }
+    }
+
+    /**
+     * Schaltet die Tests ein oder aus.
+     * <p>
+     * Ausgeschaltet verwirft der Rasterisierer nichts und {@link #isOccluded} liefert immer
+     * {@code false}. Beim Einschalten ohne vorheriges Löschen des FrameBuffers werden die
+     * Schranken auf "unbekannt" gesetzt.
+     *
+     * @param enabled {@code true}, um die Tests zu benutzen.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            Arrays.fill(min, Double.NEGATIVE_INFINITY);
+            Arrays.fill(max, Double.POSITIVE_INFINITY);
+            Arrays.fill(tileMin, Double.NEGATIVE_INFINITY);
+            Arrays.fill(tileDirty, false);
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return {@code true}, wenn die Tests aktiv sind.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Prüft, ob ein Rechteck auf dem Bildschirm vollständig hinter dem bisher Gezeichneten liegt.
+     * <p>
+     * Das Rechteck ist z.B. die Projektion einer Begrenzungskugel, {@code maxDepth} deren
+     * nächster Punkt. Teile außerhalb des Bildes zählen nicht; ein Rechteck vollständig
+     * außerhalb gilt nicht als verdeckt.
+     *
+     * @param minX     Linke Kante in Pixeln.
+     * @param minY     Obere Kante in Pixeln.
+     * @param maxX     Rechte Kante in Pixeln.
+     * @param maxY     Untere Kante in Pixeln.
+     * @param maxDepth Die größte (nächste) Tiefe innerhalb des Rechtecks.
+     * @return {@code true}, wenn nichts im Rechteck den Tiefentest bestehen kann.
+     */
+    public boolean isOccluded(double minX, double minY, double maxX, double maxY, double maxDepth) {
+        if (!enabled || !(minX <= maxX && minY <= maxY)) {
+            return false;
+        }
+        int x0 = (int) Math.max(0, Math.floor(minX)), x1 = (int) Math.min(width - 1, Math.ceil(maxX));
+        int y0 = (int) Math.max(0, Math.floor(minY)), y1 = (int) Math.min(height - 1, Math.ceil(maxY));
+        if (x0 > x1 || y0 > y1) {
+            return false;
+        }
+        int bx0 = x0 / BLOCK_SIZE, bx1 = x1 / BLOCK_SIZE;
+        int by0 = y0 / BLOCK_SIZE, by1 = y1 / BLOCK_SIZE;
+        for (int ty = by0 / TILE_BLOCKS; ty <= by1 / TILE_BLOCKS; ty++) {
+            int tby0 = Math.max(by0, ty * TILE_BLOCKS), tby1 = Math.min(by1, ty * TILE_BLOCKS + TILE_BLOCKS - 1);
+            for (int tx = bx0 / TILE_BLOCKS; tx <= bx1 / TILE_BLOCKS; tx++) {
+                int tbx0 = Math.max(bx0, tx * TILE_BLOCKS), tbx1 = Math.min(bx1, tx * TILE_BLOCKS + TILE_BLOCKS - 1);
+                // Zuerst die ganze Kachel; nur wenn sie nicht genügt, die einzelnen Blöcke.
+                if (!(maxDepth <= tileMin(tx, ty)) && !blocksOccluded(tbx0, tby0, tbx1, tby1, maxDepth)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prüft einen Bereich von Blöcken.
+     */
+    private boolean blocksOccluded(int bx0, int by0, int bx1, int by1, double maxDepth) {
+        for (int by = by0; by <= by1; by++) {
+            int row = by * blocksX;
+            for (int bx = bx0; bx <= bx1; bx++) {
+                if (!(maxDepth <= min[row + bx])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Liefert das Minimum einer Kachel der zweiten Stufe und berechnet es bei Bedarf neu.
+     */
+    private double tileMin(int tx, int ty) {
+        int tile = ty * tilesX + tx;
+        if (tileDirty[tile]) {
+            tileDirty[tile] = false;
+            double m = Double.POSITIVE_INFINITY;
+            int bx1 = Math.min(blocksX, tx * TILE_BLOCKS + TILE_BLOCKS);
+            int by1 = Math.min(blocksY, ty * TILE_BLOCKS + TILE_BLOCKS);
+            for (int by = ty * TILE_BLOCKS; by < by1; by++) {
+                for (int bx = tx * TILE_BLOCKS; bx < bx1; bx++) {
+                    m = Math.min(m, min[by * blocksX + bx]);
+                }
+            }
+            tileMin[tile] = m;
+        }
+        return tileMin[tile];
+    }
+
+    /**
+     * Erhöht das Minimum eines Blocks, nachdem ein Dreieck ihn vollständig überdeckt hat.
+     *
+     * @param block Der Index des Blocks.
+     * @param lower Eine untere Schranke der Tiefe des Dreiecks im ganzen Block.
+     */
+    void raise(int block, double lower) {
+        if (lower > min[block]) {
+            min[block] = lower;
+            tileDirty[(block / blocksX / TILE_BLOCKS) * tilesX + (block % blocksX) / TILE_BLOCKS] = true;
+        }
+    }
+
+    /**
+     * Markiert die Maxima aller Blöcke eines Pixel-Rechtecks als unbekannt, z.B. nachdem ohne
+     * Pflege der Schranken in den Z-Buffer geschrieben wurde.
+     *
+     * @param minX Linke Kante (inklusive).
+     * @param minY Obere Kante (inklusive).
+     * @param maxX Rechte Kante (inklusive).
+     * @param maxY Untere Kante (inklusive).
+     */
+    void invalidateMax(int minX, int minY, int maxX, int maxY) {
+        for (int by = Math.max(0, minY) / BLOCK_SIZE; by <= Math.min(height - 1, maxY) / BLOCK_SIZE; by++) {
+            for (int bx = Math.max(0, minX) / BLOCK_SIZE; bx <= Math.min(width - 1, maxX) / BLOCK_SIZE; bx++) {
+                max[by * blocksX + bx] = Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    /**
+     * @return Die Anzahl der Blöcke pro Zeile.
+     */
+    public int getBlocksX() {
+        return blocksX;
+    }
+
+    /**
+     * @return Die Anzahl der Blockzeilen.
+     */
+    public int getBlocksY() {
+        return blocksY;
+    }
+
+    /**
+     * @param bx Die Blockspalte.
+     * @param by Die Blockzeile.
+     * @return Die untere Schranke der Tiefe im Block.
+     */
+    public double getMinDepth(int bx, int by) {
+        return min[by * blocksX + bx];
+    }
+
+    /**
+     * @param bx Die Blockspalte.
+     * @param by Die Blockzeile.
+     * @return Die obere Schranke der Tiefe im Block.
+     */
+    public double getMaxDepth(int bx, int by) {
+        return max[by * blocksX + bx];
+    }
+}
@@ -0,0 +1,104 @@
+package renderer.raster;
+
+/**
+ * Zeichnet Linien (z.B. die Kanten eines Drahtgitters) mit dem Bresenham-Algorithmus in einen
+ * {@link FrameBuffer}.
+ * <p>
+ * Die Endpunkte werden zuerst nach Liang-Barsky auf das Bild beschnitten; die innere Schleife
+ * arbeitet danach nur mit ganzen Zahlen und ohne Bereichsprüfungen. Linien schreiben nur Farben,
+ * Z-Buffer und {@link HierarchicalZ} bleiben unverändert. Es wird nichts allokiert.
+ */
+public final class LineRasterizer {
+
+    private LineRasterizer() {
+    }
+
+    /**
+     * Zeichnet eine Linie in Bildschirmkoordinaten. Ein Punkt {@code (x, y)} liegt im Pixel
+     * {@code (floor(x), floor(y))}.
+     *
+     * @param fb   Das Render-Ziel.
+     * @param x0   x-Koordinate des Anfangspunkts.
+     * @param y0   y-Koordinate des Anfangspunkts.
+     * @param x1   x-Koordinate des Endpunkts.
+     * @param y1   y-Koordinate des Endpunkts.
+     * @param argb Die Farbe als gepackter ARGB-Wert.
+     */
+    public static void drawLine(FrameBuffer fb, double x0, double y0, double x1, double y1, int argb) {
+        int width = fb.getWidth();
+        int height = fb.getHeight();
+        // Beschneide auf [0, width) x [0, height); t0/t1 sind die Parameter der Endpunkte.
+        double maxX = Math.nextDown((double) width), maxY = Math.nextDown((double) height);
+        double dx = x1 - x0, dy = y1 - y0;
+        double t0 = 0, t1 = 1;
+        // Bedingung p * t <= q für die vier Kanten (links, rechts, oben, unten).
+        for (int edge = 0; edge < 4; edge++) {
+            double p = edge == 0 ? -dx : edge == 1 ? dx : edge == 2 ? -dy : dy;
+            double q = edge == 0 ? x0 : edge == 1 ? maxX - x0 : edge == 2 ? y0 : maxY - y0;
+            if (p == 0) {
+                if (q < 0) {
+                    return;
+                }
+            } else if (p < 0) {
+                t0 = Math.max(t0, q / p);
+            } else {
+                t1 = Math.min(t1, q / p);
+            }
+        }
+        // NaN (z.B. aus unendlichen Koordinaten) fällt hier ebenfalls heraus.
+        if (!(t0 <= t1)) {
+            return;
+        }
+        // Rundungsfehler beim Beschneiden dürfen nicht aus dem Bild führen.
+        int ax = clamp((int) Math.floor(x0 + t0 * dx), width - 1);
+        int ay = clamp((int) Math.floor(y0 + t0 * dy), height - 1);
+        int bx = clamp((int) Math.floor(x0 + t1 * dx), width - 1);
+        int by = clamp((int) Math.floor(y0 + t1 * dy), height - 1);
+        bresenham(fb.getPixels(), width, ax, ay, bx, by, argb);
+    }
+
+    /**
+     * Zeichnet die Kanten eines transformierten Meshes.
+     *
+     * @param fb    Das Render-Ziel.
+     * @param x     Die x-Koordinaten der Eckpunkte in Bildschirmkoordinaten.
+     * @param y     Die y-Koordinaten der Eckpunkte in Bildschirmkoordinaten.
+     * @param edges Zwei Eckpunkt-Indizes pro Kante.
+     * @param argb  Die Farbe als gepackter ARGB-Wert.
+     */
+    public static void drawEdges(FrameBuffer fb, double[] x, double[] y, int[] edges, int argb) {
+        for (int i = 0; i < edges.length; i += 2) {
+            int a = edges[i], b = edges[i + 1];
+            drawLine(fb, x[a], y[a], x[b], y[b], argb);
+        }
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(max, value));
+    }
+
+    /**
+     * Ganzzahliger Bresenham zwischen zwei Pixeln innerhalb des Bildes (beide inklusive).
+     */
+    private static void bresenham(int[] pixels, int width, int x0, int y0, int x1, int y1, int argb) {
+        int dx = Math.abs(x1 - x0), dy = -Math.abs(y1 - y0);
+        int sx = x0 < x1 ? 1 : -1, sy = y0 < y1 ? width : -width;
+        int index = y0 * width + x0, end = y1 * width + x1;
+        int error = dx + dy;
+        while (true) {
+            pixels[index] = argb;
+            if (index == end) {
+                return;
+            }
+            int e2 = 2 * error;
+            if (e2 >= dy) {
+                error += dy;
+                index += sx;
+            }
+            if (e2 <= dx) {
+                error += dx;
+                index += sy;
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package renderer.raster;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wiederverwendbares Render-Ziel für Multisample-Kantenglättung (MSAA) mit 4 oder 8
+ * Abtastpunkten pro Pixel.
+ * <p>
+ * Abdeckung und Tiefe werden pro Abtastpunkt bestimmt, die Farbe eines Dreiecks aber nur
+ * einmal pro Pixel gespeichert. Die Abtastpunkte liegen auf einem gedrehten Raster
+ * ({@link #getSampleX(int)}, {@link #getSampleY(int)}), bei 8 Punkten so, dass keine zwei in
+ * derselben Zeile oder Spalte liegen; beides sind die Standardmuster von Direct3D. Dadurch
+ * werden fast waagerechte und fast senkrechte Kanten, an denen das Auge Treppen am ehesten
+ * sieht, in 4 bzw. 8 Stufen geglättet.
+ * <p>
+ * Damit Flächen im Inneren der Dreiecke nicht den vielfachen Speicher kosten, hat jeder Pixel
+ * zwei Darstellungen:
+ * <ul>
+ *   <li>Einfach: Alle Abtastpunkte gehören zum selben Dreieck. Gespeichert sind nur eine
+ *       Farbe und dessen Tiefenebene am Pixel (Tiefe am Rasterpunkt und Steigungen in x und y);
+ *       die Tiefen der Abtastpunkte werden daraus bei Bedarf berechnet, mit derselben
+ *       Arithmetik wie beim Schreiben. Das ist der Zustand nach dem Löschen (Hintergrund mit
+ *       {@link Double#NEGATIVE_INFINITY}) und der Normalfall.</li>
+ *   <li>Aufgeteilt: Nur an Kanten, an denen mehrere Dreiecke oder der Hintergrund einen Pixel
+ *       teilen, werden Farbe und Tiefe jedes Abtastpunkts einzeln gespeichert, in einem Platz
+ *       aus einem Vorrat. Überdeckt später ein Dreieck wieder alle Abtastpunkte, wird der Pixel
+ *       wieder einfach, behält seinen Platz aber bis zum nächsten Löschen.</li>
+ * </ul>
+ * Der Vorrat besteht aus Blöcken zu {@value #CHUNK_SLOTS} Plätzen. Anfangs gibt es Blöcke für ein
+ * Viertel der Pixel; braucht ein Frame mehr, wird während des Rasterns ein Block angehängt.
+ * Vorhandene Blöcke werden dabei nicht verschoben, sodass Kacheln auf anderen Threads
+ * ungestört weiterschreiben, und nie wieder freigegeben: Der Vorrat wächst auf die größte
+ * Anzahl aufgeteilter Pixel eines Frames, danach allokiert kein Frame mehr. Da jeder Pixel pro
+ * Frame höchstens einen Platz erhält, kann ein Pixel immer aufgeteilt werden, und das Ergebnis
+ * ist stets dasselbe wie mit einem Puffer, der alle Abtastpunkte einzeln führt, unabhängig von
+ * der Reihenfolge der Kacheln.
+ * <p>
+ * Pro Pixel kostet das 32 Bytes (Farbe, Ebene und Platznummer), dazu 12 Bytes pro Abtastpunkt
+ * und Platz. Ein Puffer, der alle Abtastpunkte einzeln führt, braucht 48 bzw. 96 Bytes pro
+ * Pixel. Die Kugel bis Stufe 6, der Würfel und die Instanzen kommen mit dem anfänglichen Viertel
+ * aus (44 bzw. 56 Bytes pro Pixel); sehr dichte Netze (Kugel der Stufe 8, Verdecker-Szene) teilen
+ * bei 640x480 bis zu einem Drittel der Pixel auf.
+ * {@link #resolve} überträgt einfache Pixel unverändert und mittelt nur die aufgeteilten.
+ * Bis auf angehängte Blöcke des Vorrats werden alle Arrays einmal im Konstruktor angelegt; Löschen und Auflösen beschränken sich wie
+ * beim {@link FrameBuffer} auf den Bereich, in den gezeichnet wurde ({@link #getContentBounds()}).
+ * Gezeichnet wird mit dem {@link MultisampleRasterizer}.
+ */
+public class MultisampleBuffer {
+
+    /** Größte unterstützte Anzahl an Abtastpunkten pro Pixel. */
+    public static final int MAX_SAMPLES = 8;
+
+    // Abtastmuster in 1/16 Pixel relativ zum Rasterpunkt des Pixels.
+    private static final int[][] PATTERN_4 = {{-2, -6}, {6, -2}, {-6, 2}, {2, 6}};
+    private static final int[][] PATTERN_8 = {{1, -3}, {-1, 3}, {5, 1}, {-3, -5}, {-5, 5}, {-7, -1}, {3, 7}, {7, -7}};
+
+    private final int width;
+    private final int height;
+    private final int samples;
+
+    // Lage der Abtastpunkte in Subpixeln des Rasterisierers und in Pixeln.
+    final long[] offsetX, offsetY;
+    final double[] sampleX, sampleY;
+    // Größter Abstand eines Abtastpunkts vom Rasterpunkt in Subpixeln (pro Achse).
+    final int maxOffset;
+
+    /** Platznummer eines Pixels, der seit dem letzten Löschen keinen Platz erhalten hat. */
+    static final int NO_SLOT = Integer.MIN_VALUE;
+
+    /** Anzahl der Plätze pro Block des Vorrats. */
+    public static final int CHUNK_SLOTS = 1 << 12;
+    // Platz = Block << CHUNK_BITS | Platz im Block.
+    static final int CHUNK_BITS = 12;
+    static final int CHUNK_MASK = CHUNK_SLOTS - 1;
+
+    // Pro Pixel: Farbe und Tiefenebene (z, dz/dx, dz/dy) einfacher Pixel und sein Platz im
+    // Vorrat: >= 0 bei aufgeteilten Pixeln, ~Platz bei wieder einfachen, sonst NO_SLOT.
+    final int[] colors;
+    final double[] planes;
+    final int[] slots;
+    // Vorrat an Abtastpunkten für die aufgeteilten Pixel: pro Block die Plätze hintereinander.
+    // Blöcke ab chunks sind noch nicht angelegt.
+    final int[][] sampleColors;
+    final double[][] sampleDepths;
+    // Anzahl der angelegten Blöcke. Wird erst nach dem Anlegen erhöht, sodass ein Thread, der sie
+    // liest, auch die Blöcke darunter sieht.
+    private volatile int chunks;
+    // Seit dem letzten Löschen vergebene Plätze. Atomar, da Kacheln auf mehreren Threads gerastert
+    // werden.
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    // Außerhalb dieses Rechtecks enthält der Puffer nur gelöschte Pixel.
+    private final ScreenRect contentBounds = new ScreenRect();
+
+    /**
+     * Konstruktor für einen Puffer fester Größe mit einem anfänglichen Vorrat für ein Viertel der
+     * Pixel, gelöscht mit der Farbe 0.
+     *
+     * @param width   Die Breite in Pixeln.
+     * @param height  Die Höhe in Pixeln.
+     * @param samples Die Anzahl der Abtastpunkte pro Pixel (4 oder 8).
+     * @throws IllegalArgumentException wenn Breite oder Höhe nicht positiv sind oder es für die
+     *                                  Anzahl der Abtastpunkte kein Muster gibt.
+     */
+    public MultisampleBuffer(int width, int height, int samples) {
+        this(width, height, samples, Math.max(1, width * height / 4));
+    }
+
+    /**
+     * Konstruktor für einen Puffer fester Größe, gelöscht mit der Farbe 0.
+     *
+     * @param width    Die Breite in Pixeln.
+     * @param height   Die Höhe in Pixeln.
+     * @param samples  Die Anzahl der Abtastpunkte pro Pixel (4 oder 8).
+     * @param capacity Die Anzahl der Pixel, für die der Vorrat anfangs Plätze hat (aufgerundet auf
+     *                 ganze Blöcke). Mit {@code width * height} wächst er nie.
+     * @throws IllegalArgumentException wenn Breite, Höhe oder Vorrat nicht positiv sind oder es
+     *                                  für die Anzahl der Abtastpunkte kein Muster gibt.
+     */
+    public MultisampleBuffer(int width, int height, int samples, int capacity) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("MultisampleBuffer muss eine positive Größe haben");
+        if (samples != 4 && samples != 8)
+            throw new IllegalArgumentException("Nur 4 oder 8 Abtastpunkte pro Pixel werden unterstützt");
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Der Vorrat für aufgeteilte Pixel muss positiv sein");
+        this.width = width;
+        this.height = height;
+        this.samples = samples;
+        int[][] pattern = samples == 4 ? PATTERN_4 : PATTERN_8;
+        offsetX = new long[samples];
+        offsetY = new long[samples];
+        sampleX = new double[samples];
+        sampleY = new double[samples];
+        int max = 0;
+        for (int s = 0; s < samples; s++) {
+            offsetX[s] = (long) pattern[s][0] << (Rasterizer.SUBPIXEL_BITS - 4);
+            offsetY[s] = (long) pattern[s][1] << (Rasterizer.SUBPIXEL_BITS - 4);
+            sampleX[s] = pattern[s][0] / 16.0;
+            sampleY[s] = pattern[s][1] / 16.0;
+            max = Math.max(max, Math.max(Math.abs(pattern[s][0]), Math.abs(pattern[s][1])));
+        }
+        maxOffset = max << (Rasterizer.SUBPIXEL_BITS - 4);
+
+        int count = width * height;
+        colors = new int[count];
+        planes = new double[count * 3];
+        slots = new int[count];
+        int maxChunks = (count + CHUNK_MASK) >>> CHUNK_BITS;
+        sampleColors = new int[maxChunks][];
+        sampleDepths = new double[maxChunks][];
+        addChunks(Math.min(maxChunks, (capacity + CHUNK_MASK) >>> CHUNK_BITS));
+        clear(0);
+    }
+
+    /**
+     * Löscht den ganzen Puffer: Alle Pixel werden einfach, mit der angegebenen Farbe und der
+     * Tiefe {@link Double#NEGATIVE_INFINITY}, und der Vorrat ist wieder frei.
+     *
+     * @param argb Die Hintergrundfarbe als gepackter ARGB-Wert.
+     */
+    public void clear(int argb) {
+        contentBounds.set(0, 0, width, height);
+        clear(argb, new ScreenRect());
+    }
+
+    /**
+     * Löscht nur den Bereich, außerhalb dessen der Puffer bereits gelöscht ist
+     * ({@link #getContentBounds()}); danach ist der ganze Puffer gelöscht. Das Rechteck bleibt
+     * unverändert, bis es der Aufrufer mit {@link #setContentBounds(ScreenRect)} neu setzt.
+     *
+     * @param argb    Die Hintergrundfarbe als gepackter ARGB-Wert (dieselbe wie beim letzten Löschen).
+     * @param cleared Ziel für den gelöschten Bereich.
+     */
+    public void clear(int argb, ScreenRect cleared) {
+        cleared.set(contentBounds);
+        int minX = cleared.getMinX(), maxX = cleared.getMaxX();
+        for (int y = cleared.getMinY(); y < cleared.getMaxY(); y++) {
+            int row = y * width;
+            Arrays.fill(colors, row + minX, row + maxX, argb);
+            Arrays.fill(slots, row + minX, row + maxX, NO_SLOT);
+            for (int i = (row + minX) * 3; i < (row + maxX) * 3; i += 3) {
+                planes[i] = Double.NEGATIVE_INFINITY;
+                planes[i + 1] = 0;
+                planes[i + 2] = 0;
+            }
+        }
+        reserved.set(0);
+    }
+
+    /**
+     * Liefert den Platz eines Pixels im Vorrat und vergibt bei Bedarf einen neuen; fehlt dessen
+     * Block noch, wird er angehängt. Nur der Thread, der den Pixel zeichnet, darf ihn aufrufen.
+     *
+     * @param i Der Index des Pixels.
+     * @return Der Platz.
+     */
+    int reserve(int i) {
+        int slot = slots[i];
+        if (slot != NO_SLOT) {
+            return slot < 0 ? ~slot : slot;
+        }
+        slot = reserved.getAndIncrement();
+        if (slot >>> CHUNK_BITS >= chunks) {
+            addChunks((slot >>> CHUNK_BITS) + 1);
+        }
+        return slot;
+    }
+
+    /**
+     * Legt Blöcke an, bis es mindestens {@code count} gibt.
+     */
+    private synchronized void addChunks(int count) {
+        for (int c = chunks; c < count; c++) {
+            sampleColors[c] = new int[CHUNK_SLOTS * samples];
+            sampleDepths[c] = new double[CHUNK_SLOTS * samples];
+            chunks = c + 1;
+        }
+    }
+
+    /**
+     * Überträgt den Inhalt eines Rechtecks in einen {@link FrameBuffer} gleicher Größe.
+     * <p>
+     * Einfache Pixel werden kopiert, aufgeteilte erhalten den gerundeten Mittelwert der
+     * Farbkanäle ihrer Abtastpunkte (Box-Filter wie beim {@link Supersampling}). Tiefenwerte
+     * werden nicht übertragen. Es wird nichts allokiert.
+     *
+     * @param target Das Ziel.
+     * @param area   Der zu übertragende Bereich; er muss alles enthalten, was seit dem letzten
+     *               Löschen des Ziels gezeichnet wurde.
+     * @throws IllegalArgumentException wenn das Ziel eine andere Größe hat.
+     */
+    public void resolve(FrameBuffer target, ScreenRect area) {
+        if (target.getWidth() != width || target.getHeight() != height)
+            throw new IllegalArgumentException("Ziel muss dieselbe Größe wie der MultisampleBuffer haben");
+        resolve(target, area, area.getMinY(), area.getMaxY());
+    }
+
+    /**
+     * Überträgt die Zeilen {@code fromY} bis {@code toY} (exklusive) eines Rechtecks, z.B. als
+     * Zeilenstreifen auf mehreren Threads.
+     *
+     * @param target Das Ziel mit derselben Größe.
+     * @param area   Der zu übertragende Bereich.
+     * @param fromY  Die erste Zeile.
+     * @param toY    Die Zeile nach der letzten.
+     */
+    public void resolve(FrameBuffer target, ScreenRect area, int fromY, int toY) {
+        int[] dst = target.getPixels();
+        int minX = area.getMinX(), maxX = area.getMaxX();
+        int shift = samples == 4 ? 2 : 3, half = samples / 2;
+        for (int y = fromY; y < toY; y++) {
+            int row = y * width;
+            System.arraycopy(colors, row + minX, dst, row + minX, maxX - minX);
+            for (int i = row + minX; i < row + maxX; i++) {
+                int slot = slots[i];
+                if (slot < 0) {
+                    continue;
+                }
+                int[] chunk = sampleColors[slot >>> CHUNK_BITS];
+                int a = 0, r = 0, g = 0, b = 0;
+                for (int s = (slot & CHUNK_MASK) * samples, end = s + samples; s < end; s++) {
+                    int argb = chunk[s];
+                    a += argb >>> 24;
+                    r += (argb >> 16) & 0xFF;
+                    g += (argb >> 8) & 0xFF;
+                    b += argb & 0xFF;
+                }
+                dst[i] = (a + half) >> shift << 24 | (r + half) >> shift << 16
+                        | (g + half) >> shift << 8 | (b + half) >> shift;
+            }
+        }
+    }
+
+    /**
+     * Liefert das Rechteck, außerhalb dessen der Puffer nur gelöschte Pixel enthält (keine Kopie).
+     *
+     * @return Das Rechteck; umfasst das ganze Bild, solange der Inhalt unbekannt ist.
+     */
+    public ScreenRect getContentBounds() {
+        return contentBounds;
+    }
+
+    /**
+     * Meldet den Bereich, in den seit dem letzten Löschen gezeichnet wurde.
+     *
+     * @param bounds Ein Rechteck, das alle seitdem geschriebenen Pixel enthält.
+     */
+    public void setContentBounds(ScreenRect bounds) {
+        contentBounds.set(bounds);
+    }
+
+    /**
+     * Zählt die aufgeteilten Pixel, also die, an denen geglättet wird.
+     *
+     * @return Die Anzahl im ganzen Puffer.
+     */
+    public int countSplitPixels() {
+        int count = 0;
+        for (int slot : slots) {
+            if (slot >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Die Anzahl der Pixel, für die der Vorrat derzeit Plätze hat.
+     */
+    public int getCapacity() {
+        return chunks << CHUNK_BITS;
+    }
+
+    /**
+     * @return Die Breite in Pixeln.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return Die Höhe in Pixeln.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return Die Anzahl der Abtastpunkte pro Pixel.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * @param sample Der Index des Abtastpunkts.
+     * @return Der x-Abstand des Abtastpunkts vom Rasterpunkt seines Pixels in Pixeln.
+     */
+    public double getSampleX(int sample) {
+        return sampleX[sample];
+    }
+
+    /**
+     * @param sample Der Index des Abtastpunkts.
+     * @return Der y-Abstand des Abtastpunkts vom Rasterpunkt seines Pixels in Pixeln.
+     */
+    public double getSampleY(int sample) {
+        return sampleY[sample];
+    }
+}
@@ -0,0 +1,365 @@
+package renderer.raster;
+
+/**
+ * Zeichnet bereits transformierte Dreiecke in einen {@link MultisampleBuffer}.
+ * <p>
+ * Kantenfunktionen, Festkomma-Koordinaten, Top-Left-Füllregel und das feste 8x8-Blockraster
+ * sind dieselben wie beim {@link Rasterizer}. Getestet wird aber nicht am Rasterpunkt eines
+ * Pixels, sondern an jedem seiner Abtastpunkte: Da deren Abstände Vielfache von 1/16 Pixel
+ * sind, ergibt sich der Wert einer Kantenfunktion dort exakt aus dem Wert am Rasterpunkt plus
+ * einem festen Anteil pro Abtastpunkt und Kante, die Tiefe entsprechend aus der Ebene.
+ * <ul>
+ *   <li>Blöcke und Pixel, deren Abtastpunkte alle innerhalb bzw. alle außerhalb liegen, werden
+ *       mit den Schranken dieser Anteile ohne Test der einzelnen Abtastpunkte erkannt. Nur an
+ *       den Kanten wird die Abdeckung pro Abtastpunkt bestimmt.</li>
+ *   <li>Die Farbe wird einmal pro Dreieck und Pixel geschrieben, egal wie viele Abtastpunkte
+ *       den Tiefentest bestehen.</li>
+ *   <li>Der {@link HierarchicalZ hierarchische Z-Buffer} und die SIMD-Kernel werden nicht
+ *       benutzt.</li>
+ * </ul>
+ * Wie beim {@link Rasterizer} ist das Ergebnis jedes Pixels unabhängig vom Ausschnitt, auf den
+ * ein Aufruf beschränkt ist, sodass der {@link TiledRasterizer} dasselbe Bild liefert wie der
+ * serielle Pfad. Es wird nichts allokiert.
+ */
+public final class MultisampleRasterizer {
+
+    private static final int SUBPIXEL = 1 << Rasterizer.SUBPIXEL_BITS;
+    private static final int BLOCK_SIZE = HierarchicalZ.BLOCK_SIZE;
+    private static final int BLOCK_MASK = ~(BLOCK_SIZE - 1);
+    // Größter Koordinatenbetrag, bei dem die Kantenfunktionen noch sicher in einen long passen.
+    private static final double MAX_COORD = 1 << 19;
+
+    // Anteile der Abtastpunkte an den drei Kantenfunktionen des aktuellen Dreiecks
+    // (Index Abtastpunkt * 3 + Kante); pro Thread, da die Kacheln parallel rastern.
+    private static final ThreadLocal<long[]> EDGE_OFFSETS =
+            ThreadLocal.withInitial(() -> new long[3 * MultisampleBuffer.MAX_SAMPLES]);
+
+    private MultisampleRasterizer() {
+    }
+
+    /**
+     * Rastert ein Dreieck mit einer konstanten Farbe, beschränkt auf einen rechteckigen
+     * Ausschnitt.
+     * <p>
+     * Pixel außerhalb des Ausschnitts werden weder gelesen noch geschrieben. Dreiecke mit
+     * Koordinaten jenseits von ±2^19 Pixeln oder NaN werden verworfen; der
+     * {@link renderer.pipeline.Renderer} clippt vorher am Sichtvolumen.
+     *
+     * @param ms       Das Render-Ziel.
+     * @param clipMinX Linke Grenze des Ausschnitts (inklusive).
+     * @param clipMinY Obere Grenze des Ausschnitts (inklusive).
+     * @param clipMaxX Rechte Grenze des Ausschnitts (inklusive).
+     * @param clipMaxY Untere Grenze des Ausschnitts (inklusive).
+     * @param x1       x-Koordinate des ersten Eckpunkts.
+     * @param y1       y-Koordinate des ersten Eckpunkts.
+     * @param z1       Tiefe des ersten Eckpunkts.
+     * @param x2       x-Koordinate des zweiten Eckpunkts.
+     * @param y2       y-Koordinate des zweiten Eckpunkts.
+     * @param z2       Tiefe des zweiten Eckpunkts.
+     * @param x3       x-Koordinate des dritten Eckpunkts.
+     * @param y3       y-Koordinate des dritten Eckpunkts.
+     * @param z3       Tiefe des dritten Eckpunkts.
+     * @param argb     Die Farbe des Dreiecks als gepackter ARGB-Wert.
+     */
+    public static void fillTriangle(MultisampleBuffer ms,
+                                    int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                    double x1, double y1, double z1,
+                                    double x2, double y2, double z2,
+                                    double x3, double y3, double z3,
+                                    int argb) {
+        if (!(Math.abs(x1) < MAX_COORD && Math.abs(y1) < MAX_COORD
+                && Math.abs(x2) < MAX_COORD && Math.abs(y2) < MAX_COORD
+                && Math.abs(x3) < MAX_COORD && Math.abs(y3) < MAX_COORD)) {
+            return;
+        }
+
+        // Eckpunkte in Festkomma-Koordinaten.
+        long ax = Math.round(x1 * SUBPIXEL), ay = Math.round(y1 * SUBPIXEL);
+        long bx = Math.round(x2 * SUBPIXEL), by = Math.round(y2 * SUBPIXEL);
+        long cx = Math.round(x3 * SUBPIXEL), cy = Math.round(y3 * SUBPIXEL);
+        double za = z1, zb = z2, zc = z3;
+
+        // Doppelte Fläche; bei negativer Orientierung werden b und c getauscht.
+        long area = (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+        if (area == 0) {
+            return;
+        }
+        if (area < 0) {
+            long t = bx; bx = cx; cx = t;
+            t = by; by = cy; cy = t;
+            double tz = zb; zb = zc; zc = tz;
+            area = -area;
+        }
+
+        // Begrenzungsbox in Pixeln, erweitert um den größten Abstand eines Abtastpunkts.
+        int pad = ms.maxOffset;
+        int minX = (int) Math.max(clipMinX, -Math.floorDiv(pad - Math.min(ax, Math.min(bx, cx)), SUBPIXEL));
+        int maxX = (int) Math.min(clipMaxX, Math.floorDiv(Math.max(ax, Math.max(bx, cx)) + pad, SUBPIXEL));
+        int minY = (int) Math.max(clipMinY, -Math.floorDiv(pad - Math.min(ay, Math.min(by, cy)), SUBPIXEL));
+        int maxY = (int) Math.min(clipMaxY, Math.floorDiv(Math.max(ay, Math.max(by, cy)) + pad, SUBPIXEL));
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+
+        // Kantenfunktion E(p) = (b - a) x (p - a); Ableitungen pro Subpixel und pro Pixel.
+        long ex0 = -(by - ay), ey0 = bx - ax;
+        long ex1 = -(cy - by), ey1 = cx - bx;
+        long ex2 = -(ay - cy), ey2 = ax - cx;
+        long sx0 = ex0 * SUBPIXEL, sy0 = ey0 * SUBPIXEL;
+        long sx1 = ex1 * SUBPIXEL, sy1 = ey1 * SUBPIXEL;
+        long sx2 = ex2 * SUBPIXEL, sy2 = ey2 * SUBPIXEL;
+
+        // Werte am Rasterpunkt (minX, minY) mit Top-Left-Regel wie beim Rasterizer.
+        long px = (long) minX * SUBPIXEL, py = (long) minY * SUBPIXEL;
+        long e0 = (bx - ax) * (py - ay) - (by - ay) * (px - ax) + bias(bx - ax, by - ay);
+        long e1 = (cx - bx) * (py - by) - (cy - by) * (px - bx) + bias(cx - bx, cy - by);
+        long e2 = (ax - cx) * (py - cy) - (ay - cy) * (px - cx) + bias(ax - cx, ay - cy);
+
+        // Anteile der Abtastpunkte an jeder Kantenfunktion und deren Schranken.
+        long[] offsetX = ms.offsetX, offsetY = ms.offsetY;
+        long[] edgeOffsets = EDGE_OFFSETS.get();
+        int samples = ms.getSamples();
+        long lo0 = Long.MAX_VALUE, lo1 = Long.MAX_VALUE, lo2 = Long.MAX_VALUE;
+        long hi0 = Long.MIN_VALUE, hi1 = Long.MIN_VALUE, hi2 = Long.MIN_VALUE;
+        for (int s = 0; s < samples; s++) {
+            long o0 = ex0 * offsetX[s] + ey0 * offsetY[s];
+            long o1 = ex1 * offsetX[s] + ey1 * offsetY[s];
+            long o2 = ex2 * offsetX[s] + ey2 * offsetY[s];
+            edgeOffsets[s * 3] = o0;
+            edgeOffsets[s * 3 + 1] = o1;
+            edgeOffsets[s * 3 + 2] = o2;
+            lo0 = Math.min(lo0, o0);
+            lo1 = Math.min(lo1, o1);
+            lo2 = Math.min(lo2, o2);
+            hi0 = Math.max(hi0, o0);
+            hi1 = Math.max(hi1, o1);
+            hi2 = Math.max(hi2, o2);
+        }
+
+        // Tiefe als Ebene z(x, y) = dzdx * x + dzdy * y + z0 (x, y in Pixeln).
+        double invArea = 1.0 / area;
+        double dzdx = (sx1 * za + sx2 * zb + sx0 * zc) * invArea;
+        double dzdy = (sy1 * za + sy2 * zb + sy0 * zc) * invArea;
+        double z0 = za - dzdx * ((double) ax / SUBPIXEL) - dzdy * ((double) ay / SUBPIXEL);
+
+        // Schranken der Anteile der Abtastpunkte an der Tiefe. Da Rundung monoton ist, liegt jede
+        // Tiefe eines Abtastpunkts zwischen z + dzLo und z + dzHi (z am Rasterpunkt).
+        double[] sampleX = ms.sampleX, sampleY = ms.sampleY;
+        double dzLo = Double.POSITIVE_INFINITY, dzHi = Double.NEGATIVE_INFINITY;
+        for (int s = 0; s < samples; s++) {
+            double dz = dzdx * sampleX[s] + dzdy * sampleY[s];
+            dzLo = Math.min(dzLo, dz);
+            dzHi = Math.max(dzHi, dz);
+        }
+        double reach = (double) ms.maxOffset / SUBPIXEL;
+
+        int width = ms.getWidth();
+        int all = (1 << samples) - 1;
+        int[] colors = ms.colors;
+        double[] planes = ms.planes;
+        int[] slots = ms.slots;
+
+        // Durchlaufe die Begrenzungsbox in 8x8-Blöcken auf einem festen Bildschirmraster.
+        for (int blockY = minY & BLOCK_MASK; blockY <= maxY; blockY += BLOCK_SIZE) {
+            int startY = Math.max(blockY, minY);
+            int endY = Math.min(blockY + BLOCK_SIZE - 1, maxY);
+            int h = endY - startY;
+            long rowE0 = e0 + (startY - minY) * sy0;
+            long rowE1 = e1 + (startY - minY) * sy1;
+            long rowE2 = e2 + (startY - minY) * sy2;
+
+            for (int blockX = minX & BLOCK_MASK; blockX <= maxX; blockX += BLOCK_SIZE) {
+                int startX = Math.max(blockX, minX);
+                int endX = Math.min(blockX + BLOCK_SIZE - 1, maxX);
+                int w = endX - startX;
+                long be0 = rowE0 + (startX - minX) * sx0;
+                long be1 = rowE1 + (startX - minX) * sx1;
+                long be2 = rowE2 + (startX - minX) * sx2;
+
+                // Da E linear ist, liegen Minimum und Maximum über den Block an den Ecken.
+                long max0 = be0 + Math.max(0, w * sx0) + Math.max(0, h * sy0) + hi0;
+                long max1 = be1 + Math.max(0, w * sx1) + Math.max(0, h * sy1) + hi1;
+                long max2 = be2 + Math.max(0, w * sx2) + Math.max(0, h * sy2) + hi2;
+                if ((max0 | max1 | max2) < 0) {
+                    // Kein Abtastpunkt des Blocks liegt innerhalb.
+                    continue;
+                }
+                long min0 = be0 + Math.min(0, w * sx0) + Math.min(0, h * sy0) + lo0;
+                long min1 = be1 + Math.min(0, w * sx1) + Math.min(0, h * sy1) + lo1;
+                long min2 = be2 + Math.min(0, w * sx2) + Math.min(0, h * sy2) + lo2;
+                boolean fullyCovered = (min0 | min1 | min2) >= 0;
+
+                for (int y = startY; y <= endY; y++) {
+                    int row = y * width;
+                    // Die Tiefe bezieht sich immer auf den Rasterpunkt blockX, damit sie unabhängig
+                    // vom Ausschnitt ist.
+                    double rowDepth = dzdx * blockX + dzdy * y + z0;
+                    long pe0 = be0 + (y - startY) * sy0;
+                    long pe1 = be1 + (y - startY) * sy1;
+                    long pe2 = be2 + (y - startY) * sy2;
+                    int fromX = startX, toX = endX;
+                    if (!fullyCovered) {
+                        // Die Zeile auf die Pixel kürzen, die ein Abtastpunkt erreichen kann: Da E
+                        // linear ist, sind das zusammenhängende Pixel.
+                        while (fromX <= toX && (pe0 + hi0 | pe1 + hi1 | pe2 + hi2) < 0) {
+                            fromX++;
+                            pe0 += sx0;
+                            pe1 += sx1;
+                            pe2 += sx2;
+                        }
+                        long d = toX - fromX;
+                        while (fromX <= toX && (pe0 + d * sx0 + hi0 | pe1 + d * sx1 + hi1 | pe2 + d * sx2 + hi2) < 0) {
+                            toX--;
+                            d--;
+                        }
+                    }
+                    for (int x = fromX; x <= toX; x++, pe0 += sx0, pe1 += sx1, pe2 += sx2) {
+                        int mask = all;
+                        if (!fullyCovered && (pe0 + lo0 | pe1 + lo1 | pe2 + lo2) < 0) {
+                            // Kante im Pixel: Abdeckung pro Abtastpunkt (ohne Sprünge, da an
+                            // Kanten kaum vorhersagbar). Innen ist, wo kein Vorzeichenbit gesetzt ist.
+                            mask = 0;
+                            for (int s = 0, k = 0; s < samples; s++, k += 3) {
+                                long e = pe0 + edgeOffsets[k] | pe1 + edgeOffsets[k + 1] | pe2 + edgeOffsets[k + 2];
+                                mask |= (int) (~e >>> 63) << s;
+                            }
+                            if (mask == 0) {
+                                continue;
+                            }
+                        }
+                        int i = row + x;
+                        double z = rowDepth + dzdx * (x - blockX);
+                        if (slots[i] < 0) {
+                            // Schranken der gespeicherten Ebene über alle Abtastpunkte: Meist
+                            // entscheidet schon der Vergleich damit für den ganzen Pixel.
+                            int p = i * 3;
+                            double zq = planes[p];
+                            double q = Math.abs(planes[p + 1]) * reach + Math.abs(planes[p + 2]) * reach;
+                            if (z + dzHi <= zq - q) {
+                                continue;
+                            }
+                            if (zq + q < z + dzLo) {
+                                // Alle abgedeckten Abtastpunkte bestehen den Tiefentest.
+                                if (mask == all) {
+                                    colors[i] = argb;
+                                    planes[p] = z;
+                                    planes[p + 1] = dzdx;
+                                    planes[p + 2] = dzdy;
+                                } else {
+                                    splitPixel(ms, i, mask, z, dzdx, dzdy, argb);
+                                }
+                                continue;
+                            }
+                        }
+                        writePixel(ms, i, mask, z, dzdx, dzdy, argb);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Testet und schreibt die abgedeckten Abtastpunkte eines Pixels.
+     *
+     * @param mask Die abgedeckten Abtastpunkte als Bitmaske.
+     * @param z    Die Tiefe des Dreiecks am Rasterpunkt des Pixels.
+     */
+    private static void writePixel(MultisampleBuffer ms, int i, int mask, double z, double dzdx, double dzdy,
+                                   int argb) {
+        double[] sampleX = ms.sampleX, sampleY = ms.sampleY;
+        int samples = sampleX.length;
+        int all = (1 << samples) - 1;
+        int slot = ms.slots[i];
+        if (slot < 0) {
+            double[] planes = ms.planes;
+            int p = i * 3;
+            double zq = planes[p], qx = planes[p + 1], qy = planes[p + 2];
+            int passed = 0;
+            for (int s = 0; s < samples; s++) {
+                boolean pass = zq + (qx * sampleX[s] + qy * sampleY[s]) < z + (dzdx * sampleX[s] + dzdy * sampleY[s]);
+                passed |= (pass ? 1 : 0) << s;
+            }
+            passed &= mask;
+            if (passed == all) {
+                // Der Pixel bleibt einfach und gehört jetzt diesem Dreieck.
+                ms.colors[i] = argb;
+                planes[p] = z;
+                planes[p + 1] = dzdx;
+                planes[p + 2] = dzdy;
+            } else if (passed != 0) {
+                splitPixel(ms, i, passed, z, dzdx, dzdy, argb);
+            }
+            return;
+        }
+        int[] sampleColors = ms.sampleColors[slot >>> MultisampleBuffer.CHUNK_BITS];
+        double[] sampleDepths = ms.sampleDepths[slot >>> MultisampleBuffer.CHUNK_BITS];
+        // Ohne Sprünge, da das Ergebnis pro Abtastpunkt an Kanten kaum vorhersagbar ist.
+        int passed = 0;
+        for (int s = 0, k = (slot & MultisampleBuffer.CHUNK_MASK) * samples; s < samples; s++, k++) {
+            double d = z + (dzdx * sampleX[s] + dzdy * sampleY[s]);
+            double old = sampleDepths[k];
+            boolean pass = (mask >> s & 1) != 0 & old < d;
+            sampleColors[k] = pass ? argb : sampleColors[k];
+            sampleDepths[k] = Double.longBitsToDouble(pass ? Double.doubleToRawLongBits(d) : Double.doubleToRawLongBits(old));
+            passed |= (pass ? 1 : 0) << s;
+        }
+        if (passed == all) {
+            // Alle Abtastpunkte gehören wieder demselben Dreieck; der Platz bleibt reserviert.
+            ms.slots[i] = ~slot;
+            ms.colors[i] = argb;
+            int p = i * 3;
+            ms.planes[p] = z;
+            ms.planes[p + 1] = dzdx;
+            ms.planes[p + 2] = dzdy;
+        }
+    }
+
+    /**
+     * Teilt einen einfachen Pixel auf: Die Abtastpunkte in {@code passed} erhalten Farbe und Tiefe
+     * des Dreiecks, die übrigen behalten Farbe und Ebene des bisherigen Inhalts.
+     */
+    private static void splitPixel(MultisampleBuffer ms, int i, int passed, double z, double dzdx, double dzdy,
+                                   int argb) {
+        double[] sampleX = ms.sampleX, sampleY = ms.sampleY;
+        int slot = ms.reserve(i);
+        int[] sampleColors = ms.sampleColors[slot >>> MultisampleBuffer.CHUNK_BITS];
+        double[] sampleDepths = ms.sampleDepths[slot >>> MultisampleBuffer.CHUNK_BITS];
+        int samples = sampleX.length;
+        int p = i * 3;
+        double zq = ms.planes[p], qx = ms.planes[p + 1], qy = ms.planes[p + 2];
+        int color = ms.colors[i];
+        for (int s = 0, k = (slot & MultisampleBuffer.CHUNK_MASK) * samples; s < samples; s++, k++) {
+            boolean covered = (passed >> s & 1) != 0;
+            long depth = Double.doubleToRawLongBits(z + (dzdx * sampleX[s] + dzdy * sampleY[s]));
+            long kept = Double.doubleToRawLongBits(zq + (qx * sampleX[s] + qy * sampleY[s]));
+            sampleColors[k] = covered ? argb : color;
+            sampleDepths[k] = Double.longBitsToDouble(covered ? depth : kept);
+        }
+        ms.slots[i] = slot;
+    }
+
+    /**
+     * Korrekturwert der Top-Left-Füllregel, wie beim {@link Rasterizer}.
+     */
+    private static long bias(long dx, long dy) {
+        boolean topLeft = (dy == 0 && dx > 0) || dy < 0;
+        return topLeft ? 0 : -1;
+    }
+
+    /**
+     * Rastert alle Dreiecke einer {@link TriangleBatch} nacheinander auf dem aufrufenden Thread.
+     *
+     * @param ms    Das Render-Ziel.
+     * @param batch Die Dreiecke in Bildschirmkoordinaten.
+     */
+    public static void drawBatch(MultisampleBuffer ms, TriangleBatch batch) {
+        double[] c = batch.getCoords();
+        int[] colors = batch.getColors();
+        int maxX = ms.getWidth() - 1, maxY = ms.getHeight() - 1;
+        for (int t = 0; t < batch.size(); t++) {
+            int i = t * 9;
+            fillTriangle(ms, 0, 0, maxX, maxY, c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5],
+                    c[i + 6], c[i + 7], c[i + 8], colors[t]);
+        }
+    }
+}
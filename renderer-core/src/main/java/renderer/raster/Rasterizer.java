@@ -0,0 +1,455 @@
+package renderer.raster;
+
+import renderer.simd.Simd;
+import renderer.simd.VectorKernels;
+
+/**
+ * Zeichnet bereits transformierte Dreiecke in einen {@link FrameBuffer}.
+ * <p>
+ * Der Rasterisierer arbeitet mit Kantenfunktionen (Edge Functions) in Festkomma-Arithmetik:
+ * <ul>
+ *   <li>Die Eckpunkte werden auf {@link #SUBPIXEL_BITS} Bit Subpixel-Genauigkeit gerundet,
+ *       sodass alle Abdeckungstests exakt mit {@code long}-Ganzzahlen erfolgen.</li>
+ *   <li>Die Kantenfunktionen werden pro Pixel und pro Zeile nur inkrementiert; im
+ *       Pixel-Loop gibt es keine Division.</li>
+ *   <li>Eine Top-Left-Füllregel sorgt dafür, dass Pixel auf gemeinsamen Kanten
+ *       benachbarter Dreiecke genau einmal gezeichnet werden.</li>
+ *   <li>Die Begrenzungsbox wird in 8x8-Blöcken durchlaufen. Blöcke vollständig außerhalb
+ *       werden verworfen, vollständig abgedeckte Blöcke ohne Kantentests gefüllt.</li>
+ *   <li>Blöcke, in denen das Dreieck laut {@link HierarchicalZ} überall hinter dem bereits
+ *       Gezeichneten liegt, werden ohne Zugriff auf den Z-Buffer verworfen; liegt es überall
+ *       davor, wird ohne Tiefentest geschrieben.</li>
+ *   <li>Die Tiefe wird als Ebenengleichung interpoliert, pro Pixel direkt aus dem Abstand
+ *       zum Blockanfang statt durch Aufsummieren, damit der SIMD-Pfad bitgleich rechnet.</li>
+ * </ul>
+ * Optional werden die Pixel einer Blockzeile mit {@link VectorKernels} lanesweise getestet und
+ * geschrieben (siehe {@link renderer.simd.Simd}); das Bild ist dasselbe wie beim skalaren Pfad.
+ * Die Blöcke liegen auf einem festen 8x8-Raster des Bildschirms. Dadurch ist das Ergebnis
+ * für jeden Pixel unabhängig vom Ausschnitt, auf den ein Aufruf beschränkt ist, und der
+ * {@link TiledRasterizer} liefert dieselben Pixel wie der serielle Pfad.
+ * Die Klasse benötigt kein JavaFX und kann headless verwendet werden.
+ */
+public final class Rasterizer {
+
+    /** Anzahl der Subpixel-Bits der Festkomma-Koordinaten. */
+    public static final int SUBPIXEL_BITS = 8;
+
+    private static final int SUBPIXEL = 1 << SUBPIXEL_BITS;
+    private static final int BLOCK_SIZE = HierarchicalZ.BLOCK_SIZE;
+    private static final int BLOCK_MASK = ~(BLOCK_SIZE - 1);
+    // Größter Koordinatenbetrag, bei dem die Kantenfunktionen noch sicher in einen long passen.
+    private static final double MAX_COORD = 1 << 19;
+
+    private Rasterizer() {
+    }
+
+    /**
+     * Rastert ein Dreieck in Bildschirmkoordinaten mit einer konstanten Farbe.
+     *
+     * @param fb   Das Render-Ziel.
+     * @param x1   x-Koordinate des ersten Eckpunkts.
+     * @param y1   y-Koordinate des ersten Eckpunkts.
+     * @param z1   Tiefe des ersten Eckpunkts.
+     * @param x2   x-Koordinate des zweiten Eckpunkts.
+     * @param y2   y-Koordinate des zweiten Eckpunkts.
+     * @param z2   Tiefe des zweiten Eckpunkts.
+     * @param x3   x-Koordinate des dritten Eckpunkts.
+     * @param y3   y-Koordinate des dritten Eckpunkts.
+     * @param z3   Tiefe des dritten Eckpunkts.
+     * @param argb Die Farbe des Dreiecks als gepackter ARGB-Wert.
+     */
+    public static void fillTriangle(FrameBuffer fb,
+                                    double x1, double y1, double z1,
+                                    double x2, double y2, double z2,
+                                    double x3, double y3, double z3,
+                                    int argb) {
+        fillTriangle(fb, 0, 0, fb.getWidth() - 1, fb.getHeight() - 1,
+                x1, y1, z1, x2, y2, z2, x3, y3, z3, argb);
+    }
+
+    /**
+     * Rastert ein Dreieck, beschränkt auf einen rechteckigen Ausschnitt des Render-Ziels.
+     * <p>
+     * Pixel außerhalb des Ausschnitts werden weder gelesen noch geschrieben. Dadurch können
+     * mehrere Threads disjunkte Ausschnitte (Kacheln) desselben FrameBuffers ohne Sperren
+     * bearbeiten. Innerhalb des Ausschnitts ist das Ergebnis identisch zum ungeteilten Rastern.
+     *
+     * @param fb       Das Render-Ziel.
+     * @param clipMinX Linke Grenze des Ausschnitts (inklusive).
+     * @param clipMinY Obere Grenze des Ausschnitts (inklusive).
+     * @param clipMaxX Rechte Grenze des Ausschnitts (inklusive).
+     * @param clipMaxY Untere Grenze des Ausschnitts (inklusive).
+     * @param x1       x-Koordinate des ersten Eckpunkts.
+     * @param y1       y-Koordinate des ersten Eckpunkts.
+     * @param z1       Tiefe des ersten Eckpunkts.
+     * @param x2       x-Koordinate des zweiten Eckpunkts.
+     * @param y2       y-Koordinate des zweiten Eckpunkts.
+     * @param z2       Tiefe des zweiten Eckpunkts.
+     * @param x3       x-Koordinate des dritten Eckpunkts.
+     * @param y3       y-Koordinate des dritten Eckpunkts.
+     * @param z3       Tiefe des dritten Eckpunkts.
+     * @param argb     Die Farbe des Dreiecks als gepackter ARGB-Wert.
+     */
+    public static void fillTriangle(FrameBuffer fb,
+                                    int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                    double x1, double y1, double z1,
+                                    double x2, double y2, double z2,
+                                    double x3, double y3, double z3,
+                                    int argb) {
+        fillTriangle(fb, clipMinX, clipMinY, clipMaxX, clipMaxY,
+                x1, y1, z1, x2, y2, z2, x3, y3, z3, argb, false);
+    }
+
+    /**
+     * Rastert ein Dreieck in einen Ausschnitt, wahlweise mit den SIMD-Kerneln.
+     * <p>
+     * Ist {@link Simd#isAvailable()} {@code false}, wird immer skalar gerastert.
+     *
+     * @param fb       Das Render-Ziel.
+     * @param clipMinX Linke Grenze des Ausschnitts (inklusive).
+     * @param clipMinY Obere Grenze des Ausschnitts (inklusive).
+     * @param clipMaxX Rechte Grenze des Ausschnitts (inklusive).
+     * @param clipMaxY Untere Grenze des Ausschnitts (inklusive).
+     * @param x1       x-Koordinate des ersten Eckpunkts.
+     * @param y1       y-Koordinate des ersten Eckpunkts.
+     * @param z1       Tiefe des ersten Eckpunkts.
+     * @param x2       x-Koordinate des zweiten Eckpunkts.
+     * @param y2       y-Koordinate des zweiten Eckpunkts.
+     * @param z2       Tiefe des zweiten Eckpunkts.
+     * @param x3       x-Koordinate des dritten Eckpunkts.
+     * @param y3       y-Koordinate des dritten Eckpunkts.
+     * @param z3       Tiefe des dritten Eckpunkts.
+     * @param argb     Die Farbe des Dreiecks als gepackter ARGB-Wert.
+     * @param simd     {@code true}, um die Pixel mit {@link VectorKernels} zu schreiben, sofern verfügbar.
+     */
+    public static void fillTriangle(FrameBuffer fb,
+                                    int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                    double x1, double y1, double z1,
+                                    double x2, double y2, double z2,
+                                    double x3, double y3, double z3,
+                                    int argb, boolean simd) {
+        // Außerhalb des Festkomma-Bereichs (oder bei NaN) auf den Referenzpfad ausweichen.
+        if (!(Math.abs(x1) < MAX_COORD && Math.abs(y1) < MAX_COORD
+                && Math.abs(x2) < MAX_COORD && Math.abs(y2) < MAX_COORD
+                && Math.abs(x3) < MAX_COORD && Math.abs(y3) < MAX_COORD)) {
+            ReferenceRasterizer.fillTriangle(fb, clipMinX, clipMinY, clipMaxX, clipMaxY,
+                    x1, y1, z1, x2, y2, z2, x3, y3, z3, argb);
+            return;
+        }
+
+        // Eckpunkte in Festkomma-Koordinaten.
+        long ax = Math.round(x1 * SUBPIXEL), ay = Math.round(y1 * SUBPIXEL);
+        long bx = Math.round(x2 * SUBPIXEL), by = Math.round(y2 * SUBPIXEL);
+        long cx = Math.round(x3 * SUBPIXEL), cy = Math.round(y3 * SUBPIXEL);
+        double za = z1, zb = z2, zc = z3;
+
+        // Doppelte Fläche; bei negativer Orientierung werden b und c getauscht.
+        long area = (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+        if (area == 0) {
+            return;
+        }
+        if (area < 0) {
+            long t = bx; bx = cx; cx = t;
+            t = by; by = cy; cy = t;
+            double tz = zb; zb = zc; zc = tz;
+            area = -area;
+        }
+
+        // Begrenzungsbox in Pixeln (Abtastpunkte liegen auf ganzzahligen Koordinaten).
+        int minX = (int) Math.max(clipMinX, -Math.floorDiv(-Math.min(ax, Math.min(bx, cx)), SUBPIXEL));
+        int maxX = (int) Math.min(clipMaxX, Math.floorDiv(Math.max(ax, Math.max(bx, cx)), SUBPIXEL));
+        int minY = (int) Math.max(clipMinY, -Math.floorDiv(-Math.min(ay, Math.min(by, cy)), SUBPIXEL));
+        int maxY = (int) Math.min(clipMaxY, Math.floorDiv(Math.max(ay, Math.max(by, cy)), SUBPIXEL));
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+
+        // Kantenfunktion E(p) = (b - a) x (p - a) für die Kanten a->b, b->c und c->a.
+        // Schrittweiten pro Pixel in x- und y-Richtung.
+        long sx0 = -(by - ay) * SUBPIXEL, sy0 = (bx - ax) * SUBPIXEL;
+        long sx1 = -(cy - by) * SUBPIXEL, sy1 = (cx - bx) * SUBPIXEL;
+        long sx2 = -(ay - cy) * SUBPIXEL, sy2 = (ax - cx) * SUBPIXEL;
+
+        // Werte der Kantenfunktionen am Pixel (minX, minY). Für Kanten, die nicht oben oder
+        // links liegen, wird 1 abgezogen, sodass überall der Test "E >= 0" genügt (Top-Left-Regel).
+        long px = (long) minX * SUBPIXEL, py = (long) minY * SUBPIXEL;
+        long e0 = (bx - ax) * (py - ay) - (by - ay) * (px - ax) + bias(bx - ax, by - ay);
+        long e1 = (cx - bx) * (py - by) - (cy - by) * (px - bx) + bias(cx - bx, cy - by);
+        long e2 = (ax - cx) * (py - cy) - (ay - cy) * (px - cx) + bias(ax - cx, ay - cy);
+
+        // Tiefe als Ebene z(x, y) = dzdx * x + dzdy * y + z0 (x, y in Pixeln).
+        double invArea = 1.0 / area;
+        double dzdx = (sx1 * za + sx2 * zb + sx0 * zc) * invArea;
+        double dzdy = (sy1 * za + sy2 * zb + sy0 * zc) * invArea;
+        double z0 = za - dzdx * ((double) ax / SUBPIXEL) - dzdy * ((double) ay / SUBPIXEL);
+
+        int width = fb.getWidth();
+        int height = fb.getHeight();
+        int[] pixels = fb.getPixels();
+        boolean floatDepth = fb.getDepthFormat() == DepthFormat.FLOAT;
+        double[] zBuffer = floatDepth ? null : fb.getDepth();
+        float[] zFloat = floatDepth ? fb.getFloatDepth() : null;
+        boolean vector = simd && !floatDepth && Simd.isAvailable();
+
+        HierarchicalZ hiZ = fb.getHierarchicalZ();
+        boolean useHiZ = hiZ.isEnabled();
+        double[] hiZMin = hiZ.min, hiZMax = hiZ.max;
+        int blocksX = hiZ.getBlocksX();
+        // Schranken der Tiefe des Dreiecks. Die Ebene wird pro Pixel anders gerundet als an den
+        // Blockecken; der Zuschlag deckt die Rundungsfehler aller Terme sicher ab.
+        double zHi = Math.max(za, Math.max(zb, zc));
+        double zLo = Math.min(za, Math.min(zb, zc));
+        double slack = 64 * Math.ulp(Math.abs(dzdx) * (maxX + BLOCK_SIZE) + Math.abs(dzdy) * (maxY + BLOCK_SIZE)
+                + Math.abs(z0) + Math.abs(zHi) + Math.abs(zLo));
+
+        // Durchlaufe die Begrenzungsbox in 8x8-Blöcken auf einem festen Bildschirmraster.
+        for (int blockY = minY & BLOCK_MASK; blockY <= maxY; blockY += BLOCK_SIZE) {
+            int startY = Math.max(blockY, minY);
+            int endY = Math.min(blockY + BLOCK_SIZE - 1, maxY);
+            int blockEndY = Math.min(blockY + BLOCK_SIZE - 1, height - 1);
+            int h = endY - startY;
+            long rowE0 = e0 + (startY - minY) * sy0;
+            long rowE1 = e1 + (startY - minY) * sy1;
+            long rowE2 = e2 + (startY - minY) * sy2;
+
+            for (int blockX = minX & BLOCK_MASK; blockX <= maxX; blockX += BLOCK_SIZE) {
+                int startX = Math.max(blockX, minX);
+                int endX = Math.min(blockX + BLOCK_SIZE - 1, maxX);
+                int blockEndX = Math.min(blockX + BLOCK_SIZE - 1, width - 1);
+                int w = endX - startX;
+                long be0 = rowE0 + (startX - minX) * sx0;
+                long be1 = rowE1 + (startX - minX) * sx1;
+                long be2 = rowE2 + (startX - minX) * sx2;
+
+                // Da E linear ist, liegen Minimum und Maximum über den Block an den Ecken.
+                long max0 = be0 + Math.max(0, w * sx0) + Math.max(0, h * sy0);
+                long max1 = be1 + Math.max(0, w * sx1) + Math.max(0, h * sy1);
+                long max2 = be2 + Math.max(0, w * sx2) + Math.max(0, h * sy2);
+                if ((max0 | max1 | max2) < 0) {
+                    // Mindestens eine Kante liegt vollständig außerhalb: Block verwerfen.
+                    continue;
+                }
+                long min0 = be0 + Math.min(0, w * sx0) + Math.min(0, h * sy0);
+                long min1 = be1 + Math.min(0, w * sx1) + Math.min(0, h * sy1);
+                long min2 = be2 + Math.min(0, w * sx2) + Math.min(0, h * sy2);
+                boolean fullyCovered = (min0 | min1 | min2) >= 0;
+
+                // Hierarchischer Z-Test: Tiefenschranken des Dreiecks im abgedeckten Teil des Blocks.
+                int block = (blockY / BLOCK_SIZE) * blocksX + blockX / BLOCK_SIZE;
+                boolean inside = false;
+                boolean acceptAll = false;
+                double hi = 0, lo = 0;
+                if (useHiZ) {
+                    hi = Math.min(zHi, z0 + dzdx * (dzdx > 0 ? endX : startX) + dzdy * (dzdy > 0 ? endY : startY)) + slack;
+                    lo = Math.max(zLo, z0 + dzdx * (dzdx > 0 ? startX : endX) + dzdy * (dzdy > 0 ? startY : endY)) - slack;
+                    if (floatDepth) {
+                        hi = (float) hi;
+                        lo = (float) lo;
+                    }
+                    if (hi <= hiZMin[block]) {
+                        // Überall im Block liegt schon etwas mindestens so nah: kein Pixel besteht den Test.
+                        continue;
+                    }
+                    // Nur Blöcke vollständig im Ausschnitt gehören diesem Aufruf allein.
+                    inside = blockX >= clipMinX && blockEndX <= clipMaxX && blockY >= clipMinY && blockEndY <= clipMaxY;
+                    acceptAll = inside && fullyCovered && lo > hiZMax[block];
+                }
+                // Die SIMD-Kernel schreiben immer ganze Blockzeilen, also nur bei Blöcken im Ausschnitt.
+                boolean vectorBlock = vector && blockX >= clipMinX && blockX + BLOCK_SIZE - 1 <= clipMaxX;
+
+                for (int y = startY; y <= endY; y++) {
+                    int row = y * width;
+                    // Die Tiefe bezieht sich immer auf den Rasterpunkt blockX, damit sie unabhängig
+                    // vom Ausschnitt ist.
+                    double rowDepth = dzdx * blockX + dzdy * y + z0;
+                    if (acceptAll) {
+                        // Alles im Block liegt weiter entfernt: schreiben ohne Tiefentest.
+                        if (floatDepth) {
+                            writeSpan(pixels, zFloat, row, blockX, startX, endX, rowDepth, dzdx, argb);
+                        } else {
+                            writeSpan(pixels, zBuffer, row, blockX, startX, endX, rowDepth, dzdx, argb);
+                        }
+                    } else if (fullyCovered) {
+                        if (vectorBlock) {
+                            VectorKernels.fillBlockRow(pixels, zBuffer, row, blockX, startX, endX, rowDepth, dzdx, argb);
+                        } else if (floatDepth) {
+                            fillSpan(pixels, zFloat, row, blockX, startX, endX, rowDepth, dzdx, argb);
+                        } else {
+                            fillSpan(pixels, zBuffer, row, blockX, startX, endX, rowDepth, dzdx, argb);
+                        }
+                    } else {
+                        long pe0 = be0 + (y - startY) * sy0;
+                        long pe1 = be1 + (y - startY) * sy1;
+                        long pe2 = be2 + (y - startY) * sy2;
+                        if (vectorBlock) {
+                            VectorKernels.fillBlockRow(pixels, zBuffer, row, blockX, startX, endX, rowDepth, dzdx,
+                                    pe0, pe1, pe2, sx0, sx1, sx2, argb);
+                        } else if (floatDepth) {
+                            fillSpan(pixels, zFloat, row, blockX, startX, endX, rowDepth, dzdx,
+                                    pe0, pe1, pe2, sx0, sx1, sx2, argb);
+                        } else {
+                            fillSpan(pixels, zBuffer, row, blockX, startX, endX, rowDepth, dzdx,
+                                    pe0, pe1, pe2, sx0, sx1, sx2, argb);
+                        }
+                    }
+                }
+
+                if (useHiZ) {
+                    if (!inside) {
+                        hiZMax[block] = Double.POSITIVE_INFINITY;
+                    } else {
+                        if (hi > hiZMax[block]) {
+                            hiZMax[block] = hi;
+                        }
+                        // Ein vollständig überdeckter Block hat danach überall mindestens die Tiefe lo.
+                        if (fullyCovered && startX == blockX && endX == blockEndX
+                                && startY == blockY && endY == blockEndY) {
+                            hiZ.raise(block, lo);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Schreibt die Pixel {@code startX..endX} einer Zeile ohne Tiefentest.
+     */
+    private static void writeSpan(int[] pixels, double[] zBuffer, int row, int blockX, int startX, int endX,
+                                  double rowDepth, double dzdx, int argb) {
+        for (int x = startX; x <= endX; x++) {
+            int index = row + x;
+            pixels[index] = argb;
+            zBuffer[index] = rowDepth + dzdx * (x - blockX);
+        }
+    }
+
+    /**
+     * Schreibt die Pixel {@code startX..endX} einer Zeile ohne Tiefentest ({@code float}-Tiefen).
+     */
+    private static void writeSpan(int[] pixels, float[] zBuffer, int row, int blockX, int startX, int endX,
+                                  double rowDepth, double dzdx, int argb) {
+        for (int x = startX; x <= endX; x++) {
+            int index = row + x;
+            pixels[index] = argb;
+            zBuffer[index] = (float) (rowDepth + dzdx * (x - blockX));
+        }
+    }
+
+    /**
+     * Füllt die vollständig abgedeckten Pixel {@code startX..endX} einer Zeile mit Tiefentest.
+     */
+    private static void fillSpan(int[] pixels, double[] zBuffer, int row, int blockX, int startX, int endX,
+                                 double rowDepth, double dzdx, int argb) {
+        for (int x = startX; x <= endX; x++) {
+            int index = row + x;
+            double depth = rowDepth + dzdx * (x - blockX);
+            if (zBuffer[index] < depth) {
+                pixels[index] = argb;
+                zBuffer[index] = depth;
+            }
+        }
+    }
+
+    /**
+     * Füllt die vollständig abgedeckten Pixel einer Zeile mit Tiefentest ({@code float}-Tiefen).
+     */
+    private static void fillSpan(int[] pixels, float[] zBuffer, int row, int blockX, int startX, int endX,
+                                 double rowDepth, double dzdx, int argb) {
+        for (int x = startX; x <= endX; x++) {
+            int index = row + x;
+            float depth = (float) (rowDepth + dzdx * (x - blockX));
+            if (zBuffer[index] < depth) {
+                pixels[index] = argb;
+                zBuffer[index] = depth;
+            }
+        }
+    }
+
+    /**
+     * Füllt die Pixel {@code startX..endX} einer Zeile, deren Kantenfunktionen nicht negativ
+     * sind, mit Tiefentest.
+     */
+    private static void fillSpan(int[] pixels, double[] zBuffer, int row, int blockX, int startX, int endX,
+                                 double rowDepth, double dzdx,
+                                 long pe0, long pe1, long pe2, long sx0, long sx1, long sx2, int argb) {
+        for (int x = startX; x <= endX; x++) {
+            if ((pe0 | pe1 | pe2) >= 0) {
+                int index = row + x;
+                double depth = rowDepth + dzdx * (x - blockX);
+                if (zBuffer[index] < depth) {
+                    pixels[index] = argb;
+                    zBuffer[index] = depth;
+                }
+            }
+            pe0 += sx0;
+            pe1 += sx1;
+            pe2 += sx2;
+        }
+    }
+
+    /**
+     * Füllt die Pixel einer Zeile innerhalb der Kanten mit Tiefentest ({@code float}-Tiefen).
+     */
+    private static void fillSpan(int[] pixels, float[] zBuffer, int row, int blockX, int startX, int endX,
+                                 double rowDepth, double dzdx,
+                                 long pe0, long pe1, long pe2, long sx0, long sx1, long sx2, int argb) {
+        for (int x = startX; x <= endX; x++) {
+            if ((pe0 | pe1 | pe2) >= 0) {
+                int index = row + x;
+                float depth = (float) (rowDepth + dzdx * (x - blockX));
+                if (zBuffer[index] < depth) {
+                    pixels[index] = argb;
+                    zBuffer[index] = depth;
+                }
+            }
+            pe0 += sx0;
+            pe1 += sx1;
+            pe2 += sx2;
+        }
+    }
+
+    /**
+     * Liefert die Korrektur der Kantenfunktion für die Top-Left-Füllregel.
+     * <p>
+     * Bei positiver Orientierung im Bildschirmkoordinatensystem (y nach unten) ist eine Kante
+     * "oben", wenn sie waagerecht nach rechts verläuft, und "links", wenn sie nach oben verläuft.
+     * Pixel genau auf diesen Kanten gehören zum Dreieck, auf allen anderen Kanten nicht.
+     *
+     * @param dx x-Differenz der Kante in Festkomma.
+     * @param dy y-Differenz der Kante in Festkomma.
+     * @return 0 für obere und linke Kanten, sonst -1.
+     */
+    private static long bias(long dx, long dy) {
+        boolean topLeft = (dy == 0 && dx > 0) || dy < 0;
+        return topLeft ? 0 : -1;
+    }
+
+    /**
+     * Rastert alle Dreiecke einer {@link TriangleBatch} nacheinander auf dem aufrufenden Thread.
+     *
+     * @param fb    Das Render-Ziel.
+     * @param batch Die Dreiecke in Bildschirmkoordinaten.
+     */
+    public static void drawBatch(FrameBuffer fb, TriangleBatch batch) {
+        drawBatch(fb, batch, false);
+    }
+
+    /**
+     * Rastert alle Dreiecke einer {@link TriangleBatch} seriell, wahlweise mit den SIMD-Kerneln.
+     *
+     * @param fb    Das Render-Ziel.
+     * @param batch Die Dreiecke in Bildschirmkoordinaten.
+     * @param simd  {@code true}, um die Pixel mit {@link VectorKernels} zu schreiben, sofern verfügbar.
+     */
+    public static void drawBatch(FrameBuffer fb, TriangleBatch batch, boolean simd) {
+        double[] c = batch.getCoords();
+        int[] colors = batch.getColors();
+        int maxX = fb.getWidth() - 1, maxY = fb.getHeight() - 1;
+        for (int t = 0; t < batch.size(); t++) {
+            int i = t * 9;
+            fillTriangle(fb, 0, 0, maxX, maxY, c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5],
+                    c[i + 6], c[i + 7], c[i + 8], colors[t], simd);
+        }
+    }
+}
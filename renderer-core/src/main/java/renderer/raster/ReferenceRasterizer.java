@@ -0,0 +1,128 @@
+package renderer.raster;
+
+/**
+ * Ursprünglicher Rasterisierer mit baryzentrischen Koordinaten (Referenzpfad).
+ * <p>
+ * Für jeden Pixel innerhalb der Begrenzungsbox des Dreiecks werden die baryzentrischen
+ * Koordinaten berechnet. Liegt der Pixel im Dreieck und ist er näher an der Kamera
+ * als der bisherige Eintrag im Z-Buffer, wird die Farbe geschrieben.
+ * <p>
+ * Der schnelle Pfad ist {@link Rasterizer}; diese Klasse dient als Referenz für
+ * Vergleiche und als Rückfallebene für Koordinaten außerhalb des Festkomma-Bereichs.
+ */
+public final class ReferenceRasterizer {
+
+    private ReferenceRasterizer() {
+    }
+
+    /**
+     * Rastert ein Dreieck in Bildschirmkoordinaten mit einer konstanten Farbe.
+     *
+     * @param fb   Das Render-Ziel.
+     * @param x1   x-Koordinate des ersten Eckpunkts.
+     * @param y1   y-Koordinate des ersten Eckpunkts.
+     * @param z1   Tiefe des ersten Eckpunkts.
+     * @param x2   x-Koordinate des zweiten Eckpunkts.
+     * @param y2   y-Koordinate des zweiten Eckpunkts.
+     * @param z2   Tiefe des zweiten Eckpunkts.
+     * @param x3   x-Koordinate des dritten Eckpunkts.
+     * @param y3   y-Koordinate des dritten Eckpunkts.
+     * @param z3   Tiefe des dritten Eckpunkts.
+     * @param argb Die Farbe des Dreiecks als gepackter ARGB-Wert.
+     */
+    public static void fillTriangle(FrameBuffer fb,
+                                    double x1, double y1, double z1,
+                                    double x2, double y2, double z2,
+                                    double x3, double y3, double z3,
+                                    int argb) {
+        fillTriangle(fb, 0, 0, fb.getWidth() - 1, fb.getHeight() - 1,
+                x1, y1, z1, x2, y2, z2, x3, y3, z3, argb);
+    }
+
+    /**
+     * Rastert ein Dreieck, beschränkt auf einen rechteckigen Ausschnitt des Render-Ziels.
+     * <p>
+     * Pixel außerhalb des Ausschnitts werden weder gelesen noch geschrieben. Dadurch können
+     * mehrere Threads disjunkte Ausschnitte (Kacheln) desselben FrameBuffers ohne Sperren
+     * bearbeiten. Innerhalb des Ausschnitts ist das Ergebnis identisch zum ungeteilten Rastern.
+     *
+     * @param fb       Das Render-Ziel.
+     * @param clipMinX Linke Grenze des Ausschnitts (inklusive).
+     * @param clipMinY Obere Grenze des Ausschnitts (inklusive).
+     * @param clipMaxX Rechte Grenze des Ausschnitts (inklusive).
+     * @param clipMaxY Untere Grenze des Ausschnitts (inklusive).
+     * @param x1       x-Koordinate des ersten Eckpunkts.
+     * @param y1       y-Koordinate des ersten Eckpunkts.
+     * @param z1       Tiefe des ersten Eckpunkts.
+     * @param x2       x-Koordinate des zweiten Eckpunkts.
+     * @param y2       y-Koordinate des zweiten Eckpunkts.
+     * @param z2       Tiefe des zweiten Eckpunkts.
+     * @param x3       x-Koordinate des dritten Eckpunkts.
+     * @param y3       y-Koordinate des dritten Eckpunkts.
+     * @param z3       Tiefe des dritten Eckpunkts.
+     * @param argb     Die Farbe des Dreiecks als gepackter ARGB-Wert.
+     */
+    public static void fillTriangle(FrameBuffer fb,
+                                    int clipMinX, int clipMinY, int clipMaxX, int clipMaxY,
+                                    double x1, double y1, double z1,
+                                    double x2, double y2, double z2,
+                                    double x3, double y3, double z3,
+                                    int argb) {
+        int width = fb.getWidth();
+        int[] pixels = fb.getPixels();
+        boolean floatDepth = fb.getDepthFormat() == DepthFormat.FLOAT;
+        double[] zBuffer = floatDepth ? null : fb.getDepth();
+        float[] zFloat = floatDepth ? fb.getFloatDepth() : null;
+
+        // Begrenzungsbox des Dreiecks, auf den Ausschnitt beschränkt.
+        int minX = (int) Math.max(clipMinX, Math.ceil(Math.min(x1, Math.min(x2, x3))));
+        int maxX = (int) Math.min(clipMaxX, Math.floor(Math.max(x1, Math.max(x2, x3))));
+        int minY = (int) Math.max(clipMinY, Math.ceil(Math.min(y1, Math.min(y2, y3))));
+        int maxY = (int) Math.min(clipMaxY, Math.floor(Math.max(y1, Math.max(y2, y3))));
+        double triangleArea = (y1 - y3) * (x2 - x3) + (y2 - y3) * (x3 - x1);
+
+        for (int y = minY; y <= maxY; y++) {
+            int row = y * width;
+            for (int x = minX; x <= maxX; x++) {
+                double b1 = ((y - y3) * (x2 - x3) + (y2 - y3) * (x3 - x)) / triangleArea;
+                double b2 = ((y - y1) * (x3 - x1) + (y3 - y1) * (x1 - x)) / triangleArea;
+                double b3 = ((y - y2) * (x1 - x2) + (y1 - y2) * (x2 - x)) / triangleArea;
+                if (b1 >= 0 && b1 <= 1 && b2 >= 0 && b2 <= 1 && b3 >= 0 && b3 <= 1) {
+                    // Interpoliere den Tiefenwert und vergleiche mit dem Z-Buffer.
+                    double depth = b1 * z1 + b2 * z2 + b3 * z3;
+                    int index = row + x;
+                    if (floatDepth) {
+                        float d = (float) depth;
+                        if (zFloat[index] < d) {
+                            pixels[index] = argb;
+                            zFloat[index] = d;
+                        }
+                    } else if (zBuffer[index] < depth) {
+                        pixels[index] = argb;
+                        zBuffer[index] = depth;
+                    }
+                }
+            }
+        }
+        // Die Schranken des hierarchischen Z-Buffers werden hier nicht gepflegt.
+        if (minX <= maxX && minY <= maxY && fb.getHierarchicalZ().isEnabled()) {
+            fb.getHierarchicalZ().invalidateMax(minX, minY, maxX, maxY);
+        }
+    }
+
+    /**
+     * Rastert alle Dreiecke einer {@link TriangleBatch} nacheinander auf dem aufrufenden Thread.
+     *
+     * @param fb    Das Render-Ziel.
+     * @param batch Die Dreiecke in Bildschirmkoordinaten.
+     */
+    public static void drawBatch(FrameBuffer fb, TriangleBatch batch) {
+        double[] c = batch.getCoords();
+        int[] colors = batch.getColors();
+        for (int t = 0; t < batch.size(); t++) {
+            int i = t * 9;
+            fillTriangle(fb, c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5],
+                    c[i + 6], c[i + 7], c[i + 8], colors[t]);
+        }
+    }
+}
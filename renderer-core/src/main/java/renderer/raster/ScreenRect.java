@@ -0,0 +1,167 @@
+package renderer.raster;
+
+/**
+ * Veränderliches, achsenparalleles Pixel-Rechteck, z.B. der Bereich eines Frames, der sich
+ * gegenüber dem vorherigen geändert hat.
+ * <p>
+ * Die Kanten {@code minX}/{@code minY} sind inklusive, {@code maxX}/{@code maxY} exklusive. Ein
+ * Rechteck ohne Fläche ist leer. Alle Operationen arbeiten auf der Instanz selbst, damit pro
+ * Frame nichts allokiert wird.
+ */
+public final class ScreenRect {
+    private int minX, minY, maxX, maxY;
+
+    /**
+     * Erzeugt ein leeres Rechteck.
+     */
+    public ScreenRect() {
+    }
+
+    /**
+     * Leert das Rechteck.
+     *
+     * @return Dieses Rechteck.
+     */
+    public ScreenRect setEmpty() {
+        minX = minY = maxX = maxY = 0;
+        return this;
+    }
+
+    /**
+     * Setzt die Kanten.
+     *
+     * @param minX Linke Kante (inklusive).
+     * @param minY Obere Kante (inklusive).
+     * @param maxX Rechte Kante (exklusive).
+     * @param maxY Untere Kante (exklusive).
+     * @return Dieses Rechteck.
+     */
+    public ScreenRect set(int minX, int minY, int maxX, int maxY) {
+        if (minX >= maxX || minY >= maxY) {
+            return setEmpty();
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        return this;
+    }
+
+    /**
+     * Übernimmt die Kanten eines anderen Rechtecks.
+     *
+     * @param other Das andere Rechteck.
+     * @return Dieses Rechteck.
+     */
+    public ScreenRect set(ScreenRect other) {
+        return set(other.minX, other.minY, other.maxX, other.maxY);
+    }
+
+    /**
+     * Vergrößert das Rechteck auf die Vereinigung mit einem anderen.
+     *
+     * @param other Das andere Rechteck.
+     * @return Dieses Rechteck.
+     */
+    public ScreenRect union(ScreenRect other) {
+        return union(other.minX, other.minY, other.maxX, other.maxY);
+    }
+
+    /**
+     * Vergrößert das Rechteck um alle Pixel, die ein Dreieck oder eine Linie mit Eckpunkten im
+     * angegebenen Bereich (Bildschirmkoordinaten) berühren kann. Rundungen des Rasterisierers
+     * sind mit einem Pixel Rand berücksichtigt; nicht endliche Werte vergrößern auf das ganze Bild.
+     *
+     * @param minX   Kleinste x-Koordinate.
+     * @param minY   Kleinste y-Koordinate.
+     * @param maxX   Größte x-Koordinate.
+     * @param maxY   Größte y-Koordinate.
+     * @param width  Die Breite des Bildes.
+     * @param height Die Höhe des Bildes.
+     * @return Dieses Rechteck.
+     */
+    public ScreenRect add(double minX, double minY, double maxX, double maxY, int width, int height) {
+        int x0 = minX > -1 ? (int) Math.floor(minX) - 1 : 0;
+        int y0 = minY > -1 ? (int) Math.floor(minY) - 1 : 0;
+        int x1 = maxX < width ? (int) Math.floor(maxX) + 2 : width;
+        int y1 = maxY < height ? (int) Math.floor(maxY) + 2 : height;
+        if (!(minX <= maxX && minY <= maxY)) {
+            // NaN: die Lage ist unbekannt.
+            x0 = y0 = 0;
+            x1 = width;
+            y1 = height;
+        }
+        return union(Math.max(0, x0), Math.max(0, y0), Math.min(width, x1), Math.min(height, y1));
+    }
+
+    private ScreenRect union(int x0, int y0, int x1, int y1) {
+        if (x0 >= x1 || y0 >= y1) {
+            return this;
+        }
+        if (isEmpty()) {
+            return set(x0, y0, x1, y1);
+        }
+        return set(Math.min(minX, x0), Math.min(minY, y0), Math.max(maxX, x1), Math.max(maxY, y1));
+    }
+
+    /**
+     * @return {@code true}, wenn das Rechteck keine Pixel enthält.
+     */
+    public boolean isEmpty() {
+        return minX >= maxX || minY >= maxY;
+    }
+
+    /**
+     * @return Linke Kante (inklusive).
+     */
+    public int getMinX() {
+        return minX;
+    }
+
+    /**
+     * @return Obere Kante (inklusive).
+     */
+    public int getMinY() {
+        return minY;
+    }
+
+    /**
+     * @return Rechte Kante (exklusive).
+     */
+    public int getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * @return Untere Kante (exklusive).
+     */
+    public int getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * @return Die Breite in Pixeln.
+     */
+    public int getWidth() {
+        return maxX - minX;
+    }
+
+    /**
+     * @return Die Höhe in Pixeln.
+     */
+    public int getHeight() {
+        return maxY - minY;
+    }
+
+    /**
+     * @return Die Anzahl der Pixel.
+     */
+    public long getArea() {
+        return (long) getWidth() * getHeight();
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "[empty]" : "[" + minX + "," + minY + " " + getWidth() + "x" + getHeight() + "]";
+    }
+}
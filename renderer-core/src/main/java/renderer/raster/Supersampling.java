@@ -0,0 +1,59 @@
+package renderer.raster;
+
+/**
+ * Verkleinert einen mit mehrfacher Auflösung gerenderten {@link FrameBuffer} auf die
+ * Zielauflösung (Supersampling-Kantenglättung).
+ * <p>
+ * Jedes Zielpixel ist der gerundete Mittelwert der Farbkanäle seiner {@code factor x factor}
+ * Abtastpunkte (Box-Filter). Übertragen wird nur der Bereich, in den die Quelle gezeichnet hat
+ * ({@link FrameBuffer#getContentBounds()}); der Rest des Ziels wird wie beim Rendern gelöscht.
+ * Tiefenwerte werden nicht übertragen. Es wird nichts allokiert.
+ */
+public final class Supersampling {
+
+    private Supersampling() {
+    }
+
+    /**
+     * Verkleinert {@code source} in {@code target}.
+     *
+     * @param source     Der Puffer mit {@code factor}-facher Breite und Höhe des Ziels.
+     * @param target     Das Ziel.
+     * @param factor     Die Kantenlänge der Abtastpunkte pro Zielpixel.
+     * @param background Die Hintergrundfarbe, mit der das Ziel gelöscht wird.
+     * @param resolved   Ziel für den übertragenen Bereich (in Pixeln des Ziels).
+     * @throws IllegalArgumentException wenn die Größen nicht zum Faktor passen.
+     */
+    public static void resolve(FrameBuffer source, FrameBuffer target, int factor, int background,
+                               ScreenRect resolved) {
+        int width = target.getWidth(), height = target.getHeight();
+        if (factor < 1 || source.getWidth() != width * factor || source.getHeight() != height * factor)
+            throw new IllegalArgumentException("Quelle muss " + factor + "-fach so groß wie das Ziel sein");
+        target.clear(background, resolved);
+        ScreenRect content = source.getContentBounds();
+        resolved.set(content.getMinX() / factor, content.getMinY() / factor,
+                (content.getMaxX() + factor - 1) / factor, (content.getMaxY() + factor - 1) / factor);
+
+        int[] src = source.getPixels(), dst = target.getPixels();
+        int sourceWidth = source.getWidth();
+        int samples = factor * factor, half = samples / 2;
+        for (int y = resolved.getMinY(); y < resolved.getMaxY(); y++) {
+            for (int x = resolved.getMinX(); x < resolved.getMaxX(); x++) {
+                int a = 0, r = 0, g = 0, b = 0;
+                for (int sy = 0; sy < factor; sy++) {
+                    int index = (y * factor + sy) * sourceWidth + x * factor;
+                    for (int sx = 0; sx < factor; sx++) {
+                        int argb = src[index + sx];
+                        a += argb >>> 24;
+                        r += (argb >> 16) & 0xFF;
+                        g += (argb >> 8) & 0xFF;
+                        b += argb & 0xFF;
+                    }
+                }
+                dst[y * width + x] = (a + half) / samples << 24 | (r + half) / samples << 16
+                        | (g + half) / samples << 8 | (b + half) / samples;
+            }
+        }
+        target.setContentBounds(resolved);
+    }
+}
@@ -0,0 +1,433 @@
+package renderer.raster;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.CountedCompleter;
+
+/**
+ * Paralleler Rasterisierer, der den Bildschirm in Kacheln (Tiles) aufteilt.
+ * <p>
+ * Der Ablauf pro Frame:
+ * <ol>
+ *   <li>Binning: Jedes Dreieck wird anhand seiner Begrenzungsbox allen Kacheln zugeordnet,
+ *       die es überdecken. Die Reihenfolge der Dreiecke bleibt pro Kachel erhalten.</li>
+ *   <li>Rastern: Die Kacheln werden parallel auf einem {@link ForkJoinPool} bearbeitet.
+ *       Jede Kachel schreibt ausschließlich in ihren eigenen Ausschnitt des Farb- und
+ *       Tiefenpuffers, daher sind keine Sperren nötig.</li>
+ * </ol>
+ * Da jeder Pixel die Dreiecke in derselben Reihenfolge und mit derselben Arithmetik sieht
+ * wie beim seriellen {@link Rasterizer#drawBatch}, ist das Ergebnis pixelgleich.
+ * Die Bin-Arrays und die Fork/Join-Aufgaben werden über Frames hinweg wiederverwendet, sodass
+ * ein Durchlauf nach dem Aufwärmen nichts allokiert. Dafür wartet kein Thread per {@code join}:
+ * Die Aufgaben sind {@link CountedCompleter}, und der aufrufende Thread wartet auf dem Monitor
+ * des Rasterisierers, bis die Wurzel fertig ist (das Warten in {@code join} legt unter JDK 17
+ * jedes Mal einen Knoten an).
+ */
+public class TiledRasterizer implements AutoCloseable {
+
+    /** Standard-Kantenlänge einer Kachel in Pixeln. */
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    // Unterhalb dieser Anzahl an Kacheln wird eine Aufgabe nicht weiter aufgeteilt.
+    private static final int TILES_PER_TASK = 2;
+
+    private final ForkJoinPool pool;
+    private final int tileSize;
+
+    private int tilesX, tilesY;
+    // binStart[t] .. binStart[t + 1] ist der Bereich von Kachel t in binTriangles.
+    private int[] binStart = new int[0];
+    private int[] binFill = new int[0];
+    private int[] binTriangles = new int[0];
+
+    // Ziel des laufenden Durchlaufs: genau eines der beiden ist gesetzt.
+    private FrameBuffer target;
+    private MultisampleBuffer multisampleTarget;
+    private TriangleBatch batch;
+    private boolean simd;
+
+    // Wiederverwendete Aufgabenbäume über die Kacheln und die Zeilenstreifen; sie werden nur neu
+    // angelegt, wenn es mehr Kacheln bzw. Streifen gibt, als sie umfassen.
+    private RangeTask tileTasks;
+    private RangeTask bandTasks;
+    // Anzahl der Kacheln bzw. Streifen des laufenden Durchlaufs.
+    private int activeCount;
+    // Gemeinsamer Vorgänger der Wurzeln, meldet das Ende eines Durchlaufs. Er wird nie ausgeführt
+    // und nie zurückgesetzt: Der Pool markiert den obersten Vorgänger erst als fertig, nachdem
+    // onCompletion zurückgekehrt ist, und dann rendert der Aufrufer womöglich schon den nächsten
+    // Durchlauf mit derselben Wurzel.
+    private final Done done = new Done();
+    // Ende des laufenden Durchlaufs und ggf. seine Ausnahme; geschützt durch den Monitor.
+    private boolean finished;
+    private Throwable failure;
+    // Arbeitsschritt und Zeilen des laufenden forEachRowBand.
+    private RowBand band;
+    private int bandMinY, bandMaxY;
+
+    /**
+     * Erzeugt einen Rasterisierer mit Standard-Kachelgröße und einem Thread pro Prozessorkern.
+     */
+    public TiledRasterizer() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Erzeugt einen Rasterisierer mit eigener Thread-Anzahl und Kachelgröße.
+     *
+     * @param threads  Die Anzahl der Worker-Threads.
+     * @param tileSize Die Kantenlänge einer Kachel in Pixeln.
+     * @throws IllegalArgumentException wenn einer der Werte nicht positiv ist.
+     */
+    public TiledRasterizer(int threads, int tileSize) {
+        if (threads <= 0 || tileSize <= 0)
+            throw new IllegalArgumentException("Thread-Anzahl und Kachelgröße müssen positiv sein");
+        this.pool = new ForkJoinPool(threads);
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * @return Die Kantenlänge einer Kachel in Pixeln.
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * @return Die Anzahl der Worker-Threads.
+     */
+    public int getThreads() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Rastert alle Dreiecke parallel in den FrameBuffer.
+     * <p>
+     * Die Methode kehrt erst zurück, wenn alle Kacheln fertig sind. Sie ist nicht
+     * für gleichzeitige Aufrufe von mehreren Threads gedacht.
+     *
+     * @param fb    Das Render-Ziel.
+     * @param batch Die Dreiecke in Bildschirmkoordinaten.
+     */
+    public void drawBatch(FrameBuffer fb, TriangleBatch batch) {
+        drawBatch(fb, batch, false);
+    }
+
+    /**
+     * Rastert alle Dreiecke parallel, wahlweise mit den SIMD-Kerneln des {@link Rasterizer}.
+     *
+     * @param fb    Das Render-Ziel.
+     * @param batch Die Dreiecke in Bildschirmkoordinaten.
+     * @param simd  {@code true}, um den SIMD-Pfad zu benutzen, sofern verfügbar.
+     */
+    public void drawBatch(FrameBuffer fb, TriangleBatch batch, boolean simd) {
+        bin(fb.getWidth(), fb.getHeight(), batch);
+        this.target = fb;
+        this.batch = batch;
+        this.simd = simd;
+        try {
+            invokeTiles();
+        } finally {
+            this.target = null;
+            this.batch = null;
+        }
+    }
+
+    /**
+     * Rastert alle Dreiecke parallel mit dem {@link MultisampleRasterizer}.
+     *
+     * @param ms    Das Render-Ziel.
+     * @param batch Die Dreiecke in Bildschirmkoordinaten.
+     */
+    public void drawBatch(MultisampleBuffer ms, TriangleBatch batch) {
+        bin(ms.getWidth(), ms.getHeight(), batch);
+        this.multisampleTarget = ms;
+        this.batch = batch;
+        try {
+            invokeTiles();
+        } finally {
+            this.multisampleTarget = null;
+            this.batch = null;
+        }
+    }
+
+    /**
+     * Führt einen Durchlauf über die Zeilen {@code minY} bis {@code maxY} (exklusive) parallel in
+     * Streifen von Kachelhöhe aus, z.B. die {@link renderer.shading.DeferredShading verzögerte
+     * Schattierung}. Die Streifen überlappen nicht. Die Methode kehrt erst zurück, wenn alle
+     * Streifen fertig sind.
+     *
+     * @param minY Die erste Zeile.
+     * @param maxY Die Zeile nach der letzten.
+     * @param band Der Arbeitsschritt pro Streifen.
+     */
+    public void forEachRowBand(int minY, int maxY, RowBand band) {
+        int bands = (maxY - minY + tileSize - 1) / tileSize;
+        if (bands <= 0) {
+            return;
+        }
+        if (bandTasks == null || bandTasks.to < bands) {
+            bandTasks = new RangeTask(done, false, 0, bands, 1);
+        }
+        this.band = band;
+        this.bandMinY = minY;
+        this.bandMaxY = maxY;
+        try {
+            invoke(bandTasks, bands);
+        } finally {
+            this.band = null;
+        }
+    }
+
+    /**
+     * Ein Arbeitsschritt über einen Streifen aufeinanderfolgender Bildzeilen.
+     */
+    @FunctionalInterface
+    public interface RowBand {
+        /**
+         * Bearbeitet die Zeilen {@code fromY} bis {@code toY} (exklusive).
+         *
+         * @param fromY Die erste Zeile.
+         * @param toY   Die Zeile nach der letzten.
+         */
+        void run(int fromY, int toY);
+    }
+
+    /**
+     * Rastert alle Kacheln des gebinnten Batches parallel.
+     */
+    private void invokeTiles() {
+        int tileCount = tilesX * tilesY;
+        if (tileTasks == null || tileTasks.to < tileCount) {
+            tileTasks = new RangeTask(done, true, 0, tileCount, TILES_PER_TASK);
+        }
+        invoke(tileTasks, tileCount);
+    }
+
+    /**
+     * Führt einen Aufgabenbaum für die ersten {@code count} Kacheln bzw. Streifen aus und wartet,
+     * bis er fertig ist. Eine Ausnahme einer Aufgabe wird weitergeworfen.
+     */
+    private void invoke(RangeTask root, int count) {
+        activeCount = count;
+        synchronized (this) {
+            finished = false;
+            failure = null;
+        }
+        root.reinitialize();
+        pool.execute(root);
+        boolean interrupted = false;
+        Throwable thrown;
+        synchronized (this) {
+            while (!finished) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            thrown = failure;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (thrown instanceof RuntimeException) {
+            throw (RuntimeException) thrown;
+        } else if (thrown instanceof Error) {
+            throw (Error) thrown;
+        } else if (thrown != null) {
+            throw new IllegalStateException(thrown);
+        }
+    }
+
+    /**
+     * Meldet dem in {@link #invoke} wartenden Thread das Ende des Durchlaufs. Nach einer Ausnahme
+     * ist der Durchlauf schon beendet, wenn die übrigen Aufgaben fertig werden.
+     */
+    private synchronized void finish(Throwable thrown) {
+        if (!finished) {
+            finished = true;
+            failure = thrown;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Ordnet alle Dreiecke den überdeckten Kacheln zu (Counting Sort über die Kacheln).
+     */
+    private void bin(int width, int height, TriangleBatch batch) {
+        tilesX = (width + tileSize - 1) / tileSize;
+        tilesY = (height + tileSize - 1) / tileSize;
+        int tileCount = tilesX * tilesY;
+        if (binStart.length < tileCount + 1) {
+            binStart = new int[tileCount + 1];
+            binFill = new int[tileCount];
+        } else {
+            Arrays.fill(binStart, 0, tileCount + 1, 0);
+        }
+
+        double[] c = batch.getCoords();
+        int n = batch.size();
+
+        // Erster Durchlauf: zähle die Dreiecke pro Kachel.
+        int total = 0;
+        for (int t = 0; t < n; t++) {
+            int i = t * 9;
+            // Konservative Begrenzungsbox (floor/ceil), da der Rasterisierer auf Subpixel rundet.
+            int minX = (int) Math.max(0, Math.floor(Math.min(c[i], Math.min(c[i + 3], c[i + 6]))));
+            int maxX = (int) Math.min(width - 1, Math.ceil(Math.max(c[i], Math.max(c[i + 3], c[i + 6]))));
+            int minY = (int) Math.max(0, Math.floor(Math.min(c[i + 1], Math.min(c[i + 4], c[i + 7]))));
+            int maxY = (int) Math.min(height - 1, Math.ceil(Math.max(c[i + 1], Math.max(c[i + 4], c[i + 7]))));
+            if (minX > maxX || minY > maxY) {
+                continue;
+            }
+            for (int ty = minY / tileSize; ty <= maxY / tileSize; ty++) {
+                for (int tx = minX / tileSize; tx <= maxX / tileSize; tx++) {
+                    binStart[ty * tilesX + tx + 1]++;
+                    total++;
+                }
+            }
+        }
+        for (int tile = 0; tile < tileCount; tile++) {
+            binStart[tile + 1] += binStart[tile];
+        }
+        System.arraycopy(binStart, 0, binFill, 0, tileCount);
+        if (binTriangles.length < total) {
+            binTriangles = new int[Math.max(total, binTriangles.length * 2)];
+        }
+
+        // Zweiter Durchlauf: trage die Dreiecks-Indizes in Eingabereihenfolge ein.
+        for (int t = 0; t < n; t++) {
+            int i = t * 9;
+            // Konservative Begrenzungsbox (floor/ceil), da der Rasterisierer auf Subpixel rundet.
+            int minX = (int) Math.max(0, Math.floor(Math.min(c[i], Math.min(c[i + 3], c[i + 6]))));
+            int maxX = (int) Math.min(width - 1, Math.ceil(Math.max(c[i], Math.max(c[i + 3], c[i + 6]))));
+            int minY = (int) Math.max(0, Math.floor(Math.min(c[i + 1], Math.min(c[i + 4], c[i + 7]))));
+            int maxY = (int) Math.min(height - 1, Math.ceil(Math.max(c[i + 1], Math.max(c[i + 4], c[i + 7]))));
+            if (minX > maxX || minY > maxY) {
+                continue;
+            }
+            for (int ty = minY / tileSize; ty <= maxY / tileSize; ty++) {
+                for (int tx = minX / tileSize; tx <= maxX / tileSize; tx++) {
+                    binTriangles[binFill[ty * tilesX + tx]++] = t;
+                }
+            }
+        }
+    }
+
+    /**
+     * Rastert alle Dreiecke einer Kachel, beschränkt auf deren Ausschnitt.
+     */
+    private void drawTile(int tile) {
+        int start = binStart[tile];
+        int end = binStart[tile + 1];
+        if (start == end) {
+            return;
+        }
+        FrameBuffer fb = target;
+        MultisampleBuffer ms = multisampleTarget;
+        int tileMinX = (tile % tilesX) * tileSize;
+        int tileMinY = (tile / tilesX) * tileSize;
+        int tileMaxX = Math.min(fb != null ? fb.getWidth() : ms.getWidth(), tileMinX + tileSize) - 1;
+        int tileMaxY = Math.min(fb != null ? fb.getHeight() : ms.getHeight(), tileMinY + tileSize) - 1;
+        double[] c = batch.getCoords();
+        int[] colors = batch.getColors();
+        for (int b = start; b < end; b++) {
+            int t = binTriangles[b];
+            int i = t * 9;
+            if (fb != null) {
+                Rasterizer.fillTriangle(fb, tileMinX, tileMinY, tileMaxX, tileMaxY,
+                        c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5],
+                        c[i + 6], c[i + 7], c[i + 8], colors[t], simd);
+            } else {
+                MultisampleRasterizer.fillTriangle(ms, tileMinX, tileMinY, tileMaxX, tileMaxY,
+                        c[i], c[i + 1], c[i + 2], c[i + 3], c[i + 4], c[i + 5],
+                        c[i + 6], c[i + 7], c[i + 8], colors[t]);
+            }
+        }
+    }
+
+    /**
+     * Beendet die Worker-Threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Knoten eines wiederverwendbaren Aufgabenbaums über die Kacheln bzw. Streifen {@code from} bis
+     * {@code to} (exklusive). Innere Knoten geben ihr rechtes Kind an den Pool und bearbeiten das
+     * linke selbst, Blätter ihre Kacheln bzw. Streifen nacheinander; ein Knoten ist fertig, wenn
+     * beide Kinder fertig sind. Indizes ab {@link #activeCount} werden übersprungen, sodass ein Baum
+     * auch für weniger Kacheln oder Streifen taugt, als er umfasst.
+     */
+    private class RangeTask extends CountedCompleter<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean tiles;
+        private final int from, to;
+        private final RangeTask left, right;
+
+        RangeTask(CountedCompleter<?> parent, boolean tiles, int from, int to, int leafSize) {
+            super(parent);
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+            if (to - from <= leafSize) {
+                left = null;
+                right = null;
+            } else {
+                int mid = (from + to) >>> 1;
+                left = new RangeTask(this, tiles, from, mid, leafSize);
+                right = new RangeTask(this, tiles, mid, to, leafSize);
+            }
+        }
+
+        @Override
+        public void compute() {
+            int end = Math.min(to, activeCount);
+            if (from < end && left != null) {
+                // Fertige Aufgaben müssen vor jeder weiteren Ausführung zurückgesetzt werden.
+                setPendingCount(1);
+                left.reinitialize();
+                right.reinitialize();
+                right.fork();
+                left.compute();
+                return;
+            }
+            for (int i = from; i < end; i++) {
+                if (tiles) {
+                    drawTile(i);
+                } else {
+                    band.run(bandMinY + i * tileSize, Math.min(bandMaxY, bandMinY + (i + 1) * tileSize));
+                }
+            }
+            tryComplete();
+        }
+
+        @Override
+        public boolean onExceptionalCompletion(Throwable ex, CountedCompleter<?> caller) {
+            if (getCompleter() == done) {
+                finish(ex);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Vorgänger der Wurzeln; wird fertig, wenn eine Wurzel fertig ist.
+     */
+    private class Done extends CountedCompleter<Void> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void compute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void onCompletion(CountedCompleter<?> caller) {
+            finish(null);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package renderer.raster;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Wiederverwendbare Liste von Dreiecken in Bildschirmkoordinaten.
+ * <p>
+ * Pro Dreieck werden die neun Koordinaten ({@code x, y, z} der drei Eckpunkte) in einem
+ * flachen Array und die Farbe als ARGB-Wert abgelegt. Die Reihenfolge des Hinzufügens
+ * bleibt erhalten, damit alle Rasterisierer bei gleicher Tiefe dasselbe Ergebnis liefern.
+ * Die Arrays wachsen bei Bedarf und werden über {@link #clear()} wiederverwendet. Mit
+ * {@link #setOverflow} behält der Batch dagegen seine Kapazität und wird geleert, sobald er
+ * voll ist.
+ */
+public class TriangleBatch {
+    private double[] coords;
+    private int[] colors;
+    private int size;
+    private Consumer<TriangleBatch> overflow;
+
+    /**
+     * Erzeugt einen leeren Batch mit Platz für 64 Dreiecke.
+     */
+    public TriangleBatch() {
+        this(64);
+    }
+
+    /**
+     * Erzeugt einen leeren Batch mit vorab reserviertem Platz.
+     *
+     * @param capacity Die Anzahl der Dreiecke, für die Speicher reserviert wird.
+     */
+    public TriangleBatch(int capacity) {
+        capacity = Math.max(1, capacity);
+        coords = new double[9 * capacity];
+        colors = new int[capacity];
+    }
+
+    /**
+     * Legt fest, was mit einem vollen Batch geschieht. Ohne Handler wachsen die Arrays; mit
+     * Handler bekommt er den vollen Batch (etwa zum Rastern), danach wird der Batch geleert.
+     * Die Reihenfolge der Dreiecke bleibt dabei über alle Teile hinweg erhalten.
+     *
+     * @param overflow Der Handler oder {@code null}.
+     */
+    public void setOverflow(Consumer<TriangleBatch> overflow) {
+        this.overflow = overflow;
+    }
+
+    /**
+     * Fügt ein Dreieck hinzu.
+     *
+     * @param x1   x-Koordinate des ersten Eckpunkts.
+     * @param y1   y-Koordinate des ersten Eckpunkts.
+     * @param z1   Tiefe des ersten Eckpunkts.
+     * @param x2   x-Koordinate des zweiten Eckpunkts.
+     * @param y2   y-Koordinate des zweiten Eckpunkts.
+     * @param z2   Tiefe des zweiten Eckpunkts.
+     * @param x3   x-Koordinate des dritten Eckpunkts.
+     * @param y3   y-Koordinate des dritten Eckpunkts.
+     * @param z3   Tiefe des dritten Eckpunkts.
+     * @param argb Die Farbe des Dreiecks als gepackter ARGB-Wert.
+     */
+    public void add(double x1, double y1, double z1,
+                    double x2, double y2, double z2,
+                    double x3, double y3, double z3,
+                    int argb) {
+        if (size == colors.length) {
+            if (overflow != null) {
+                overflow.accept(this);
+                size = 0;
+            } else {
+                colors = Arrays.copyOf(colors, size * 2);
+                coords = Arrays.copyOf(coords, size * 2 * 9);
+            }
+        }
+        int i = size * 9;
+        coords[i] = x1;     coords[i + 1] = y1; coords[i + 2] = z1;
+        coords[i + 3] = x2; coords[i + 4] = y2; coords[i + 5] = z2;
+        coords[i + 6] = x3; coords[i + 7] = y3; coords[i + 8] = z3;
+        colors[size] = argb;
+        size++;
+    }
+
+    /**
+     * Entfernt alle Dreiecke, behält aber den reservierten Speicher.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return Die Anzahl der Dreiecke.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Die Anzahl der Dreiecke, für die derzeit Speicher reserviert ist.
+     */
+    public int capacity() {
+        return colors.length;
+    }
+
+    /**
+     * Liefert die Koordinaten aller Dreiecke (keine Kopie).
+     *
+     * @return Neun Werte pro Dreieck: {@code x1, y1, z1, x2, y2, z2, x3, y3, z3}.
+     */
+    public double[] getCoords() {
+        return coords;
+    }
+
+    /**
+     * Liefert die Farben aller Dreiecke (keine Kopie).
+     *
+     * @return Ein ARGB-Wert pro Dreieck.
+     */
+    public int[] getColors() {
+        return colors;
+    }
+}
@@ -0,0 +1,214 @@
+package renderer.scene;
+
+import renderer.geometry.Matrix3;
+
+import java.util.List;
+
+/**
+ * Hüllkörper-Hierarchie (BVH) aus Begrenzungskugeln über den Objekten einer {@link Scene}.
+ * <p>
+ * Jeder Knoten umschließt die Begrenzungskugeln aller Objekte seines Teilbaums. Gebaut wird von
+ * oben nach unten: Die Objekte eines Knotens werden am Median der Mittelpunkte entlang der
+ * längsten Achse geteilt, bis höchstens {@link #LEAF_SIZE} Objekte übrig sind. Da die Rotation
+ * der Ansicht für alle Objekte gleich ist, bleibt die Hierarchie über alle Frames gültig.
+ * <p>
+ * Die Knoten liegen in Tiefensuch-Reihenfolge in flachen Arrays. Zu jedem Knoten ist der Index
+ * des ersten Knotens nach seinem Teilbaum gespeichert; die Abfrage kommt daher ohne Stapel und
+ * ohne Allokation aus und kann von mehreren Threads gleichzeitig benutzt werden. Die Objekte
+ * eines Teilbaums liegen in der Reihenfolge der Blätter zusammenhängend.
+ */
+public final class BoundingVolumeHierarchy {
+
+    /** Höchstzahl der Objekte in einem Blatt. */
+    public static final int LEAF_SIZE = 4;
+
+    // Begrenzungskugel pro Knoten (x, y, z, Radius).
+    private final double[] bounds;
+    // Erster Knoten nach dem Teilbaum; bei Blättern der direkt folgende Knoten.
+    private final int[] skip;
+    // Bereich der Objekte des Teilbaums in order.
+    private final int[] first, count;
+    private final int nodeCount;
+
+    // Objektindizes in der Reihenfolge der Blätter sowie Mittelpunkt und Radius pro Objekt.
+    private final int[] order;
+    private final double[] spheres;
+
+    /**
+     * Baut die Hierarchie über einer Liste von Objekten.
+     *
+     * @param objects Die Objekte; die Indizes der Abfrage beziehen sich auf diese Liste.
+     */
+    public BoundingVolumeHierarchy(List<SceneObject> objects) {
+        int n = objects.size();
+        order = new int[n];
+        spheres = new double[n * 4];
+        for (int i = 0; i < n; i++) {
+            SceneObject object = objects.get(i);
+            order[i] = i;
+            spheres[i * 4] = object.getPosition(0);
+            spheres[i * 4 + 1] = object.getPosition(1);
+            spheres[i * 4 + 2] = object.getPosition(2);
+            spheres[i * 4 + 3] = object.getRadius();
+        }
+        // Ein Binärbaum mit Blättern aus mindestens einem Objekt hat weniger als 2n Knoten.
+        int capacity = Math.max(1, 2 * n);
+        bounds = new double[capacity * 4];
+        skip = new int[capacity];
+        first = new int[capacity];
+        count = new int[capacity];
+        nodeCount = n == 0 ? 0 : build(0, 0, n);
+    }
+
+    /**
+     * Baut den Teilbaum für {@code order[from..to)} ab Knoten {@code node}.
+     *
+     * @return Der erste freie Knoten nach dem Teilbaum.
+     */
+    private int build(int node, int from, int to) {
+        // Achsenparalleler Quader um alle Kugeln und um die Mittelpunkte.
+        double minX = Double.POSITIVE_INFINITY, minY = minX, minZ = minX;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = maxX, maxZ = maxX;
+        double cMinX = minX, cMinY = minX, cMinZ = minX, cMaxX = maxX, cMaxY = maxX, cMaxZ = maxX;
+        for (int i = from; i < to; i++) {
+            int s = order[i] * 4;
+            double x = spheres[s], y = spheres[s + 1], z = spheres[s + 2], r = spheres[s + 3];
+            minX = Math.min(minX, x - r);
+            minY = Math.min(minY, y - r);
+            minZ = Math.min(minZ, z - r);
+            maxX = Math.max(maxX, x + r);
+            maxY = Math.max(maxY, y + r);
+            maxZ = Math.max(maxZ, z + r);
+            cMinX = Math.min(cMinX, x);
+            cMinY = Math.min(cMinY, y);
+            cMinZ = Math.min(cMinZ, z);
+            cMaxX = Math.max(cMaxX, x);
+            cMaxY = Math.max(cMaxY, y);
+            cMaxZ = Math.max(cMaxZ, z);
+        }
+        // Kugel um die Mitte des Quaders, die alle Objektkugeln enthält.
+        double cx = (minX + maxX) / 2, cy = (minY + maxY) / 2, cz = (minZ + maxZ) / 2;
+        double radius = 0;
+        for (int i = from; i < to; i++) {
+            int s = order[i] * 4;
+            double dx = spheres[s] - cx, dy = spheres[s + 1] - cy, dz = spheres[s + 2] - cz;
+            radius = Math.max(radius, Math.sqrt(dx * dx + dy * dy + dz * dz) + spheres[s + 3]);
+        }
+        bounds[node * 4] = cx;
+        bounds[node * 4 + 1] = cy;
+        bounds[node * 4 + 2] = cz;
+        bounds[node * 4 + 3] = radius;
+        first[node] = from;
+        count[node] = to - from;
+
+        if (to - from <= LEAF_SIZE) {
+            skip[node] = node + 1;
+            return node + 1;
+        }
+        double extentX = cMaxX - cMinX, extentY = cMaxY - cMinY, extentZ = cMaxZ - cMinZ;
+        int axis = extentX >= extentY && extentX >= extentZ ? 0 : extentY >= extentZ ? 1 : 2;
+        int middle = (from + to) >>> 1;
+        select(from, to - 1, middle, axis);
+        int next = build(node + 1, from, middle);
+        next = build(next, middle, to);
+        skip[node] = next;
+        return next;
+    }
+
+    /**
+     * Ordnet {@code order[lo..hi]} so, dass an {@code k} das Objekt mit dem k-kleinsten
+     * Mittelpunkt entlang der Achse steht, links davon keine größeren und rechts keine kleineren.
+     */
+    private void select(int lo, int hi, int k, int axis) {
+        while (lo < hi) {
+            double pivot = spheres[order[(lo + hi) >>> 1] * 4 + axis];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (spheres[order[i] * 4 + axis] < pivot) i++;
+                while (spheres[order[j] * 4 + axis] > pivot) j--;
+                if (i <= j) {
+                    int t = order[i];
+                    order[i++] = order[j];
+                    order[j--] = t;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sammelt alle Objekte, deren Begrenzungskugel das Bild berühren kann.
+     * <p>
+     * Die Projektion ist orthografisch wie im {@link renderer.pipeline.Renderer}: Rotation,
+     * Vergrößerung und Verschiebung in die Bildmitte. Teilbäume, deren Kugel außerhalb des Bildes
+     * liegt, werden übersprungen; liegt die Kugel ganz innerhalb, werden die Objekte des Teilbaums
+     * ohne weitere Tests übernommen.
+     *
+     * @param rotation Die Rotation der Ansicht.
+     * @param zoom     Die Vergrößerung.
+     * @param width    Die Breite des Bildes in Pixeln.
+     * @param height   Die Höhe des Bildes in Pixeln.
+     * @param visible  Ziel für die Indizes der sichtbaren Objekte (mindestens so viele Elemente
+     *                 wie Objekte).
+     * @param centers  Ziel für die projizierten Mittelpunkte ({@code x, y, z}) in derselben
+     *                 Reihenfolge (mindestens dreimal so viele Elemente wie Objekte).
+     * @return Die Anzahl der sichtbaren Objekte.
+     */
+    public int cull(Matrix3 rotation, double zoom, int width, int height, int[] visible, double[] centers) {
+        double m0 = rotation.get(0, 0), m1 = rotation.get(0, 1), m2 = rotation.get(0, 2);
+        double m3 = rotation.get(1, 0), m4 = rotation.get(1, 1), m5 = rotation.get(1, 2);
+        double m6 = rotation.get(2, 0), m7 = rotation.get(2, 1), m8 = rotation.get(2, 2);
+        double halfWidth = width / 2.0, halfHeight = height / 2.0;
+        int n = 0;
+        int node = 0;
+        while (node < nodeCount) {
+            int b = node * 4;
+            double x = bounds[b], y = bounds[b + 1], z = bounds[b + 2];
+            double sx = (m0 * x + m1 * y + m2 * z) * zoom + halfWidth;
+            double sy = (m3 * x + m4 * y + m5 * z) * zoom + halfHeight;
+            double r = bounds[b + 3] * zoom;
+            if (sx + r < 0 || sx - r > width || sy + r < 0 || sy - r > height) {
+                node = skip[node];
+                continue;
+            }
+            boolean inside = sx - r >= 0 && sx + r <= width && sy - r >= 0 && sy + r <= height;
+            if (!inside && skip[node] != node + 1) {
+                node++;
+                continue;
+            }
+            // Blatt oder vollständig sichtbarer Teilbaum: Objekte einzeln projizieren.
+            for (int i = first[node], end = i + count[node]; i < end; i++) {
+                int object = order[i];
+                int s = object * 4;
+                x = spheres[s];
+                y = spheres[s + 1];
+                z = spheres[s + 2];
+                sx = (m0 * x + m1 * y + m2 * z) * zoom + halfWidth;
+                sy = (m3 * x + m4 * y + m5 * z) * zoom + halfHeight;
+                r = spheres[s + 3] * zoom;
+                if (inside || !(sx + r < 0 || sx - r > width || sy + r < 0 || sy - r > height)) {
+                    visible[n] = object;
+                    centers[n * 3] = sx;
+                    centers[n * 3 + 1] = sy;
+                    centers[n * 3 + 2] = (m6 * x + m7 * y + m8 * z) * zoom;
+                    n++;
+                }
+            }
+            node = skip[node];
+        }
+        return n;
+    }
+
+    /**
+     * @return Die Anzahl der Knoten.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+}
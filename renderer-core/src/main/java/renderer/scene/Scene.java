@@ -0,0 +1,137 @@
+package renderer.scene;
+
+import renderer.geometry.Matrix3;
+import renderer.mesh.Mesh;
+import renderer.mesh.MeshCache;
+import renderer.mesh.Shape;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Eine Szene aus mehreren {@link SceneObject Objekten}, die gemeinsam rotiert und gerendert
+ * werden.
+ * <p>
+ * Beim Erzeugen wird eine {@link BoundingVolumeHierarchy} über den Begrenzungskugeln der Objekte
+ * gebaut, mit der der Renderer Objekte außerhalb des Bildes verwirft, bevor ein Eckpunkt
+ * transformiert wird. Instanzen sind unveränderlich und können von mehreren Threads geteilt
+ * werden.
+ */
+public final class Scene {
+
+    /** Unterteilungsstufe der Kugeln in {@link #occluderDemo}. */
+    public static final int DEMO_SPHERE_LEVEL = 4;
+
+    /** Unterteilungsstufe der Kugeln in {@link #instancedDemo}. */
+    public static final int INSTANCE_SPHERE_LEVEL = 3;
+
+    private final List<SceneObject> objects;
+    private final int triangleCount;
+    private final BoundingVolumeHierarchy hierarchy;
+
+    /**
+     * Erzeugt eine Szene.
+     *
+     * @param objects Die Objekte in Zeichenreihenfolge (wird kopiert).
+     */
+    public Scene(List<SceneObject> objects) {
+        this.objects = Collections.unmodifiableList(new ArrayList<>(objects));
+        int triangles = 0;
+        for (SceneObject object : objects) {
+            triangles += object.getMesh().getTriangleCount();
+        }
+        this.triangleCount = triangles;
+        this.hierarchy = new BoundingVolumeHierarchy(this.objects);
+    }
+
+    /**
+     * Erzeugt eine Testszene für die Verdeckung: eine Wand aus großen Quadern vorne und dahinter
+     * viele kleine Kugeln, von denen in der Ausgangsansicht die meisten verdeckt sind. Beim
+     * Drehen werden sie nach und nach sichtbar.
+     * <p>
+     * Die Wand steht in der Reihenfolge hinten, damit die Sortierung von vorne nach hinten einen
+     * sichtbaren Unterschied macht.
+     *
+     * @param meshCache Der Cache für die Meshes von Kugel und Würfel.
+     * @param spheres   Die Anzahl der Kugeln.
+     * @param seed      Der Startwert für die zufällige Verteilung.
+     * @return Die Szene.
+     */
+    public static Scene occluderDemo(MeshCache meshCache, int spheres, long seed) {
+        Mesh sphere = meshCache.get(Shape.SPHERE, DEMO_SPHERE_LEVEL);
+        Mesh cube = meshCache.get(Shape.CUBE, 0);
+        Random random = new Random(seed);
+        List<SceneObject> objects = new ArrayList<>();
+        for (int i = 0; i < spheres; i++) {
+            double x = random.nextDouble() * 560 - 280;
+            double y = random.nextDouble() * 360 - 180;
+            double z = -100 - random.nextDouble() * 300;
+            int color = 0xFF000000 | (random.nextInt(0x80) + 0x7F) << 16
+                    | (random.nextInt(0x80) + 0x7F) << 8 | (random.nextInt(0x80) + 0x7F);
+            objects.add(new SceneObject(sphere, x, y, z, 0.12 + random.nextDouble() * 0.08, color));
+        }
+        // Drei Pfeiler mit schmalen Lücken (Würfelhalbkante 100).
+        for (int i = -1; i <= 1; i++) {
+            objects.add(new SceneObject(cube, i * 210, 0, 120, 1.0, 2.2, 0.2, 0xFFB0B0B0));
+        }
+        return new Scene(objects);
+    }
+
+    /**
+     * Erzeugt eine Szene aus vielen gedrehten Kugeln und Würfeln mit eigener Farbe, verteilt über
+     * ein Volumen, das weit über das Bild hinausreicht. Alle Kugeln und alle Würfel teilen sich je
+     * ein Mesh aus dem Cache.
+     *
+     * @param meshCache Der Cache für die Meshes von Kugel und Würfel.
+     * @param count     Die Anzahl der Objekte.
+     * @param seed      Der Startwert für die zufällige Verteilung.
+     * @return Die Szene.
+     */
+    public static Scene instancedDemo(MeshCache meshCache, int count, long seed) {
+        Mesh sphere = meshCache.get(Shape.SPHERE, INSTANCE_SPHERE_LEVEL);
+        Mesh cube = meshCache.get(Shape.CUBE, 0);
+        Random random = new Random(seed);
+        List<SceneObject> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double x = random.nextDouble() * 4000 - 2000;
+            double y = random.nextDouble() * 3000 - 1500;
+            double z = random.nextDouble() * 2000 - 1000;
+            Matrix3 rotation = Matrix3.headingPitch(random.nextDouble() * 2 * Math.PI, random.nextDouble() * Math.PI);
+            double scale = 0.05 + random.nextDouble() * 0.1;
+            int color = 0xFF000000 | random.nextInt(0x1000000);
+            objects.add(new SceneObject(random.nextBoolean() ? sphere : cube, x, y, z, rotation,
+                    scale, scale, scale, color));
+        }
+        return new Scene(objects);
+    }
+
+    /**
+     * @return Die Objekte in Zeichenreihenfolge (nicht veränderbar).
+     */
+    public List<SceneObject> getObjects() {
+        return objects;
+    }
+
+    /**
+     * @return Die Anzahl der Objekte.
+     */
+    public int size() {
+        return objects.size();
+    }
+
+    /**
+     * @return Die Summe der Dreiecke aller Objekte.
+     */
+    public int getTriangleCount() {
+        return triangleCount;
+    }
+
+    /**
+     * @return Die Hüllkörper-Hierarchie über den Objekten.
+     */
+    public BoundingVolumeHierarchy getHierarchy() {
+        return hierarchy;
+    }
+}
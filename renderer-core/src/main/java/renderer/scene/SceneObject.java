@@ -0,0 +1,147 @@
+package renderer.scene;
+
+import renderer.geometry.Matrix3;
+import renderer.geometry.VertexArrays;
+import renderer.mesh.Mesh;
+
+/**
+ * Ein Objekt (eine Instanz) einer {@link Scene}: ein Mesh mit Position, Rotation, Skalierung und
+ * Farbe.
+ * <p>
+ * Die Eckpunkte des Meshes werden pro Achse skaliert, gedreht und dann verschoben; danach folgt
+ * die Rotation der ganzen Szene. Mehrere Objekte können dasselbe Mesh benutzen. Instanzen sind
+ * unveränderlich.
+ */
+public final class SceneObject {
+
+    private final Mesh mesh;
+    private final double x, y, z;
+    private final double scaleX, scaleY, scaleZ;
+    private final Matrix3 rotation;
+    private final int color;
+    private final double radius;
+
+    /**
+     * Erzeugt ein gleichmäßig skaliertes Objekt.
+     *
+     * @param mesh  Das Mesh (um den Ursprung modelliert).
+     * @param x     x-Koordinate der Position.
+     * @param y     y-Koordinate der Position (nach unten).
+     * @param z     z-Koordinate der Position (größer = näher an der Kamera).
+     * @param scale Der Skalierungsfaktor.
+     * @param color Die Farbe als gepackter ARGB-Wert.
+     */
+    public SceneObject(Mesh mesh, double x, double y, double z, double scale, int color) {
+        this(mesh, x, y, z, null, scale, scale, scale, color);
+    }
+
+    /**
+     * Erzeugt ein pro Achse skaliertes Objekt.
+     *
+     * @param mesh   Das Mesh (um den Ursprung modelliert).
+     * @param x      x-Koordinate der Position.
+     * @param y      y-Koordinate der Position (nach unten).
+     * @param z      z-Koordinate der Position (größer = näher an der Kamera).
+     * @param scaleX Der Skalierungsfaktor in x-Richtung.
+     * @param scaleY Der Skalierungsfaktor in y-Richtung.
+     * @param scaleZ Der Skalierungsfaktor in z-Richtung.
+     * @param color  Die Farbe als gepackter ARGB-Wert.
+     * @throws IllegalArgumentException wenn ein Skalierungsfaktor nicht positiv ist (negative
+     *                                  Faktoren würden die Orientierung der Dreiecke umkehren).
+     */
+    public SceneObject(Mesh mesh, double x, double y, double z,
+                       double scaleX, double scaleY, double scaleZ, int color) {
+        this(mesh, x, y, z, null, scaleX, scaleY, scaleZ, color);
+    }
+
+    /**
+     * Erzeugt ein gedrehtes und pro Achse skaliertes Objekt.
+     *
+     * @param mesh     Das Mesh (um den Ursprung modelliert).
+     * @param x        x-Koordinate der Position.
+     * @param y        y-Koordinate der Position (nach unten).
+     * @param z        z-Koordinate der Position (größer = näher an der Kamera).
+     * @param rotation Die Rotation um die Position ({@code null} = keine); muss orthonormal sein,
+     *                 damit die Begrenzungskugel stimmt.
+     * @param scaleX   Der Skalierungsfaktor in x-Richtung.
+     * @param scaleY   Der Skalierungsfaktor in y-Richtung.
+     * @param scaleZ   Der Skalierungsfaktor in z-Richtung.
+     * @param color    Die Farbe als gepackter ARGB-Wert.
+     * @throws IllegalArgumentException wenn ein Skalierungsfaktor nicht positiv ist (negative
+     *                                  Faktoren würden die Orientierung der Dreiecke umkehren).
+     */
+    public SceneObject(Mesh mesh, double x, double y, double z, Matrix3 rotation,
+                       double scaleX, double scaleY, double scaleZ, int color) {
+        if (!(scaleX > 0 && scaleY > 0 && scaleZ > 0))
+            throw new IllegalArgumentException("Skalierung muss positiv sein");
+        this.mesh = mesh;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.scaleZ = scaleZ;
+        this.rotation = rotation;
+        this.color = color;
+        this.radius = mesh.getRadius() * Math.max(scaleX, Math.max(scaleY, scaleZ));
+    }
+
+    /**
+     * Schreibt die skalierten, gedrehten und verschobenen Eckpunkte des Meshes in getrennte
+     * Koordinaten-Arrays.
+     *
+     * @param dst Das Ziel; wird auf {@code mesh.getVertexCount()} Einträge gebracht.
+     */
+    public void place(VertexArrays dst) {
+        double[] p = mesh.getPositions();
+        int n = mesh.getVertexCount();
+        dst.resize(n);
+        double[] dx = dst.getX(), dy = dst.getY(), dz = dst.getZ();
+        if (rotation == null) {
+            for (int i = 0, j = 0; i < n; i++, j += 3) {
+                dx[i] = p[j] * scaleX + x;
+                dy[i] = p[j + 1] * scaleY + y;
+                dz[i] = p[j + 2] * scaleZ + z;
+            }
+            return;
+        }
+        double m0 = rotation.get(0, 0), m1 = rotation.get(0, 1), m2 = rotation.get(0, 2);
+        double m3 = rotation.get(1, 0), m4 = rotation.get(1, 1), m5 = rotation.get(1, 2);
+        double m6 = rotation.get(2, 0), m7 = rotation.get(2, 1), m8 = rotation.get(2, 2);
+        for (int i = 0, j = 0; i < n; i++, j += 3) {
+            double vx = p[j] * scaleX, vy = p[j + 1] * scaleY, vz = p[j + 2] * scaleZ;
+            dx[i] = m0 * vx + m1 * vy + m2 * vz + x;
+            dy[i] = m3 * vx + m4 * vy + m5 * vz + y;
+            dz[i] = m6 * vx + m7 * vy + m8 * vz + z;
+        }
+    }
+
+    /**
+     * @return Das Mesh des Objekts.
+     */
+    public Mesh getMesh() {
+        return mesh;
+    }
+
+    /**
+     * @param axis Die Achse (0 = x, 1 = y, 2 = z).
+     * @return Die Koordinate der Position.
+     */
+    public double getPosition(int axis) {
+        return axis == 0 ? x : axis == 1 ? y : z;
+    }
+
+    /**
+     * @return Die Farbe als gepackter ARGB-Wert.
+     */
+    public int getColor() {
+        return color;
+    }
+
+    /**
+     * @return Der Radius der Begrenzungskugel um die Position.
+     */
+    public double getRadius() {
+        return radius;
+    }
+}
@@ -0,0 +1,213 @@
+package renderer.server;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Client für den {@link FrameServer}: sendet Anforderungen und setzt die empfangenen Frames
+ * wieder zu Pixeln zusammen.
+ * <p>
+ * Anforderungen ({@link #request}) und Empfang ({@link #receive()}) sind entkoppelt, sodass ein
+ * Client mehrere Anforderungen senden kann, ohne auf die Frames zu warten. Der Server rendert
+ * dann nur die jeweils neueste. Der empfangene Frame liegt in einem wiederverwendeten Puffer,
+ * der zugleich die Basis für {@link FrameEncoding#DELTA} ist. {@link #request} und
+ * {@link #receive()} dürfen auf verschiedenen Threads laufen, jede für sich aber nur auf einem.
+ */
+public class FrameClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private final ByteBuffer requestBuffer = ByteBuffer.allocate(FrameProtocol.REQUEST_LENGTH);
+    private final ByteBuffer header = ByteBuffer.allocate(FrameProtocol.FRAME_HEADER_LENGTH);
+    private byte[] payload = new byte[0];
+
+    // Der zuletzt empfangene Frame.
+    private int[] pixels = new int[0];
+    private int width, height;
+    private int sequence;
+    private FrameEncoding encoding;
+    private int payloadLength;
+
+    /**
+     * Verbindet sich mit einem Server und eröffnet eine Sitzung.
+     *
+     * @param address Die Adresse des Servers ({@link java.net.InetSocketAddress} oder
+     *                {@link java.net.UnixDomainSocketAddress}).
+     * @throws IOException wenn keine Verbindung möglich ist oder der Server die Sitzung ablehnt.
+     */
+    public FrameClient(SocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        try {
+            ByteBuffer hello = ByteBuffer.allocate(FrameProtocol.HELLO_LENGTH)
+                    .putInt(FrameProtocol.MAGIC).putInt(FrameProtocol.VERSION);
+            hello.flip();
+            while (hello.hasRemaining()) {
+                channel.write(hello);
+            }
+            ByteBuffer reply = ByteBuffer.allocate(FrameProtocol.HELLO_REPLY_LENGTH);
+            readFully(reply);
+            if (reply.getInt(0) != FrameProtocol.MAGIC) {
+                throw new ProtocolException("Kein Frame-Server");
+            } else if (reply.get(4) == FrameProtocol.STATUS_BUSY) {
+                throw new IOException("Der Server ist ausgelastet");
+            } else if (reply.get(4) != FrameProtocol.STATUS_OK) {
+                throw new ProtocolException("Protokollversion " + FrameProtocol.VERSION + " wird nicht unterstützt");
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sendet eine Anforderung.
+     *
+     * @param request Die Anforderung.
+     * @throws IOException wenn die Verbindung abbricht.
+     */
+    public void request(FrameRequest request) throws IOException {
+        requestBuffer.clear();
+        request.write(requestBuffer);
+        requestBuffer.flip();
+        while (requestBuffer.hasRemaining()) {
+            channel.write(requestBuffer);
+        }
+    }
+
+    /**
+     * Wartet auf den nächsten Frame und dekodiert ihn.
+     *
+     * @return Die Sequenznummer der Anforderung, zu der der Frame gehört.
+     * @throws IOException wenn die Verbindung abbricht oder die Daten ungültig sind.
+     */
+    public int receive() throws IOException {
+        header.clear();
+        readFully(header);
+        header.flip();
+        int frameSequence = header.getInt();
+        int encodingIndex = header.get();
+        int frameWidth = header.getInt();
+        int frameHeight = header.getInt();
+        int length = header.getInt();
+        if (encodingIndex < 0 || encodingIndex >= FrameEncoding.values().length
+                || frameWidth <= 0 || frameHeight <= 0
+                || frameWidth > FrameProtocol.MAX_SIZE || frameHeight > FrameProtocol.MAX_SIZE || length < 0) {
+            throw new ProtocolException("Ungültiger Frame-Kopf");
+        }
+        if (payload.length < length) {
+            payload = new byte[length];
+        }
+        readFully(ByteBuffer.wrap(payload, 0, length));
+
+        FrameEncoding frameEncoding = FrameEncoding.values()[encodingIndex];
+        int count = frameWidth * frameHeight;
+        if (frameEncoding == FrameEncoding.DELTA && (frameWidth != width || frameHeight != height)) {
+            throw new ProtocolException("Delta ohne passenden vorherigen Frame");
+        }
+        if (pixels.length < count) {
+            int[] grown = new int[count];
+            System.arraycopy(pixels, 0, grown, 0, pixels.length);
+            pixels = grown;
+        }
+        IntBuffer ints = ByteBuffer.wrap(payload, 0, length).asIntBuffer();
+        try {
+            if (frameEncoding == FrameEncoding.RAW) {
+                ints.get(0, pixels, 0, count);
+            } else if (frameEncoding == FrameEncoding.DELTA) {
+                int position = 0;
+                for (int i = 0; i + 1 < ints.limit(); ) {
+                    position += ints.get(i);
+                    int run = ints.get(i + 1);
+                    if (position + run > count) {
+                        throw new ProtocolException("Delta reicht über den Frame hinaus");
+                    }
+                    ints.get(i + 2, pixels, position, run);
+                    position += run;
+                    i += 2 + run;
+                }
+            } else {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(payload, 0, length));
+                if (image == null || image.getWidth() != frameWidth || image.getHeight() != frameHeight) {
+                    throw new ProtocolException("Ungültiges PNG");
+                }
+                image.getRGB(0, 0, frameWidth, frameHeight, pixels, 0, frameWidth);
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new ProtocolException("Nutzdaten passen nicht zum Frame");
+        }
+        sequence = frameSequence;
+        encoding = frameEncoding;
+        width = frameWidth;
+        height = frameHeight;
+        payloadLength = length;
+        return sequence;
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Verbindung vom Server beendet");
+            }
+        }
+    }
+
+    /**
+     * @return Die Pixel des zuletzt empfangenen Frames als ARGB-Werte (keine Kopie; gültig sind
+     *         die ersten {@code getWidth() * getHeight()} Einträge).
+     */
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    /**
+     * @return Die Breite des zuletzt empfangenen Frames.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return Die Höhe des zuletzt empfangenen Frames.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return Die Sequenznummer des zuletzt empfangenen Frames.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return Die Kodierung des zuletzt empfangenen Frames.
+     */
+    public FrameEncoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * @return Die Länge der Nutzdaten des zuletzt empfangenen Frames in Bytes.
+     */
+    public int getPayloadLength() {
+        return payloadLength;
+    }
+
+    /**
+     * Beendet die Sitzung.
+     *
+     * @throws IOException wenn die Verbindung nicht sauber geschlossen werden kann.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
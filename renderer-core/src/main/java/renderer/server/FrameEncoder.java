@@ -0,0 +1,163 @@
+package renderer.server;
+
+import renderer.raster.FrameBuffer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Kodiert die Frames einer Sitzung in wiederverwendete Puffer.
+ * <p>
+ * Hält den zuletzt kodierten Frame, also den, den der Client zuletzt erhalten hat, als Basis
+ * für {@link FrameEncoding#DELTA}. Ein Delta besteht aus Abschnitten geänderter Pixel; Lücken
+ * von höchstens {@value #MAX_GAP} unveränderten Pixeln werden mitübertragen, da ein neuer
+ * Abschnitt 8 Bytes Kopf kostet. Wäre das Delta nicht kleiner als der vollständige Frame, wird
+ * {@link FrameEncoding#RAW} gesendet. Eine Instanz ist nicht threadsicher.
+ */
+final class FrameEncoder {
+
+    private static final int MAX_GAP = 2;
+
+    // Der zuletzt kodierte Frame (Breite 0 = noch keiner).
+    private int[] previous = new int[0];
+    private int previousWidth, previousHeight;
+
+    // Die kodierten Daten und eine int-Sicht darauf.
+    private byte[] bytes = new byte[0];
+    private IntBuffer ints = IntBuffer.allocate(0);
+    private int length;
+
+    // Nur für PNG: Bild mit eigenem Pixelpuffer, wird bei Größenänderung neu angelegt.
+    private BufferedImage image;
+    private int[] imagePixels;
+    private final OutputStream sink = new OutputStream() {
+        @Override
+        public void write(int b) {
+            ensureCapacity(length + 1);
+            bytes[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(length + len);
+            System.arraycopy(b, off, bytes, length, len);
+            length += len;
+        }
+    };
+
+    /**
+     * Kodiert einen Frame und merkt ihn sich als Basis des nächsten Deltas.
+     *
+     * @param frame     Der gerenderte Frame.
+     * @param requested Die vom Client gewünschte Kodierung.
+     * @return Die tatsächlich verwendete Kodierung.
+     * @throws IOException wenn kein PNG-Encoder verfügbar ist.
+     */
+    FrameEncoding encode(FrameBuffer frame, FrameEncoding requested) throws IOException {
+        int width = frame.getWidth(), height = frame.getHeight();
+        int[] pixels = frame.getPixels();
+        int count = width * height;
+        FrameEncoding encoding = requested;
+        if (encoding == FrameEncoding.DELTA
+                && (width != previousWidth || height != previousHeight || !encodeDelta(pixels, count))) {
+            encoding = FrameEncoding.RAW;
+        }
+        if (encoding == FrameEncoding.RAW) {
+            ensureCapacity(count * 4);
+            ints.put(0, pixels, 0, count);
+            length = count * 4;
+        } else if (encoding == FrameEncoding.PNG) {
+            encodePng(pixels, width, height);
+        }
+        if (previous.length < count) {
+            previous = new int[count];
+        }
+        System.arraycopy(pixels, 0, previous, 0, count);
+        previousWidth = width;
+        previousHeight = height;
+        return encoding;
+    }
+
+    /**
+     * Kodiert die Unterschiede zum vorherigen Frame gleicher Größe.
+     *
+     * @return {@code false}, wenn das Delta nicht kleiner als der vollständige Frame wäre.
+     */
+    private boolean encodeDelta(int[] pixels, int count) {
+        ensureCapacity(count * 4);
+        int out = 0;
+        int written = 0;
+        int i = 0;
+        while (i < count) {
+            if (pixels[i] == previous[i]) {
+                i++;
+                continue;
+            }
+            // Verlängere den Abschnitt, solange die Lücke bis zur nächsten Änderung kurz genug ist.
+            int end = i + 1;
+            for (int j = end; j < count && j - end < MAX_GAP; j++) {
+                if (pixels[j] != previous[j]) {
+                    end = j + 1;
+                }
+            }
+            int run = end - i;
+            if (out + 2 + run >= count) {
+                return false;
+            }
+            ints.put(out, i - written);
+            ints.put(out + 1, run);
+            ints.put(out + 2, pixels, i, run);
+            out += 2 + run;
+            written = end;
+            i = end;
+        }
+        length = out * 4;
+        return true;
+    }
+
+    /**
+     * Schreibt den Frame als PNG in den Puffer.
+     */
+    private void encodePng(int[] pixels, int width, int height) throws IOException {
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            imagePixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        }
+        System.arraycopy(pixels, 0, imagePixels, 0, width * height);
+        length = 0;
+        if (!ImageIO.write(image, "png", sink)) {
+            throw new IOException("Kein PNG-Encoder verfügbar");
+        }
+    }
+
+    /**
+     * Vergrößert den Puffer bei Bedarf; vorhandene Daten bleiben erhalten.
+     */
+    private void ensureCapacity(int capacity) {
+        if (bytes.length < capacity) {
+            byte[] grown = new byte[Math.max(capacity, bytes.length + (bytes.length >> 1))];
+            System.arraycopy(bytes, 0, grown, 0, length);
+            bytes = grown;
+            ints = ByteBuffer.wrap(bytes).asIntBuffer();
+        }
+    }
+
+    /**
+     * @return Die kodierten Daten (keine Kopie; gültig sind die ersten {@link #getLength()} Bytes).
+     */
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return Die Länge der kodierten Daten in Bytes.
+     */
+    int getLength() {
+        return length;
+    }
+}
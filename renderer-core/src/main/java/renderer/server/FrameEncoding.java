@@ -0,0 +1,20 @@
+package renderer.server;
+
+/**
+ * Kodierung eines übertragenen Frames.
+ * <p>
+ * Der Client wählt die Kodierung pro Anforderung; der Server darf statt {@link #DELTA} einen
+ * vollständigen Frame ({@link #RAW}) senden, z.B. beim ersten Frame, nach einer Größenänderung
+ * oder wenn sich so viel geändert hat, dass das Delta größer wäre.
+ */
+public enum FrameEncoding {
+    /** Alle Pixel als ARGB-Werte (4 Bytes, Big Endian) in Zeilenreihenfolge. */
+    RAW,
+    /**
+     * Nur die gegenüber dem zuvor gesendeten Frame geänderten Pixel: eine Folge von Abschnitten
+     * aus übersprungenen Pixeln ({@code int}), Anzahl der Pixel ({@code int}) und deren ARGB-Werten.
+     */
+    DELTA,
+    /** Der Frame als PNG-Datei (ohne Alphakanal). */
+    PNG
+}
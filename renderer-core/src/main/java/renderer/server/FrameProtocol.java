@@ -0,0 +1,47 @@
+package renderer.server;
+
+/**
+ * Konstanten des Übertragungsprotokolls zwischen {@link FrameServer} und {@link FrameClient}.
+ * <p>
+ * Alle Werte sind Big Endian. Nach dem Verbindungsaufbau sendet der Client {@link #MAGIC} und
+ * {@link #VERSION} (je ein {@code int}); der Server antwortet mit {@link #MAGIC} und einem
+ * Status-Byte ({@link #STATUS_OK}, {@link #STATUS_BUSY} oder {@link #STATUS_VERSION}). Danach
+ * sendet der Client beliebig viele Anforderungen ({@link FrameRequest}, je
+ * {@link #REQUEST_LENGTH} Bytes), ohne auf die Frames zu warten. Der Server antwortet pro
+ * gerendertem Frame mit einem Kopf aus Sequenznummer der Anforderung ({@code int}),
+ * {@link FrameEncoding} ({@code byte}), Breite, Höhe und Länge der Nutzdaten (je {@code int}),
+ * gefolgt von den Nutzdaten.
+ * <p>
+ * Anforderungen, die eintreffen, bevor die vorherige gerendert wurde, ersetzen diese. Ein
+ * Client erhält daher nicht zu jeder Sequenznummer einen Frame, aber immer einen Frame zur
+ * zuletzt gesendeten Anforderung.
+ */
+public final class FrameProtocol {
+
+    /** Kennung am Anfang der Verbindung ({@code "R3DF"}). */
+    public static final int MAGIC = 0x52334446;
+    /** Version des Protokolls. */
+    public static final int VERSION = 1;
+
+    /** Antwort auf den Verbindungsaufbau: Die Sitzung ist eröffnet. */
+    public static final byte STATUS_OK = 0;
+    /** Antwort auf den Verbindungsaufbau: Die Höchstzahl der Sitzungen ist erreicht. */
+    public static final byte STATUS_BUSY = 1;
+    /** Antwort auf den Verbindungsaufbau: Kennung oder Version werden nicht unterstützt. */
+    public static final byte STATUS_VERSION = 2;
+
+    /** Länge der Begrüßung des Clients in Bytes. */
+    public static final int HELLO_LENGTH = 8;
+    /** Länge der Antwort des Servers auf die Begrüßung in Bytes. */
+    public static final int HELLO_REPLY_LENGTH = 5;
+    /** Länge einer Anforderung in Bytes. */
+    public static final int REQUEST_LENGTH = 34;
+    /** Länge des Kopfes eines Frames in Bytes. */
+    public static final int FRAME_HEADER_LENGTH = 17;
+
+    /** Größte zulässige Breite und Höhe eines Frames in Pixeln. */
+    public static final int MAX_SIZE = 4096;
+
+    private FrameProtocol() {
+    }
+}
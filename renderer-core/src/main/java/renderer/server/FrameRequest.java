@@ -0,0 +1,104 @@
+package renderer.server;
+
+import renderer.mesh.Shape;
+import renderer.pipeline.ViewState;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+
+/**
+ * Eine Anforderung eines Frames, wie sie ein Client an den {@link FrameServer} sendet.
+ * <p>
+ * Enthält nur die Parameter, die ein Client wählen kann; alle übrigen Werte des
+ * {@link ViewState} legt der Server fest. Die Felder sind wie beim {@link ViewState} öffentlich,
+ * damit eine Instanz für alle Anforderungen einer Sitzung wiederverwendet werden kann.
+ */
+public class FrameRequest {
+    // Vom Client vergebene Nummer; der Server sendet sie mit dem Frame zurück.
+    public int sequence;
+    // Auflösung des Frames in Pixeln (jeweils höchstens FrameProtocol.MAX_SIZE).
+    public int width = 800;
+    public int height = 600;
+    // Heading und Pitch in Radiant wie bei ViewState.
+    public double rotationX;
+    public double rotationY;
+    // Farbe des Objekts als RGB-Wert; der Alphakanal wird ignoriert.
+    public int color = 0xFFFFFF;
+    public Shape shape = Shape.SPHERE;
+    public FrameEncoding encoding = FrameEncoding.RAW;
+
+    /**
+     * Übernimmt alle Werte einer anderen Anforderung.
+     *
+     * @param other Die zu kopierende Anforderung.
+     * @return Diese Anforderung.
+     */
+    public FrameRequest set(FrameRequest other) {
+        this.sequence = other.sequence;
+        this.width = other.width;
+        this.height = other.height;
+        this.rotationX = other.rotationX;
+        this.rotationY = other.rotationY;
+        this.color = other.color;
+        this.shape = other.shape;
+        this.encoding = other.encoding;
+        return this;
+    }
+
+    /**
+     * Überträgt die Parameter in einen Zustand für den {@link renderer.pipeline.Renderer}.
+     *
+     * @param view Der Zustand; alle anderen Werte bleiben unverändert.
+     */
+    public void applyTo(ViewState view) {
+        view.width = width;
+        view.height = height;
+        view.rotationX = rotationX;
+        view.rotationY = rotationY;
+        view.color = 0xFF000000 | color;
+        view.shape = shape;
+    }
+
+    /**
+     * Schreibt die Anforderung ({@link FrameProtocol#REQUEST_LENGTH} Bytes) ab der aktuellen
+     * Position in einen Puffer.
+     *
+     * @param out Der Puffer.
+     */
+    public void write(ByteBuffer out) {
+        out.putInt(sequence).putInt(width).putInt(height)
+                .putDouble(rotationX).putDouble(rotationY).putInt(color)
+                .put((byte) shape.ordinal()).put((byte) encoding.ordinal());
+    }
+
+    /**
+     * Liest eine Anforderung ({@link FrameProtocol#REQUEST_LENGTH} Bytes) ab der aktuellen
+     * Position aus einem Puffer.
+     *
+     * @param in Der Puffer.
+     * @throws ProtocolException wenn Größe, Winkel, Form oder Kodierung ungültig sind. Die Werte
+     *                           dieser Anforderung sind dann unbestimmt.
+     */
+    public void read(ByteBuffer in) throws ProtocolException {
+        sequence = in.getInt();
+        width = in.getInt();
+        height = in.getInt();
+        rotationX = in.getDouble();
+        rotationY = in.getDouble();
+        color = in.getInt();
+        int shapeIndex = in.get();
+        int encodingIndex = in.get();
+        if (width <= 0 || height <= 0 || width > FrameProtocol.MAX_SIZE || height > FrameProtocol.MAX_SIZE) {
+            throw new ProtocolException("Ungültige Größe: " + width + "x" + height);
+        }
+        if (!Double.isFinite(rotationX) || !Double.isFinite(rotationY)) {
+            throw new ProtocolException("Ungültiger Winkel");
+        }
+        if (shapeIndex < 0 || shapeIndex >= Shape.values().length
+                || encodingIndex < 0 || encodingIndex >= FrameEncoding.values().length) {
+            throw new ProtocolException("Unbekannte Form oder Kodierung: " + shapeIndex + ", " + encodingIndex);
+        }
+        shape = Shape.values()[shapeIndex];
+        encoding = FrameEncoding.values()[encodingIndex];
+    }
+}
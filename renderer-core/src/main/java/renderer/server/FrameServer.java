@@ -0,0 +1,301 @@
+package renderer.server;
+
+import renderer.mesh.MeshCache;
+import renderer.mesh.Shape;
+import renderer.pipeline.Renderer;
+import renderer.pipeline.ViewState;
+import renderer.raster.FrameBuffer;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Rendert Frames für mehrere Clients über einen lokalen TCP- oder Unix-Domain-Socket.
+ * <p>
+ * Jeder Client eröffnet eine Sitzung, sendet Anforderungen mit Drehung, Farbe, Form und
+ * Auflösung ({@link FrameRequest}) und erhält die Frames als {@link FrameEncoding#RAW},
+ * {@link FrameEncoding#DELTA} oder {@link FrameEncoding#PNG} (Protokoll siehe
+ * {@link FrameProtocol}). Alle Sitzungen teilen sich einen {@link MeshCache} und einen Pool aus
+ * {@link ServerOptions#threads} Render-Threads; jeder Render-Thread hat wie beim
+ * {@link renderer.batch.BatchRenderer} einen eigenen {@link Renderer} und Puffer und rastert
+ * seriell. Gerendert und kodiert wird auf dem Pool, die Threads der Sitzungen lesen und
+ * schreiben nur.
+ * <p>
+ * Pro Sitzung liegt höchstens eine Anforderung beim Pool, die Warteschlange ist daher auf
+ * {@link ServerOptions#maxSessions} Einträge begrenzt. Fordert ein Client schneller an, als er
+ * Frames abholt, ersetzen neue Anforderungen die noch nicht gerenderten ({@link FrameSession}),
+ * statt sich zu stauen. Der Speicherbedarf ist so durch die Anzahl der Sitzungen und deren
+ * Auflösung begrenzt.
+ * <p>
+ * Die beiden Threads einer Sitzung warten fast nur auf den Socket. Ab Java 21 laufen sie auf
+ * virtuellen Threads, sodass viele Sitzungen kaum Ressourcen binden; unter älteren Versionen
+ * auf einem Pool gewöhnlicher Daemon-Threads.
+ */
+public class FrameServer implements AutoCloseable {
+
+    private final ServerOptions options;
+    private final MeshCache meshCache = new MeshCache();
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+    private final List<Worker> allWorkers = new ArrayList<>();
+    private final ExecutorService renderPool;
+    private final ExecutorService sessionThreads;
+    private final boolean virtualThreads;
+
+    private final Set<FrameSession> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private volatile Consumer<SessionMetrics> closedListener = metrics -> { };
+
+    private ServerSocketChannel serverChannel;
+    private Thread acceptThread;
+
+    /**
+     * Erzeugt einen Server; gebunden wird erst mit {@link #start()}.
+     *
+     * @param options Die Parameter des Servers.
+     */
+    public FrameServer(ServerOptions options) {
+        this.options = options;
+        AtomicInteger threadNumber = new AtomicInteger();
+        renderPool = new ThreadPoolExecutor(options.threads, options.threads, 0, TimeUnit.NANOSECONDS,
+                new ArrayBlockingQueue<>(options.maxSessions), r -> {
+                    Thread thread = new Thread(r, "frame-render-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorService virtual = newVirtualThreadExecutor();
+        virtualThreads = virtual != null;
+        sessionThreads = virtual != null ? virtual : Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "frame-session");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Bindet den Socket und nimmt ab sofort Verbindungen an.
+     *
+     * @return Die gebundene Adresse (bei Port 0 mit dem gewählten Port).
+     * @throws IOException wenn der Socket nicht gebunden werden kann.
+     */
+    public SocketAddress start() throws IOException {
+        ImageIO.setUseCache(false);
+        // Erzeuge das Mesh vorab, damit nicht die ersten Sitzungen darauf warten.
+        meshCache.get(Shape.SPHERE, options.level);
+        if (options.socket != null) {
+            serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            serverChannel.bind(UnixDomainSocketAddress.of(options.socket));
+        } else {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(options.host, options.port));
+        }
+        acceptThread = new Thread(this::acceptLoop, "frame-server-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        return serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Nimmt Verbindungen an, bis der Socket geschlossen wird.
+     */
+    private void acceptLoop() {
+        while (serverChannel.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                // Socket geschlossen.
+                return;
+            }
+            try {
+                if (sessionCount.incrementAndGet() > options.maxSessions) {
+                    sessionCount.decrementAndGet();
+                    reject(channel);
+                    continue;
+                }
+                SocketAddress remoteAddress = channel.getRemoteAddress();
+                String remote = remoteAddress instanceof InetSocketAddress ? remoteAddress.toString() : "unix";
+                FrameSession session = new FrameSession(this, nextId.getAndIncrement(), channel, remote);
+                sessions.add(session);
+                sessionThreads.execute(session::readLoop);
+            } catch (IOException e) {
+                close(channel);
+            }
+        }
+    }
+
+    /**
+     * Teilt einem Client mit, dass keine weitere Sitzung möglich ist, und schließt die Verbindung.
+     */
+    private static void reject(SocketChannel channel) {
+        try (channel) {
+            ByteBuffer reply = ByteBuffer.allocate(FrameProtocol.HELLO_REPLY_LENGTH)
+                    .putInt(FrameProtocol.MAGIC).put(FrameProtocol.STATUS_BUSY);
+            reply.flip();
+            while (reply.hasRemaining()) {
+                channel.write(reply);
+            }
+        } catch (IOException e) {
+            // Der Client ist bereits weg.
+        }
+    }
+
+    private static void close(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Die Verbindung ist ohnehin beendet.
+        }
+    }
+
+    /**
+     * Startet die Sende-Schleife einer Sitzung nach erfolgreicher Begrüßung.
+     */
+    void startSender(FrameSession session) {
+        sessionThreads.execute(session::sendLoop);
+    }
+
+    /**
+     * @return Ein Zustand mit den für alle Sitzungen festen Werten.
+     */
+    ViewState newViewState() {
+        ViewState view = new ViewState();
+        view.level = options.level;
+        view.parallel = false;
+        return view;
+    }
+
+    /**
+     * Rendert und kodiert einen Frame einer Sitzung auf dem Render-Pool und wartet darauf.
+     *
+     * @return Die verwendete Kodierung; die Daten liegen im Kodierer der Sitzung.
+     * @throws ExecutionException   wenn Rendern oder Kodieren fehlschlägt.
+     * @throws InterruptedException wenn der wartende Thread unterbrochen wird.
+     */
+    FrameEncoding render(FrameSession session, ViewState view, FrameEncoding encoding)
+            throws ExecutionException, InterruptedException {
+        return renderPool.submit(() -> {
+            Worker worker = workers.get();
+            worker.frameBuffer = worker.renderer.render(view, worker.frameBuffer);
+            return session.getEncoder().encode(worker.frameBuffer, encoding);
+        }).get();
+    }
+
+    /**
+     * Entfernt eine geschlossene Sitzung und meldet ihre letzten Kennzahlen.
+     */
+    void sessionClosed(FrameSession session) {
+        if (sessions.remove(session)) {
+            sessionCount.decrementAndGet();
+            closedListener.accept(session.getMetrics());
+        }
+    }
+
+    /**
+     * Legt fest, wer die abschließenden Kennzahlen jeder beendeten Sitzung erhält.
+     *
+     * @param listener Wird auf dem Thread der Sitzung aufgerufen.
+     */
+    public void setClosedListener(Consumer<SessionMetrics> listener) {
+        closedListener = listener;
+    }
+
+    /**
+     * @return Die aktuellen Kennzahlen aller offenen Sitzungen, nach Nummer sortiert.
+     */
+    public List<SessionMetrics> getSessions() {
+        List<SessionMetrics> metrics = new ArrayList<>();
+        for (FrameSession session : sessions) {
+            metrics.add(session.getMetrics());
+        }
+        metrics.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+        return metrics;
+    }
+
+    /**
+     * @return {@code true}, wenn die Sitzungen auf virtuellen Threads laufen (ab Java 21).
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Schließt den Socket und alle Sitzungen und beendet die Threads.
+     */
+    @Override
+    public void close() {
+        if (serverChannel != null) {
+            try {
+                serverChannel.close();
+            } catch (IOException e) {
+                // Wird ohnehin verworfen.
+            }
+            if (options.socket != null) {
+                try {
+                    Files.deleteIfExists(options.socket);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        for (FrameSession session : sessions) {
+            session.close();
+        }
+        sessionThreads.shutdownNow();
+        renderPool.shutdownNow();
+        synchronized (allWorkers) {
+            for (Worker worker : allWorkers) {
+                worker.renderer.close();
+            }
+        }
+    }
+
+    /**
+     * Liefert einen Executor mit einem virtuellen Thread pro Aufgabe, sofern die Laufzeitumgebung
+     * virtuelle Threads kennt.
+     *
+     * @return Der Executor oder {@code null} vor Java 21.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Renderer und Puffer eines Render-Threads; werden für alle Sitzungen wiederverwendet.
+     */
+    private class Worker {
+        final Renderer renderer = new Renderer(meshCache, null);
+        FrameBuffer frameBuffer;
+
+        Worker() {
+            synchronized (allWorkers) {
+                allWorkers.add(this);
+            }
+        }
+    }
+}
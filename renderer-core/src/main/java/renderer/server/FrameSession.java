@@ -0,0 +1,204 @@
+package renderer.server;
+
+import renderer.pipeline.ViewState;
+import renderer.profiling.LatencyHistogram;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Eine Verbindung des {@link FrameServer} mit einem Client.
+ * <p>
+ * Pro Sitzung laufen zwei Schleifen auf eigenen Threads: {@link #readLoop()} nimmt die
+ * Anforderungen entgegen und legt jeweils nur die neueste ab; eine noch nicht gerenderte
+ * Anforderung wird dabei ersetzt und als verworfen gezählt. {@link #sendLoop()} holt die neueste
+ * Anforderung ab, lässt sie auf dem gemeinsamen Render-Pool rendern und kodieren und schreibt den
+ * Frame in den Socket. Holt ein Client seine Frames nur langsam ab, blockiert allein das
+ * Schreiben dieser Sitzung, und ihre Anforderungen ersetzen einander, bis wieder Platz ist. Pro
+ * Sitzung liegt daher höchstens ein Frame beim Render-Pool und einer im Socket, unabhängig davon,
+ * wie schnell der Client anfordert.
+ */
+final class FrameSession {
+
+    private final FrameServer server;
+    private final int id;
+    private final SocketChannel channel;
+    private final String remote;
+    private final long startNanos = System.nanoTime();
+
+    // Wird nur vom Render-Thread benutzt, der gerade den Frame dieser Sitzung rendert.
+    private final FrameEncoder encoder = new FrameEncoder();
+
+    // Die neueste noch nicht gerenderte Anforderung; geschützt durch this.
+    private final FrameRequest pending = new FrameRequest();
+    private boolean hasPending;
+    private long pendingArrival;
+    private boolean closed;
+
+    // Kennzahlen; geschützt durch this.
+    private long requests, frames, dropped, bytes;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram renderTime = new LatencyHistogram();
+
+    FrameSession(FrameServer server, int id, SocketChannel channel, String remote) {
+        this.server = server;
+        this.id = id;
+        this.channel = channel;
+        this.remote = remote;
+    }
+
+    /**
+     * Führt die Begrüßung durch, startet {@link #sendLoop()} und nimmt danach Anforderungen
+     * entgegen, bis der Client die Verbindung schließt.
+     */
+    void readLoop() {
+        try {
+            ByteBuffer hello = ByteBuffer.allocate(FrameProtocol.HELLO_LENGTH);
+            readFully(hello);
+            boolean supported = hello.getInt(0) == FrameProtocol.MAGIC && hello.getInt(4) == FrameProtocol.VERSION;
+            ByteBuffer reply = ByteBuffer.allocate(FrameProtocol.HELLO_REPLY_LENGTH).putInt(FrameProtocol.MAGIC)
+                    .put(supported ? FrameProtocol.STATUS_OK : FrameProtocol.STATUS_VERSION);
+            reply.flip();
+            writeFully(reply);
+            if (!supported) {
+                return;
+            }
+            server.startSender(this);
+
+            ByteBuffer in = ByteBuffer.allocate(FrameProtocol.REQUEST_LENGTH);
+            FrameRequest request = new FrameRequest();
+            while (true) {
+                in.clear();
+                readFully(in);
+                in.flip();
+                request.read(in);
+                long now = System.nanoTime();
+                synchronized (this) {
+                    requests++;
+                    if (hasPending) {
+                        dropped++;
+                    }
+                    pending.set(request);
+                    pendingArrival = now;
+                    hasPending = true;
+                    notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            // Verbindung vom Client beendet, ungültige Anforderung oder Sitzung bereits geschlossen.
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Rendert und sendet jeweils die neueste Anforderung, bis die Sitzung geschlossen wird.
+     */
+    void sendLoop() {
+        FrameRequest request = new FrameRequest();
+        ViewState view = server.newViewState();
+        ByteBuffer header = ByteBuffer.allocate(FrameProtocol.FRAME_HEADER_LENGTH);
+        ByteBuffer[] message = new ByteBuffer[2];
+        try {
+            while (true) {
+                long arrival;
+                synchronized (this) {
+                    while (!hasPending && !closed) {
+                        wait();
+                    }
+                    if (closed) {
+                        return;
+                    }
+                    request.set(pending);
+                    arrival = pendingArrival;
+                    hasPending = false;
+                }
+                request.applyTo(view);
+                long start = System.nanoTime();
+                FrameEncoding encoding = server.render(this, view, request.encoding);
+                long rendered = System.nanoTime();
+
+                header.clear();
+                header.putInt(request.sequence).put((byte) encoding.ordinal())
+                        .putInt(request.width).putInt(request.height).putInt(encoder.getLength());
+                header.flip();
+                message[0] = header;
+                message[1] = ByteBuffer.wrap(encoder.getBytes(), 0, encoder.getLength());
+                while (message[1].hasRemaining() || header.hasRemaining()) {
+                    channel.write(message);
+                }
+                long sent = System.nanoTime();
+                synchronized (this) {
+                    frames++;
+                    bytes += FrameProtocol.FRAME_HEADER_LENGTH + encoder.getLength();
+                    latency.record(sent - arrival);
+                    renderTime.record(rendered - start);
+                }
+            }
+        } catch (IOException | ExecutionException e) {
+            // Verbindung abgebrochen bzw. Fehler beim Rendern oder Kodieren: Sitzung beenden.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Schließt die Verbindung; beide Schleifen enden danach. Kann mehrfach aufgerufen werden.
+     */
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Die Verbindung ist ohnehin beendet.
+        }
+        server.sessionClosed(this);
+    }
+
+    /**
+     * @return {@code true}, sobald die Sitzung geschlossen wurde.
+     */
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return Der Kodierer der Sitzung; darf nur vom rendernden Thread benutzt werden.
+     */
+    FrameEncoder getEncoder() {
+        return encoder;
+    }
+
+    /**
+     * @return Die aktuellen Kennzahlen der Sitzung.
+     */
+    synchronized SessionMetrics getMetrics() {
+        return new SessionMetrics(id, remote, System.nanoTime() - startNanos, requests, frames, dropped, bytes,
+                latency.getPercentile(50), latency.getPercentile(99), latency.getMax(), renderTime.getMean(), !closed);
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package renderer.server;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+
+/**
+ * Kommandozeilen-Einstieg für den headless {@link FrameServer}; läuft, bis der Prozess beendet wird.
+ * <p>
+ * Beispiel: Server auf Port 7070 mit 4 Render-Threads für höchstens 16 Clients:
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp renderer-core.jar renderer.server.ServerCli \
+ *      --port=7070 --threads=4 --max-sessions=16
+ * </pre>
+ */
+public final class ServerCli {
+
+    private ServerCli() {
+    }
+
+    /**
+     * Startet den Server und gibt in regelmäßigen Abständen die Kennzahlen aller offenen
+     * Sitzungen aus, beim Ende einer Sitzung deren abschließende Kennzahlen.
+     *
+     * @param args Die Optionen, siehe {@link ServerOptions#usage()}.
+     * @throws IOException          wenn der Socket nicht gebunden werden kann.
+     * @throws InterruptedException wenn der Haupt-Thread unterbrochen wurde.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        ServerOptions options;
+        try {
+            options = ServerOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(ServerOptions.usage());
+            System.exit(2);
+            return;
+        }
+        FrameServer server = new FrameServer(options);
+        server.setClosedListener(System.out::println);
+        SocketAddress address = server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.printf("Frame-Server auf %s: %d Render-Threads, höchstens %d Sitzungen (%s)%n",
+                address, options.threads, options.maxSessions,
+                server.usesVirtualThreads() ? "virtuelle Threads" : "Plattform-Threads");
+        while (true) {
+            if (options.statsSeconds == 0) {
+                Thread.sleep(Long.MAX_VALUE);
+            }
+            Thread.sleep(options.statsSeconds * 1000L);
+            for (SessionMetrics metrics : server.getSessions()) {
+                System.out.println(metrics);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package renderer.server;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Die Parameter des {@link FrameServer}, wie sie auf der Kommandozeile angegeben werden.
+ */
+public class ServerOptions {
+    // Adresse und Port des TCP-Sockets (Port 0 = frei gewählt); standardmäßig nur lokal erreichbar.
+    public String host = "127.0.0.1";
+    public int port = 7070;
+    // Pfad eines Unix-Domain-Sockets, der statt TCP benutzt wird (null = TCP).
+    public Path socket;
+    // Anzahl der Render-Threads, die sich alle Sitzungen teilen.
+    public int threads = Runtime.getRuntime().availableProcessors();
+    // Höchstzahl gleichzeitiger Sitzungen; weitere Clients werden abgewiesen.
+    public int maxSessions = 64;
+    // Unterteilungsstufe der Sphäre.
+    public int level = 4;
+    // Abstand der Kennzahl-Ausgabe auf der Konsole in Sekunden (0 = aus).
+    public int statsSeconds = 10;
+
+    /**
+     * Liest die Optionen aus den Kommandozeilenargumenten.
+     *
+     * @param args Argumente der Form {@code --name=wert}.
+     * @return Die Optionen.
+     * @throws IllegalArgumentException bei unbekannten oder ungültigen Argumenten.
+     */
+    public static ServerOptions parse(String[] args) {
+        ServerOptions o = new ServerOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator < 0 ? arg : arg.substring(0, separator);
+            String value = separator < 0 ? "" : arg.substring(separator + 1);
+            try {
+                switch (name) {
+                    case "--host":
+                        o.host = value;
+                        break;
+                    case "--port":
+                        o.port = Integer.parseInt(value);
+                        break;
+                    case "--socket":
+                        o.socket = Paths.get(value);
+                        break;
+                    case "--threads":
+                        o.threads = Integer.parseInt(value);
+                        break;
+                    case "--max-sessions":
+                        o.maxSessions = Integer.parseInt(value);
+                        break;
+                    case "--level":
+                        o.level = Integer.parseInt(value);
+                        break;
+                    case "--stats":
+                        o.statsSeconds = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unbekannte Option: " + arg);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Ungültiger Wert: " + arg, e);
+            }
+        }
+        if (o.threads <= 0 || o.maxSessions <= 0 || o.level < 0 || o.statsSeconds < 0
+                || o.port < 0 || o.port > 65535) {
+            throw new IllegalArgumentException("Threads und Sitzungen müssen positiv sein, der Port zwischen 0 und 65535");
+        }
+        return o;
+    }
+
+    /**
+     * @return Die Beschreibung aller Optionen für die Kommandozeile.
+     */
+    public static String usage() {
+        return String.join("\n",
+                "Optionen:",
+                "  --host=ADRESSE             Adresse des TCP-Sockets (Standard 127.0.0.1)",
+                "  --port=N                   Port des TCP-Sockets, 0 = frei (Standard 7070)",
+                "  --socket=PFAD              Unix-Domain-Socket statt TCP",
+                "  --threads=N                Render-Threads aller Sitzungen (Standard: Anzahl der Kerne)",
+                "  --max-sessions=N           Höchstzahl gleichzeitiger Sitzungen (Standard 64)",
+                "  --level=N                  Unterteilungsstufe der Sphäre (Standard 4)",
+                "  --stats=SEKUNDEN           Kennzahlen aller Sitzungen ausgeben, 0 = aus (Standard 10)");
+    }
+}
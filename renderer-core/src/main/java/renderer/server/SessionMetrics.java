@@ -0,0 +1,154 @@
+package renderer.server;
+
+import java.util.Locale;
+
+/**
+ * Die Kennzahlen einer Sitzung des {@link FrameServer} zu einem Zeitpunkt.
+ * <p>
+ * Die Latenz reicht vom Eintreffen einer Anforderung bis zum vollständigen Schreiben ihres
+ * Frames in den Socket, umfasst also Warten auf einen Render-Thread, Rendern, Kodieren und
+ * Senden. Verworfen sind Anforderungen, die durch eine neuere ersetzt wurden, bevor sie
+ * gerendert werden konnten, z.B. weil der Client die Frames nicht schnell genug abholt.
+ */
+public final class SessionMetrics {
+    private final int id;
+    private final String remote;
+    private final long elapsedNanos;
+    private final long requests;
+    private final long frames;
+    private final long dropped;
+    private final long bytes;
+    private final long latencyP50;
+    private final long latencyP99;
+    private final long latencyMax;
+    private final double renderMean;
+    private final boolean open;
+
+    SessionMetrics(int id, String remote, long elapsedNanos, long requests, long frames, long dropped, long bytes,
+                   long latencyP50, long latencyP99, long latencyMax, double renderMean, boolean open) {
+        this.id = id;
+        this.remote = remote;
+        this.elapsedNanos = elapsedNanos;
+        this.requests = requests;
+        this.frames = frames;
+        this.dropped = dropped;
+        this.bytes = bytes;
+        this.latencyP50 = latencyP50;
+        this.latencyP99 = latencyP99;
+        this.latencyMax = latencyMax;
+        this.renderMean = renderMean;
+        this.open = open;
+    }
+
+    /**
+     * @return Die fortlaufende Nummer der Sitzung.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return Die Adresse des Clients.
+     */
+    public String getRemote() {
+        return remote;
+    }
+
+    /**
+     * @return Die Dauer der Sitzung bis zum Zeitpunkt der Messung in Nanosekunden.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Die Anzahl der empfangenen Anforderungen.
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return Die Anzahl der gesendeten Frames.
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return Die Anzahl der durch neuere Anforderungen ersetzten und daher nicht gerenderten Frames.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * @return Die Anzahl der gesendeten Bytes (Köpfe und Nutzdaten).
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return Der Median der Latenz in Nanosekunden.
+     */
+    public long getLatencyP50() {
+        return latencyP50;
+    }
+
+    /**
+     * @return Das 99. Perzentil der Latenz in Nanosekunden.
+     */
+    public long getLatencyP99() {
+        return latencyP99;
+    }
+
+    /**
+     * @return Die größte Latenz in Nanosekunden.
+     */
+    public long getLatencyMax() {
+        return latencyMax;
+    }
+
+    /**
+     * @return Die mittlere Dauer von Warten auf einen Render-Thread, Rendern und Kodieren in
+     *         Nanosekunden.
+     */
+    public double getRenderMean() {
+        return renderMean;
+    }
+
+    /**
+     * @return {@code true}, solange die Verbindung besteht.
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * @return Die gesendeten Frames pro Sekunde über die gesamte Sitzung.
+     */
+    public double getFramesPerSecond() {
+        return elapsedNanos <= 0 ? 0 : frames * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return Die gesendeten Bytes pro Sekunde über die gesamte Sitzung.
+     */
+    public double getBytesPerSecond() {
+        return elapsedNanos <= 0 ? 0 : bytes * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return Eine Zeile mit Durchsatz, verworfenen Frames und Latenz.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "#%d %s%s: %d Frames (%.1f fps, %.2f MB/s), %d von %d Anforderungen verworfen, "
+                        + "Latenz p50 %.1f ms, p99 %.1f ms, max %.1f ms, Render-Pool %.1f ms",
+                id, remote, open ? "" : " (beendet)", frames, getFramesPerSecond(),
+                getBytesPerSecond() / (1024.0 * 1024.0), dropped, requests,
+                latencyP50 / 1e6, latencyP99 / 1e6, latencyMax / 1e6, renderMean / 1e6);
+    }
+}
@@ -0,0 +1,94 @@
+package renderer.shading;
+
+import renderer.raster.FrameBuffer;
+import renderer.raster.ScreenRect;
+
+import java.util.Arrays;
+
+/**
+ * Materialtabelle und Bildschirm-Durchlauf für verzögerte Schattierung (Deferred Shading).
+ * <p>
+ * Statt einer fertigen Farbe erhält jedes sichtbare Dreieck eine fortlaufende ID, unter der
+ * Grundfarbe und Beleuchtungsfaktor abgelegt werden. Der Rasterisierer schreibt diese ID wie eine
+ * Farbe in den Farbpuffer; zusammen mit dem Z-Buffer bildet er den G-Buffer. Nach dem Rastern
+ * ersetzt {@link #shade} in einem Durchlauf über den gezeichneten Bereich jede ID durch die
+ * schattierte Farbe. Dreiecke, die beim Tiefentest überall unterliegen, werden so nie
+ * schattiert, gleich in welcher Reihenfolge die Dreiecke kommen.
+ * <p>
+ * IDs sind nicht negativ; der Hintergrund ({@code 0xFF000000}) und alle anderen voll deckenden
+ * Farben sind als {@code int} negativ und bleiben unverändert. Da pro Dreieck flach schattiert
+ * wird, wird die Farbe einer ID beim ersten Pixel berechnet und für alle weiteren übernommen.
+ * Der Durchlauf kann in Streifen von Bildzeilen parallel laufen: Die Zwischenspeicherung pro ID
+ * ist dabei harmlos, da mehrere Threads höchstens denselben Wert mehrfach schreiben.
+ * Die Tabellen wachsen bei Bedarf und werden über {@link #clear()} wiederverwendet.
+ */
+public final class DeferredShading {
+    private int[] colors = new int[256];
+    private double[] light = new double[256];
+    // Schattierte Farbe pro ID oder 0, solange sie noch nicht berechnet wurde.
+    private int[] shaded = new int[256];
+    private int size;
+
+    /**
+     * Entfernt alle Einträge, behält aber den reservierten Speicher.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Legt einen Eintrag für ein Dreieck an.
+     *
+     * @param argb  Die Grundfarbe als gepackter ARGB-Wert.
+     * @param light Der Beleuchtungsfaktor wie bei {@link Shading#shade(int, double)}.
+     * @return Die ID, die statt der Farbe gerastert wird.
+     */
+    public int add(int argb, double light) {
+        if (size == colors.length) {
+            colors = Arrays.copyOf(colors, size * 2);
+            this.light = Arrays.copyOf(this.light, size * 2);
+            shaded = Arrays.copyOf(shaded, size * 2);
+        }
+        colors[size] = argb;
+        this.light[size] = light;
+        shaded[size] = 0;
+        return size++;
+    }
+
+    /**
+     * @return Die Anzahl der Einträge.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ersetzt die IDs in den Zeilen {@code fromY} bis {@code toY} (exklusive) des Bereichs durch
+     * die schattierten Farben.
+     *
+     * @param fb     Der Puffer mit den gerasterten IDs.
+     * @param bounds Der gezeichnete Bereich; Pixel außerhalb werden nicht angefasst.
+     * @param fromY  Die erste Zeile.
+     * @param toY    Die Zeile nach der letzten.
+     */
+    public void shade(FrameBuffer fb, ScreenRect bounds, int fromY, int toY) {
+        int[] pixels = fb.getPixels();
+        int width = fb.getWidth();
+        int minX = bounds.getMinX(), maxX = bounds.getMaxX();
+        for (int y = Math.max(fromY, bounds.getMinY()); y < Math.min(toY, bounds.getMaxY()); y++) {
+            int row = y * width;
+            for (int i = row + minX; i < row + maxX; i++) {
+                int id = pixels[i];
+                if (id >= 0) {
+                    int argb = shaded[id];
+                    if (argb == 0) {
+                        // Die Farbe ist immer voll deckend und daher nie 0.
+                        argb = Shading.shade(colors[id], light[id]);
+                        shaded[id] = argb;
+                    }
+                    pixels[i] = argb;
+                }
+            }
+        }
+    }
+}
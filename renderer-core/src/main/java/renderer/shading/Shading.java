@@ -0,0 +1,103 @@
+package renderer.shading;
+
+/**
+ * Gamma-korrigierte Schattierung mit vorberechneten Tabellen.
+ * <p>
+ * Eine Farbe wird wie bisher in den linearen Raum umgerechnet ({@code c^2.4}), dort mit dem
+ * Beleuchtungsfaktor multipliziert und zurückgerechnet ({@code c^(1/2.4)}). Beide Umrechnungen
+ * laufen über Lookup-Tabellen, sodass beim Schattieren weder {@code Math.pow} aufgerufen noch
+ * Speicher angelegt wird. Das Ergebnis ist ein gepackter ARGB-Wert und kann pro Dreieck
+ * (Flat Shading) oder pro Eckpunkt berechnet werden.
+ * <p>
+ * Die Rückrichtung wird über {@code sqrt(linear)} indiziert. Dadurch ist die Tabelle auch im
+ * steilen Bereich nahe 0 fein genug, und das Ergebnis weicht höchstens um eine 8-Bit-Stufe
+ * von {@link #shadeReference} ab.
+ */
+public final class Shading {
+
+    /** Gamma-Exponent der Umrechnung zwischen Farb- und linearem Raum. */
+    public static final double GAMMA = 2.4;
+
+    // Anzahl der Einträge der Rückrechnungstabelle.
+    private static final int LINEAR_TO_SRGB_SIZE = 4096;
+
+    // 8-Bit-Farbwert -> linearer Wert in [0, 1].
+    private static final double[] SRGB_TO_LINEAR = new double[256];
+    // Index round(sqrt(linear) * (SIZE - 1)) -> 8-Bit-Farbwert.
+    private static final int[] LINEAR_TO_SRGB = new int[LINEAR_TO_SRGB_SIZE];
+
+    static {
+        for (int i = 0; i < SRGB_TO_LINEAR.length; i++) {
+            SRGB_TO_LINEAR[i] = Math.pow(i / 255.0, GAMMA);
+        }
+        for (int i = 0; i < LINEAR_TO_SRGB_SIZE; i++) {
+            double s = (double) i / (LINEAR_TO_SRGB_SIZE - 1);
+            LINEAR_TO_SRGB[i] = (int) Math.round(Math.pow(s * s, 1.0 / GAMMA) * 255);
+        }
+    }
+
+    private Shading() {
+    }
+
+    /**
+     * Schattiert eine Farbe mit einem Beleuchtungsfaktor.
+     *
+     * @param argb  Die Originalfarbe als gepackter ARGB-Wert.
+     * @param shade Der Beleuchtungsfaktor (üblicherweise der Cosinus des Winkels
+     *              zwischen Normalenvektor und Blickrichtung).
+     * @return Die gamma-korrigierte, schattierte Farbe als ARGB-Wert (voll deckend).
+     */
+    public static int shade(int argb, double shade) {
+        int r = toSrgb(SRGB_TO_LINEAR[(argb >> 16) & 0xFF] * shade);
+        int g = toSrgb(SRGB_TO_LINEAR[(argb >> 8) & 0xFF] * shade);
+        int b = toSrgb(SRGB_TO_LINEAR[argb & 0xFF] * shade);
+        return 0xFF000000 | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Rechnet einen linearen Wert über die Tabelle in einen 8-Bit-Farbwert um.
+     *
+     * @param linear Der lineare Wert; Werte außerhalb von [0, 1] werden begrenzt.
+     * @return Der Farbwert in [0, 255].
+     */
+    public static int toSrgb(double linear) {
+        if (!(linear > 0)) {
+            return 0;
+        }
+        if (linear >= 1) {
+            return 255;
+        }
+        return LINEAR_TO_SRGB[(int) (Math.sqrt(linear) * (LINEAR_TO_SRGB_SIZE - 1) + 0.5)];
+    }
+
+    /**
+     * Rechnet einen 8-Bit-Farbwert über die Tabelle in den linearen Raum um.
+     *
+     * @param srgb Der Farbwert in [0, 255].
+     * @return Der lineare Wert in [0, 1].
+     */
+    public static double toLinear(int srgb) {
+        return SRGB_TO_LINEAR[srgb];
+    }
+
+    /**
+     * Berechnet die Schattierung direkt mit {@code Math.pow} (Referenz der ursprünglichen
+     * {@code Main.getShade()}-Implementierung). Nur für Vergleiche gedacht.
+     *
+     * @param argb  Die Originalfarbe als gepackter ARGB-Wert.
+     * @param shade Der Beleuchtungsfaktor.
+     * @return Die gamma-korrigierte, schattierte Farbe als ARGB-Wert (voll deckend).
+     */
+    public static int shadeReference(int argb, double shade) {
+        int r = referenceChannel((argb >> 16) & 0xFF, shade);
+        int g = referenceChannel((argb >> 8) & 0xFF, shade);
+        int b = referenceChannel(argb & 0xFF, shade);
+        return 0xFF000000 | (r << 16) | (g << 8) | b;
+    }
+
+    private static int referenceChannel(int c, double shade) {
+        double linear = Math.pow(c / 255.0, GAMMA) * shade;
+        double value = Math.pow(linear, 1.0 / GAMMA);
+        return (int) Math.round(Math.max(0, Math.min(1, value)) * 255);
+    }
+}
@@ -0,0 +1,214 @@
+package renderer.shading;
+
+import renderer.geometry.Matrix3;
+import renderer.raster.FrameBuffer;
+import renderer.raster.ScreenRect;
+import renderer.texture.Texture;
+import renderer.texture.TextureFilter;
+
+import java.util.Arrays;
+
+/**
+ * Dreieckstabelle und Bildschirm-Durchlauf für texturierte Flächen.
+ * <p>
+ * Wie bei {@link DeferredShading} rastern die Dreiecke statt einer Farbe eine fortlaufende ID;
+ * danach tastet {@link #shade} die Textur einmal pro sichtbarem Pixel ab, sodass verdeckte
+ * Pixel nichts kosten und die Textur Zeile für Zeile im Bildschirm gelesen wird.
+ * <p>
+ * Die Meshes haben keine Texturkoordinaten. Sie entstehen durch Projektion auf eine Ebene des
+ * Objektraums (Box-Mapping): Jedes Dreieck wird entlang der Achse projiziert, zu der seine
+ * Normale am stärksten zeigt, und die Textur wiederholt sich alle {@link #REPEAT} Einheiten.
+ * Jede Würfelseite zeigt so genau eine Kachel der Textur. Da die Projektion orthografisch ist,
+ * sind die Texturkoordinaten im Bildschirm lineare Funktionen von x und y; sie werden pro
+ * Dreieck als Ebene abgelegt und sind damit ohne Division pro Pixel perspektivisch korrekt.
+ * Aus den konstanten Ableitungen ergibt sich auch die Mipmap-Stufe einmal pro Dreieck.
+ * <p>
+ * Die Texelfarbe ersetzt die Grundfarbe und wird mit dem Beleuchtungsfaktor gamma-korrigiert
+ * abgedunkelt: Da {@code (c^2.4 * l)^(1/2.4) = c * l^(1/2.4)} ist, genügt dafür ein Faktor pro
+ * Dreieck, der mit jedem Kanal multipliziert wird. Die Tabellen wachsen bei Bedarf und werden
+ * über {@link #clear()} wiederverwendet; der Durchlauf kann in Zeilenstreifen parallel laufen.
+ */
+public final class TextureShading {
+
+    /** Länge einer Texturkachel im Objektraum (Kantenlänge des Würfels). */
+    public static final double REPEAT = 200;
+
+    private Texture texture;
+    private TextureFilter filter = TextureFilter.TRILINEAR;
+    // Abbildung der Bildschirmkoordinaten auf Texturkoordinaten pro Achse des Objektraums
+    // (Spalten der transponierten Rotation, geteilt durch Zoom und Kachellänge) und Bildmitte.
+    private final double[] axes = new double[9];
+    private double centerX, centerY;
+
+    // Pro ID: u und v als Ebenen (d/dx, d/dy, Wert bei 0, 0), Detailstufe und Helligkeit in 1/256.
+    private double[] planes = new double[256 * 6];
+    private double[] levels = new double[256];
+    private int[] light = new int[256];
+    private int size;
+
+    /**
+     * Entfernt alle Einträge, behält aber den reservierten Speicher.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Legt Textur und Abbildung für die folgenden Einträge fest.
+     *
+     * @param texture  Die Textur.
+     * @param filter   Der Filter.
+     * @param rotation Die Rotation vom Objektraum (bzw. der Szene) in den Bildschirm.
+     * @param zoom     Die Vergrößerung.
+     * @param width    Die Breite des Frames.
+     * @param height   Die Höhe des Frames.
+     */
+    public void setView(Texture texture, TextureFilter filter, Matrix3 rotation, double zoom, int width, int height) {
+        this.texture = texture;
+        this.filter = filter;
+        double scale = 1 / (zoom * REPEAT);
+        for (int axis = 0; axis < 3; axis++) {
+            for (int row = 0; row < 3; row++) {
+                axes[axis * 3 + row] = rotation.get(row, axis) * scale;
+            }
+        }
+        centerX = width / 2.0;
+        centerY = height / 2.0;
+    }
+
+    /**
+     * Legt einen Eintrag für ein Dreieck in Bildschirmkoordinaten an.
+     *
+     * @param lightFactor Der Beleuchtungsfaktor wie bei {@link Shading#shade(int, double)}.
+     * @param nx          x-Komponente der Normalen im Bildschirm.
+     * @param ny          y-Komponente der Normalen im Bildschirm.
+     * @param nz          z-Komponente der Normalen im Bildschirm.
+     * @param x1          x-Koordinate des ersten Eckpunkts.
+     * @param y1          y-Koordinate des ersten Eckpunkts.
+     * @param z1          Tiefe des ersten Eckpunkts.
+     * @param x2          x-Koordinate des zweiten Eckpunkts.
+     * @param y2          y-Koordinate des zweiten Eckpunkts.
+     * @param z2          Tiefe des zweiten Eckpunkts.
+     * @param x3          x-Koordinate des dritten Eckpunkts.
+     * @param y3          y-Koordinate des dritten Eckpunkts.
+     * @param z3          Tiefe des dritten Eckpunkts.
+     * @return Die ID, die statt der Farbe gerastert wird.
+     */
+    public int add(double lightFactor, double nx, double ny, double nz,
+                   double x1, double y1, double z1,
+                   double x2, double y2, double z2,
+                   double x3, double y3, double z3) {
+        if (size == levels.length) {
+            planes = Arrays.copyOf(planes, size * 2 * 6);
+            levels = Arrays.copyOf(levels, size * 2);
+            light = Arrays.copyOf(light, size * 2);
+        }
+        // Die Achse, zu der die Normale im Objektraum am stärksten zeigt, fällt bei der Projektion weg.
+        double[] a = axes;
+        double ox = Math.abs(a[0] * nx + a[1] * ny + a[2] * nz);
+        double oy = Math.abs(a[3] * nx + a[4] * ny + a[5] * nz);
+        double oz = Math.abs(a[6] * nx + a[7] * ny + a[8] * nz);
+        int uAxis, vAxis;
+        if (ox >= oy && ox >= oz) {
+            uAxis = 6;
+            vAxis = 3;
+        } else if (oy >= oz) {
+            uAxis = 0;
+            vAxis = 6;
+        } else {
+            uAxis = 0;
+            vAxis = 3;
+        }
+        x1 -= centerX;
+        x2 -= centerX;
+        x3 -= centerX;
+        y1 -= centerY;
+        y2 -= centerY;
+        y3 -= centerY;
+        double u1 = a[uAxis] * x1 + a[uAxis + 1] * y1 + a[uAxis + 2] * z1;
+        double u2 = a[uAxis] * x2 + a[uAxis + 1] * y2 + a[uAxis + 2] * z2;
+        double u3 = a[uAxis] * x3 + a[uAxis + 1] * y3 + a[uAxis + 2] * z3;
+        double v1 = a[vAxis] * x1 + a[vAxis + 1] * y1 + a[vAxis + 2] * z1;
+        double v2 = a[vAxis] * x2 + a[vAxis + 1] * y2 + a[vAxis + 2] * z2;
+        double v3 = a[vAxis] * x3 + a[vAxis + 1] * y3 + a[vAxis + 2] * z3;
+
+        // Ebenen von u und v über dem Dreieck (wie die Tiefe im Rasterisierer); bei entarteten
+        // Dreiecken, die ohnehin kaum Pixel abdecken, konstant.
+        double area = (x2 - x1) * (y3 - y1) - (x3 - x1) * (y2 - y1);
+        double inv = area != 0 ? 1 / area : 0;
+        double dudx = ((u2 - u1) * (y3 - y1) - (u3 - u1) * (y2 - y1)) * inv;
+        double dudy = ((u3 - u1) * (x2 - x1) - (u2 - u1) * (x3 - x1)) * inv;
+        double dvdx = ((v2 - v1) * (y3 - y1) - (v3 - v1) * (y2 - y1)) * inv;
+        double dvdy = ((v3 - v1) * (x2 - x1) - (v2 - v1) * (x3 - x1)) * inv;
+        int p = size * 6;
+        // Der Ursprung der Ebenen ist die linke obere Ecke, die Kachel ist um die Mitte zentriert.
+        planes[p] = dudx;
+        planes[p + 1] = dudy;
+        planes[p + 2] = u1 - dudx * (x1 + centerX) - dudy * (y1 + centerY) + 0.5;
+        planes[p + 3] = dvdx;
+        planes[p + 4] = dvdy;
+        planes[p + 5] = v1 - dvdx * (x1 + centerX) - dvdy * (y1 + centerY) + 0.5;
+        levels[size] = texture.levelOf(dudx, dvdx, dudy, dvdy);
+        light[size] = (Shading.toSrgb(lightFactor) * 256 + 127) / 255;
+        return size++;
+    }
+
+    /**
+     * @return Die Anzahl der Einträge.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ersetzt die IDs in den Zeilen {@code fromY} bis {@code toY} (exklusive) des Bereichs durch
+     * die Farben der Textur.
+     *
+     * @param fb     Der Puffer mit den gerasterten IDs.
+     * @param bounds Der gezeichnete Bereich; Pixel außerhalb werden nicht angefasst.
+     * @param fromY  Die erste Zeile.
+     * @param toY    Die Zeile nach der letzten.
+     */
+    public void shade(FrameBuffer fb, ScreenRect bounds, int fromY, int toY) {
+        int[] pixels = fb.getPixels();
+        int width = fb.getWidth();
+        int minX = bounds.getMinX(), maxX = bounds.getMaxX();
+        Texture tex = texture;
+        TextureFilter f = filter;
+        for (int y = Math.max(fromY, bounds.getMinY()); y < Math.min(toY, bounds.getMaxY()); y++) {
+            int row = y * width;
+            // Benachbarte Pixel gehören meist zum selben Dreieck: dessen Werte nur bei Wechsel laden.
+            int current = -1;
+            double dudx = 0, u0 = 0, dvdx = 0, v0 = 0;
+            int level = 0, blend = 0, scale = 0;
+            for (int x = minX; x < maxX; x++) {
+                int id = pixels[row + x];
+                if (id < 0) {
+                    continue;
+                }
+                if (id != current) {
+                    current = id;
+                    int p = id * 6;
+                    dudx = planes[p];
+                    u0 = planes[p + 1] * y + planes[p + 2];
+                    dvdx = planes[p + 3];
+                    v0 = planes[p + 4] * y + planes[p + 5];
+                    double lod = levels[id];
+                    level = f == TextureFilter.TRILINEAR ? tex.baseLevel(lod) : tex.nearestLevel(lod);
+                    blend = f == TextureFilter.TRILINEAR ? tex.blendOf(lod, level) : 0;
+                    scale = light[id];
+                }
+                double u = dudx * x + u0, v = dvdx * x + v0;
+                int texel;
+                if (f == TextureFilter.NEAREST) {
+                    texel = tex.nearest(level, u, v);
+                } else {
+                    texel = tex.trilinear(level, blend, u, v);
+                }
+                int rb = (texel & 0xFF00FF) * scale >>> 8 & 0xFF00FF;
+                int g = (texel & 0xFF00) * scale >>> 8 & 0xFF00;
+                pixels[row + x] = 0xFF000000 | rb | g;
+            }
+        }
+    }
+}
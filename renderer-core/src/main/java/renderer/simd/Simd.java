@@ -0,0 +1,41 @@
+package renderer.simd;
+
+/**
+ * Prüft, ob der SIMD-Pfad ({@link VectorKernels}) benutzt werden kann.
+ * <p>
+ * Die Kernel verwenden die Vector API aus dem Inkubator-Modul {@code jdk.incubator.vector}. Das
+ * Modul ist nur vorhanden, wenn die JVM mit {@code --add-modules jdk.incubator.vector} gestartet
+ * wurde; sonst bleiben alle Aufrufer auf dem skalaren Pfad, und die Klasse {@link VectorKernels}
+ * wird nie geladen. Mit der Systemeigenschaft {@code -Drenderer.simd=false} lässt sich der
+ * SIMD-Pfad auch bei vorhandenem Modul abschalten.
+ */
+public final class Simd {
+
+    /** Name der Systemeigenschaft, mit der der SIMD-Pfad abgeschaltet werden kann. */
+    public static final String PROPERTY = "renderer.simd";
+
+    // Die Raster-Kernel teilen eine 8 Pixel breite Blockzeile in ganze Vektoren auf; breitere
+    // Vektoren (z.B. SVE mit mehr als 512 Bit) werden daher nicht benutzt.
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !"false".equalsIgnoreCase(System.getProperty(PROPERTY))
+            && 8 % VectorKernels.lanes() == 0;
+
+    private Simd() {
+    }
+
+    /**
+     * @return {@code true}, wenn das Vector-API-Modul geladen ist und der Pfad nicht abgeschaltet wurde.
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Liefert eine kurze Beschreibung des aktiven Pfads für Statusanzeigen.
+     *
+     * @return z.B. {@code "SIMD (8 x 64 Bit)"} oder {@code "skalar"}.
+     */
+    public static String describe() {
+        return AVAILABLE ? "SIMD (" + VectorKernels.lanes() + " x 64 Bit)" : "skalar";
+    }
+}
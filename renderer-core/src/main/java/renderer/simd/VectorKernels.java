@@ -0,0 +1,190 @@
+package renderer.simd;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD-Kernel für Transformation und Rasterisierung auf Basis der Vector API.
+ * <p>
+ * Alle Kernel rechnen mit denselben Operationen in derselben Reihenfolge wie die skalaren
+ * Schleifen in {@link renderer.geometry.Matrix3} und im {@link renderer.raster.Rasterizer}, nur
+ * für mehrere Punkte bzw. Pixel gleichzeitig. Da IEEE-Arithmetik pro Lane exakt gleich rundet,
+ * sind die Ergebnisse bitgleich zum skalaren Pfad.
+ * <p>
+ * Die Lane-Anzahl folgt der bevorzugten Vektorbreite der CPU für {@code double}: 2 (SSE/NEON),
+ * 4 (AVX2) oder 8 (AVX-512). Kantenfunktionen ({@code long}) und Tiefen ({@code double}) nutzen
+ * dieselbe Lane-Anzahl, die Farben ({@code int}) einen halb so breiten Vektor.
+ * <p>
+ * Die Klasse darf nur benutzt werden, wenn {@link Simd#isAvailable()} {@code true} liefert.
+ */
+public final class VectorKernels {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, DOUBLES.vectorShape());
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+    private static final int LANES = DOUBLES.length();
+
+    // Lane-Index als double bzw. long (0, 1, 2, ...).
+    private static final DoubleVector LANE_D = DoubleVector.zero(DOUBLES).addIndex(1);
+    private static final LongVector LANE_L = LongVector.zero(LONGS).addIndex(1);
+
+    private VectorKernels() {
+    }
+
+    /**
+     * @return Die Anzahl der Lanes eines Vektors (Pixel pro Schritt).
+     */
+    public static int lanes() {
+        return LANES;
+    }
+
+    /**
+     * Transformiert Punkte in getrennten Koordinaten-Arrays mit einer 3x3-Matrix.
+     * <p>
+     * Pro Schritt werden {@link #lanes()} aufeinanderfolgende Werte aus jedem der drei Arrays
+     * geladen und geschrieben, ohne Index-Tabellen (Gather/Scatter); die restlichen Punkte werden
+     * skalar gerechnet. Quelle und Ziel dürfen dieselben Arrays sein.
+     *
+     * @param m     Die Matrix (row-major, 9 Elemente).
+     * @param sx    Die x-Koordinaten der Eingangspunkte.
+     * @param sy    Die y-Koordinaten der Eingangspunkte.
+     * @param sz    Die z-Koordinaten der Eingangspunkte.
+     * @param dx    Das Ziel für die x-Koordinaten.
+     * @param dy    Das Ziel für die y-Koordinaten.
+     * @param dz    Das Ziel für die z-Koordinaten.
+     * @param count Die Anzahl der Punkte.
+     */
+    public static void transform(double[] m, double[] sx, double[] sy, double[] sz,
+                                 double[] dx, double[] dy, double[] dz, int count) {
+        double m0 = m[0], m1 = m[1], m2 = m[2];
+        double m3 = m[3], m4 = m[4], m5 = m[5];
+        double m6 = m[6], m7 = m[7], m8 = m[8];
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(count); i < bound; i += LANES) {
+            DoubleVector vx = DoubleVector.fromArray(DOUBLES, sx, i);
+            DoubleVector vy = DoubleVector.fromArray(DOUBLES, sy, i);
+            DoubleVector vz = DoubleVector.fromArray(DOUBLES, sz, i);
+            vx.mul(m0).add(vy.mul(m1)).add(vz.mul(m2)).intoArray(dx, i);
+            vx.mul(m3).add(vy.mul(m4)).add(vz.mul(m5)).intoArray(dy, i);
+            vx.mul(m6).add(vy.mul(m7)).add(vz.mul(m8)).intoArray(dz, i);
+        }
+        for (; i < count; i++) {
+            double vx = sx[i], vy = sy[i], vz = sz[i];
+            dx[i] = m0 * vx + m1 * vy + m2 * vz;
+            dy[i] = m3 * vx + m4 * vy + m5 * vz;
+            dz[i] = m6 * vx + m7 * vy + m8 * vz;
+        }
+    }
+
+    /**
+     * Füllt die Pixel {@code startX..endX} einer Blockzeile, die vollständig im Dreieck liegen,
+     * mit Tiefentest.
+     * <p>
+     * Gelesen und geschrieben wird immer die ganze Blockzeile {@code blockX..blockX + 7}; Pixel
+     * außerhalb von {@code startX..endX} erhalten ihren alten Wert. Die Blockzeile muss daher
+     * vollständig im Bild und im Ausschnitt des Aufrufers liegen.
+     *
+     * @param pixels   Der Farbpuffer.
+     * @param zBuffer  Der Tiefenpuffer.
+     * @param row      Der Index des ersten Pixels der Bildzeile.
+     * @param blockX   Die linke Kante des 8x8-Blocks.
+     * @param startX   Das erste Pixel.
+     * @param endX     Das letzte Pixel (inklusive).
+     * @param rowDepth Die Tiefe am Pixel {@code blockX}.
+     * @param dzdx     Die Änderung der Tiefe pro Pixel.
+     * @param argb     Die Farbe.
+     */
+    public static void fillBlockRow(int[] pixels, double[] zBuffer, int row, int blockX, int startX, int endX,
+                                     double rowDepth, double dzdx, int argb) {
+        for (int x = blockX; x <= endX; x += LANES) {
+            if (x + LANES <= startX) {
+                continue;
+            }
+            store(pixels, zBuffer, row + x, startX - x, endX - x, x - blockX, rowDepth, dzdx, 0, 0, 0, 0, 0, 0, argb);
+        }
+    }
+
+    /**
+     * Füllt die Pixel {@code startX..endX} einer Blockzeile, die im Dreieck liegen, mit Tiefentest.
+     * <p>
+     * Die Kantenfunktionen werden pro Lane als {@code pe + dx * sx} ausgewertet; ein Pixel liegt
+     * im Dreieck, wenn alle drei nicht negativ sind (Top-Left-Regel wie im skalaren Pfad). Für den
+     * gelesenen und geschriebenen Bereich gilt dasselbe wie bei der Variante ohne Kanten.
+     *
+     * @param pixels   Der Farbpuffer.
+     * @param zBuffer  Der Tiefenpuffer.
+     * @param row      Der Index des ersten Pixels der Bildzeile.
+     * @param blockX   Die linke Kante des 8x8-Blocks.
+     * @param startX   Das erste Pixel.
+     * @param endX     Das letzte Pixel (inklusive).
+     * @param rowDepth Die Tiefe am Pixel {@code blockX}.
+     * @param dzdx     Die Änderung der Tiefe pro Pixel.
+     * @param pe0      Kantenfunktion 0 am Pixel {@code startX}.
+     * @param pe1      Kantenfunktion 1 am Pixel {@code startX}.
+     * @param pe2      Kantenfunktion 2 am Pixel {@code startX}.
+     * @param sx0      Schrittweite der Kantenfunktion 0 pro Pixel.
+     * @param sx1      Schrittweite der Kantenfunktion 1 pro Pixel.
+     * @param sx2      Schrittweite der Kantenfunktion 2 pro Pixel.
+     * @param argb     Die Farbe.
+     */
+    public static void fillBlockRow(int[] pixels, double[] zBuffer, int row, int blockX, int startX, int endX,
+                                     double rowDepth, double dzdx,
+                                     long pe0, long pe1, long pe2, long sx0, long sx1, long sx2, int argb) {
+        for (int x = blockX; x <= endX; x += LANES) {
+            if (x + LANES <= startX) {
+                continue;
+            }
+            long dx = x - startX;
+            store(pixels, zBuffer, row + x, startX - x, endX - x, x - blockX, rowDepth, dzdx,
+                    pe0 + dx * sx0, pe1 + dx * sx1, pe2 + dx * sx2, sx0, sx1, sx2, argb);
+        }
+    }
+
+    /**
+     * Schreibt Farbe und Tiefe in alle Lanes ab {@code index}, die in {@code startX..endX} und im
+     * Dreieck liegen und deren Tiefe näher liegt als der Puffer.
+     * <p>
+     * Die Tiefen sind {@code rowDepth + dzdx * dx} wie im skalaren Pfad, die Kantenfunktionen
+     * {@code e + sx * lane}. Die Vector API erzeugt nur dann keine Objekte, wenn alle Operationen
+     * in eine kompilierte Methode eingebettet werden; daher erhält dieser Kernel nur primitive
+     * Argumente und erledigt Auswahl und Schreiben vollständig selbst, auch wenn der JIT ihn nicht
+     * in den Aufrufer einbettet. Maskierte Lade- und Speicherbefehle und die Verknüpfung und
+     * Umwandlung von Masken bildet das JDK 17 nicht zuverlässig auf Maschinenbefehle ab. Die
+     * Auswahl liegt daher als Bitmaske (-1 oder 0 pro Lane) in einem {@code long}-Vektor: Eine
+     * Lane liegt außerhalb, wenn eine Kantenfunktion oder ein Abstand zu den Spannenenden negativ
+     * ist, also das Vorzeichenbit ihrer Oder-Verknüpfung gesetzt ist. Ganze Vektoren werden
+     * gelesen und mit {@code old ^ ((old ^ new) & select)} gemischt geschrieben; die Tiefen als
+     * Bitmuster, die Farben über die in {@code int}-Lanes umgewandelte Bitmaske.
+     *
+     * @param left  {@code startX} relativ zur ersten Lane.
+     * @param right {@code endX} relativ zur ersten Lane.
+     */
+    private static void store(int[] pixels, double[] zBuffer, int index, long left, long right, int offset,
+                              double rowDepth, double dzdx,
+                              long e0, long e1, long e2, long sx0, long sx1, long sx2, int argb) {
+        LongVector outside = LANE_L.sub(left).or(LANE_L.neg().add(right))
+                .or(LANE_L.mul(sx0).add(e0))
+                .or(LANE_L.mul(sx1).add(e1))
+                .or(LANE_L.mul(sx2).add(e2))
+                .lanewise(VectorOperators.ASHR, 63);
+        DoubleVector depth = LANE_D.add(offset).mul(dzdx).add(rowDepth);
+        DoubleVector old = DoubleVector.fromArray(DOUBLES, zBuffer, index);
+        LongVector write = LongVector.zero(LONGS).blend(-1L, old.compare(VectorOperators.LT, depth).cast(LONGS))
+                .lanewise(VectorOperators.AND_NOT, outside);
+        if (!write.compare(VectorOperators.NE, 0).anyTrue()) {
+            return;
+        }
+        LongVector oldBits = old.reinterpretAsLongs();
+        oldBits.lanewise(VectorOperators.XOR, oldBits.lanewise(VectorOperators.XOR, depth.reinterpretAsLongs())
+                .lanewise(VectorOperators.AND, write)).reinterpretAsDoubles().intoArray(zBuffer, index);
+        IntVector select = (IntVector) write.convertShape(VectorOperators.L2I, INTS, 0);
+        IntVector colors = IntVector.fromArray(INTS, pixels, index);
+        colors.lanewise(VectorOperators.XOR, colors.lanewise(VectorOperators.XOR, argb)
+                .lanewise(VectorOperators.AND, select)).intoArray(pixels, index);
+    }
+}
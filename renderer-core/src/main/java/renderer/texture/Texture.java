@@ -0,0 +1,391 @@
+package renderer.texture;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Unveränderliche Textur mit vollständiger Mipmap-Kette aus gepackten ARGB-Texeln.
+ * <p>
+ * Breite und Höhe sind Zweierpotenzen, sodass Texturkoordinaten außerhalb von [0, 1) mit einer
+ * Bitmaske wiederholt werden. Jede Stufe ist halb so breit und hoch wie die vorherige (mindestens
+ * 1) und entsteht durch Mittelung von 2x2 Texeln; die letzte Stufe ist 1x1 groß.
+ * <p>
+ * Die Texel jeder Stufe liegen in einem {@code int[]} in der Reihenfolge des {@link TextureLayout}.
+ * Der Index eines Texels ist die Summe zweier Tabelleneinträge für x und y, sodass beide
+ * Anordnungen beim Abtasten gleich viel kosten und sich nur im Zugriffsmuster auf den Speicher
+ * unterscheiden. In Morton-Reihenfolge bleiben bei gedrehter Textur die Texel, die eine
+ * Bildschirmzeile nacheinander liest, in wenigen Cache-Zeilen; zeilenweise springt jeder Zugriff
+ * bei 90 Grad Drehung eine ganze Texturzeile weiter.
+ * <p>
+ * Die Abtastfunktionen allokieren nichts und dürfen von mehreren Threads gleichzeitig benutzt
+ * werden. Bilineare Interpolation rechnet auf den 8-Bit-Kanälen ohne Gammakorrektur.
+ */
+public final class Texture {
+
+    /** Größte zulässige Kantenlänge in Texeln. */
+    public static final int MAX_SIZE = 1 << 13;
+
+    private final int width;
+    private final int height;
+    private final TextureLayout layout;
+    // Pro Stufe: Größe, Texel und Beitrag von x bzw. y zum Index eines Texels.
+    private final int[] widths, heights;
+    private final int[][] levels;
+    private final int[][] offsetX, offsetY;
+
+    /**
+     * Erzeugt eine Textur aus zeilenweise abgelegten Texeln und berechnet die Mipmaps.
+     *
+     * @param argb   Die Texel der größten Stufe als gepackte ARGB-Werte, Zeile für Zeile.
+     * @param width  Die Breite (Zweierpotenz).
+     * @param height Die Höhe (Zweierpotenz).
+     * @param layout Die Anordnung im Speicher.
+     * @throws IllegalArgumentException wenn eine Kantenlänge keine Zweierpotenz bis
+     *                                  {@link #MAX_SIZE} ist oder das Array zu kurz ist.
+     */
+    public Texture(int[] argb, int width, int height, TextureLayout layout) {
+        if (!isPowerOfTwo(width) || !isPowerOfTwo(height) || width > MAX_SIZE || height > MAX_SIZE)
+            throw new IllegalArgumentException("Kantenlängen einer Textur müssen Zweierpotenzen bis " + MAX_SIZE + " sein");
+        if (argb.length < width * height)
+            throw new IllegalArgumentException("Zu wenige Texel für " + width + "x" + height);
+        this.width = width;
+        this.height = height;
+        this.layout = layout;
+
+        int count = 32 - Integer.numberOfLeadingZeros(Math.max(width, height));
+        widths = new int[count];
+        heights = new int[count];
+        levels = new int[count][];
+        offsetX = new int[count][];
+        offsetY = new int[count][];
+        int[] rows = argb;
+        int w = width, h = height;
+        for (int level = 0; level < count; level++) {
+            if (level > 0) {
+                rows = downsample(rows, w, h);
+                w = Math.max(1, w / 2);
+                h = Math.max(1, h / 2);
+            }
+            widths[level] = w;
+            heights[level] = h;
+            offsetX[level] = new int[w];
+            offsetY[level] = new int[h];
+            fillOffsets(layout, w, h, offsetX[level], offsetY[level]);
+            int[] texels = new int[w * h];
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) {
+                    texels[offsetX[level][x] + offsetY[level][y]] = rows[y * w + x];
+                }
+            }
+            levels[level] = texels;
+        }
+    }
+
+    /**
+     * Liest eine Textur aus einer Bilddatei (alle Formate von {@link ImageIO}, z.B. PNG und JPEG).
+     * <p>
+     * Kantenlängen, die keine Zweierpotenz sind, werden bilinear auf die nächstgrößere skaliert.
+     *
+     * @param file   Die Bilddatei.
+     * @param layout Die Anordnung im Speicher.
+     * @return Die Textur.
+     * @throws IOException wenn die Datei nicht gelesen werden kann oder kein Bild enthält.
+     */
+    public static Texture read(Path file, TextureLayout layout) throws IOException {
+        BufferedImage image;
+        try (var in = Files.newInputStream(file)) {
+            image = ImageIO.read(in);
+        }
+        if (image == null) {
+            throw new IOException("Kein unterstütztes Bildformat: " + file);
+        }
+        int w = Math.min(MAX_SIZE, nextPowerOfTwo(image.getWidth()));
+        int h = Math.min(MAX_SIZE, nextPowerOfTwo(image.getHeight()));
+        if (w != image.getWidth() || h != image.getHeight()) {
+            BufferedImage scaled = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = scaled.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, w, h, null);
+            g.dispose();
+            image = scaled;
+        }
+        return new Texture(image.getRGB(0, 0, w, h, null, 0, w), w, h, layout);
+    }
+
+    /**
+     * Erzeugt ein Schachbrett mit dünnen Fugen zwischen den Feldern, z.B. zum Beurteilen von
+     * Filterung und Flimmern.
+     *
+     * @param size   Die Kantenlänge (Zweierpotenz).
+     * @param cells  Die Anzahl der Felder pro Kante (Teiler von {@code size}).
+     * @param first  Die Farbe der Felder mit gerader Summe der Feldkoordinaten.
+     * @param second Die Farbe der übrigen Felder.
+     * @param layout Die Anordnung im Speicher.
+     * @return Die Textur.
+     * @throws IllegalArgumentException wenn {@code cells} kein Teiler von {@code size} ist.
+     */
+    public static Texture checkerboard(int size, int cells, int first, int second, TextureLayout layout) {
+        if (cells <= 0 || size % cells != 0)
+            throw new IllegalArgumentException("Die Anzahl der Felder muss die Kantenlänge teilen");
+        int cell = size / cells;
+        int line = Math.max(1, cell / 32);
+        int[] argb = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean joint = x % cell < line || y % cell < line;
+                argb[y * size + x] = joint ? 0xFF202020 : ((x / cell + y / cell) & 1) == 0 ? first : second;
+            }
+        }
+        return new Texture(argb, size, size, layout);
+    }
+
+    /**
+     * Legt die Beiträge von x und y zum Index eines Texels fest.
+     * <p>
+     * Bei Morton-Reihenfolge werden die unteren Bits beider Koordinaten verschränkt, bis die
+     * kürzere Kante erschöpft ist; die restlichen Bits der längeren Kante zählen die
+     * quadratischen Blöcke hintereinander.
+     */
+    private static void fillOffsets(TextureLayout layout, int w, int h, int[] ox, int[] oy) {
+        if (layout == TextureLayout.ROW_MAJOR) {
+            for (int x = 0; x < w; x++) {
+                ox[x] = x;
+            }
+            for (int y = 0; y < h; y++) {
+                oy[y] = y * w;
+            }
+            return;
+        }
+        int bits = Integer.numberOfTrailingZeros(Math.min(w, h));
+        int mask = (1 << bits) - 1;
+        for (int x = 0; x < w; x++) {
+            ox[x] = spread(x & mask) | (x >> bits) << (2 * bits);
+        }
+        for (int y = 0; y < h; y++) {
+            oy[y] = spread(y & mask) << 1 | (y >> bits) << (2 * bits);
+        }
+    }
+
+    /**
+     * Verteilt die unteren 16 Bits auf die geraden Bitpositionen.
+     */
+    private static int spread(int v) {
+        v = (v | v << 8) & 0x00FF00FF;
+        v = (v | v << 4) & 0x0F0F0F0F;
+        v = (v | v << 2) & 0x33333333;
+        return (v | v << 1) & 0x55555555;
+    }
+
+    /**
+     * Halbiert zeilenweise abgelegte Texel in beiden Richtungen (mindestens auf 1) durch
+     * gerundete Mittelung je Kanal.
+     */
+    private static int[] downsample(int[] src, int w, int h) {
+        int dw = Math.max(1, w / 2), dh = Math.max(1, h / 2);
+        int[] dst = new int[dw * dh];
+        for (int y = 0; y < dh; y++) {
+            int y0 = Math.min(2 * y, h - 1) * w, y1 = Math.min(2 * y + 1, h - 1) * w;
+            for (int x = 0; x < dw; x++) {
+                int x0 = Math.min(2 * x, w - 1), x1 = Math.min(2 * x + 1, w - 1);
+                int a = src[y0 + x0], b = src[y0 + x1], c = src[y1 + x0], d = src[y1 + x1];
+                int result = 0;
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int sum = (a >>> shift & 0xFF) + (b >>> shift & 0xFF) + (c >>> shift & 0xFF) + (d >>> shift & 0xFF);
+                    result |= (sum + 2) >> 2 << shift;
+                }
+                dst[y * dw + x] = result;
+            }
+        }
+        return dst;
+    }
+
+    private static boolean isPowerOfTwo(int n) {
+        return n > 0 && (n & (n - 1)) == 0;
+    }
+
+    private static int nextPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Berechnet die Detailstufe aus den Ableitungen der Texturkoordinaten im Bildschirm.
+     * <p>
+     * Maßgeblich ist die stärkere Verkleinerung entlang x oder y, gemessen in Texeln der größten
+     * Stufe pro Pixel: Bei 1 ergibt sich Stufe 0, bei 2 Stufe 1 usw.
+     *
+     * @param dudx Änderung von u pro Pixel in x-Richtung.
+     * @param dvdx Änderung von v pro Pixel in x-Richtung.
+     * @param dudy Änderung von u pro Pixel in y-Richtung.
+     * @param dvdy Änderung von v pro Pixel in y-Richtung.
+     * @return Die (gebrochene, ggf. negative) Stufe.
+     */
+    public double levelOf(double dudx, double dvdx, double dudy, double dvdy) {
+        double x = Math.hypot(dudx * width, dvdx * height);
+        double y = Math.hypot(dudy * width, dvdy * height);
+        return Math.log(Math.max(x, y)) * (1 / Math.log(2));
+    }
+
+    /**
+     * Tastet die Textur mit einem Filter ab.
+     *
+     * @param filter Der Filter.
+     * @param level  Die Detailstufe aus {@link #levelOf}.
+     * @param u      Die Texturkoordinate in x-Richtung (1 entspricht der Breite).
+     * @param v      Die Texturkoordinate in y-Richtung (1 entspricht der Höhe).
+     * @return Der gefilterte Farbwert als gepackter ARGB-Wert.
+     */
+    public int sample(TextureFilter filter, double level, double u, double v) {
+        switch (filter) {
+            case NEAREST:
+                return nearest(nearestLevel(level), u, v);
+            case BILINEAR:
+                return bilinear(nearestLevel(level), u, v);
+            default:
+                int base = baseLevel(level);
+                return trilinear(base, blendOf(level, base), u, v);
+        }
+    }
+
+    /**
+     * @param level Die Detailstufe aus {@link #levelOf}.
+     * @return Die nächstgelegene vorhandene Stufe.
+     */
+    public int nearestLevel(double level) {
+        return level > 0 ? (int) Math.min(levels.length - 1, level + 0.5) : 0;
+    }
+
+    /**
+     * @param level Die Detailstufe aus {@link #levelOf}.
+     * @return Die feinere der beiden Stufen, zwischen denen trilinear überblendet wird.
+     */
+    public int baseLevel(double level) {
+        return level > 0 ? (int) Math.min(levels.length - 1, level) : 0;
+    }
+
+    /**
+     * @param level Die Detailstufe aus {@link #levelOf}.
+     * @param base  Die Stufe aus {@link #baseLevel}.
+     * @return Der Anteil der gröberen Stufe in 1/256.
+     */
+    public int blendOf(double level, int base) {
+        return base + 1 < levels.length && level > base ? (int) ((level - base) * 256) : 0;
+    }
+
+    /**
+     * Liefert das Texel, in dem der Punkt liegt.
+     *
+     * @param level Die Stufe.
+     * @param u     Die Texturkoordinate in x-Richtung.
+     * @param v     Die Texturkoordinate in y-Richtung.
+     * @return Der Farbwert als gepackter ARGB-Wert.
+     */
+    public int nearest(int level, double u, double v) {
+        int w = widths[level], h = heights[level];
+        int x = (int) Math.floor(u * w) & (w - 1);
+        int y = (int) Math.floor(v * h) & (h - 1);
+        return levels[level][offsetX[level][x] + offsetY[level][y]];
+    }
+
+    /**
+     * Interpoliert bilinear zwischen den vier Texeln, deren Mittelpunkte den Punkt umgeben.
+     *
+     * @param level Die Stufe.
+     * @param u     Die Texturkoordinate in x-Richtung.
+     * @param v     Die Texturkoordinate in y-Richtung.
+     * @return Der Farbwert als gepackter ARGB-Wert.
+     */
+    public int bilinear(int level, double u, double v) {
+        int w = widths[level], h = heights[level];
+        double tu = u * w - 0.5, tv = v * h - 0.5;
+        double fu = Math.floor(tu), fv = Math.floor(tv);
+        int x = (int) fu, y = (int) fv;
+        int wx = (int) ((tu - fu) * 256), wy = (int) ((tv - fv) * 256);
+        int[] ox = offsetX[level], oy = offsetY[level];
+        int ax = ox[x & (w - 1)], bx = ox[(x + 1) & (w - 1)];
+        int ay = oy[y & (h - 1)], by = oy[(y + 1) & (h - 1)];
+        int[] texels = levels[level];
+        return lerp(lerp(texels[ax + ay], texels[bx + ay], wx), lerp(texels[ax + by], texels[bx + by], wx), wy);
+    }
+
+    /**
+     * Überblendet die bilinearen Werte zweier benachbarter Stufen.
+     *
+     * @param level Die feinere Stufe.
+     * @param blend Der Anteil der gröberen Stufe in 1/256 (0, wenn es keine gröbere gibt).
+     * @param u     Die Texturkoordinate in x-Richtung.
+     * @param v     Die Texturkoordinate in y-Richtung.
+     * @return Der Farbwert als gepackter ARGB-Wert.
+     */
+    public int trilinear(int level, int blend, double u, double v) {
+        int fine = bilinear(level, u, v);
+        return blend == 0 ? fine : lerp(fine, bilinear(level + 1, u, v), blend);
+    }
+
+    /**
+     * Interpoliert linear zwischen zwei ARGB-Werten, je zwei Kanäle in einer Multiplikation.
+     *
+     * @param t Der Anteil von {@code b} in 1/256 (0 bis 256).
+     */
+    private static int lerp(int a, int b, int t) {
+        int s = 256 - t;
+        int rb = ((a & 0xFF00FF) * s + (b & 0xFF00FF) * t) >>> 8 & 0xFF00FF;
+        int ag = ((a >>> 8 & 0xFF00FF) * s + (b >>> 8 & 0xFF00FF) * t) & 0xFF00FF00;
+        return ag | rb;
+    }
+
+    /**
+     * Liefert ein Texel ohne Filterung.
+     *
+     * @param level Die Stufe.
+     * @param x     Die Spalte (wird wiederholt).
+     * @param y     Die Zeile (wird wiederholt).
+     * @return Der Farbwert als gepackter ARGB-Wert.
+     */
+    public int getTexel(int level, int x, int y) {
+        return levels[level][offsetX[level][x & (widths[level] - 1)] + offsetY[level][y & (heights[level] - 1)]];
+    }
+
+    /**
+     * @return Die Breite der größten Stufe in Texeln.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return Die Höhe der größten Stufe in Texeln.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return Die Anzahl der Stufen einschließlich der größten.
+     */
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * @return Die Anordnung der Texel im Speicher.
+     */
+    public TextureLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * @return Der Speicherbedarf der Texel aller Stufen in Bytes.
+     */
+    public long getBytes() {
+        long texels = 0;
+        for (int[] level : levels) {
+            texels += level.length;
+        }
+        return texels * Integer.BYTES;
+    }
+}
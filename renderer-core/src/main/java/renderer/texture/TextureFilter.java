@@ -0,0 +1,16 @@
+package renderer.texture;
+
+/**
+ * Filterung beim Abtasten einer {@link Texture}.
+ * <p>
+ * Alle Filter wählen die Mipmap-Stufe aus den Ableitungen der Texturkoordinaten im Bildschirm,
+ * sodass verkleinerte Texturen nicht flimmern.
+ */
+public enum TextureFilter {
+    /** Nächstes Texel der nächstgelegenen Stufe. */
+    NEAREST,
+    /** Bilineare Interpolation der vier nächsten Texel der nächstgelegenen Stufe. */
+    BILINEAR,
+    /** Bilineare Interpolation in den zwei benachbarten Stufen, dazwischen linear überblendet. */
+    TRILINEAR
+}
@@ -0,0 +1,15 @@
+package renderer.texture;
+
+/**
+ * Anordnung der Texel einer {@link Texture} im Speicher.
+ */
+public enum TextureLayout {
+    /** Zeile für Zeile wie ein Bild. Nur beim Lesen entlang der Zeilen liegen Nachbarn beieinander. */
+    ROW_MAJOR,
+    /**
+     * Z-Kurve (Morton-Reihenfolge): Die Bits von x und y werden verschränkt, sodass jeder
+     * ausgerichtete Block von 2^k x 2^k Texeln zusammenhängend liegt, z.B. 4x4 Texel in einer
+     * 64-Byte-Cache-Zeile. Benachbarte Texel liegen in jeder Richtung nah beieinander.
+     */
+    MORTON
+}